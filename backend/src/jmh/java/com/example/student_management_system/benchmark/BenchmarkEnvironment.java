@@ -0,0 +1,102 @@
+package com.example.student_management_system.benchmark;
+
+import com.example.student_management_system.StudentManagementSystemApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * =================================================================
+ * Benchmark Environment
+ * =================================================================
+ * Purpose:
+ * Boots the application (without the web layer, or with it on a random port
+ * for HTTP-level benchmarks) against a private in-memory H2 database and
+ * seeds it with a deterministic data set through the "generate" profile
+ * (SyntheticDataGenerator): `courses` courses and `students` students, each
+ * enrolled in `coursesPerStudent` distinct courses on average, with a skewed
+ * course popularity. The generator logs its own throughput.
+ * =================================================================
+ */
+final class BenchmarkEnvironment implements AutoCloseable {
+
+    private static final long SEED = 42L;
+
+    private final ConfigurableApplicationContext context;
+    private final long[] studentIds;
+    private final long[] courseIds;
+
+    private BenchmarkEnvironment(ConfigurableApplicationContext context, long[] studentIds, long[] courseIds) {
+        this.context = context;
+        this.studentIds = studentIds;
+        this.courseIds = courseIds;
+    }
+
+    static BenchmarkEnvironment start(int students, int courses, int coursesPerStudent) {
+        return start(WebApplicationType.NONE, students, courses, coursesPerStudent);
+    }
+
+    /**
+     * Starts the full web application on a random port; see port().
+     * @param extraProperties Additional "key=value" properties, e.g. to select an execution mode.
+     */
+    static BenchmarkEnvironment startWeb(int students, int courses, int coursesPerStudent, String... extraProperties) {
+        return start(WebApplicationType.SERVLET, students, courses, coursesPerStudent, extraProperties);
+    }
+
+    private static BenchmarkEnvironment start(WebApplicationType webType, int students, int courses, int coursesPerStudent,
+                                              String... extraProperties) {
+        // Passed as command-line arguments so they override application.properties.
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID(),
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--logging.level.com.example.student_management_system.config.SyntheticDataGenerator=INFO",
+                "--app.data.generator.students=" + students,
+                "--app.data.generator.courses=" + courses,
+                "--app.data.generator.courses-per-student=" + coursesPerStudent,
+                "--app.data.generator.seed=" + SEED));
+        for (String property : extraProperties) {
+            args.add("--" + property);
+        }
+        // An additional profile, so it combines with any spring.profiles.active passed above.
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(StudentManagementSystemApplication.class)
+                .web(webType)
+                .profiles("generate")
+                .run(args.toArray(String[]::new));
+
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        long[] studentIds = jdbc.queryForList("SELECT id FROM student ORDER BY id", Long.class)
+                .stream().mapToLong(Long::longValue).toArray();
+        long[] courseIds = jdbc.queryForList("SELECT id FROM course ORDER BY id", Long.class)
+                .stream().mapToLong(Long::longValue).toArray();
+        return new BenchmarkEnvironment(context, studentIds, courseIds);
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    int port() {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    long[] studentIds() {
+        return studentIds;
+    }
+
+    long[] courseIds() {
+        return courseIds;
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.student_management_system.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * =================================================================
+ * Execution Mode Benchmarks
+ * =================================================================
+ * Purpose:
+ * Compares the platform-thread and virtual-thread request execution modes
+ * over real HTTP, under a concurrent mix of enrollments and reads:
+ * 64 client threads enroll random (student, course) pairs while 192 read
+ * random students with their courses. 256 concurrent clients exceed the
+ * 200 Tomcat workers of the platform mode on purpose.
+ *
+ * JMH reports throughput (ops/ms) and the latency distribution (sample mode:
+ * p50, p90, p99, p99.9) of each operation for each mode.
+ *
+ * The "virtual" mode needs a Java 21+ runtime; on older runtimes its trial fails
+ * with an explanatory message and the "platform" results are still reported.
+ * Run only this comparison:
+ *   ./mvnw -Pbenchmark verify -DskipTests -Djmh.args="ExecutionModeBenchmarks"
+ * =================================================================
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+public class ExecutionModeBenchmarks {
+
+    @Param({"platform", "virtual"})
+    public String mode;
+
+    @Param({"10000"})
+    public int students;
+
+    @Param({"50"})
+    public int courses;
+
+    private BenchmarkEnvironment environment;
+    private HttpClient client;
+    private String baseUrl;
+    private long[] studentIds;
+    private long[] courseIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boolean virtual = "virtual".equals(mode);
+        if (virtual && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("The virtual-thread mode needs Java 21+; this JVM is Java " + Runtime.version().feature());
+        }
+        environment = virtual
+                ? BenchmarkEnvironment.startWeb(students, courses, 5, "spring.profiles.active=virtual-threads")
+                : BenchmarkEnvironment.startWeb(students, courses, 5);
+        baseUrl = "http://localhost:" + environment.port() + "/api/students/";
+        studentIds = environment.studentIds();
+        courseIds = environment.courseIds();
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (environment != null) {
+            environment.close();
+        }
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(64)
+    public int enroll() throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long studentId = studentIds[random.nextInt(studentIds.length)];
+        long courseId = courseIds[random.nextInt(courseIds.length)];
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + studentId + "/enroll/" + courseId))
+                .POST(HttpRequest.BodyPublishers.noBody()));
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(192)
+    public int read() throws IOException, InterruptedException {
+        long studentId = studentIds[ThreadLocalRandom.current().nextInt(studentIds.length)];
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + studentId)).GET());
+    }
+
+    private int send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        HttpResponse<Void> response = client.send(request.timeout(Duration.ofSeconds(30)).build(),
+                HttpResponse.BodyHandlers.discarding());
+        // 503 is the pool's deliberate overload answer and counts as a completed operation.
+        if (response.statusCode() >= 500 && response.statusCode() != 503) {
+            throw new IllegalStateException("HTTP " + response.statusCode() + " from " + response.uri());
+        }
+        return response.statusCode();
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.student_management_system.benchmark;
+
+import com.example.student_management_system.config.BinaryEncodingConfig;
+import com.example.student_management_system.model.Course;
+import com.example.student_management_system.model.Student;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * =================================================================
+ * Serialization Benchmarks
+ * =================================================================
+ * Purpose:
+ * Measures Jackson serialization of Student graphs, configured the same way
+ * Spring MVC configures its ObjectMapper. Courses carry a full 500 character
+ * description, the worst case allowed by validation.
+ * No database is involved; the graphs are built in memory.
+ *
+ * The `format` parameter compares JSON with the binary encodings the API serves
+ * on request (Smile, CBOR; see BinaryEncodingConfig). The encoded size of each
+ * roster, and its share of the JSON size, is printed when a trial starts.
+ * =================================================================
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SerializationBenchmarks {
+
+    @Param({"1", "10", "50"})
+    public int coursesPerStudent;
+
+    @Param({"1", "100", "1000"})
+    public int students;
+
+    @Param({"json", "smile", "cbor"})
+    public String format;
+
+    private ObjectMapper objectMapper;
+    private List<Student> roster;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        objectMapper = switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json().build();
+            case "smile" -> BinaryEncodingConfig.smileObjectMapper(Jackson2ObjectMapperBuilder.json());
+            case "cbor" -> BinaryEncodingConfig.cborObjectMapper(Jackson2ObjectMapperBuilder.json());
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+        List<Course> courses = new ArrayList<>();
+        for (int i = 0; i < coursesPerStudent; i++) {
+            Course course = new Course();
+            course.setId((long) i);
+            course.setName("Course " + i);
+            course.setCourseCode("C" + i);
+            course.setProfessor("Dr. Professor " + i);
+            course.setDescription("d".repeat(500));
+            course.setCredits(3);
+            courses.add(course);
+        }
+        roster = new ArrayList<>();
+        for (int i = 0; i < students; i++) {
+            Student student = new Student();
+            student.setId((long) i);
+            student.setFirstName("First" + i);
+            student.setLastName("Last" + i);
+            student.setEmail("student" + i + "@bench.example.com");
+            student.setCourses(new HashSet<>(courses));
+            roster.add(student);
+        }
+
+        int size = objectMapper.writeValueAsBytes(roster).length;
+        int jsonSize = Jackson2ObjectMapperBuilder.json().build().writeValueAsBytes(roster).length;
+        System.out.printf("%n%s: %d students x %d courses = %,d bytes (%.0f%% of JSON)%n",
+                format, students, coursesPerStudent, size, 100.0 * size / jsonSize);
+    }
+
+    @Benchmark
+    public byte[] serializeStudentList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(roster);
+    }
+}
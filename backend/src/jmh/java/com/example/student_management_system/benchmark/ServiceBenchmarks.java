@@ -0,0 +1,126 @@
+package com.example.student_management_system.benchmark;
+
+import com.example.student_management_system.dto.EnrollmentOutcome;
+import com.example.student_management_system.dto.StudentPage;
+import com.example.student_management_system.dto.StudentSearchHit;
+import com.example.student_management_system.dto.StudentShape;
+import com.example.student_management_system.dto.StudentSort;
+import com.example.student_management_system.model.Course;
+import com.example.student_management_system.model.Student;
+import com.example.student_management_system.service.CourseService;
+import com.example.student_management_system.service.StudentService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * =================================================================
+ * Service Benchmarks
+ * =================================================================
+ * Purpose:
+ * Measures the service and persistence hot paths end to end (service proxy,
+ * transaction, Hibernate, H2) at several data sizes.
+ *
+ * - getAllStudents: the unbounded list with courses (one joined query).
+ * - getStudentById: a random student with its courses.
+ * - getStudentDetailPage / getShapedStudentPage: a page of 100 students with full
+ *   course entities, versus the same page shaped to names and course codes only.
+ * - enrollStudentInCourse: a random (student, course) pair; idempotent, so the
+ *   mix of new and existing enrollments drifts towards "already enrolled" over
+ *   long runs, as on a real registration day.
+ * - getAllCourses: the course catalog (served by the in-process cache).
+ * - searchStudents: a ranked prefix search on a random last name, served by the
+ *   in-memory search index (rebuilt from the generated data at startup).
+ * =================================================================
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ServiceBenchmarks {
+
+    @Param({"1000", "10000"})
+    public int students;
+
+    @Param({"50"})
+    public int courses;
+
+    @Param({"5"})
+    public int coursesPerStudent;
+
+    private static final StudentShape NAMES_AND_COURSE_CODES =
+            StudentShape.fromParameters("firstName,lastName,courses.courseCode", null);
+
+    private BenchmarkEnvironment environment;
+    private StudentService studentService;
+    private CourseService courseService;
+    private long[] studentIds;
+    private long[] courseIds;
+    private List<String> lastNames;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        environment = BenchmarkEnvironment.start(students, courses, coursesPerStudent);
+        studentService = environment.bean(StudentService.class);
+        courseService = environment.bean(CourseService.class);
+        studentIds = environment.studentIds();
+        courseIds = environment.courseIds();
+        lastNames = environment.bean(JdbcTemplate.class)
+                .queryForList("SELECT DISTINCT last_name FROM student ORDER BY last_name", String.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        environment.close();
+    }
+
+    @Benchmark
+    public List<Student> getAllStudents() {
+        return studentService.getAllStudents();
+    }
+
+    @Benchmark
+    public Student getStudentById() {
+        return studentService.getStudentById(randomStudentId());
+    }
+
+    @Benchmark
+    public StudentPage<Student> getStudentDetailPage() {
+        return studentService.getStudentDetailPage(StudentSort.ID, null, 100);
+    }
+
+    @Benchmark
+    public StudentPage<Map<String, Object>> getShapedStudentPage() {
+        return studentService.getShapedStudentPage(StudentSort.ID, null, 100, NAMES_AND_COURSE_CODES);
+    }
+
+    @Benchmark
+    public EnrollmentOutcome enrollStudentInCourse() {
+        long courseId = courseIds[ThreadLocalRandom.current().nextInt(courseIds.length)];
+        return studentService.enrollStudentInCourse(randomStudentId(), courseId);
+    }
+
+    @Benchmark
+    public List<Course> getAllCourses() {
+        return courseService.getAllCourses();
+    }
+
+    @Benchmark
+    public List<StudentSearchHit> searchStudents() {
+        // A 1-4 letter prefix of a generated last name: a mix of broad and narrow queries.
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String lastName = lastNames.get(random.nextInt(lastNames.size()));
+        String query = lastName.substring(0, Math.min(lastName.length(), 1 + random.nextInt(4)));
+        return studentService.searchStudents(query, 10, true);
+    }
+
+    private long randomStudentId() {
+        return studentIds[ThreadLocalRandom.current().nextInt(studentIds.length)];
+    }
+}
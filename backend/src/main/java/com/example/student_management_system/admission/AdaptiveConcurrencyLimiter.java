@@ -0,0 +1,118 @@
+package com.example.student_management_system.admission;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * =================================================================
+ * Adaptive Concurrency Limiter
+ * =================================================================
+ * Purpose:
+ * Caps how many API requests this instance works on at once, and finds that
+ * cap from the latency it observes instead of a fixed thread or pool size.
+ * Requests beyond the cap are shed at once (503) rather than queueing up in
+ * front of the connection pool, where they would only make everyone slower.
+ *
+ * Behaviour (additive increase, multiplicative decrease):
+ * - A request that completes within app.admission.concurrency.latency-target
+ *   while the server is at least half busy raises the limit by 1/limit, i.e.
+ *   by about one per limit-many fast requests.
+ * - A request slower than the target, or failing with a server error, cuts the
+ *   limit by 10%.
+ * - The limit stays between min-limit and max-limit.
+ *
+ * Acquiring and updating the limit are compare-and-set loops; no request ever blocks here.
+ *
+ * Metrics:
+ * - app.admission.concurrency.limit: the current limit.
+ * - app.admission.concurrency.in-flight: requests currently admitted.
+ * =================================================================
+ */
+@Component
+public class AdaptiveConcurrencyLimiter implements MeterBinder {
+
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyTargetNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    // The limit is fractional (it grows by 1/limit); stored as the bits of a double so it can be CAS-updated.
+    private final AtomicLong limitBits;
+
+    public AdaptiveConcurrencyLimiter(@Value("${app.admission.concurrency.initial-limit:64}") int initialLimit,
+                                      @Value("${app.admission.concurrency.min-limit:8}") int minLimit,
+                                      @Value("${app.admission.concurrency.max-limit:512}") int maxLimit,
+                                      @Value("${app.admission.concurrency.latency-target:250ms}") Duration latencyTarget) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTargetNanos = latencyTarget.toNanos();
+        this.limitBits = new AtomicLong(Double.doubleToLongBits(Math.max(minLimit, Math.min(maxLimit, initialLimit))));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("app.admission.concurrency.limit", this, AdaptiveConcurrencyLimiter::limit)
+                .description("Current adaptive concurrency limit")
+                .register(registry);
+        Gauge.builder("app.admission.concurrency.in-flight", inFlight, AtomicInteger::get)
+                .description("API requests currently admitted")
+                .register(registry);
+    }
+
+    /**
+     * Admits one more request if the limit allows it.
+     * @return true if admitted; the caller must then call release() exactly once.
+     */
+    boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Ends an admitted request and adjusts the limit to how it went.
+     * @param latencyNanos How long the request took.
+     * @param sample Whether the latency says something about load; long-running transfers (exports) do not.
+     * @param failed Whether the request failed with a server error.
+     */
+    void release(long latencyNanos, boolean sample, boolean failed) {
+        int busy = inFlight.getAndDecrement();
+        if (!sample && !failed) {
+            return;
+        }
+        if (failed || latencyNanos > latencyTargetNanos) {
+            update(limit -> Math.max(minLimit, limit * BACKOFF_RATIO));
+        } else if (busy * 2 >= limit()) {
+            // Only grow a limit that is actually being used; an idle server says nothing about its capacity.
+            update(limit -> Math.min(maxLimit, limit + 1 / limit));
+        }
+    }
+
+    double limit() {
+        return Double.longBitsToDouble(limitBits.get());
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    private void update(DoubleUnaryOperator change) {
+        limitBits.updateAndGet(bits -> Double.doubleToLongBits(change.applyAsDouble(Double.longBitsToDouble(bits))));
+    }
+}
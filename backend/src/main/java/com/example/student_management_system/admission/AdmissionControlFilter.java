@@ -0,0 +1,197 @@
+package com.example.student_management_system.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * =================================================================
+ * Admission Control Filter
+ * =================================================================
+ * Purpose:
+ * Decides, before any controller or database work, whether an API request
+ * (/api/students, /api/courses, /api/enrollments) is served now. One client
+ * hammering the expensive listings must not starve enrollments for everyone.
+ *
+ * Behaviour:
+ * 1. Rate limit per client (ClientRateLimiter): a request costs tokens by route class:
+ *    - BULK (export, import, bulk enrollments): app.admission.cost.bulk
+ *    - LIST (student/course listings, rosters, search, delta sync): app.admission.cost.list
+ *    - STANDARD (lookups by id, single writes): 1
+ *    A client without enough tokens gets 429 Too Many Requests, with Retry-After
+ *    set to when its bucket will hold enough again.
+ * 2. Concurrency limit for the instance (AdaptiveConcurrencyLimiter): when the
+ *    limit derived from observed latency is reached, the request gets
+ *    503 Service Unavailable with Retry-After: 1.
+ * Both rejections are written by this filter directly; nothing else runs.
+ *
+ * Clients are identified by their address (request.getRemoteAddr()); behind a
+ * reverse proxy, set server.forward-headers-strategy so this is the real client.
+ * CORS preflight requests are never limited. Disable the whole filter with
+ * app.admission.enabled=false.
+ *
+ * Metrics:
+ * app.admission.rejected counts rejections by reason (rate_limited, overloaded) and route class.
+ * =================================================================
+ */
+@Component
+// Ahead of the other API filters, so a rejected request is not recorded as an idempotent response.
+@Order(Ordered.LOWEST_PRECEDENCE - 100)
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final List<String> PATHS = List.of("/api/students", "/api/courses", "/api/enrollments");
+
+    enum RouteClass { STANDARD, LIST, BULK }
+
+    @Autowired
+    private ClientRateLimiter rateLimiter;
+
+    @Autowired
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.admission.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${app.admission.cost.list:5}")
+    private int listCost = 5;
+
+    @Value("${app.admission.cost.bulk:50}")
+    private int bulkCost = 50;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled || CorsUtils.isPreFlightRequest(request)) {
+            return true;
+        }
+        String path = pathOf(request);
+        return PATHS.stream().noneMatch(prefix -> path.equals(prefix) || path.startsWith(prefix + "/"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RouteClass route = classify(request.getMethod(), pathOf(request));
+
+        long wait = rateLimiter.tryAcquire(request.getRemoteAddr(), costOf(route));
+        if (wait > 0) {
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, route, "rate_limited",
+                    Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + TimeUnit.SECONDS.toNanos(1) - 1)),
+                    "Too many requests from this client, please retry later.");
+            return;
+        }
+        if (!concurrencyLimiter.tryAcquire()) {
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, route, "overloaded", 1,
+                    "The server is busy, please retry.");
+            return;
+        }
+
+        long start = System.nanoTime();
+        AtomicBoolean released = new AtomicBoolean();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // Streaming responses (the export) finish on another thread; hold the slot until they do.
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        release(released, route, start, response.getStatus() >= 500);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                        release(released, route, start, true);
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                        release(released, route, start, true);
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                release(released, route, start, response.getStatus() >= 500);
+            }
+        }
+    }
+
+    private void release(AtomicBoolean released, RouteClass route, long start, boolean failed) {
+        if (released.compareAndSet(false, true)) {
+            concurrencyLimiter.release(System.nanoTime() - start, route != RouteClass.BULK, failed);
+        }
+    }
+
+    static RouteClass classify(String method, String path) {
+        if (path.equals("/api/students/export") || path.equals("/api/students/import") || path.equals("/api/enrollments/bulk")) {
+            return RouteClass.BULK;
+        }
+        if (method.equals("GET") && (path.equals("/api/students") || path.equals("/api/students/search")
+                || path.equals("/api/students/changes")
+                || path.equals("/api/courses") || (path.startsWith("/api/courses/") && path.endsWith("/students")))) {
+            return RouteClass.LIST;
+        }
+        return RouteClass.STANDARD;
+    }
+
+    private int costOf(RouteClass route) {
+        switch (route) {
+            case BULK:
+                return bulkCost;
+            case LIST:
+                return listCost;
+            default:
+                return 1;
+        }
+    }
+
+    private static String pathOf(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    // Same body as the GlobalExceptionHandler responses; this filter runs outside of Spring MVC's exception handling.
+    private void reject(HttpServletResponse response, HttpStatus status, RouteClass route, String reason,
+                        long retryAfterSeconds, String message) throws IOException {
+        meterRegistry.counter("app.admission.rejected", "reason", reason,
+                "route", route.name().toLowerCase(Locale.ROOT)).increment();
+        Map<String, String> body = new LinkedHashMap<>();
+        body.put("timestamp", new Date().toString());
+        body.put("message", message);
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
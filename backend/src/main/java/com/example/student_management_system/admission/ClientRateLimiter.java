@@ -0,0 +1,71 @@
+package com.example.student_management_system.admission;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * =================================================================
+ * Client Rate Limiter
+ * =================================================================
+ * Purpose:
+ * Gives every client its own token bucket, so one client sending too many
+ * (or too expensive) requests is throttled without slowing anybody else down.
+ *
+ * Behaviour:
+ * - Each client earns app.admission.rate tokens per second, up to
+ *   app.admission.burst. A request costs tokens according to its route class
+ *   (see AdmissionControlFilter), and is refused while the client's bucket is short.
+ * - Buckets of clients idle for app.admission.clients.idle-timeout are dropped
+ *   (an idle client's bucket would be full anyway), and at most
+ *   app.admission.clients.max-size buckets are kept.
+ *
+ * Buckets live in this instance's memory: with several instances behind a load
+ * balancer, each enforces the rate on its own share of the traffic.
+ *
+ * Metrics:
+ * The buckets are published as Micrometer cache metrics under the name "admission.clients".
+ * =================================================================
+ */
+@Component
+public class ClientRateLimiter implements MeterBinder {
+
+    private final double tokensPerSecond;
+    private final int burst;
+    private final Cache<String, TokenBucket> buckets;
+
+    public ClientRateLimiter(@Value("${app.admission.rate:50}") double tokensPerSecond,
+                             @Value("${app.admission.burst:100}") int burst,
+                             @Value("${app.admission.clients.max-size:100000}") long maxClients,
+                             @Value("${app.admission.clients.idle-timeout:10m}") Duration idleTimeout) {
+        this.tokensPerSecond = tokensPerSecond;
+        this.burst = burst;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(idleTimeout)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, buckets, "admission.clients");
+    }
+
+    /**
+     * Takes `cost` tokens from the client's bucket.
+     * @param client The client's identity (its address).
+     * @param cost The request's cost in tokens.
+     * @return 0 if the request is admitted, otherwise the nanoseconds the client should wait before retrying.
+     */
+    long tryAcquire(String client, int cost) {
+        long now = System.nanoTime();
+        return buckets.get(client, key -> new TokenBucket(tokensPerSecond, burst, now)).tryAcquire(cost, now);
+    }
+}
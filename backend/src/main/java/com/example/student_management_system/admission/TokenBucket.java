@@ -0,0 +1,52 @@
+package com.example.student_management_system.admission;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A token bucket kept in a single AtomicLong, so acquiring and refilling is one
+ * compare-and-set without locks.
+ *
+ * Instead of a token count and a last-refill time, the bucket stores the instant
+ * at which it would be full again ("theoretical arrival time"): taking n tokens moves
+ * that instant n token intervals into the future, and refilling is simply time
+ * passing. A request is admitted while the instant stays within `burst` tokens of now.
+ */
+final class TokenBucket {
+
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+
+    /**
+     * @param tokensPerSecond The refill rate.
+     * @param burst The bucket size: how many tokens a client that was idle can spend at once.
+     * @param now The current System.nanoTime(); the bucket starts full.
+     */
+    TokenBucket(double tokensPerSecond, int burst, long now) {
+        this.nanosPerToken = (long) (1_000_000_000L / tokensPerSecond);
+        this.burstNanos = nanosPerToken * burst;
+        this.fullAt = new AtomicLong(now);
+    }
+
+    /**
+     * Takes `cost` tokens if the bucket holds that many. A cost above the bucket size is charged
+     * as a full bucket, so every request class stays admissible for an idle client.
+     * @param cost The number of tokens the request costs.
+     * @param now The current System.nanoTime().
+     * @return 0 if the tokens were taken, otherwise the nanoseconds until enough tokens have refilled.
+     */
+    long tryAcquire(int cost, long now) {
+        long charge = Math.min(cost * nanosPerToken, burstNanos);
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + charge;
+            long wait = next - burstNanos - now;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.student_management_system.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * =================================================================
+ * Cache Invalidation Channel
+ * =================================================================
+ * Purpose:
+ * The extension point that keeps in-process caches coherent across several
+ * backend instances. When one instance changes cached data it publishes a
+ * CacheInvalidationMessage; every subscribed instance then evicts the entry.
+ *
+ * The default implementation is LoopbackInvalidationChannel (in-JVM). A
+ * deployment with several instances sets app.courses.cache.invalidation to
+ * another value, which switches the default off (see CacheConfig), and
+ * provides its own bean (e.g. backed by a message broker or database notifications).
+ * =================================================================
+ */
+public interface CacheInvalidationChannel {
+
+    /**
+     * Sends a message to all subscribers, including those in other instances.
+     */
+    void publish(CacheInvalidationMessage message);
+
+    /**
+     * Registers a listener that is called for every message published on the channel.
+     */
+    void subscribe(Consumer<CacheInvalidationMessage> listener);
+}
@@ -0,0 +1,10 @@
+package com.example.student_management_system.cache;
+
+/**
+ * A request, broadcast to every backend instance, to drop cached data.
+ * @param origin The instance id of the sender; an instance ignores its own messages.
+ * @param cache The logical cache name (e.g. "courses").
+ * @param key The id of the entry to drop, or null to drop the whole cache.
+ */
+public record CacheInvalidationMessage(String origin, String cache, Long key) {
+}
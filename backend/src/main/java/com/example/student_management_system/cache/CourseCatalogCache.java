@@ -0,0 +1,156 @@
+package com.example.student_management_system.cache;
+
+import com.example.student_management_system.dto.CacheStatistics;
+import com.example.student_management_system.model.Course;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * =================================================================
+ * Course Catalog Cache
+ * =================================================================
+ * Purpose:
+ * A bounded, read-through, in-process cache of Course entities (by id) and of
+ * the full catalog list. The catalog changes rarely and only through
+ * CourseService, while almost every request reads it.
+ *
+ * Behaviour:
+ * - Entries expire after a configurable TTL and the by-id cache is capped by size.
+ * - Misses are loaded through the loader supplied by the caller and are not
+ *   cached when the course does not exist (no negative caching).
+ * - evict()/evictAll() drop the local entries once the current transaction
+ *   commits (immediately when there is none) and broadcast the eviction on the
+ *   CacheInvalidationChannel so other instances drop theirs too.
+ *
+ * Cached Course instances are shared between requests and must be treated as read-only.
+ *
+ * Metrics:
+ * Both caches are published as Micrometer cache metrics (cache.gets, cache.size,
+ * cache.evictions, ...) under the names "courses" and "courses.catalog".
+ * =================================================================
+ */
+@Component
+public class CourseCatalogCache implements MeterBinder {
+
+    static final String CACHE_NAME = "courses";
+
+    private static final String CATALOG_KEY = "all";
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final CacheInvalidationChannel channel;
+    private final Cache<Long, Course> byId;
+    private final Cache<String, List<Course>> catalog;
+
+    public CourseCatalogCache(@Value("${app.courses.cache.max-size:10000}") long maxSize,
+                              @Value("${app.courses.cache.ttl:10m}") Duration ttl,
+                              CacheInvalidationChannel channel) {
+        this.channel = channel;
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.catalog = Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        channel.subscribe(this::onInvalidation);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, byId, CACHE_NAME);
+        CaffeineCacheMetrics.monitor(registry, catalog, CACHE_NAME + ".catalog");
+    }
+
+    /**
+     * Returns the course with the given id, loading it on a miss.
+     * @param id The course id.
+     * @param loader Loads the course from the database; an empty result is not cached.
+     */
+    public Optional<Course> get(Long id, Function<Long, Optional<Course>> loader) {
+        return Optional.ofNullable(byId.get(id, key -> loader.apply(key).orElse(null)));
+    }
+
+    /**
+     * Returns the full catalog, loading it on a miss.
+     * @param loader Loads every course from the database.
+     */
+    public List<Course> getAll(Supplier<List<Course>> loader) {
+        return catalog.get(CATALOG_KEY, key -> List.copyOf(loader.get()));
+    }
+
+    /**
+     * Drops one course and the catalog list, here and on every other instance.
+     */
+    public void evict(Long id) {
+        afterCommit(() -> {
+            evictLocally(id);
+            channel.publish(new CacheInvalidationMessage(instanceId, CACHE_NAME, id));
+        });
+    }
+
+    /**
+     * Drops every cached course and the catalog list, here and on every other instance.
+     */
+    public void evictAll() {
+        afterCommit(() -> {
+            evictLocally(null);
+            channel.publish(new CacheInvalidationMessage(instanceId, CACHE_NAME, null));
+        });
+    }
+
+    /**
+     * @return Hit/miss/eviction counters of both the by-id cache and the catalog list.
+     */
+    public CacheStatistics stats() {
+        CacheStats stats = byId.stats().plus(catalog.stats());
+        return new CacheStatistics(CACHE_NAME, stats.hitCount(), stats.missCount(), stats.hitRate(),
+                stats.evictionCount(), byId.estimatedSize());
+    }
+
+    private void onInvalidation(CacheInvalidationMessage message) {
+        if (CACHE_NAME.equals(message.cache()) && !instanceId.equals(message.origin())) {
+            evictLocally(message.key());
+        }
+    }
+
+    private void evictLocally(Long id) {
+        if (id == null) {
+            byId.invalidateAll();
+        } else {
+            byId.invalidate(id);
+        }
+        catalog.invalidateAll();
+    }
+
+    // Evicting before commit would let a concurrent reader re-cache the old state.
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
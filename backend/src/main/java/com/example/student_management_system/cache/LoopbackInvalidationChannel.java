@@ -0,0 +1,35 @@
+package com.example.student_management_system.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * =================================================================
+ * Loopback Invalidation Channel
+ * =================================================================
+ * Purpose:
+ * An in-JVM CacheInvalidationChannel that delivers every message synchronously
+ * to all listeners registered on the same instance of the channel.
+ *
+ * With a single backend instance it is all that is needed. In tests, several
+ * caches sharing one LoopbackInvalidationChannel stand in for several backend
+ * instances connected to a real broker.
+ * =================================================================
+ */
+public class LoopbackInvalidationChannel implements CacheInvalidationChannel {
+
+    private final List<Consumer<CacheInvalidationMessage>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(CacheInvalidationMessage message) {
+        for (Consumer<CacheInvalidationMessage> listener : listeners) {
+            listener.accept(message);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidationMessage> listener) {
+        listeners.add(listener);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.student_management_system.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * =================================================================
+ * Binary Encoding Configuration
+ * =================================================================
+ * Purpose:
+ * Lets clients ask for a compact binary encoding of any API response instead
+ * of JSON, through the Accept header:
+ * - application/x-jackson-smile (Smile)
+ * - application/cbor (CBOR)
+ * Request bodies may be sent in the same encodings (Content-Type).
+ * JSON stays the default when the client accepts anything.
+ *
+ * Both mappers are built from Spring Boot's Jackson2ObjectMapperBuilder, so
+ * they serialize exactly the same fields as the JSON mapper and follow the
+ * spring.jackson.* settings. Each converter holds one mapper for the lifetime
+ * of the application; Jackson recycles its encoding buffers between requests.
+ *
+ * Smile also writes repeated short strings (course names, codes, professors)
+ * as back-references, which pays off on student lists where the same courses
+ * appear under many students.
+ * =================================================================
+ */
+@Configuration
+public class BinaryEncodingConfig {
+
+    @Bean
+    MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(smileObjectMapper(builder));
+    }
+
+    @Bean
+    MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(cborObjectMapper(builder));
+    }
+
+    /**
+     * The Smile mapper the API uses, shared with the serialization benchmarks.
+     */
+    public static ObjectMapper smileObjectMapper(Jackson2ObjectMapperBuilder builder) {
+        SmileFactory factory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        return builder.createXmlMapper(false).factory(factory).build();
+    }
+
+    /**
+     * The CBOR mapper the API uses, shared with the serialization benchmarks.
+     */
+    public static ObjectMapper cborObjectMapper(Jackson2ObjectMapperBuilder builder) {
+        return builder.createXmlMapper(false).factory(new CBORFactory()).build();
+    }
+}
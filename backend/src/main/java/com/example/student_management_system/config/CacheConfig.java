@@ -0,0 +1,29 @@
+package com.example.student_management_system.config;
+
+import com.example.student_management_system.cache.CacheInvalidationChannel;
+import com.example.student_management_system.cache.LoopbackInvalidationChannel;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * =================================================================
+ * Cache Configuration
+ * =================================================================
+ * Purpose:
+ * Provides the in-JVM invalidation channel used by the in-process caches.
+ * It is the default (app.courses.cache.invalidation=loopback). A multi-instance
+ * deployment sets the property to another value, e.g. "broker", and declares
+ * its own CacheInvalidationChannel bean in its place.
+ * =================================================================
+ */
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.courses.cache", name = "invalidation", havingValue = "loopback",
+            matchIfMissing = true)
+    CacheInvalidationChannel cacheInvalidationChannel() {
+        return new LoopbackInvalidationChannel();
+    }
+}
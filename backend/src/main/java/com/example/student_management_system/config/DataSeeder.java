@@ -8,15 +8,32 @@ import com.example.student_management_system.repository.StudentRepository;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 
 import java.util.List;
 
+/**
+ * =================================================================
+ * Data Seeder
+ * =================================================================
+ * Purpose:
+ * Seeds a small, fixed demo data set (3 courses, 3 students) into an empty
+ * database. With the "generate" profile, SyntheticDataGenerator seeds a large
+ * generated data set instead.
+ * =================================================================
+ */
 @Configuration
 public class DataSeeder {
 
     @Bean
+    @Profile("!generate")
     CommandLineRunner initDatabase(CourseRepository courseRepository, StudentRepository studentRepository) {
         return args -> {
+            // Idempotent: never seed a second copy into a database that already has data.
+            if (courseRepository.count() > 0 || studentRepository.count() > 0) {
+                return;
+            }
+
             // Create and save courses
             Course course1 = new Course();
             course1.setName("Introduction to Programming");
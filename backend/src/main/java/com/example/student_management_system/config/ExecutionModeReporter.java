@@ -0,0 +1,46 @@
+package com.example.student_management_system.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * =================================================================
+ * Execution Mode Reporter
+ * =================================================================
+ * Purpose:
+ * Logs at startup whether requests run on platform or virtual threads, together
+ * with the limits that matter for that mode, and warns when virtual threads were
+ * requested (profile "virtual-threads") on a runtime that cannot provide them.
+ * =================================================================
+ */
+@Component
+public class ExecutionModeReporter {
+
+    private static final Logger log = LoggerFactory.getLogger(ExecutionModeReporter.class);
+
+    @Autowired
+    private Environment environment;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void report() {
+        String poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", "10");
+        boolean requested = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        if (Threading.VIRTUAL.isActive(environment)) {
+            log.info("Request execution: virtual threads; database concurrency bounded by the connection pool ({} connections)",
+                    poolSize);
+            return;
+        }
+        if (requested) {
+            log.warn("Virtual threads requested but the runtime is Java {}; they need Java 21+. Falling back to platform threads",
+                    Runtime.version().feature());
+        }
+        log.info("Request execution: platform threads (up to {} Tomcat workers), {} database connections",
+                environment.getProperty("server.tomcat.threads.max", "200"), poolSize);
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.student_management_system.config;
+
+import com.example.student_management_system.routing.ReadYourWritesFilter;
+import com.example.student_management_system.routing.ReplicaDataSource;
+import com.example.student_management_system.routing.ReplicaHealthMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+
+/**
+ * =================================================================
+ * Read Replica Configuration
+ * =================================================================
+ * Purpose:
+ * Sends read-only transactions (@Transactional(readOnly = true): listings,
+ * lookups, search, export) to a read replica and everything else to the
+ * primary database, each through its own connection pool. Active only with
+ * app.datasource.replica.enabled=true; otherwise Spring Boot's single pool is used.
+ *
+ * Beans:
+ * - primaryDataSource: the pool configured by spring.datasource.* (as without a replica).
+ * - replicaDataSource: a pool for app.datasource.replica.url, tuned by
+ *   app.datasource.replica.hikari.*. It starts even while the replica is unreachable.
+ * - dataSource (primary bean, used by JPA and JdbcTemplate): a
+ *   LazyConnectionDataSourceProxy. It fetches the physical connection only at
+ *   the first statement, when the transaction has already declared itself
+ *   read-only, and then takes it from ReplicaDataSource instead of the primary.
+ * - ReplicaHealthMonitor and ReadYourWritesFilter: fallback and lag policy.
+ *
+ * Writes inside a read-only transaction would go to the replica; keep write
+ * methods out of readOnly transactions.
+ * =================================================================
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pool.setPoolName("primary");
+        return pool;
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                 @Value("${app.datasource.replica.url}") String url,
+                                 @Value("${app.datasource.replica.username:${spring.datasource.username:}}") String username,
+                                 @Value("${app.datasource.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource pool = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        pool.setPoolName("replica");
+        // Start (and keep serving from the primary) while the replica is unreachable.
+        pool.setInitializationFailTimeout(-1);
+        pool.setConnectionTimeout(Duration.ofSeconds(2).toMillis());
+        return pool;
+    }
+
+    @Bean
+    ReplicaHealthMonitor replicaHealthMonitor(@Qualifier("replicaDataSource") DataSource replica,
+                                              @Value("${app.datasource.replica.health-check-interval:5s}") Duration interval) {
+        return new ReplicaHealthMonitor(replica, interval);
+    }
+
+    @Bean
+    ReadYourWritesFilter readYourWritesFilter(
+            @Value("${app.datasource.replica.read-your-writes-window:5s}") Duration window,
+            @Value("${app.datasource.replica.read-your-writes-max-clients:100000}") long maxClients) {
+        return new ReadYourWritesFilter(window, maxClients);
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                          @Qualifier("replicaDataSource") DataSource replica,
+                          ReplicaHealthMonitor health, MeterRegistry meterRegistry) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primary);
+        proxy.setReadOnlyDataSource(new ReplicaDataSource(replica, primary, health, meterRegistry));
+        // Known up front, so the proxy does not need a connection just to find out.
+        proxy.setDefaultAutoCommit(true);
+        proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        return proxy;
+    }
+}
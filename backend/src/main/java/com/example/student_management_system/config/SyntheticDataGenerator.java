@@ -0,0 +1,290 @@
+package com.example.student_management_system.config;
+
+import com.example.student_management_system.model.Course;
+import com.example.student_management_system.repository.CourseRepository;
+import com.example.student_management_system.repository.EnrollmentRepository;
+import com.example.student_management_system.repository.StudentChangeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * =================================================================
+ * Synthetic Data Generator
+ * =================================================================
+ * Purpose:
+ * Fills an empty database with a large, realistic data set so that benchmarks
+ * and load tests can start from 100k to 10M students. Active with the
+ * "generate" profile, in place of the fixed DataSeeder; sizes are set in
+ * application-generate.properties or on the command line.
+ *
+ * Data shape:
+ * - `courses` courses spread over a fixed set of subjects.
+ * - `students` students with names drawn from common first/last name pools
+ *   (so searches see realistic duplicates) and unique emails.
+ * - Each student takes 1 + Poisson(courses-per-student - 1) distinct courses,
+ *   picked with a Zipf(popularity-skew) distribution over course popularity:
+ *   a few courses are crowded, most are small. A skew of 0 is uniform.
+ *
+ * How it works:
+ * - Deterministic: the same seed and sizes always produce the same rows.
+ * - Students and enrollments are written with plain JDBC batches, one
+ *   transaction per `batch-size` students, together with the matching
+ *   course.enrollment_count adjustments, so the counters are consistent at
+ *   every commit. Courses go through JPA (there are few of them).
+ * - Idempotent: it does nothing if the database already has courses or students.
+ * - Logs progress and, at the end, rows written and rows per second.
+ * =================================================================
+ */
+@Component
+@Profile("generate")
+public class SyntheticDataGenerator implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    // Must match the allocationSize of Student's id sequence (see restartStudentSequence).
+    private static final int STUDENT_ID_ALLOCATION = 50;
+
+    private static final String INSERT_STUDENT =
+            "INSERT INTO student (id, first_name, last_name, email, version, change_seq) VALUES (?, ?, ?, ?, 0, ?)";
+
+    private static final String INSERT_ENROLLMENT =
+            "INSERT INTO student_courses (student_id, course_id) VALUES (?, ?)";
+
+    private static final String[] FIRST_NAMES = {
+            "James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael", "Linda", "David", "Elizabeth",
+            "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Charles", "Karen",
+            "Christopher", "Lisa", "Daniel", "Nancy", "Matthew", "Betty", "Anthony", "Margaret", "Mark", "Sandra",
+            "Donald", "Ashley", "Steven", "Kimberly", "Paul", "Emily", "Andrew", "Donna", "Joshua", "Michelle",
+            "Kenneth", "Carol", "Kevin", "Amanda", "Brian", "Dorothy", "George", "Melissa", "Timothy", "Deborah",
+            "Ronald", "Stephanie", "Jason", "Rebecca", "Edward", "Sharon", "Jeffrey", "Laura", "Ryan", "Cynthia",
+            "Jacob", "Amy", "Gary", "Kathleen", "Nicholas", "Angela", "Eric", "Shirley", "Jonathan", "Brenda",
+            "Stephen", "Emma", "Larry", "Anna", "Justin", "Pamela", "Scott", "Nicole", "Brandon", "Samantha",
+            "Benjamin", "Katherine", "Samuel", "Christine", "Gregory", "Helen", "Alexander", "Debra", "Patrick", "Rachel",
+            "Frank", "Carolyn", "Raymond", "Janet", "Jack", "Maria", "Dennis", "Olivia", "Jerry", "Heather",
+            "Aarav", "Priya", "Wei", "Mei", "Hiroshi", "Yuki", "Mohammed", "Fatima", "Carlos", "Sofia",
+            "Luca", "Giulia", "Lukas", "Hannah", "Mateo", "Valentina", "Ivan", "Olga", "Kwame", "Amara"
+    };
+
+    private static final String[] LAST_NAMES = {
+            "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+            "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin",
+            "Lee", "Perez", "Thompson", "White", "Harris", "Sanchez", "Clark", "Ramirez", "Lewis", "Robinson",
+            "Walker", "Young", "Allen", "King", "Wright", "Scott", "Torres", "Nguyen", "Hill", "Flores",
+            "Green", "Adams", "Nelson", "Baker", "Hall", "Rivera", "Campbell", "Mitchell", "Carter", "Roberts",
+            "Gomez", "Phillips", "Evans", "Turner", "Diaz", "Parker", "Cruz", "Edwards", "Collins", "Reyes",
+            "Stewart", "Morris", "Morales", "Murphy", "Cook", "Rogers", "Gutierrez", "Ortiz", "Morgan", "Cooper",
+            "Peterson", "Bailey", "Reed", "Kelly", "Howard", "Ramos", "Kim", "Cox", "Ward", "Richardson",
+            "Watson", "Brooks", "Chavez", "Wood", "James", "Bennett", "Gray", "Mendoza", "Ruiz", "Hughes",
+            "Patel", "Sharma", "Wang", "Li", "Zhang", "Chen", "Tanaka", "Suzuki", "Kowalski", "Novak",
+            "Muller", "Schmidt", "Rossi", "Russo", "Dubois", "Moreau", "Silva", "Santos", "Okafor", "Mensah"
+    };
+
+    private static final String[][] SUBJECTS = {
+            {"CS", "Computer Science"}, {"MATH", "Mathematics"}, {"PHYS", "Physics"}, {"CHEM", "Chemistry"},
+            {"BIO", "Biology"}, {"HIST", "History"}, {"ECON", "Economics"}, {"PSY", "Psychology"},
+            {"PHIL", "Philosophy"}, {"ENG", "English Literature"}, {"ART", "Art History"}, {"MUS", "Music"}
+    };
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private StudentChangeRepository studentChangeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.data.generator.students:100000}")
+    private int students = 100000;
+
+    @Value("${app.data.generator.courses:200}")
+    private int courses = 200;
+
+    // Mean number of courses per student (at least 1).
+    @Value("${app.data.generator.courses-per-student:4}")
+    private double coursesPerStudent = 4;
+
+    // Zipf exponent of course popularity: 0 is uniform, 1 is a classic long tail.
+    @Value("${app.data.generator.popularity-skew:1.0}")
+    private double popularitySkew = 1.0;
+
+    @Value("${app.data.generator.seed:42}")
+    private long seed = 42;
+
+    // Students written per transaction (their enrollments go in the same transaction).
+    @Value("${app.data.generator.batch-size:5000}")
+    private int batchSize = 5000;
+
+    @Override
+    public void run(String... args) {
+        if (courseRepository.count() > 0 || jdbcTemplate.queryForObject("SELECT COUNT(*) FROM student", Long.class) > 0) {
+            log.info("Synthetic data generation skipped: the database already contains data");
+            return;
+        }
+        generate();
+    }
+
+    private void generate() {
+        long startNanos = System.nanoTime();
+        Random random = new Random(seed);
+
+        long[] courseIds = createCourses(random);
+        double[] popularity = popularityDistribution(courseIds.length);
+        // Shuffle which course gets which popularity rank, so the crowded courses are not simply the first ids.
+        shuffle(courseIds, random);
+
+        long enrollments = 0;
+        long nextId = 1;
+        long progressStep = Math.max(students / 10, 1);
+        long nextProgress = progressStep;
+        while (nextId <= students) {
+            int chunk = (int) Math.min(batchSize, students - nextId + 1);
+            enrollments += writeChunk(nextId, chunk, courseIds, popularity, random);
+            nextId += chunk;
+            if (nextId - 1 >= nextProgress) {
+                log.info("Synthetic data: {}/{} students, {} enrollments", nextId - 1, students, enrollments);
+                nextProgress += progressStep;
+            }
+        }
+        restartStudentSequence(nextId - 1);
+
+        double seconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+        long rows = courseIds.length + students + enrollments;
+        log.info("Synthetic data generated in {} s: {} courses, {} students, {} enrollments ({} rows/s, seed {})",
+                String.format(Locale.ROOT, "%.1f", seconds), courseIds.length, students, enrollments,
+                Math.round(seconds > 0 ? rows / seconds : rows), seed);
+    }
+
+    private long[] createCourses(Random random) {
+        List<Course> batch = new ArrayList<>(courses);
+        for (int i = 0; i < courses; i++) {
+            String[] subject = SUBJECTS[i % SUBJECTS.length];
+            int number = 100 + i / SUBJECTS.length;
+            Course course = new Course();
+            course.setName(subject[1] + " " + number);
+            course.setCourseCode(subject[0] + number);
+            course.setProfessor("Dr. " + pick(FIRST_NAMES, random) + " " + pick(LAST_NAMES, random));
+            course.setDescription("Synthetic " + subject[1].toLowerCase(Locale.ROOT) + " course (seed " + seed + ").");
+            course.setCredits(1 + random.nextInt(5));
+            batch.add(course);
+        }
+        return transactionTemplate.execute(status ->
+                courseRepository.saveAll(batch).stream().mapToLong(Course::getId).toArray());
+    }
+
+    // Writes students [firstId, firstId + count) with their enrollments and counter adjustments in one transaction.
+    private long writeChunk(long firstId, int count, long[] courseIds, double[] popularity, Random random) {
+        List<Object[]> studentRows = new ArrayList<>(count);
+        List<Object[]> enrollmentRows = new ArrayList<>((int) (count * coursesPerStudent));
+        Map<Long, Integer> added = new HashMap<>();
+        int[] picked = new int[courseIds.length];
+        for (int i = 0; i < count; i++) {
+            long id = firstId + i;
+            String firstName = pick(FIRST_NAMES, random);
+            String lastName = pick(LAST_NAMES, random);
+            String email = (firstName + "." + lastName).toLowerCase(Locale.ROOT) + id + "@example.edu";
+            studentRows.add(new Object[]{id, firstName, lastName, email, null});
+
+            int take = Math.min(1 + poisson(coursesPerStudent - 1, random), courseIds.length);
+            for (int j = 0; j < take; j++) {
+                int rank = distinctRank(popularity, picked, id, random);
+                long courseId = courseIds[rank];
+                enrollmentRows.add(new Object[]{id, courseId});
+                added.merge(courseId, 1, Integer::sum);
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            // One position of the change sequence per chunk, so delta sync clients see the generated students.
+            // Taken first because the column is mandatory; taking it locks nothing.
+            long changeSeq = studentChangeRepository.nextPosition();
+            studentRows.forEach(row -> row[4] = changeSeq);
+            jdbcTemplate.batchUpdate(INSERT_STUDENT, studentRows);
+            jdbcTemplate.batchUpdate(INSERT_ENROLLMENT, enrollmentRows);
+            enrollmentRepository.adjustEnrollmentCounts(added);
+        });
+        return enrollmentRows.size();
+    }
+
+    // Draws a popularity rank not yet taken by this student. picked[rank] == studentId marks a rank as taken,
+    // so the array never needs clearing between students.
+    private static int distinctRank(double[] popularity, int[] picked, long studentId, Random random) {
+        int marker = (int) studentId;
+        int rank = Arrays.binarySearch(popularity, random.nextDouble());
+        rank = Math.min(rank < 0 ? -rank - 1 : rank, popularity.length - 1);
+        // On a collision, walk to the next free rank; at most the student's course count steps.
+        while (picked[rank] == marker) {
+            rank = (rank + 1) % popularity.length;
+        }
+        picked[rank] = marker;
+        return rank;
+    }
+
+    // Cumulative Zipf distribution over ranks 0..n-1, for inverse-transform sampling.
+    private double[] popularityDistribution(int n) {
+        double[] cumulative = new double[n];
+        double total = 0;
+        for (int rank = 0; rank < n; rank++) {
+            total += 1.0 / Math.pow(rank + 1, popularitySkew);
+            cumulative[rank] = total;
+        }
+        for (int rank = 0; rank < n; rank++) {
+            cumulative[rank] /= total;
+        }
+        return cumulative;
+    }
+
+    // Knuth's method; fine for the small means used here.
+    private static int poisson(double mean, Random random) {
+        if (mean <= 0) {
+            return 0;
+        }
+        double limit = Math.exp(-mean);
+        double product = random.nextDouble();
+        int k = 0;
+        while (product > limit) {
+            product *= random.nextDouble();
+            k++;
+        }
+        return k;
+    }
+
+    // Ids were assigned here, not by Hibernate: move the pooled sequence past them so that the next
+    // block Hibernate reserves (value - allocationSize + 1 .. value) starts after the last generated id.
+    private void restartStudentSequence(long lastId) {
+        jdbcTemplate.execute("ALTER SEQUENCE student_seq RESTART WITH " + (lastId + STUDENT_ID_ALLOCATION + 1));
+    }
+
+    private static void shuffle(long[] values, Random random) {
+        for (int i = values.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            long tmp = values[i];
+            values[i] = values[j];
+            values[j] = tmp;
+        }
+    }
+
+    private static String pick(String[] values, Random random) {
+        return values[random.nextInt(values.length)];
+    }
+}
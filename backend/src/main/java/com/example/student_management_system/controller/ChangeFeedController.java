@@ -0,0 +1,36 @@
+package com.example.student_management_system.controller;
+
+import com.example.student_management_system.feed.ChangeFeed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * =================================================================
+ * Change Feed Controller
+ * =================================================================
+ * Purpose:
+ * Serves the change feed (see ChangeFeed) as a server-sent event stream.
+ * Browsers consume it with an EventSource, which reconnects on its own and
+ * sends the id of the last event it received.
+ * =================================================================
+ */
+@RestController
+@RequestMapping("/api/feed")
+@CrossOrigin(origins = "http://localhost:4200")
+public class ChangeFeedController {
+
+    @Autowired
+    private ChangeFeed changeFeed;
+
+    /**
+     * Handles GET requests to /api/feed.
+     * @param lastEventId The id of the last event a reconnecting client received; if events were missed, the stream starts with a resync.
+     * @return The event stream, open until the client disconnects or app.feed.timeout passes.
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return changeFeed.subscribe(lastEventId);
+    }
+}
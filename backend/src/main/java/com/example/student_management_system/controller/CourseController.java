@@ -1,12 +1,21 @@
 package com.example.student_management_system.controller;
 
+import com.example.student_management_system.dto.CacheStatistics;
+import com.example.student_management_system.dto.CourseCatalogVersion;
+import com.example.student_management_system.dto.CourseListing;
+import com.example.student_management_system.dto.ResponseEncoding;
+import com.example.student_management_system.dto.StudentPage;
+import com.example.student_management_system.dto.StudentSummary;
 import com.example.student_management_system.model.Course;
 import com.example.student_management_system.service.CourseService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -18,7 +27,7 @@ import java.util.List;
  * This class serves as the API endpoint for all course-related operations.
  * It handles incoming HTTP requests from the client (our Angular app),
  * delegates the business logic to the CourseService, and returns structured
- * JSON responses.
+ * JSON responses (or Smile/CBOR when the client asks for them).
  * =================================================================
  */
 @RestController
@@ -31,12 +40,38 @@ public class CourseController {
 
     /**
      * Handles GET requests to /api/courses.
-     * Fetches and returns a list of all courses.
-     * @return A List of Course objects.
+     * Fetches and returns a list of all courses, each with its current enrollment count.
+     * The response carries a strong ETag derived from the catalog version (and the negotiated encoding);
+     * a request whose If-None-Match still matches is answered with 304 Not Modified before the listing is built.
+     * @param request The current request, used for the If-None-Match check.
+     * @return A ResponseEntity with the List of CourseListing objects, or null once a 304 has been prepared.
      */
     @GetMapping
-    public List<Course> getAllCourses() {
-        return courseService.getAllCourses();
+    public ResponseEntity<List<CourseListing>> getAllCourses(WebRequest request) {
+        CourseCatalogVersion version = courseService.getCatalogVersion();
+        ResponseEncoding encoding = ResponseEncoding.fromAcceptHeader(request.getHeader(HttpHeaders.ACCEPT));
+        String eTag = "\"courses-" + version.courseCount() + "-" + version.versionSum() + encoding.getETagSuffix() + "\"";
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        // Built after the version was read, so (within the catalog cache's invalidation window) the body is never older than its ETag.
+        return ResponseEntity.ok().eTag(eTag).cacheControl(CacheControl.noCache()).varyBy(HttpHeaders.ACCEPT)
+                .body(courseService.getCourseListings());
+    }
+
+    /**
+     * Handles GET requests to /api/courses/{id}/students.
+     * Returns one keyset-paginated page of the course's roster, ordered by student id.
+     * @param id The ID of the course.
+     * @param cursor The `nextCursor` from the previous page; omit it for the first page.
+     * @param size The page size; defaults to the configured size and is capped at the configured maximum.
+     * @return A StudentPage of student summaries.
+     */
+    @GetMapping("/{id}/students")
+    public StudentPage<StudentSummary> getCourseRoster(@PathVariable Long id,
+                                                       @RequestParam(required = false) String cursor,
+                                                       @RequestParam(required = false) Integer size) {
+        return courseService.getCourseRoster(id, cursor, size);
     }
 
     /**
@@ -50,4 +85,14 @@ public class CourseController {
         Course createdCourse = courseService.createCourse(course);
         return new ResponseEntity<>(createdCourse, HttpStatus.CREATED);
     }
+
+    /**
+     * Handles GET requests to /api/courses/cache/stats.
+     * Exposes the hit/miss statistics of the in-process course catalog cache.
+     * @return The cache statistics.
+     */
+    @GetMapping("/cache/stats")
+    public CacheStatistics getCacheStatistics() {
+        return courseService.getCacheStatistics();
+    }
 }
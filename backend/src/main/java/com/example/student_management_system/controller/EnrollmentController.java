@@ -0,0 +1,76 @@
+package com.example.student_management_system.controller;
+
+import com.example.student_management_system.dto.BulkEnrollmentRequest;
+import com.example.student_management_system.dto.BulkEnrollmentResult;
+import com.example.student_management_system.dto.EnrollmentSet;
+import com.example.student_management_system.service.EnrollmentService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * =================================================================
+ * Enrollment Controller
+ * =================================================================
+ * Purpose:
+ * API endpoints that work on enrollments (the student/course links) as a set,
+ * rather than through a single student.
+ * Single enrollments remain available under /api/students/{studentId}/enroll/{courseId}.
+ * Set queries across courses and students are read from the in-memory enrollment index.
+ * =================================================================
+ */
+@RestController
+@RequestMapping("/api/enrollments")
+@CrossOrigin(origins = "http://localhost:4200")
+public class EnrollmentController {
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    /**
+     * Handles POST requests to /api/enrollments/bulk.
+     * Enrolls many (student, course) pairs in one transaction with batched writes.
+     * Pairs that cannot be enrolled are reported individually and do not fail the request.
+     * @param request The pairs to enroll (see BulkEnrollmentRequest for the accepted forms).
+     * @return A ResponseEntity with the totals and per-pair results.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkEnrollmentResult> enrollAll(@Valid @RequestBody BulkEnrollmentRequest request) {
+        return ResponseEntity.ok(enrollmentService.enrollAll(request));
+    }
+
+    /**
+     * Handles GET requests to /api/enrollments/students/{operation}, e.g.
+     * /api/enrollments/students/difference?courseIds=3,5 for the students in course 3 but not in course 5.
+     * Answered from the in-memory enrollment index.
+     * @param operation intersection, union or difference (the first course minus the others).
+     * @param courseIds The courses to combine.
+     * @param limit The maximum number of student ids returned (optional).
+     * @return A ResponseEntity with the number of matching students and their ids.
+     */
+    @GetMapping("/students/{operation}")
+    public ResponseEntity<EnrollmentSet> findStudents(@PathVariable String operation,
+                                                      @RequestParam(required = false) List<Long> courseIds,
+                                                      @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(enrollmentService.findStudents(operation, courseIds, limit));
+    }
+
+    /**
+     * Handles GET requests to /api/enrollments/courses/{operation}, e.g.
+     * /api/enrollments/courses/intersection?studentIds=1,2,3 for the courses all three students take.
+     * Answered from the in-memory enrollment index.
+     * @param operation intersection, union or difference (the first student's courses minus the others').
+     * @param studentIds The students to combine.
+     * @param limit The maximum number of course ids returned (optional).
+     * @return A ResponseEntity with the number of matching courses and their ids.
+     */
+    @GetMapping("/courses/{operation}")
+    public ResponseEntity<EnrollmentSet> findCourses(@PathVariable String operation,
+                                                     @RequestParam(required = false) List<Long> studentIds,
+                                                     @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(enrollmentService.findCourses(operation, studentIds, limit));
+    }
+}
@@ -1,13 +1,35 @@
 package com.example.student_management_system.controller;
 
+import com.example.student_management_system.dto.EnrollmentAck;
+import com.example.student_management_system.dto.EnrollmentOutcome;
+import com.example.student_management_system.dto.ExportFormat;
+import com.example.student_management_system.dto.ImportFormat;
+import com.example.student_management_system.dto.ResponseEncoding;
+import com.example.student_management_system.dto.StudentChanges;
+import com.example.student_management_system.dto.StudentImportReport;
+import com.example.student_management_system.dto.StudentPage;
+import com.example.student_management_system.dto.StudentSearchHit;
+import com.example.student_management_system.dto.StudentShape;
+import com.example.student_management_system.dto.StudentSort;
+import com.example.student_management_system.dto.StudentView;
 import com.example.student_management_system.model.Student;
+import com.example.student_management_system.service.EnrollmentWriteBehindQueue;
+import com.example.student_management_system.service.StudentExportService;
+import com.example.student_management_system.service.StudentImportService;
 import com.example.student_management_system.service.StudentService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -28,24 +50,139 @@ public class StudentController {
     @Autowired
     private StudentService studentService;
 
+    @Autowired
+    private StudentExportService studentExportService;
+
+    @Autowired
+    private StudentImportService studentImportService;
+
+    @Autowired
+    private EnrollmentWriteBehindQueue enrollmentQueue;
+
     /**
      * Handles GET requests to /api/students.
-     * @return A list of all students.
+     * Returns one keyset-paginated page; follow `nextCursor` to walk the whole roster.
+     * @param sort The ordering: "id" (default), "lastName" or "email".
+     * @param cursor The `nextCursor` from the previous page; omit it for the first page.
+     * @param size The page size; defaults to the configured size and is capped at the configured maximum.
+     * @param view The fetch plan: "summary" (default, no courses, 1 query) or "detail" (with courses, 2 queries).
+     * @param fields Optional sparse fieldset, e.g. "firstName,lastName,courses.courseCode" (see StudentShape).
+     * @param expand Optional course embedding: "courses", "courseIds" or "none". With `fields`, replaces `view`.
+     * @return A StudentPage containing the students of this page.
      */
     @GetMapping
-    public List<Student> getAllStudents() {
-        return studentService.getAllStudents();
+    public StudentPage<?> getAllStudents(@RequestParam(required = false) String sort,
+                                         @RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false) Integer size,
+                                         @RequestParam(required = false) String view,
+                                         @RequestParam(required = false) String fields,
+                                         @RequestParam(required = false) String expand) {
+        StudentSort studentSort = StudentSort.fromParameter(sort);
+        if (StudentShape.isRequested(fields, expand)) {
+            return studentService.getShapedStudentPage(studentSort, cursor, size, StudentShape.fromParameters(fields, expand));
+        }
+        if (StudentView.fromParameter(view, StudentView.SUMMARY) == StudentView.DETAIL) {
+            return studentService.getStudentDetailPage(studentSort, cursor, size);
+        }
+        return studentService.getStudentPage(studentSort, cursor, size);
+    }
+
+    /**
+     * Handles GET requests to /api/students/changes.
+     * Delta sync: returns only the students created, updated or deleted (as tombstones) since a token.
+     * Start without a token to get every student, follow `token` while `hasMore` is true, and keep the last
+     * token to ask for the next changes later.
+     * @param since The `token` from the previous response; omit it to start a full sync.
+     * @param size The maximum number of changes; defaults to the configured page size and is capped at its maximum.
+     * @return The changes and the token to continue from; 410 Gone if the token has expired.
+     */
+    @GetMapping("/changes")
+    public StudentChanges getStudentChanges(@RequestParam(required = false) String since,
+                                            @RequestParam(required = false) Integer size) {
+        return studentService.getStudentChanges(since, size);
+    }
+
+    /**
+     * Handles GET requests to /api/students/export.
+     * Streams every student with its course codes as NDJSON (default) or CSV.
+     * The body is written incrementally from a database cursor, so memory use does not grow with the roster.
+     * @param format "ndjson" (default) or "csv".
+     * @return A ResponseEntity whose body is written asynchronously as rows are read.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportStudents(@RequestParam(required = false) String format) {
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+        StreamingResponseBody body = out -> studentExportService.export(exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"students." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
+    /**
+     * Handles GET requests to /api/students/search.
+     * Ranked search over first name, last name and email, answered from the in-memory search index.
+     * @param q The search text, e.g. "smi" or "john sm"; every term must match.
+     * @param limit The number of hits (top-k); defaults to the configured limit and is capped.
+     * @param fuzzy Whether name terms may match with typos (default true).
+     * @return The hits, best match first.
+     */
+    @GetMapping("/search")
+    public List<StudentSearchHit> searchStudents(@RequestParam String q,
+                                                 @RequestParam(required = false) Integer limit,
+                                                 @RequestParam(defaultValue = "true") boolean fuzzy) {
+        return studentService.searchStudents(q, limit, fuzzy);
     }
 
     /**
      * Handles GET requests to /api/students/{id}.
+     * Responses carry a strong ETag derived from the student's version (and the view and negotiated encoding).
+     * A request whose If-None-Match still matches is answered with 304 Not Modified. Summaries and sparse fieldsets
+     * read only the version for that (one indexed lookup); the detail view loads the student once and uses its version.
      * @param id The ID of the student, extracted from the URL path.
-     * @return A ResponseEntity containing the found Student.
+     * @param view The fetch plan: "detail" (default, with courses) or "summary" (without courses).
+     * @param fields Optional sparse fieldset, e.g. "firstName,lastName,courses.courseCode" (see StudentShape).
+     * @param expand Optional course embedding: "courses", "courseIds" or "none". With `fields`, replaces `view`.
+     * @param afterTicket Optional; the ticket of a queued enrollment (write-behind mode). The read waits until
+     *                    that enrollment has been written, so clients see their own changes.
+     * @param request The current request, used for the If-None-Match check.
+     * @return A ResponseEntity containing the found Student, or null once a 304 has been prepared.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Student> getStudentById(@PathVariable Long id) {
-        Student student = studentService.getStudentById(id);
-        return ResponseEntity.ok(student);
+    public ResponseEntity<?> getStudentById(@PathVariable Long id, @RequestParam(required = false) String view,
+                                            @RequestParam(required = false) String fields,
+                                            @RequestParam(required = false) String expand,
+                                            @RequestParam(required = false) Long afterTicket, WebRequest request) {
+        if (afterTicket != null) {
+            enrollmentQueue.awaitApplied(afterTicket);
+        }
+        StudentShape shape = StudentShape.isRequested(fields, expand) ? StudentShape.fromParameters(fields, expand) : null;
+        boolean summary = shape == null && StudentView.fromParameter(view, StudentView.DETAIL) == StudentView.SUMMARY;
+        String representation = shape != null ? "-" + shape.key() : summary ? "-summary" : "";
+        ResponseEncoding encoding = ResponseEncoding.fromAcceptHeader(request.getHeader(HttpHeaders.ACCEPT));
+        if (shape == null && !summary) {
+            // The version is loaded by the same statement as the courses, so the conditional check,
+            // the ETag header and the body all describe the same state.
+            Student student = studentService.getStudentById(id);
+            String eTag = studentETag(id, student.getVersion(), representation, encoding);
+            if (request.checkNotModified(eTag)) {
+                return null;
+            }
+            return ResponseEntity.ok().eTag(eTag).cacheControl(CacheControl.noCache()).varyBy(HttpHeaders.ACCEPT)
+                    .body(student);
+        }
+        String eTag = studentETag(id, studentService.getStudentVersion(id), representation, encoding);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        if (shape != null) {
+            // Read after the version, so the body is never older than the ETag sent with it.
+            return ResponseEntity.ok().eTag(eTag).cacheControl(CacheControl.noCache()).varyBy(HttpHeaders.ACCEPT)
+                    .body(studentService.getShapedStudentById(id, shape));
+        }
+        // Read after the version, so the body is never older than the ETag sent with it.
+        return ResponseEntity.ok().eTag(eTag).cacheControl(CacheControl.noCache()).varyBy(HttpHeaders.ACCEPT)
+                .body(studentService.getStudentSummaryById(id));
     }
 
     /**
@@ -59,6 +196,28 @@ public class StudentController {
         return new ResponseEntity<>(createdStudent, HttpStatus.CREATED);
     }
 
+    /**
+     * Handles POST requests to /api/students/import with a text/csv body.
+     * Streams the rows into the database in chunked, batched transactions.
+     * @param body The raw CSV request body (header line required).
+     * @return A ResponseEntity with the import report (counts, per-row errors, rows/sec).
+     */
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<StudentImportReport> importStudentsCsv(InputStream body) throws IOException {
+        return ResponseEntity.ok(studentImportService.importStudents(ImportFormat.CSV, body));
+    }
+
+    /**
+     * Handles POST requests to /api/students/import with an application/json body (an array of students).
+     * Streams the rows into the database in chunked, batched transactions.
+     * @param body The raw JSON request body.
+     * @return A ResponseEntity with the import report (counts, per-row errors, rows/sec).
+     */
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StudentImportReport> importStudentsJson(InputStream body) throws IOException {
+        return ResponseEntity.ok(studentImportService.importStudents(ImportFormat.JSON, body));
+    }
+
     /**
      * Handles PUT requests to /api/students/{id}.
      * @param id The ID of the student to update.
@@ -84,27 +243,60 @@ public class StudentController {
 
     /**
      * Handles POST requests to /api/students/{studentId}/enroll/{courseId}.
-     * Enrolls a student in a course.
+     * Enrolls a student in a course. Idempotent: enrolling twice reports ALREADY_ENROLLED.
+     * In write-behind mode the enrollment is queued and answered with 202 and an EnrollmentAck instead.
      * @param studentId The ID of the student.
      * @param courseId The ID of the course.
-     * @return A ResponseEntity with the updated Student object.
+     * @param view Optional; "detail" returns the updated Student (one extra query) instead of the outcome.
+     * @return A ResponseEntity with the EnrollmentOutcome, or the updated Student when requested.
      */
     @PostMapping("/{studentId}/enroll/{courseId}")
-    public ResponseEntity<Student> enrollStudent(@PathVariable Long studentId, @PathVariable Long courseId) {
-        Student updatedStudent = studentService.enrollStudentInCourse(studentId, courseId);
-        return ResponseEntity.ok(updatedStudent);
+    public ResponseEntity<?> enrollStudent(@PathVariable Long studentId, @PathVariable Long courseId,
+                                           @RequestParam(required = false) String view) {
+        if (enrollmentQueue.isEnabled()) {
+            return queuedResponse(enrollmentQueue.enroll(studentId, courseId), view);
+        }
+        EnrollmentOutcome outcome = studentService.enrollStudentInCourse(studentId, courseId);
+        return enrollmentResponse(outcome, view);
     }
 
     /**
      * Handles DELETE requests to /api/students/{studentId}/unenroll/{courseId}.
-     * Unenrolls a student from a course.
+     * Unenrolls a student from a course. Idempotent: unenrolling twice reports NOT_ENROLLED.
+     * In write-behind mode the unenrollment is queued and answered with 202 and an EnrollmentAck instead.
      * @param studentId The ID of the student.
      * @param courseId The ID of the course.
-     * @return A ResponseEntity with the updated Student object.
+     * @param view Optional; "detail" returns the updated Student (one extra query) instead of the outcome.
+     * @return A ResponseEntity with the EnrollmentOutcome, or the updated Student when requested.
      */
     @DeleteMapping("/{studentId}/unenroll/{courseId}")
-    public ResponseEntity<Student> unenrollStudent(@PathVariable Long studentId, @PathVariable Long courseId) {
-        Student updatedStudent = studentService.unenrollStudentFromCourse(studentId, courseId);
-        return ResponseEntity.ok(updatedStudent);
+    public ResponseEntity<?> unenrollStudent(@PathVariable Long studentId, @PathVariable Long courseId,
+                                             @RequestParam(required = false) String view) {
+        if (enrollmentQueue.isEnabled()) {
+            return queuedResponse(enrollmentQueue.unenroll(studentId, courseId), view);
+        }
+        EnrollmentOutcome outcome = studentService.unenrollStudentFromCourse(studentId, courseId);
+        return enrollmentResponse(outcome, view);
+    }
+
+    // Each representation (detail, summary or shape, in each encoding) gets its own tag, as strong ETags require.
+    private static String studentETag(Long id, long version, String representation, ResponseEncoding encoding) {
+        return "\"student-" + id + "-" + version + representation + encoding.getETagSuffix() + "\"";
+    }
+
+    // A detail view has to show the change, so it waits for the write; otherwise the ack is returned at once.
+    private ResponseEntity<?> queuedResponse(EnrollmentAck ack, String view) {
+        if (StudentView.fromParameter(view, StudentView.SUMMARY) == StudentView.DETAIL) {
+            enrollmentQueue.awaitApplied(ack.ticket());
+            return ResponseEntity.ok(studentService.getStudentById(ack.studentId()));
+        }
+        return ResponseEntity.accepted().body(ack);
+    }
+
+    private ResponseEntity<?> enrollmentResponse(EnrollmentOutcome outcome, String view) {
+        if (StudentView.fromParameter(view, StudentView.SUMMARY) == StudentView.DETAIL) {
+            return ResponseEntity.ok(studentService.getStudentById(outcome.studentId()));
+        }
+        return ResponseEntity.ok(outcome);
     }
 }
@@ -0,0 +1,22 @@
+package com.example.student_management_system.dto;
+
+import jakarta.validation.Valid;
+
+import java.util.List;
+
+/**
+ * =================================================================
+ * Bulk Enrollment Request
+ * =================================================================
+ * Purpose:
+ * The body of POST /api/enrollments/bulk. Either form (or both) may be used:
+ *
+ * 1. Explicit pairs:
+ * { "pairs": [ { "studentId": 1, "courseId": 10 }, { "studentId": 2, "courseId": 11 } ] }
+ *
+ * 2. One course, many students:
+ * { "courseId": 10, "studentIds": [1, 2, 3] }
+ * =================================================================
+ */
+public record BulkEnrollmentRequest(Long courseId, List<Long> studentIds, @Valid List<EnrollmentPair> pairs) {
+}
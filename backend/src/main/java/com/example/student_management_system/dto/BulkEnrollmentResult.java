@@ -0,0 +1,22 @@
+package com.example.student_management_system.dto;
+
+import java.util.List;
+
+/**
+ * =================================================================
+ * Bulk Enrollment Result
+ * =================================================================
+ * Purpose:
+ * The response of POST /api/enrollments/bulk: totals plus one outcome per
+ * requested pair, in request order.
+ *
+ * JSON Output Format:
+ * {
+ * "requested": 3, "enrolled": 1, "alreadyEnrolled": 1, "rejected": 1,
+ * "results": [ { "studentId": 1, "courseId": 10, "status": "ENROLLED" }, ... ]
+ * }
+ * =================================================================
+ */
+public record BulkEnrollmentResult(int requested, int enrolled, int alreadyEnrolled, int rejected,
+                                   List<EnrollmentOutcome> results) {
+}
@@ -0,0 +1,7 @@
+package com.example.student_management_system.dto;
+
+/**
+ * Hit/miss statistics of an in-process cache, as returned by the cache stats endpoints.
+ */
+public record CacheStatistics(String cache, long hits, long misses, double hitRate, long evictions, long size) {
+}
@@ -0,0 +1,8 @@
+package com.example.student_management_system.dto;
+
+/**
+ * The version of the course listing, as read by CourseRepository.findCatalogVersion():
+ * the number of courses and the sum of their versions.
+ */
+public record CourseCatalogVersion(long courseCount, long versionSum) {
+}
@@ -0,0 +1,7 @@
+package com.example.student_management_system.dto;
+
+/**
+ * The maintained enrollment counter of one course, as read by CourseRepository.findEnrollmentCounts().
+ */
+public record CourseEnrollmentCount(Long courseId, long enrollmentCount) {
+}
@@ -0,0 +1,16 @@
+package com.example.student_management_system.dto;
+
+import com.example.student_management_system.model.Course;
+
+/**
+ * One row of GET /api/courses: the course fields plus its current enrollment count.
+ * A null capacity means the course has no seat limit.
+ */
+public record CourseListing(Long id, String name, String courseCode, String professor, String description,
+                            Integer credits, Integer capacity, long enrollmentCount) {
+
+    public static CourseListing of(Course course, long enrollmentCount) {
+        return new CourseListing(course.getId(), course.getName(), course.getCourseCode(), course.getProfessor(),
+                course.getDescription(), course.getCredits(), course.getCapacity(), enrollmentCount);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.student_management_system.dto;
+
+/**
+ * =================================================================
+ * Enrollment Acknowledgement
+ * =================================================================
+ * Purpose:
+ * The 202 Accepted response of the single enroll/unenroll endpoints when the
+ * write-behind queue is enabled: the command was accepted and will be applied
+ * with the next batch.
+ *
+ * - ticket: increases with every accepted command. Pass it as
+ *   GET /api/students/{id}?afterTicket={ticket} to read the student only once
+ *   this command (and every earlier one) has been written.
+ * - coalesced: true if the command replaced a still pending one for the same pair.
+ *
+ * JSON Output Format:
+ * {
+ * "ticket": 42, "studentId": 1, "courseId": 10, "operation": "ENROLL", "coalesced": false
+ * }
+ * =================================================================
+ */
+public record EnrollmentAck(long ticket, Long studentId, Long courseId, Operation operation, boolean coalesced) {
+
+    public enum Operation {
+        ENROLL,
+        UNENROLL
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.student_management_system.dto;
+
+/**
+ * The result of enrolling or unenrolling one (student, course) pair,
+ * returned by the single-pair endpoints and per pair by the bulk endpoint.
+ */
+public record EnrollmentOutcome(Long studentId, Long courseId, Status status) {
+
+    public enum Status {
+        ENROLLED,
+        ALREADY_ENROLLED,
+        UNENROLLED,
+        NOT_ENROLLED,
+        DUPLICATE_IN_REQUEST,
+        STUDENT_NOT_FOUND,
+        COURSE_NOT_FOUND,
+        COURSE_FULL
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.student_management_system.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * One (student, course) enrollment, as accepted by the bulk enrollment API.
+ */
+public record EnrollmentPair(@NotNull Long studentId, @NotNull Long courseId) {
+}
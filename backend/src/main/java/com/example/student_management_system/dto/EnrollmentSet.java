@@ -0,0 +1,21 @@
+package com.example.student_management_system.dto;
+
+/**
+ * =================================================================
+ * Enrollment Set
+ * =================================================================
+ * Purpose:
+ * The result of a set query over enrollments, e.g.
+ * GET /api/enrollments/students/difference?courseIds=3,5
+ * (the students in course 3 but not in course 5).
+ *
+ * JSON Output Format:
+ * {
+ * "count": 1284,        // size of the whole result
+ * "truncated": true,    // more ids matched than the limit allowed
+ * "ids": [ 1, 4, 9 ]    // ascending, at most `limit` of them
+ * }
+ * =================================================================
+ */
+public record EnrollmentSet(int count, boolean truncated, long[] ids) {
+}
@@ -0,0 +1,42 @@
+package com.example.student_management_system.dto;
+
+import com.example.student_management_system.exception.BadRequestException;
+
+import java.util.Locale;
+
+/**
+ * =================================================================
+ * Enrollment Set Operation
+ * =================================================================
+ * Purpose:
+ * How the sets named in an enrollment set query are combined:
+ *  - INTERSECTION: in every set
+ *  - UNION: in at least one set
+ *  - DIFFERENCE: in the first set and in none of the others
+ * =================================================================
+ */
+public enum EnrollmentSetOperation {
+    INTERSECTION,
+    UNION,
+    DIFFERENCE;
+
+    /**
+     * Resolves the operation segment of the path (e.g. "intersection").
+     * @param value The raw path segment.
+     * @return The matching EnrollmentSetOperation.
+     * @throws BadRequestException if the value does not name a supported operation.
+     */
+    public static EnrollmentSetOperation fromParameter(String value) {
+        switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "intersection":
+                return INTERSECTION;
+            case "union":
+                return UNION;
+            case "difference":
+                return DIFFERENCE;
+            default:
+                throw new BadRequestException("Unsupported set operation: " + value
+                        + " (expected intersection, union or difference)");
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.student_management_system.dto;
+
+import com.example.student_management_system.exception.BadRequestException;
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+/**
+ * =================================================================
+ * Export Format
+ * =================================================================
+ * Purpose:
+ * The output formats supported by the streaming student export.
+ *
+ * - NDJSON: one JSON object per line, e.g.
+ *   {"id":1,"firstName":"Alice","lastName":"Johnson","email":"alice.j@example.com","courseCodes":["CS101"]}
+ * - CSV: a header line, then one line per student, with course codes joined by ';'.
+ * =================================================================
+ */
+public enum ExportFormat {
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+    CSV(MediaType.parseMediaType("text/csv"), "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Resolves the value of the `format` query parameter.
+     * @param value The raw parameter value; null or blank means NDJSON.
+     * @return The matching ExportFormat.
+     * @throws BadRequestException if the value does not name a supported format.
+     */
+    public static ExportFormat fromParameter(String value) {
+        if (value == null || value.isBlank()) {
+            return NDJSON;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Unsupported export format: " + value + " (expected ndjson or csv)");
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.student_management_system.dto;
+
+/**
+ * The input formats accepted by the bulk student import, selected by the request Content-Type.
+ *
+ * - CSV (text/csv): a header line naming the columns (firstName, lastName, email; other
+ *   columns such as id or courseCodes are ignored, so an export can be re-imported).
+ * - JSON (application/json): an array of objects with firstName, lastName and email.
+ */
+public enum ImportFormat {
+    CSV,
+    JSON
+}
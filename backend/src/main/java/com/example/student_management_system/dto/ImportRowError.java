@@ -0,0 +1,9 @@
+package com.example.student_management_system.dto;
+
+/**
+ * A row rejected by the bulk student import.
+ * @param row The 1-based data row number (the CSV header is not counted).
+ * @param message Why the row was rejected, e.g. "email: Email should be valid".
+ */
+public record ImportRowError(long row, String message) {
+}
@@ -0,0 +1,83 @@
+package com.example.student_management_system.dto;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * =================================================================
+ * Response Encoding
+ * =================================================================
+ * Purpose:
+ * The encodings API responses are available in (see BinaryEncodingConfig).
+ * A cached response is only valid for the encoding it was sent in, so endpoints
+ * with ETags resolve the encoding of the response up front and give each
+ * encoding its own tag.
+ *
+ * - JSON:  application/json, the default.
+ * - SMILE: application/x-jackson-smile.
+ * - CBOR:  application/cbor.
+ * =================================================================
+ */
+public enum ResponseEncoding {
+    JSON(MediaType.APPLICATION_JSON, ""),
+    SMILE(MediaType.parseMediaType("application/x-jackson-smile"), "-smile"),
+    CBOR(MediaType.parseMediaType("application/cbor"), "-cbor");
+
+    private final MediaType mediaType;
+    private final String eTagSuffix;
+
+    ResponseEncoding(MediaType mediaType, String eTagSuffix) {
+        this.mediaType = mediaType;
+        this.eTagSuffix = eTagSuffix;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * The suffix that makes an ETag specific to this encoding; empty for JSON, so JSON tags are unchanged.
+     */
+    public String getETagSuffix() {
+        return eTagSuffix;
+    }
+
+    /**
+     * Resolves the encoding Spring MVC will pick for an Accept header: the most preferred accepted
+     * type (by quality, then specificity) that one of the encodings matches, JSON first on a tie.
+     * @param accept The raw Accept header; null, blank or unparsable means JSON.
+     * @return The negotiated ResponseEncoding.
+     */
+    public static ResponseEncoding fromAcceptHeader(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return JSON;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException ex) {
+            return JSON;
+        }
+        accepted.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed()
+                .thenComparingInt(ResponseEncoding::wildcards));
+        for (MediaType type : accepted) {
+            if (type.getQualityValue() == 0) {
+                continue;
+            }
+            for (ResponseEncoding encoding : values()) {
+                if (type.isCompatibleWith(encoding.mediaType)) {
+                    return encoding;
+                }
+            }
+        }
+        return JSON;
+    }
+
+    private static int wildcards(MediaType type) {
+        return (type.isWildcardType() ? 1 : 0) + (type.isWildcardSubtype() ? 1 : 0);
+    }
+}
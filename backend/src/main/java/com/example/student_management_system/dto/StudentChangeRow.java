@@ -0,0 +1,12 @@
+package com.example.student_management_system.dto;
+
+/**
+ * One entry of the student change sequence read by the delta sync: the current summary of a
+ * created or updated student, or a tombstone (student null) for a deleted one.
+ */
+public record StudentChangeRow(long changeSeq, Long studentId, StudentSummary student) {
+
+    public boolean isTombstone() {
+        return student == null;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.student_management_system.dto;
+
+import java.util.List;
+
+/**
+ * =================================================================
+ * Student Changes
+ * =================================================================
+ * Purpose:
+ * One page of the delta sync returned by GET /api/students/changes.
+ *
+ * JSON Output Format:
+ * {
+ * "changed": [ { "id": 7, "firstName": "Ada", ... } ],   // created or updated, current state
+ * "deleted": [ 12 ],                                      // tombstones: ids to drop
+ * "token": "MTQKOTIyMzM3MjAzNjg1NDc3NTgwNw",
+ * "hasMore": false
+ * }
+ *
+ * The token is opaque to clients: pass it back unchanged as `?since=` to get
+ * the changes after this page. While `hasMore` is true, more changes are
+ * already waiting; otherwise the client is up to date.
+ * =================================================================
+ */
+public record StudentChanges(List<StudentSummary> changed, List<Long> deleted, String token, boolean hasMore) {
+}
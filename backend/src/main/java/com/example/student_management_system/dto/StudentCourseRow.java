@@ -0,0 +1,8 @@
+package com.example.student_management_system.dto;
+
+/**
+ * One row of the student/course outer join streamed by the export:
+ * a student's scalar fields plus one of its course codes (null if the student has no courses).
+ */
+public record StudentCourseRow(Long studentId, String firstName, String lastName, String email, String courseCode) {
+}
@@ -0,0 +1,9 @@
+package com.example.student_management_system.dto;
+
+import java.util.List;
+
+/**
+ * One student as written by the streaming export: its scalar fields plus the codes of its courses.
+ */
+public record StudentExportRecord(Long id, String firstName, String lastName, String email, List<String> courseCodes) {
+}
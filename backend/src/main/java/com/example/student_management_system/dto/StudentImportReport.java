@@ -0,0 +1,24 @@
+package com.example.student_management_system.dto;
+
+import java.util.List;
+
+/**
+ * =================================================================
+ * Student Import Report
+ * =================================================================
+ * Purpose:
+ * The response of POST /api/students/import.
+ *
+ * JSON Output Format:
+ * {
+ * "rowsRead": 100000, "imported": 99998, "failed": 2, "chunks": 100,
+ * "elapsedMillis": 2150, "rowsPerSecond": 46510.2,
+ * "errors": [ { "row": 17, "message": "email: Email should be valid" } ],
+ * "errorsTruncated": false
+ * }
+ * =================================================================
+ */
+public record StudentImportReport(long rowsRead, long imported, long failed, int chunks,
+                                  long elapsedMillis, double rowsPerSecond,
+                                  List<ImportRowError> errors, boolean errorsTruncated) {
+}
@@ -0,0 +1,25 @@
+package com.example.student_management_system.dto;
+
+import java.util.List;
+
+/**
+ * =================================================================
+ * Student Page
+ * =================================================================
+ * Purpose:
+ * One page of the keyset-paginated student listing returned by GET /api/students.
+ *
+ * JSON Output Format:
+ * {
+ * "items": [ ... ],
+ * "size": 50,
+ * "sort": "ID",
+ * "nextCursor": "SUQKNDIK"   // null on the last page
+ * }
+ *
+ * The cursor is opaque to clients: pass it back unchanged as `?cursor=` to
+ * fetch the next page with the same sort.
+ * =================================================================
+ */
+public record StudentPage<T>(List<T> items, int size, StudentSort sort, String nextCursor) {
+}
@@ -0,0 +1,7 @@
+package com.example.student_management_system.dto;
+
+/**
+ * One ranked result of GET /api/students/search. Higher scores are better matches.
+ */
+public record StudentSearchHit(Long id, String firstName, String lastName, String email, double score) {
+}
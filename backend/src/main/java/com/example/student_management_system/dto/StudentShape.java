@@ -0,0 +1,136 @@
+package com.example.student_management_system.dto;
+
+import com.example.student_management_system.exception.BadRequestException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * =================================================================
+ * Student Shape
+ * =================================================================
+ * Purpose:
+ * The response shape a client asks for on the student endpoints with the
+ * `fields` and `expand` query parameters. The shape decides which queries run:
+ * course data is only read when it is asked for, and then only the requested
+ * course columns.
+ *
+ * - fields: a comma-separated list of student fields (firstName, lastName, email),
+ *   course fields prefixed with "courses." (e.g. courses.courseCode), "courses"
+ *   for all course fields, or "courseIds". The id is always included.
+ * - expand: how courses are embedded.
+ *   - none:      no course data; no course query runs.
+ *   - courseIds: the ids of the student's courses, read from the join table only.
+ *   - courses:   course objects with the requested course fields (all if none are named).
+ *   Without `expand`, courses are embedded only if `fields` names them.
+ *
+ * Examples:
+ *   ?fields=firstName,lastName,courses.name,courses.courseCode
+ *   ?expand=courseIds
+ * =================================================================
+ */
+public record StudentShape(List<String> studentFields, Expand expand, List<String> courseFields) {
+
+    public enum Expand { NONE, COURSE_IDS, COURSES }
+
+    // In response order. The id is not selectable: every shaped student carries it.
+    public static final List<String> STUDENT_FIELDS = List.of("firstName", "lastName", "email");
+    public static final List<String> COURSE_FIELDS = List.of("id", "name", "courseCode", "professor", "description", "credits", "capacity");
+
+    /**
+     * Whether the client asked for a shape at all; otherwise the endpoint keeps its `view` behaviour.
+     */
+    public static boolean isRequested(String fields, String expand) {
+        return (fields != null && !fields.isBlank()) || (expand != null && !expand.isBlank());
+    }
+
+    /**
+     * Resolves the `fields` and `expand` query parameters.
+     * @param fields The raw `fields` value; null or blank selects every student field.
+     * @param expand The raw `expand` value; null or blank derives the expansion from `fields`.
+     * @return The requested shape, with fields in a canonical order.
+     * @throws BadRequestException if a field is unknown or `fields` contradicts `expand`.
+     */
+    public static StudentShape fromParameters(String fields, String expand) {
+        Expand requested = parseExpand(expand);
+        if (fields == null || fields.isBlank()) {
+            return new StudentShape(STUDENT_FIELDS, requested == null ? Expand.NONE : requested,
+                    requested == Expand.COURSES ? COURSE_FIELDS : List.of());
+        }
+
+        List<String> names = new ArrayList<>();
+        for (String name : fields.split(",")) {
+            if (!name.isBlank()) {
+                names.add(name.trim());
+            }
+        }
+        Expand named = null;
+        boolean allCourseFields = false;
+        List<String> namedCourseFields = new ArrayList<>();
+        for (String name : names) {
+            if (name.equals("id") || STUDENT_FIELDS.contains(name)) {
+                continue;
+            }
+            if (name.equals("courseIds")) {
+                named = merge(named, Expand.COURSE_IDS);
+            } else if (name.equals("courses")) {
+                named = merge(named, Expand.COURSES);
+                allCourseFields = true;
+            } else if (name.startsWith("courses.") && COURSE_FIELDS.contains(name.substring("courses.".length()))) {
+                named = merge(named, Expand.COURSES);
+                namedCourseFields.add(name.substring("courses.".length()));
+            } else {
+                throw new BadRequestException("Unknown field: " + name + " (expected id, " + String.join(", ", STUDENT_FIELDS)
+                        + ", courseIds, courses or courses.<" + String.join("|", COURSE_FIELDS) + ">)");
+            }
+        }
+        if (requested != null && named != null && requested != named) {
+            throw new BadRequestException("fields=" + fields + " does not match expand=" + expand);
+        }
+        Expand resolved = requested != null ? requested : named != null ? named : Expand.NONE;
+        List<String> courseFields = resolved != Expand.COURSES ? List.of()
+                : allCourseFields || namedCourseFields.isEmpty() ? COURSE_FIELDS
+                : COURSE_FIELDS.stream().filter(namedCourseFields::contains).toList();
+        return new StudentShape(STUDENT_FIELDS.stream().filter(names::contains).toList(), resolved, courseFields);
+    }
+
+    /**
+     * A canonical description of the shape, identical for equivalent parameters;
+     * part of the ETag of a shaped representation.
+     */
+    public String key() {
+        String key = String.join(".", studentFields);
+        switch (expand) {
+            case COURSE_IDS:
+                return key + "+courseIds";
+            case COURSES:
+                return key + "+courses:" + String.join(".", courseFields);
+            default:
+                return key;
+        }
+    }
+
+    private static Expand parseExpand(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "none":
+                return Expand.NONE;
+            case "courseids":
+                return Expand.COURSE_IDS;
+            case "courses":
+                return Expand.COURSES;
+            default:
+                throw new BadRequestException("Unsupported expand: " + value + " (expected courses, courseIds or none)");
+        }
+    }
+
+    private static Expand merge(Expand named, Expand next) {
+        if (named != null && named != next) {
+            throw new BadRequestException("fields cannot name both courseIds and courses");
+        }
+        return next;
+    }
+}
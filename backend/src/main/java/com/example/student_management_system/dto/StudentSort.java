@@ -0,0 +1,44 @@
+package com.example.student_management_system.dto;
+
+import com.example.student_management_system.exception.BadRequestException;
+
+import java.util.Locale;
+
+/**
+ * =================================================================
+ * Student Sort
+ * =================================================================
+ * Purpose:
+ * The stable orderings supported by the keyset-paginated student listing.
+ * Every ordering ends with the student id as a tie-breaker, so two pages
+ * never overlap or skip rows even when last names or emails repeat.
+ * =================================================================
+ */
+public enum StudentSort {
+    ID,
+    LAST_NAME,
+    EMAIL;
+
+    /**
+     * Resolves the value of the `sort` query parameter (e.g. "id", "lastName", "email").
+     * @param value The raw parameter value; null or blank means the default (id) ordering.
+     * @return The matching StudentSort.
+     * @throws BadRequestException if the value does not name a supported ordering.
+     */
+    public static StudentSort fromParameter(String value) {
+        if (value == null || value.isBlank()) {
+            return ID;
+        }
+        switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "id":
+                return ID;
+            case "lastname":
+            case "last_name":
+                return LAST_NAME;
+            case "email":
+                return EMAIL;
+            default:
+                throw new BadRequestException("Unsupported sort: " + value + " (expected id, lastName or email)");
+        }
+    }
+}
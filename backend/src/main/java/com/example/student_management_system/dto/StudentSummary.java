@@ -0,0 +1,21 @@
+package com.example.student_management_system.dto;
+
+import com.example.student_management_system.model.Student;
+
+/**
+ * =================================================================
+ * Student Summary
+ * =================================================================
+ * Purpose:
+ * A lightweight, read-only view of a student without its courses.
+ * It is selected directly by JPQL constructor expressions in the
+ * StudentRepository, so list views never touch the student_courses
+ * or course tables and never create managed entities.
+ * =================================================================
+ */
+public record StudentSummary(Long id, String firstName, String lastName, String email) {
+
+    public static StudentSummary of(Student student) {
+        return new StudentSummary(student.getId(), student.getFirstName(), student.getLastName(), student.getEmail());
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.student_management_system.dto;
+
+import com.example.student_management_system.exception.BadRequestException;
+
+import java.util.Locale;
+
+/**
+ * =================================================================
+ * Student View
+ * =================================================================
+ * Purpose:
+ * The fetch plan a student endpoint should use, selected with the `view`
+ * query parameter.
+ *
+ * - SUMMARY: id, names and email only; one SQL statement, no course data.
+ * - DETAIL:  the student with its courses, join-fetched in a single statement
+ *            (or, for a page, one summary query plus one join-fetch query).
+ * =================================================================
+ */
+public enum StudentView {
+    SUMMARY,
+    DETAIL;
+
+    /**
+     * Resolves the value of the `view` query parameter.
+     * @param value The raw parameter value; null or blank selects the endpoint's default.
+     * @param defaultView The view used when no value is given.
+     * @return The matching StudentView.
+     * @throws BadRequestException if the value does not name a supported view.
+     */
+    public static StudentView fromParameter(String value, StudentView defaultView) {
+        if (value == null || value.isBlank()) {
+            return defaultView;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Unsupported view: " + value + " (expected summary or detail)");
+        }
+    }
+}
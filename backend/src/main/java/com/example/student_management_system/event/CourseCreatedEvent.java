@@ -0,0 +1,16 @@
+package com.example.student_management_system.event;
+
+import com.example.student_management_system.dto.CourseListing;
+
+/**
+ * =================================================================
+ * Course Created Event
+ * =================================================================
+ * Purpose:
+ * Published by CourseService when a course has been created. Carries the
+ * course as it appears in the course listing (with no enrollments yet), so
+ * listeners such as the change feed need no further query.
+ * =================================================================
+ */
+public record CourseCreatedEvent(CourseListing course) {
+}
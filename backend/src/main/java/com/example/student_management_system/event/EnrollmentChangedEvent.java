@@ -0,0 +1,34 @@
+package com.example.student_management_system.event;
+
+import com.example.student_management_system.dto.EnrollmentOutcome;
+import com.example.student_management_system.dto.EnrollmentOutcome.Status;
+
+import java.util.List;
+
+/**
+ * =================================================================
+ * Enrollment Changed Event
+ * =================================================================
+ * Purpose:
+ * Published by the enrollment write paths (StudentService, EnrollmentService)
+ * with the pairs a transaction actually enrolled or unenrolled. A bulk request
+ * or write-behind batch publishes one event for all its pairs, not one per pair.
+ * Subscribe with @TransactionalEventListener to only see committed changes.
+ * =================================================================
+ */
+public record EnrollmentChangedEvent(List<EnrollmentOutcome> changes) {
+
+    /**
+     * @param outcomes The outcomes of a write; pairs that did not change (already enrolled, course full, ...) are left out.
+     * @return The event, whose changes may be empty.
+     */
+    public static EnrollmentChangedEvent of(List<EnrollmentOutcome> outcomes) {
+        return new EnrollmentChangedEvent(outcomes.stream()
+                .filter(outcome -> outcome.status() == Status.ENROLLED || outcome.status() == Status.UNENROLLED)
+                .toList());
+    }
+
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+}
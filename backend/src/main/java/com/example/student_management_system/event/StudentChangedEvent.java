@@ -0,0 +1,35 @@
+package com.example.student_management_system.event;
+
+import com.example.student_management_system.dto.StudentSummary;
+
+/**
+ * =================================================================
+ * Student Changed Event
+ * =================================================================
+ * Purpose:
+ * Published by the student write paths (StudentService, StudentImportService)
+ * whenever a student row is created, updated or deleted. Listeners that keep
+ * derived, in-memory state (such as the search index) subscribe with
+ * @TransactionalEventListener so they only see committed changes.
+ * =================================================================
+ */
+public record StudentChangedEvent(Type type, Long studentId, StudentSummary student) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static StudentChangedEvent created(StudentSummary student) {
+        return new StudentChangedEvent(Type.CREATED, student.id(), student);
+    }
+
+    public static StudentChangedEvent updated(StudentSummary student) {
+        return new StudentChangedEvent(Type.UPDATED, student.id(), student);
+    }
+
+    public static StudentChangedEvent deleted(Long studentId) {
+        return new StudentChangedEvent(Type.DELETED, studentId, null);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.student_management_system.exception;
+
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * A custom exception used when a request is well-formed HTTP but carries
+ * parameters the API cannot act on (for example a tampered pagination cursor
+ * or an unknown sort key).
+ * The @ResponseStatus(HttpStatus.BAD_REQUEST) annotation tells Spring to
+ * automatically respond with a 400 Bad Request status code if this exception is thrown.
+ */
+@ResponseStatus(value = HttpStatus.BAD_REQUEST)
+public class BadRequestException extends RuntimeException {
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.student_management_system.exception;
+
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * A custom exception used when a change is refused because an enrollment of
+ * the same student committed while it was being written (e.g. the student was
+ * enrolled in a course in the very moment it was deleted). Nothing was changed;
+ * submitting the request again is expected to succeed.
+ * The @ResponseStatus(HttpStatus.CONFLICT) annotation tells Spring to
+ * automatically respond with a 409 Conflict status code if this exception is thrown.
+ */
+@ResponseStatus(value = HttpStatus.CONFLICT)
+public class ConcurrentEnrollmentException extends RuntimeException {
+    public ConcurrentEnrollmentException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.student_management_system.exception;
+
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * A custom exception used when an enrollment is refused because every seat
+ * of the course (its capacity) is taken.
+ * The @ResponseStatus(HttpStatus.CONFLICT) annotation tells Spring to
+ * automatically respond with a 409 Conflict status code if this exception is thrown.
+ */
+@ResponseStatus(value = HttpStatus.CONFLICT)
+public class CourseFullException extends RuntimeException {
+    public CourseFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.student_management_system.exception;
+
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * A custom exception used when a queued (write-behind) enrollment change was given up after
+ * repeated failures, so a read waiting for it would otherwise report a write that never happened.
+ * The client has to submit the change again.
+ * The @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR) annotation tells Spring to
+ * automatically respond with a 500 Internal Server Error status code if this exception is thrown.
+ */
+@ResponseStatus(value = HttpStatus.INTERNAL_SERVER_ERROR)
+public class EnrollmentWriteFailedException extends RuntimeException {
+    public EnrollmentWriteFailedException(String message) {
+        super(message);
+    }
+}
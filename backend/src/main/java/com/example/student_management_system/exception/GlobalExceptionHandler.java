@@ -1,7 +1,14 @@
 package com.example.student_management_system.exception;
 
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -37,18 +44,84 @@ import java.util.Map;
  * "email": "Email should be valid"
  * }
  *
- * 3. Exception (Generic Catch-all) (HTTP 500 INTERNAL SERVER ERROR)
+ * 3. BadRequestException (HTTP 400 BAD REQUEST)
+ * - Triggered: When a query parameter cannot be acted on (e.g., an invalid pagination cursor).
+ * - JSON Output Format:
+ * {
+ * "timestamp": "Fri Aug 29 18:35:02 PDT 2025",
+ * "message": "Invalid cursor"
+ * }
+ *
+ * 4. CourseFullException / ConcurrentEnrollmentException (HTTP 409 CONFLICT)
+ * - Triggered: When an enrollment is refused because the course has no free seat left,
+ *   or when a student is enrolled in a course in the very moment it is deleted.
+ * - JSON Output Format:
+ * {
+ * "timestamp": "Fri Aug 29 18:35:02 PDT 2025",
+ * "message": "Course 10 is full"
+ * }
+ *
+ * 5. CannotCreateTransactionException / CannotGetJdbcConnectionException (HTTP 503 SERVICE UNAVAILABLE)
+ * - Triggered: When no database connection became free within the pool's connection timeout (overload).
+ * - Sent with a "Retry-After: 1" header.
+ * - JSON Output Format:
+ * {
+ * "timestamp": "Fri Aug 29 18:35:02 PDT 2025",
+ * "message": "The service is temporarily overloaded, please retry."
+ * }
+ *
+ * 6. ServiceOverloadedException (HTTP 503 SERVICE UNAVAILABLE)
+ * - Triggered: When the application sheds work on purpose (e.g., the enrollment write-behind queue is full).
+ * - Sent with a "Retry-After: 1" header.
+ * - JSON Output Format:
+ * {
+ * "timestamp": "Fri Aug 29 18:35:02 PDT 2025",
+ * "message": "The enrollment queue is full"
+ * }
+ *
+ * 7. SyncTokenExpiredException (HTTP 410 GONE)
+ * - Triggered: When a delta sync token is older than the retained tombstones; the client must sync from scratch.
+ * - JSON Output Format:
+ * {
+ * "timestamp": "Fri Aug 29 18:35:02 PDT 2025",
+ * "message": "Sync token has expired, start a full sync"
+ * }
+ *
+ * 8. EnrollmentWriteFailedException (HTTP 500 INTERNAL SERVER ERROR)
+ * - Triggered: When a read waits for a queued enrollment change that was dropped after repeated write failures.
+ * - JSON Output Format:
+ * {
+ * "timestamp": "Fri Aug 29 18:35:02 PDT 2025",
+ * "message": "The enrollment change with ticket 42 could not be written, please submit it again."
+ * }
+ *
+ * 9. Exception (Generic Catch-all) (HTTP 500 INTERNAL SERVER ERROR)
  * - Triggered: For any other unexpected server-side error.
  * - JSON Output Format:
  * {
  * "timestamp": "Fri Aug 29 18:35:02 PDT 2025",
  * "message": "An internal server error occurred."
  * }
+ *
+ * Metrics:
+ * Every handled exception increments `app.errors`, tagged with the exception
+ * type and the response status, so error rates can be tracked per type.
  * =================================================================
  */
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private void countError(Exception ex, HttpStatus status) {
+        meterRegistry.counter("app.errors",
+                "exception", ex.getClass().getSimpleName(),
+                "status", String.valueOf(status.value())).increment();
+    }
+
     /**
      * Handles ResourceNotFoundException.
      * This is triggered when a specific resource (e.g., a student or course) is not found.
@@ -58,12 +131,95 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<?> handleResourceNotFoundException(ResourceNotFoundException ex, WebRequest request) {
+        countError(ex, HttpStatus.NOT_FOUND);
         Map<String, String> body = new HashMap<>();
         body.put("timestamp", new Date().toString());
         body.put("message", ex.getMessage());
         return new ResponseEntity<>(body, HttpStatus.NOT_FOUND);
     }
 
+    /**
+     * Handles BadRequestException.
+     * This is triggered when a request parameter (e.g., a pagination cursor or sort key) is invalid.
+     * @param ex The caught BadRequestException.
+     * @param request The current web request.
+     * @return A ResponseEntity with a custom error message and a 400 BAD REQUEST status.
+     */
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<?> handleBadRequestException(BadRequestException ex, WebRequest request) {
+        countError(ex, HttpStatus.BAD_REQUEST);
+        Map<String, String> body = new HashMap<>();
+        body.put("timestamp", new Date().toString());
+        body.put("message", ex.getMessage());
+        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles CourseFullException.
+     * This is triggered when a student tries to enroll in a course whose capacity is reached.
+     * @param ex The caught CourseFullException.
+     * @param request The current web request.
+     * @return A ResponseEntity with a custom error message and a 409 CONFLICT status.
+     */
+    @ExceptionHandler(CourseFullException.class)
+    public ResponseEntity<?> handleCourseFullException(CourseFullException ex, WebRequest request) {
+        countError(ex, HttpStatus.CONFLICT);
+        Map<String, String> body = new HashMap<>();
+        body.put("timestamp", new Date().toString());
+        body.put("message", ex.getMessage());
+        return new ResponseEntity<>(body, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Handles ConcurrentEnrollmentException.
+     * This is triggered when a student is enrolled in a course while it is being deleted.
+     * Nothing was changed, so the message tells the client to submit the request again.
+     * @param ex The caught ConcurrentEnrollmentException.
+     * @param request The current web request.
+     * @return A ResponseEntity with a custom error message and a 409 CONFLICT status.
+     */
+    @ExceptionHandler(ConcurrentEnrollmentException.class)
+    public ResponseEntity<?> handleConcurrentEnrollmentException(ConcurrentEnrollmentException ex, WebRequest request) {
+        countError(ex, HttpStatus.CONFLICT);
+        Map<String, String> body = new HashMap<>();
+        body.put("timestamp", new Date().toString());
+        body.put("message", ex.getMessage());
+        return new ResponseEntity<>(body, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Handles SyncTokenExpiredException.
+     * This is triggered when a delta sync token predates the retained tombstones.
+     * @param ex The caught SyncTokenExpiredException.
+     * @param request The current web request.
+     * @return A ResponseEntity with a custom error message and a 410 GONE status.
+     */
+    @ExceptionHandler(SyncTokenExpiredException.class)
+    public ResponseEntity<?> handleSyncTokenExpiredException(SyncTokenExpiredException ex, WebRequest request) {
+        countError(ex, HttpStatus.GONE);
+        Map<String, String> body = new HashMap<>();
+        body.put("timestamp", new Date().toString());
+        body.put("message", ex.getMessage());
+        return new ResponseEntity<>(body, HttpStatus.GONE);
+    }
+
+    /**
+     * Handles EnrollmentWriteFailedException.
+     * This is triggered when a queued enrollment change a read waits for was dropped after repeated failures.
+     * Unlike the catch-all below, the message is returned, since it tells the client to submit the change again.
+     * @param ex The caught EnrollmentWriteFailedException.
+     * @param request The current web request.
+     * @return A ResponseEntity with the reason and a 500 INTERNAL SERVER ERROR status.
+     */
+    @ExceptionHandler(EnrollmentWriteFailedException.class)
+    public ResponseEntity<?> handleEnrollmentWriteFailedException(EnrollmentWriteFailedException ex, WebRequest request) {
+        countError(ex, HttpStatus.INTERNAL_SERVER_ERROR);
+        Map<String, String> body = new HashMap<>();
+        body.put("timestamp", new Date().toString());
+        body.put("message", ex.getMessage());
+        return new ResponseEntity<>(body, HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
     /**
      * Handles MethodArgumentNotValidException.
      * This exception is thrown by Spring when the @Valid annotation fails on a controller method's parameter.
@@ -73,12 +229,49 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<?> handleValidationExceptions(MethodArgumentNotValidException ex) {
+        countError(ex, HttpStatus.BAD_REQUEST);
         Map<String, String> errors = new HashMap<>();
         ex.getBindingResult().getFieldErrors().forEach(error ->
                 errors.put(error.getField(), error.getDefaultMessage()));
         return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Handles running out of database connections.
+     * The connection pool bounds how many requests reach the database at once; a request that
+     * waited the full connection timeout is turned away with 503 so the client backs off,
+     * instead of being reported as an internal error.
+     * @param ex The caught exception.
+     * @return A ResponseEntity with a 503 SERVICE UNAVAILABLE status and a Retry-After header.
+     */
+    @ExceptionHandler({CannotCreateTransactionException.class, CannotGetJdbcConnectionException.class})
+    public ResponseEntity<?> handleConnectionUnavailable(Exception ex) {
+        countError(ex, HttpStatus.SERVICE_UNAVAILABLE);
+        Map<String, String> body = new HashMap<>();
+        body.put("timestamp", new Date().toString());
+        body.put("message", "The service is temporarily overloaded, please retry.");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(body);
+    }
+
+    /**
+     * Handles ServiceOverloadedException.
+     * This is triggered when a bounded resource (e.g., the enrollment write-behind queue) refuses more work.
+     * @param ex The caught ServiceOverloadedException.
+     * @return A ResponseEntity with the reason, a 503 SERVICE UNAVAILABLE status and a Retry-After header.
+     */
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<?> handleServiceOverloaded(ServiceOverloadedException ex) {
+        countError(ex, HttpStatus.SERVICE_UNAVAILABLE);
+        Map<String, String> body = new HashMap<>();
+        body.put("timestamp", new Date().toString());
+        body.put("message", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(body);
+    }
+
     /**
      * Handles all other uncaught exceptions.
      * This is a fallback handler for any unexpected errors, preventing stack traces from being exposed.
@@ -88,8 +281,9 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(Exception.class)
     public ResponseEntity<?> handleGlobalException(Exception ex, WebRequest request) {
-        // It's good practice to log the full exception here for debugging purposes.
-        // e.g., log.error("An unexpected error occurred: ", ex);
+        countError(ex, HttpStatus.INTERNAL_SERVER_ERROR);
+        // The client only sees a generic message, so the cause must be in the log.
+        log.error("An unexpected error occurred: ", ex);
         Map<String, String> body = new HashMap<>();
         body.put("timestamp", new Date().toString());
         body.put("message", "An internal server error occurred.");
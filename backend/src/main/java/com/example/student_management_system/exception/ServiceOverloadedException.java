@@ -0,0 +1,19 @@
+package com.example.student_management_system.exception;
+
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * A custom exception used when the application refuses work to protect itself
+ * (for example when a bounded queue is full), rather than because the request is wrong.
+ * The client is expected to back off and retry.
+ * The @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE) annotation tells Spring to
+ * automatically respond with a 503 Service Unavailable status code if this exception is thrown.
+ */
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE)
+public class ServiceOverloadedException extends RuntimeException {
+    public ServiceOverloadedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.student_management_system.exception;
+
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * A custom exception used when a delta sync token can no longer be served, because
+ * tombstones it would need have been purged. The client has to start over with a full sync.
+ * The @ResponseStatus(HttpStatus.GONE) annotation tells Spring to
+ * automatically respond with a 410 Gone status code if this exception is thrown.
+ */
+@ResponseStatus(value = HttpStatus.GONE)
+public class SyncTokenExpiredException extends RuntimeException {
+    public SyncTokenExpiredException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,236 @@
+package com.example.student_management_system.feed;
+
+import com.example.student_management_system.dto.EnrollmentOutcome;
+import com.example.student_management_system.dto.EnrollmentOutcome.Status;
+import com.example.student_management_system.event.CourseCreatedEvent;
+import com.example.student_management_system.event.EnrollmentChangedEvent;
+import com.example.student_management_system.event.StudentChangedEvent;
+import com.example.student_management_system.exception.ServiceOverloadedException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * =================================================================
+ * Change Feed
+ * =================================================================
+ * Purpose:
+ * Pushes committed changes to open dashboards over server-sent events
+ * (GET /api/feed), so they stay current without re-polling full lists.
+ *
+ * Events (SSE event name: JSON data):
+ * - student-created, student-updated: the StudentSummary
+ * - student-deleted: {"id"}
+ * - course-created: the CourseListing
+ * - enrolled, unenrolled: {"studentId", "courseId"}
+ * - resync: {} - the client missed events and must reload what it shows
+ *
+ * Behaviour:
+ * - Changes arrive as the application events of the write paths, after their
+ *   transaction has committed. Each is serialized once and numbered; the number
+ *   is the SSE id.
+ * - Every subscriber has a bounded buffer (app.feed.buffer-size) drained by a
+ *   small pool of sender threads (app.feed.sender-threads), so a slow client never
+ *   holds up a write or the other clients. A full buffer is replaced by a resync.
+ * - A client that reconnects with a Last-Event-ID other than the latest id gets
+ *   a resync first: missed events are not kept.
+ * - Idle streams get a comment line every app.feed.heartbeat-interval, which keeps
+ *   proxies from closing them and detects clients that went away.
+ * - At most app.feed.max-subscribers streams are open; beyond that 503.
+ *
+ * Subscribers live in this instance's memory and see the changes made through it.
+ * Open streams are completed when the application shuts down; clients reconnect.
+ *
+ * Metrics:
+ * app.feed.subscribers (open streams), app.feed.events (published events),
+ * app.feed.resyncs (subscribers that overflowed).
+ * =================================================================
+ */
+@Component
+public class ChangeFeed implements MeterBinder {
+
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final Duration timeout;
+
+    private final Set<ChangeFeedSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders;
+    private final ScheduledExecutorService heartbeats;
+    // Guarded by `this`: publishing is serialized so every subscriber sees the same order.
+    private long lastId;
+
+    private final AtomicLong events = new AtomicLong();
+    private final AtomicLong resyncs = new AtomicLong();
+
+    public ChangeFeed(ObjectMapper objectMapper,
+                      @Value("${app.feed.buffer-size:256}") int bufferSize,
+                      @Value("${app.feed.max-subscribers:10000}") int maxSubscribers,
+                      @Value("${app.feed.timeout:30m}") Duration timeout,
+                      @Value("${app.feed.heartbeat-interval:20s}") Duration heartbeatInterval,
+                      @Value("${app.feed.sender-threads:4}") int senderThreads) {
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeout = timeout;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "change-feed-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "change-feed-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeats.scheduleWithFixedDelay(this::heartbeat, heartbeatInterval.toMillis(), heartbeatInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("app.feed.subscribers", subscribers, Set::size)
+                .description("Open change feed streams")
+                .register(registry);
+        FunctionCounter.builder("app.feed.events", events, AtomicLong::get)
+                .description("Change feed events published")
+                .register(registry);
+        FunctionCounter.builder("app.feed.resyncs", resyncs, AtomicLong::get)
+                .description("Times a change feed subscriber fell behind and was told to resync")
+                .register(registry);
+    }
+
+    /**
+     * Opens a change feed stream.
+     * @param lastEventId The Last-Event-ID of a reconnecting client, or null.
+     * @return The emitter to return from the controller.
+     * @throws ServiceOverloadedException if app.feed.max-subscribers streams are open already.
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        return subscribe(new SseEmitter(timeout.toMillis()), lastEventId);
+    }
+
+    SseEmitter subscribe(SseEmitter emitter, String lastEventId) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ServiceOverloadedException("Too many open change feeds, please retry later.");
+        }
+        ChangeFeedSubscriber subscriber = new ChangeFeedSubscriber(emitter, bufferSize, senders, subscribers::remove);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(ex -> subscriber.close());
+        synchronized (this) {
+            subscribers.add(subscriber);
+            if (lastEventId != null && !lastEventId.equals(Long.toString(lastId))) {
+                subscriber.offer(ChangeFeedMessage.resync(lastId));
+            }
+        }
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        switch (event.type()) {
+            case CREATED -> publish(List.of(new Change("student-created", event.student())));
+            case UPDATED -> publish(List.of(new Change("student-updated", event.student())));
+            case DELETED -> publish(List.of(new Change("student-deleted", new StudentRef(event.studentId()))));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseCreated(CourseCreatedEvent event) {
+        publish(List.of(new Change("course-created", event.course())));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEnrollmentChanged(EnrollmentChangedEvent event) {
+        List<Change> changes = new ArrayList<>(event.changes().size());
+        for (EnrollmentOutcome outcome : event.changes()) {
+            changes.add(new Change(outcome.status() == Status.ENROLLED ? "enrolled" : "unenrolled",
+                    new EnrollmentRef(outcome.studentId(), outcome.courseId())));
+        }
+        publish(changes);
+    }
+
+    // Open streams count as in-flight requests, so they are ended before the web server's graceful shutdown waits for them.
+    @EventListener(ContextClosedEvent.class)
+    public void closeStreams() {
+        subscribers.forEach(ChangeFeedSubscriber::complete);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heartbeats.shutdownNow();
+        senders.shutdownNow();
+    }
+
+    private void publish(List<Change> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        // Serialized once, outside the lock, however many subscribers there are.
+        List<String> payloads = new ArrayList<>(changes.size());
+        for (Change change : changes) {
+            payloads.add(toJson(change.payload()));
+        }
+        synchronized (this) {
+            for (int i = 0; i < changes.size(); i++) {
+                ChangeFeedMessage message = new ChangeFeedMessage(++lastId, changes.get(i).event(), payloads.get(i));
+                for (ChangeFeedSubscriber subscriber : subscribers) {
+                    if (!subscriber.offer(message)) {
+                        resyncs.incrementAndGet();
+                    }
+                }
+            }
+        }
+        events.addAndGet(changes.size());
+    }
+
+    private synchronized void heartbeat() {
+        for (ChangeFeedSubscriber subscriber : subscribers) {
+            if (subscriber.isIdle()) {
+                subscriber.offer(ChangeFeedMessage.heartbeat());
+            }
+        }
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private record Change(String event, Object payload) {
+    }
+
+    private record StudentRef(Long id) {
+    }
+
+    private record EnrollmentRef(Long studentId, Long courseId) {
+    }
+}
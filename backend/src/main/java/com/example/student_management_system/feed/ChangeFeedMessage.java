@@ -0,0 +1,33 @@
+package com.example.student_management_system.feed;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * One message of the change feed, serialized once and sent as is to every subscriber.
+ * @param id The feed position (the SSE id, echoed by reconnecting clients as Last-Event-ID).
+ * @param event The SSE event name, or null for a heartbeat comment.
+ * @param data The JSON payload.
+ */
+record ChangeFeedMessage(long id, String event, String data) {
+
+    static final String RESYNC = "resync";
+
+    private static final ChangeFeedMessage HEARTBEAT = new ChangeFeedMessage(0, null, null);
+
+    static ChangeFeedMessage resync(long id) {
+        return new ChangeFeedMessage(id, RESYNC, "{}");
+    }
+
+    static ChangeFeedMessage heartbeat() {
+        return HEARTBEAT;
+    }
+
+    SseEmitter.SseEventBuilder toSse() {
+        if (event == null) {
+            return SseEmitter.event().comment("");
+        }
+        // Sent as text: the payload already is JSON, it must not be encoded a second time.
+        return SseEmitter.event().id(Long.toString(id)).name(event).data(data, MediaType.TEXT_PLAIN);
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.student_management_system.feed;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * One open change feed connection: a bounded buffer of messages not sent yet, drained
+ * onto the SSE stream by the feed's sender threads.
+ *
+ * Publishing never waits for a subscriber. When a subscriber's buffer is full (a slow
+ * client, or a burst such as a bulk enrollment), the buffered messages are dropped and
+ * replaced by a single resync message: the client reloads what it shows instead of
+ * replaying every change it missed.
+ */
+final class ChangeFeedSubscriber {
+
+    private final SseEmitter emitter;
+    private final BlockingQueue<ChangeFeedMessage> buffer;
+    private final Executor sender;
+    private final Consumer<ChangeFeedSubscriber> onClose;
+    // Whether a drain is queued or running; at most one per subscriber, so messages stay in order.
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    ChangeFeedSubscriber(SseEmitter emitter, int bufferSize, Executor sender, Consumer<ChangeFeedSubscriber> onClose) {
+        this.emitter = emitter;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.sender = sender;
+        this.onClose = onClose;
+    }
+
+    /**
+     * Buffers a message for sending. Called by one publisher at a time (ChangeFeed serializes publishing).
+     * @return false if the buffer overflowed and the subscriber was switched to a resync.
+     */
+    boolean offer(ChangeFeedMessage message) {
+        boolean kept = buffer.offer(message);
+        if (!kept) {
+            buffer.clear();
+            buffer.offer(ChangeFeedMessage.resync(message.id()));
+        }
+        schedule();
+        return kept;
+    }
+
+    boolean isIdle() {
+        return buffer.isEmpty();
+    }
+
+    void close() {
+        if (closed.compareAndSet(false, true)) {
+            buffer.clear();
+            onClose.accept(this);
+        }
+    }
+
+    /**
+     * Ends the stream from the server side (on shutdown); the client reconnects to another instance or later.
+     */
+    void complete() {
+        close();
+        emitter.complete();
+    }
+
+    private void schedule() {
+        if (!closed.get() && scheduled.compareAndSet(false, true)) {
+            sender.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            ChangeFeedMessage message;
+            while (!closed.get() && (message = buffer.poll()) != null) {
+                emitter.send(message.toSse());
+            }
+        } catch (IOException | IllegalStateException ex) {
+            // The client has gone away or the stream has ended; the container completes the emitter.
+            close();
+        } finally {
+            scheduled.set(false);
+        }
+        if (!buffer.isEmpty()) {
+            schedule();
+        }
+    }
+}
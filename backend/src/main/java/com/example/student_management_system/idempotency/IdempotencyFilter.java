@@ -0,0 +1,209 @@
+package com.example.student_management_system.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * =================================================================
+ * Idempotency Filter
+ * =================================================================
+ * Purpose:
+ * Makes retried writes safe. A client that sends an `Idempotency-Key` header
+ * with a POST, PUT, PATCH or DELETE to /api/students or /api/courses gets the
+ * same response for every request carrying that key, while the request itself
+ * is executed only once. A student created by a timed-out POST is therefore
+ * not created again when the client (or a proxy) retries.
+ *
+ * Behaviour:
+ * - First request with a key: executed normally; its response (status, headers,
+ *   body) is stored in the IdempotencyStore.
+ * - Later request with the key: the stored response is replayed without running
+ *   the request, marked with an `Idempotent-Replayed: true` header.
+ * - Request while the first is still running: waits for it (at most
+ *   app.idempotency.wait-timeout), then replays its response.
+ * - Key reused for a different method or path: 422 Unprocessable Entity.
+ * - Server errors (5xx) and responses over app.idempotency.max-response-size are
+ *   not stored, so a retry executes again.
+ *
+ * Keys are chosen by the client and are not tied to a caller, so they must be
+ * unguessable (e.g. a random UUID per operation). Requests without the header are
+ * not affected.
+ *
+ * Metrics:
+ * app.idempotency.requests counts keyed requests by outcome (executed, replayed, waited, rejected).
+ * =================================================================
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Set<String> MUTATING_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+    private static final List<String> PATHS = List.of("/api/students", "/api/courses");
+    private static final int MAX_KEY_LENGTH = 255;
+
+    @Autowired
+    private IdempotencyStore store;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.idempotency.wait-timeout:30s}")
+    private Duration waitTimeout = Duration.ofSeconds(30);
+
+    @Value("${app.idempotency.max-response-size:1MB}")
+    private DataSize maxResponseSize = DataSize.ofMegabytes(1);
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (request.getHeader(IDEMPOTENCY_KEY_HEADER) == null || !MUTATING_METHODS.contains(request.getMethod())) {
+            return true;
+        }
+        String uri = request.getRequestURI();
+        return PATHS.stream().noneMatch(path -> uri.equals(path) || uri.startsWith(path + "/"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String key = request.getHeader(IDEMPOTENCY_KEY_HEADER).trim();
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            reject(response, HttpStatus.BAD_REQUEST, "Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+        String scope = request.getMethod() + " " + request.getRequestURI()
+                + (request.getQueryString() == null ? "" : "?" + request.getQueryString());
+
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        while (true) {
+            StoredResponse done = store.completed(key);
+            if (done != null) {
+                replay(done, scope, response);
+                return;
+            }
+            CompletableFuture<StoredResponse> execution = new CompletableFuture<>();
+            CompletableFuture<StoredResponse> running = store.begin(key, execution);
+            if (running == null) {
+                execute(key, scope, execution, request, response, chain);
+                return;
+            }
+
+            // Another request with this key is executing: wait for its response instead of running it twice.
+            count("waited");
+            StoredResponse result;
+            try {
+                result = running.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException ex) {
+                reject(response, HttpStatus.CONFLICT, "A request with this Idempotency-Key is still in progress");
+                return;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                reject(response, HttpStatus.CONFLICT, "A request with this Idempotency-Key is still in progress");
+                return;
+            } catch (ExecutionException ex) {
+                result = null;
+            }
+            if (result != null) {
+                replay(result, scope, response);
+                return;
+            }
+            // The first execution left nothing to replay (e.g. a server error): try to execute this one.
+        }
+    }
+
+    private void execute(String key, String scope, CompletableFuture<StoredResponse> execution, HttpServletRequest request,
+                         HttpServletResponse response, FilterChain chain) throws ServletException, IOException {
+        // An execution may have finished between the lookup and begin(); never run the request twice.
+        StoredResponse done = store.completed(key);
+        if (done != null) {
+            store.finish(key, execution, done);
+            replay(done, scope, response);
+            return;
+        }
+        count("executed");
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        StoredResponse stored = null;
+        try {
+            chain.doFilter(request, wrapper);
+            stored = storable(scope, wrapper);
+        } finally {
+            store.finish(key, execution, stored);
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    private StoredResponse storable(String scope, ContentCachingResponseWrapper wrapper) {
+        byte[] body = wrapper.getContentAsByteArray();
+        if (wrapper.getStatus() >= 500 || body.length > maxResponseSize.toBytes()) {
+            return null;
+        }
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (String name : wrapper.getHeaderNames()) {
+            if (!name.equalsIgnoreCase(HttpHeaders.CONTENT_TYPE) && !name.equalsIgnoreCase(HttpHeaders.CONTENT_LENGTH)) {
+                headers.put(name, new ArrayList<>(wrapper.getHeaders(name)));
+            }
+        }
+        return new StoredResponse(scope, wrapper.getStatus(), wrapper.getContentType(), headers, body);
+    }
+
+    private void replay(StoredResponse stored, String scope, HttpServletResponse response) throws IOException {
+        if (!stored.scope().equals(scope)) {
+            reject(response, HttpStatus.UNPROCESSABLE_ENTITY, "Idempotency-Key was already used for a different request");
+            return;
+        }
+        count("replayed");
+        response.setStatus(stored.status());
+        stored.headers().forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    // Same body as the GlobalExceptionHandler responses; this filter runs outside of Spring MVC's exception handling.
+    private void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        count("rejected");
+        Map<String, String> body = new LinkedHashMap<>();
+        body.put("timestamp", new Date().toString());
+        body.put("message", message);
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter("app.idempotency.requests", "outcome", outcome).increment();
+    }
+}
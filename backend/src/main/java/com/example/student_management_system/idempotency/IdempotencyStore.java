@@ -0,0 +1,92 @@
+package com.example.student_management_system.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * =================================================================
+ * Idempotency Store
+ * =================================================================
+ * Purpose:
+ * Remembers, by Idempotency-Key, the responses of completed requests and the
+ * requests still executing, for IdempotencyFilter.
+ *
+ * Behaviour:
+ * - Completed responses expire app.idempotency.ttl after they were stored, and
+ *   their total size (body plus a fixed overhead per entry) is capped by
+ *   app.idempotency.max-size; beyond it the least recently used are evicted.
+ * - At most one request per key executes at a time: begin() either registers the
+ *   caller's execution or returns the one already running, for the caller to wait on.
+ *
+ * Entries live in this instance's memory only; a retry that reaches another
+ * instance (or arrives after a restart) executes again.
+ *
+ * Metrics:
+ * The completed responses are published as Micrometer cache metrics under the name "idempotency".
+ * =================================================================
+ */
+@Component
+public class IdempotencyStore implements MeterBinder {
+
+    static final String CACHE_NAME = "idempotency";
+
+    // Rough per-entry cost of the key, the headers and the cache's own bookkeeping.
+    private static final int ENTRY_OVERHEAD_BYTES = 512;
+
+    private final Cache<String, StoredResponse> completed;
+    private final ConcurrentMap<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyStore(@Value("${app.idempotency.ttl:1h}") Duration ttl,
+                            @Value("${app.idempotency.max-size:64MB}") DataSize maxSize) {
+        this.completed = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((String key, StoredResponse response) -> ENTRY_OVERHEAD_BYTES + key.length() + response.body().length)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, completed, CACHE_NAME);
+    }
+
+    /**
+     * @return The stored response for the key, or null if there is none (never stored, expired or evicted).
+     */
+    StoredResponse completed(String key) {
+        return completed.getIfPresent(key);
+    }
+
+    /**
+     * Registers an execution for the key unless one is already running.
+     * @param execution The caller's execution, to be finished with finish().
+     * @return null if the caller's execution was registered, otherwise the execution already running.
+     */
+    CompletableFuture<StoredResponse> begin(String key, CompletableFuture<StoredResponse> execution) {
+        return inFlight.putIfAbsent(key, execution);
+    }
+
+    /**
+     * Ends an execution started with begin() and wakes everyone waiting on it.
+     * @param response The response to keep for replays, or null if it must not be replayed (e.g. a server error).
+     */
+    void finish(String key, CompletableFuture<StoredResponse> execution, StoredResponse response) {
+        if (response != null) {
+            completed.put(key, response);
+        }
+        inFlight.remove(key, execution);
+        execution.complete(response);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.student_management_system.idempotency;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A completed response kept for replay, together with the request it answered.
+ * @param scope The method and URI of the original request; a key is only valid for the same request.
+ * @param headers The response headers other than Content-Type and Content-Length, by name.
+ */
+record StoredResponse(String scope, int status, String contentType, Map<String, List<String>> headers, byte[] body) {
+}
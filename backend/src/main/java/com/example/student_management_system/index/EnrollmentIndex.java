@@ -0,0 +1,459 @@
+package com.example.student_management_system.index;
+
+import com.example.student_management_system.dto.EnrollmentSet;
+import com.example.student_management_system.dto.EnrollmentSetOperation;
+import com.example.student_management_system.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * =================================================================
+ * Enrollment Index
+ * =================================================================
+ * Purpose:
+ * An in-memory copy of the `student_courses` join table for set queries across
+ * courses and students ("students in course 3 but not in course 5", "courses
+ * shared by these 500 students"), answered without loading a Student, a Course
+ * or a Set<Course>.
+ *
+ * Structure:
+ *  - studentsByCourse[course id]: compressed bitmap (RoaringBitmap) of the ids of its students
+ *  - coursesByStudent[student id]: sorted int[] of the ids of its courses
+ *  Both are plain arrays indexed by id and grown on demand; ids come from
+ *  database sequences and are dense, so a slot costs one reference per id up
+ *  to the highest one. A student with courses costs one int[] of them (16 bytes
+ *  plus 4 per course), a course one bitmap. Ids are stored as 32-bit ints; an id
+ *  above Integer.MAX_VALUE is rejected. A query combines the sets of its operands
+ *  into a new bitmap, so its cost depends on the number of operands and bitmap
+ *  containers, not on how many students or enrollments match.
+ *
+ * Concurrency:
+ * Queries share a read lock, enrollments and unenrollments take the write lock
+ * (each is a couple of array and bitmap updates). A load is built off-lock by a
+ * Loader and swapped in under the write lock, together with the changes that
+ * arrived while it was scanning. Until the first load has finished, queries
+ * are refused with 503.
+ * =================================================================
+ */
+@Component
+public class EnrollmentIndex implements MeterBinder {
+
+    private static final RoaringBitmap EMPTY = new RoaringBitmap();
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private RoaringBitmap[] studentsByCourse = new RoaringBitmap[INITIAL_CAPACITY];
+    private int[][] coursesByStudent = new int[INITIAL_CAPACITY][];
+    private int courseCount;
+    private int studentCount;
+    private long enrollments;
+    private boolean ready;
+
+    // Changes that arrived while a load is scanning, replayed onto it before it is swapped in.
+    private List<Change> changesDuringLoad;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("app.enrollments.index.enrollments", this, EnrollmentIndex::size)
+                .description("Enrollments held by the in-memory enrollment index")
+                .register(registry);
+    }
+
+    /**
+     * Adds an enrollment; does nothing if it is already indexed.
+     */
+    public void enroll(long studentId, long courseId) {
+        apply(new Change(Change.ENROLL, key(studentId), key(courseId)));
+    }
+
+    /**
+     * Removes an enrollment; does nothing if it is not indexed.
+     */
+    public void unenroll(long studentId, long courseId) {
+        apply(new Change(Change.UNENROLL, key(studentId), key(courseId)));
+    }
+
+    /**
+     * Removes all enrollments of a deleted student.
+     */
+    public void removeStudent(long studentId) {
+        apply(new Change(Change.REMOVE_STUDENT, key(studentId), 0));
+    }
+
+    /**
+     * Starts a bulk load from the database. Changes applied from now on are also recorded, and replayed
+     * onto the loaded sets by finishLoad(), so changes committed while the load is scanning the table
+     * win over the scanned rows.
+     * @return The Loader to feed the scanned rows to; it is not thread-safe and takes no lock.
+     */
+    public Loader beginLoad() {
+        lock.writeLock().lock();
+        try {
+            changesDuringLoad = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return new Loader();
+    }
+
+    /**
+     * Replays the changes recorded since beginLoad() onto the loaded sets, swaps them in and starts
+     * answering queries. Only this takes the write lock; the loaded sets are compacted before.
+     */
+    public void finishLoad(Loader loader) {
+        loader.compact();
+        lock.writeLock().lock();
+        try {
+            studentsByCourse = loader.studentsByCourse;
+            coursesByStudent = loader.coursesByStudent;
+            courseCount = loader.courseCount;
+            studentCount = loader.studentCount;
+            enrollments = loader.enrollments;
+            changesDuringLoad.forEach(this::applyLocked);
+            changesDuringLoad = null;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long size() {
+        lock.readLock().lock();
+        try {
+            return enrollments;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int courseCount() {
+        lock.readLock().lock();
+        try {
+            return courseCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int studentCount() {
+        lock.readLock().lock();
+        try {
+            return studentCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Combines the student sets of the given courses.
+     * @param operation How the sets are combined.
+     * @param courseIds The courses, in order (the first one matters for DIFFERENCE). Unknown courses are empty sets.
+     * @param limit The maximum number of ids returned; the count is always exact.
+     * @throws ServiceOverloadedException if the index has not been loaded yet.
+     */
+    public EnrollmentSet students(EnrollmentSetOperation operation, Collection<Long> courseIds, int limit) {
+        lock.readLock().lock();
+        try {
+            checkReady();
+            List<RoaringBitmap> operands = new ArrayList<>(courseIds.size());
+            for (Long id : courseIds) {
+                RoaringBitmap students = isKey(id) ? slot(studentsByCourse, id.intValue()) : null;
+                operands.add(students != null ? students : EMPTY);
+            }
+            return toEnrollmentSet(combine(operation, operands), limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Combines the course sets of the given students.
+     * @param operation How the sets are combined.
+     * @param studentIds The students, in order (the first one matters for DIFFERENCE). Unknown students are empty sets.
+     * @param limit The maximum number of ids returned; the count is always exact.
+     * @throws ServiceOverloadedException if the index has not been loaded yet.
+     */
+    public EnrollmentSet courses(EnrollmentSetOperation operation, Collection<Long> studentIds, int limit) {
+        lock.readLock().lock();
+        try {
+            checkReady();
+            if (operation == EnrollmentSetOperation.UNION) {
+                // The sets are small arrays; one bitmap built from all of them skips a bitmap per operand.
+                int[] all = new int[16];
+                int size = 0;
+                for (Long id : studentIds) {
+                    int[] courses = isKey(id) ? slot(coursesByStudent, id.intValue()) : null;
+                    if (courses != null) {
+                        if (size + courses.length > all.length) {
+                            all = Arrays.copyOf(all, Math.max(all.length * 2, size + courses.length));
+                        }
+                        System.arraycopy(courses, 0, all, size, courses.length);
+                        size += courses.length;
+                    }
+                }
+                return toEnrollmentSet(RoaringBitmap.bitmapOfUnordered(Arrays.copyOf(all, size)), limit);
+            }
+            List<RoaringBitmap> operands = new ArrayList<>(studentIds.size());
+            for (Long id : studentIds) {
+                int[] courses = isKey(id) ? slot(coursesByStudent, id.intValue()) : null;
+                operands.add(courses != null ? RoaringBitmap.bitmapOf(courses) : EMPTY);
+            }
+            return toEnrollmentSet(combine(operation, operands), limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void checkReady() {
+        if (!ready) {
+            throw new ServiceOverloadedException("The enrollment index is still loading, please retry later.");
+        }
+    }
+
+    // Always returns a new bitmap: the indexed ones change as soon as the read lock is released.
+    private static RoaringBitmap combine(EnrollmentSetOperation operation, List<RoaringBitmap> operands) {
+        RoaringBitmap result;
+        switch (operation) {
+            case INTERSECTION:
+                // Smallest first, so the intermediate result only ever shrinks from the smallest set.
+                operands.sort(Comparator.comparingInt(RoaringBitmap::getCardinality));
+                result = operands.get(0).clone();
+                for (int i = 1; i < operands.size() && !result.isEmpty(); i++) {
+                    result.and(operands.get(i));
+                }
+                return result;
+            case UNION:
+                return FastAggregation.or(operands.iterator());
+            case DIFFERENCE:
+                result = operands.get(0).clone();
+                for (int i = 1; i < operands.size() && !result.isEmpty(); i++) {
+                    result.andNot(operands.get(i));
+                }
+                return result;
+            default:
+                throw new IllegalArgumentException("Unsupported set operation: " + operation);
+        }
+    }
+
+    private static EnrollmentSet toEnrollmentSet(RoaringBitmap result, int limit) {
+        int count = result.getCardinality();
+        long[] ids = new long[Math.min(count, limit)];
+        IntIterator iterator = result.getIntIterator();
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = iterator.next();
+        }
+        return new EnrollmentSet(count, count > ids.length, ids);
+    }
+
+    private void apply(Change change) {
+        lock.writeLock().lock();
+        try {
+            applyLocked(change);
+            if (changesDuringLoad != null) {
+                changesDuringLoad.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void applyLocked(Change change) {
+        int student = change.student();
+        switch (change.type()) {
+            case Change.ENROLL:
+                int[] courses = slot(coursesByStudent, student);
+                int[] added = insert(courses, change.course());
+                if (added != courses) {
+                    coursesByStudent = grow(coursesByStudent, student);
+                    coursesByStudent[student] = added;
+                    studentCount += courses == null ? 1 : 0;
+                    addStudent(change.course(), student);
+                    enrollments++;
+                }
+                break;
+            case Change.UNENROLL:
+                courses = slot(coursesByStudent, student);
+                int[] removed = remove(courses, change.course());
+                if (removed != courses) {
+                    coursesByStudent[student] = removed;
+                    studentCount -= removed == null ? 1 : 0;
+                    removeStudent(change.course(), student);
+                    enrollments--;
+                }
+                break;
+            default:
+                courses = slot(coursesByStudent, student);
+                if (courses != null) {
+                    coursesByStudent[student] = null;
+                    studentCount--;
+                    for (int course : courses) {
+                        removeStudent(course, student);
+                    }
+                    enrollments -= courses.length;
+                }
+        }
+    }
+
+    private void addStudent(int course, int student) {
+        studentsByCourse = grow(studentsByCourse, course);
+        if (studentsByCourse[course] == null) {
+            studentsByCourse[course] = new RoaringBitmap();
+            courseCount++;
+        }
+        studentsByCourse[course].add(student);
+    }
+
+    private void removeStudent(int course, int student) {
+        RoaringBitmap students = slot(studentsByCourse, course);
+        if (students != null) {
+            students.remove(student);
+            if (students.isEmpty()) {
+                studentsByCourse[course] = null;
+                courseCount--;
+            }
+        }
+    }
+
+    // The sorted set with the value added, or the same array if it was already there.
+    private static int[] insert(int[] set, int value) {
+        if (set == null) {
+            return new int[] { value };
+        }
+        int at = Arrays.binarySearch(set, value);
+        if (at >= 0) {
+            return set;
+        }
+        at = -at - 1;
+        int[] copy = new int[set.length + 1];
+        System.arraycopy(set, 0, copy, 0, at);
+        copy[at] = value;
+        System.arraycopy(set, at, copy, at + 1, set.length - at);
+        return copy;
+    }
+
+    // The sorted set without the value (null once empty), or the same array if it was not there.
+    private static int[] remove(int[] set, int value) {
+        int at = set == null ? -1 : Arrays.binarySearch(set, value);
+        if (at < 0) {
+            return set;
+        }
+        if (set.length == 1) {
+            return null;
+        }
+        int[] copy = new int[set.length - 1];
+        System.arraycopy(set, 0, copy, 0, at);
+        System.arraycopy(set, at + 1, copy, at, set.length - at - 1);
+        return copy;
+    }
+
+    private static <T> T slot(T[] slots, int id) {
+        return id < slots.length ? slots[id] : null;
+    }
+
+    // Doubles the array until the id fits; ids are dense, so this happens a logarithmic number of times.
+    private static <T> T[] grow(T[] slots, int id) {
+        if (id < slots.length) {
+            return slots;
+        }
+        int capacity = slots.length;
+        while (capacity <= id) {
+            capacity = capacity > Integer.MAX_VALUE / 2 ? Integer.MAX_VALUE - 8 : capacity * 2;
+        }
+        return Arrays.copyOf(slots, Math.max(capacity, id + 1));
+    }
+
+    private static boolean isKey(Long id) {
+        return id != null && id >= 0 && id <= Integer.MAX_VALUE;
+    }
+
+    private static int key(long id) {
+        if (id < 0 || id > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Id " + id + " does not fit into the enrollment index");
+        }
+        return (int) id;
+    }
+
+    // An enrollment change, kept while a load is running so that it can be replayed onto the loaded sets.
+    private record Change(int type, int student, int course) {
+        static final int ENROLL = 0;
+        static final int UNENROLL = 1;
+        static final int REMOVE_STUDENT = 2;
+    }
+
+    /**
+     * Builds the sets of a bulk load without any lock, for finishLoad() to swap in. Per student the courses
+     * are appended to an int[] that doubles as it fills; compact() sorts them, drops duplicates and trims it.
+     */
+    public static final class Loader {
+
+        private RoaringBitmap[] studentsByCourse = new RoaringBitmap[INITIAL_CAPACITY];
+        private int[][] coursesByStudent = new int[INITIAL_CAPACITY][];
+        private int[] filled = new int[INITIAL_CAPACITY];
+        private int courseCount;
+        private int studentCount;
+        private long enrollments;
+
+        private Loader() {
+        }
+
+        public void load(long studentId, long courseId) {
+            int student = key(studentId);
+            int course = key(courseId);
+            coursesByStudent = grow(coursesByStudent, student);
+            if (student >= filled.length) {
+                filled = Arrays.copyOf(filled, coursesByStudent.length);
+            }
+            int[] courses = coursesByStudent[student];
+            if (courses == null) {
+                courses = coursesByStudent[student] = new int[4];
+                studentCount++;
+            } else if (filled[student] == courses.length) {
+                courses = coursesByStudent[student] = Arrays.copyOf(courses, courses.length * 2);
+            }
+            courses[filled[student]++] = course;
+
+            studentsByCourse = grow(studentsByCourse, course);
+            if (studentsByCourse[course] == null) {
+                studentsByCourse[course] = new RoaringBitmap();
+                courseCount++;
+            }
+            studentsByCourse[course].add(student);
+        }
+
+        private void compact() {
+            for (int student = 0; student < coursesByStudent.length; student++) {
+                int[] courses = coursesByStudent[student];
+                if (courses != null) {
+                    int size = filled[student];
+                    Arrays.sort(courses, 0, size);
+                    int distinct = 0;
+                    for (int i = 0; i < size; i++) {
+                        if (distinct == 0 || courses[i] != courses[distinct - 1]) {
+                            courses[distinct++] = courses[i];
+                        }
+                    }
+                    coursesByStudent[student] = distinct == courses.length ? courses : Arrays.copyOf(courses, distinct);
+                    enrollments += distinct;
+                }
+            }
+            filled = null;
+            for (RoaringBitmap students : studentsByCourse) {
+                if (students != null) {
+                    students.runOptimize();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.student_management_system.index;
+
+import com.example.student_management_system.dto.EnrollmentOutcome;
+import com.example.student_management_system.dto.EnrollmentOutcome.Status;
+import com.example.student_management_system.event.EnrollmentChangedEvent;
+import com.example.student_management_system.event.StudentChangedEvent;
+import com.example.student_management_system.repository.EnrollmentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * =================================================================
+ * Enrollment Index Updater
+ * =================================================================
+ * Keeps the EnrollmentIndex in step with the `student_courses` table:
+ *  - At startup the index is loaded from one streamed scan of the join table.
+ *    The scan runs outside a read-only transaction, so it reads the primary
+ *    and never misses enrollments a read replica has not caught up with.
+ *    It fills a Loader without holding the index lock; queries and updates
+ *    only wait for the final swap.
+ *  - Afterwards every committed EnrollmentChangedEvent is applied incrementally,
+ *    and a deleted student (whose join rows go with it) is dropped.
+ *    Events from a rolled-back transaction are never applied.
+ * =================================================================
+ */
+@Component
+public class EnrollmentIndexUpdater {
+
+    private static final Logger log = LoggerFactory.getLogger(EnrollmentIndexUpdater.class);
+
+    @Autowired
+    private EnrollmentIndex enrollmentIndex;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        EnrollmentIndex.Loader loader = enrollmentIndex.beginLoad();
+        enrollmentRepository.forEachEnrollment(loader::load);
+        enrollmentIndex.finishLoad(loader);
+        log.info("Enrollment index loaded {} enrollments of {} students in {} courses in {} ms",
+                enrollmentIndex.size(), enrollmentIndex.studentCount(), enrollmentIndex.courseCount(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEnrollmentChanged(EnrollmentChangedEvent event) {
+        for (EnrollmentOutcome outcome : event.changes()) {
+            if (outcome.status() == Status.ENROLLED) {
+                enrollmentIndex.enroll(outcome.studentId(), outcome.courseId());
+            } else {
+                enrollmentIndex.unenroll(outcome.studentId(), outcome.courseId());
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        if (event.type() == StudentChangedEvent.Type.DELETED) {
+            enrollmentIndex.removeStudent(event.studentId());
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.student_management_system.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * =================================================================
+ * Request Metrics Filter
+ * =================================================================
+ * Purpose:
+ * Per-route database cost of every /api request. Latency per route is already
+ * recorded by Spring's `http.server.requests` timer; this filter adds, with the
+ * same method/uri tags:
+ *  - app.http.request.sql           SQL statements sent while handling the request
+ *  - app.http.request.entity.loads  entities Hibernate materialised for it
+ *
+ * Slow-request log:
+ * Requests slower than app.metrics.slow-request-threshold are logged at WARN with
+ * their route, status, duration and SQL/entity counts, so an N+1 regression shows
+ * up as a high statement count on an otherwise ordinary endpoint.
+ *
+ * Streaming responses finish on an async thread; only the work done before the
+ * handler returns is counted for them.
+ * =================================================================
+ */
+@Component
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestMetricsFilter.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.metrics.slow-request-threshold:500ms}")
+    private Duration slowRequestThreshold = Duration.ofMillis(500);
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        RequestStatistics statistics = RequestStatistics.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestStatistics.end();
+            record(request, response, statistics, System.nanoTime() - start);
+        }
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, RequestStatistics statistics, long elapsedNanos) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+
+        DistributionSummary.builder("app.http.request.sql")
+                .description("SQL statements per request")
+                .tags("method", method, "uri", uri)
+                .register(meterRegistry)
+                .record(statistics.getSqlStatements());
+        DistributionSummary.builder("app.http.request.entity.loads")
+                .description("Entities loaded by Hibernate per request")
+                .tags("method", method, "uri", uri)
+                .register(meterRegistry)
+                .record(statistics.getEntityLoads());
+
+        long elapsedMillis = elapsedNanos / 1_000_000;
+        if (elapsedMillis >= slowRequestThreshold.toMillis()) {
+            log.warn("Slow request: {} {} -> {} in {} ms, {} SQL statements, {} entity loads",
+                    method, uri, response.getStatus(), elapsedMillis,
+                    statistics.getSqlStatements(), statistics.getEntityLoads());
+        }
+    }
+}
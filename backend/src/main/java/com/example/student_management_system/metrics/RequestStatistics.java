@@ -0,0 +1,55 @@
+package com.example.student_management_system.metrics;
+
+/**
+ * =================================================================
+ * Request Statistics
+ * =================================================================
+ * Purpose:
+ * Counts the SQL statements and entity loads caused by the request that is
+ * running on the current thread. RequestMetricsFilter opens a scope per
+ * request; StatementCountingDataSource and EntityLoadCounter add to it.
+ * Work outside a request scope (startup, scheduled jobs) is not counted.
+ * =================================================================
+ */
+public final class RequestStatistics {
+
+    private static final ThreadLocal<RequestStatistics> CURRENT = new ThreadLocal<>();
+
+    private int sqlStatements;
+    private int entityLoads;
+
+    private RequestStatistics() {
+    }
+
+    static RequestStatistics begin() {
+        RequestStatistics statistics = new RequestStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    static void recordSqlStatement() {
+        RequestStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.sqlStatements++;
+        }
+    }
+
+    static void recordEntityLoad() {
+        RequestStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.entityLoads++;
+        }
+    }
+
+    public int getSqlStatements() {
+        return sqlStatements;
+    }
+
+    public int getEntityLoads() {
+        return entityLoads;
+    }
+}
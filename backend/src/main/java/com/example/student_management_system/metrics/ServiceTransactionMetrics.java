@@ -0,0 +1,56 @@
+package com.example.student_management_system.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * =================================================================
+ * Service Transaction Metrics
+ * =================================================================
+ * Purpose:
+ * Times every @Transactional method of the service layer as
+ * `app.service.transaction`, tagged with the service class, the method and
+ * the outcome (success/error).
+ *
+ * The aspect runs outside the transaction interceptor, so the recorded time
+ * includes acquiring the connection, the commit and the after-commit callbacks.
+ * =================================================================
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServiceTransactionMetrics {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Around("within(com.example.student_management_system.service..*) && " +
+            "@annotation(org.springframework.transaction.annotation.Transactional)")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        String outcome = "success";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable ex) {
+            outcome = "error";
+            throw ex;
+        } finally {
+            Timer.builder("app.service.transaction")
+                    .description("Duration of service-layer transactions, including commit")
+                    .tags("service", joinPoint.getSignature().getDeclaringType().getSimpleName(),
+                            "method", joinPoint.getSignature().getName(),
+                            "outcome", outcome)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.student_management_system.metrics;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps every DataSource bean in a StatementCountingDataSource before JPA or JdbcTemplate
+ * receive it. Spring Boot still finds the pool behind it (DelegatingDataSource is unwrappable),
+ * so the connection pool metrics and health check keep working.
+ * The read replica's routing proxy is left alone: it only hands out connections of the
+ * primary and replica pools, which are wrapped themselves.
+ */
+@Component
+public class StatementCountingPostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof StatementCountingDataSource)
+                && !(bean instanceof LazyConnectionDataSourceProxy)) {
+            return new StatementCountingDataSource(dataSource);
+        }
+        return bean;
+    }
+}
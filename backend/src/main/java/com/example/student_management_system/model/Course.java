@@ -7,6 +7,8 @@ import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -34,7 +36,9 @@ public class Course {
 
     @Id
     // @GeneratedValue specifies that the ID should be generated automatically.
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // A pooled sequence keeps JDBC insert batching enabled (IDENTITY would disable it).
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "course_seq")
+    @SequenceGenerator(name = "course_seq", sequenceName = "course_seq", allocationSize = 50)
     private Long id;
 
     @NotEmpty(message = "Course name cannot be empty")
@@ -54,6 +58,25 @@ public class Course {
     @Min(value = 1, message = "Course must be worth at least 1 credit")
     private Integer credits;
 
+    // Maximum number of enrolled students; null means unlimited. Enforced when a seat is taken,
+    // by the conditional UPDATE of enrollmentCount in EnrollmentRepository, never by counting first.
+    @Min(value = 0, message = "Capacity cannot be negative")
+    private Integer capacity;
+
+    // Number of students enrolled, maintained by the enroll/unenroll paths with a relative
+    // UPDATE in the same transaction as the join-table change (see EnrollmentRepository).
+    // Never written by Hibernate after the insert, so a stale entity (for example one held by
+    // the catalog cache) can never overwrite it. Exposed through CourseListing, not here.
+    @JsonIgnore
+    @Column(nullable = false, updatable = false)
+    private long enrollmentCount;
+
+    // Incremented together with enrollmentCount, so the version of the course listing
+    // (CourseRepository.findCatalogVersion) changes whenever any listed value does.
+    @JsonIgnore
+    @Column(nullable = false, updatable = false)
+    private long version;
+
     // This defines the "many" side of the many-to-many relationship with the Student entity.
     // 'mappedBy = "courses"' indicates that the Student class is the owner of this relationship
     // (the 'courses' field in the Student class defines the join table).
@@ -61,5 +84,9 @@ public class Course {
     // @JsonIgnore is crucial here. It tells the JSON serializer to ignore this field when converting the object to JSON.
     // This prevents an infinite recursion loop where Student references Course and Course references Student, causing a stack overflow.
     @JsonIgnore
+    // Excluded from the Lombok-generated equals/hashCode/toString: the collection is lazy, and walking it
+    // from a HashSet operation would load every enrolled student (and bounce back into Student.courses).
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Set<Student> students = new HashSet<>();
 }
\ No newline at end of file
@@ -1,9 +1,12 @@
 package com.example.student_management_system.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotEmpty;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -26,10 +29,21 @@ import java.util.Set;
  */
 @Entity
 @Data
+// Composite indexes backing the keyset-paginated listing (see StudentRepository): each one
+// matches an ORDER BY exactly, so a page is a short index range scan rather than a sort.
+@Table(indexes = {
+        @Index(name = "idx_student_last_name_id", columnList = "lastName, id"),
+        @Index(name = "idx_student_email_id", columnList = "email, id"),
+        // Serves the delta sync (GET /api/students/changes): seek to (changeSeq, id) > token.
+        @Index(name = "idx_student_change_seq_id", columnList = "changeSeq, id")
+})
 public class Student {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // A pooled sequence (rather than IDENTITY) lets Hibernate assign ids in memory, 50 at a time,
+    // and therefore batch INSERT statements; IDENTITY forces one round trip per row.
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "student_seq")
+    @SequenceGenerator(name = "student_seq", sequenceName = "student_seq", allocationSize = 50)
     private Long id;
 
     @NotEmpty(message = "First name cannot be empty")
@@ -43,16 +57,35 @@ public class Student {
     @Email(message = "Email should be valid")
     private String email;
 
+    // Version of this student's representation, the basis of its ETag. Every write that changes the
+    // student or its course list increments it with a relative UPDATE in the same transaction
+    // (see StudentRepository.incrementVersion); Hibernate never writes it after the insert.
+    @JsonIgnore
+    @Column(nullable = false, updatable = false)
+    private long version;
+
+    // Position of this student's last change in the change sequence (see StudentChangeRepository).
+    // Set on insert, and afterwards only by a relative UPDATE issued last in every write transaction.
+    @JsonIgnore
+    @Column(nullable = false, updatable = false)
+    private long changeSeq;
+
     /* This annotation defines a many-to-many relationship between Student and Course.
      * One student can enroll in many courses, and one course can have many students.
      * - fetch = FetchType.LAZY: This is a performance optimization. The 'courses' data will only be loaded from the database when it's explicitly accessed.
+     *   Read paths that need the courses ask for them through an entity graph in StudentRepository (one joined SELECT).
      * - cascade: Defines how operations on a Student affect its associated Courses.
     */
-    @ManyToMany(fetch = FetchType.EAGER, cascade = { CascadeType.PERSIST, CascadeType.MERGE })
+    @ManyToMany(fetch = FetchType.LAZY, cascade = { CascadeType.PERSIST, CascadeType.MERGE })
     @JoinTable(
             name = "student_courses", // The name of the linking table in the database.
             joinColumns = { @JoinColumn(name = "student_id") }, // The foreign key column in the linking table that refers to the Student.
-            inverseJoinColumns = { @JoinColumn(name = "course_id") } // The foreign key column that refers to the Course.
+            inverseJoinColumns = { @JoinColumn(name = "course_id") }, // The foreign key column that refers to the Course.
+            // Serves the course roster: seek to (course_id, student_id > cursor) instead of scanning the table.
+            indexes = { @Index(name = "idx_student_courses_course_student", columnList = "course_id, student_id") }
     )
+    // Kept out of equals/hashCode/toString so comparing or printing a student never triggers a collection load.
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Set<Course> courses = new HashSet<>();
 }
\ No newline at end of file
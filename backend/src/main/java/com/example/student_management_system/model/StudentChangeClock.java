@@ -0,0 +1,35 @@
+package com.example.student_management_system.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.Data;
+
+/**
+ * =================================================================
+ * Student Change Clock Entity
+ * =================================================================
+ * Purpose:
+ * The single row that holds the watermarks of the student change sequence:
+ * up to which position every change is committed (`committedThrough`; the
+ * positions themselves come from the student_change_seq sequence), and up to
+ * which position tombstones have been purged (`purgedThrough`). Delta sync
+ * tokens at or below the latter can no longer be served.
+ *
+ * Written and read with plain SQL by StudentChangeRepository; this entity
+ * only defines the table.
+ * =================================================================
+ */
+@Entity
+@Data
+public class StudentChangeClock {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private long committedThrough;
+
+    @Column(nullable = false)
+    private long purgedThrough;
+}
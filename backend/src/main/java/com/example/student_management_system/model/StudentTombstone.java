@@ -0,0 +1,41 @@
+package com.example.student_management_system.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * =================================================================
+ * Student Tombstone Entity
+ * =================================================================
+ * Purpose:
+ * Remembers that a student was deleted, and at which position of the change
+ * sequence, so that the delta sync (GET /api/students/changes) can tell
+ * clients to drop it from their copy of the roster. The student row itself
+ * is gone.
+ *
+ * Tombstones are written and read with plain SQL by StudentChangeRepository;
+ * this entity only defines the table. They are purged after
+ * app.students.changes.tombstone-retention (see StudentTombstoneReaper).
+ * =================================================================
+ */
+@Entity
+@Data
+@Table(indexes = @Index(name = "idx_student_tombstone_change_seq_id", columnList = "changeSeq, studentId"))
+public class StudentTombstone {
+
+    // Student ids come from a sequence and are never reused, so one tombstone per id is enough.
+    @Id
+    private Long studentId;
+
+    @Column(nullable = false)
+    private long changeSeq;
+
+    @Column(nullable = false)
+    private Instant deletedAt;
+}
@@ -1,9 +1,16 @@
 package com.example.student_management_system.repository;
 
+import com.example.student_management_system.dto.CourseCatalogVersion;
+import com.example.student_management_system.dto.CourseEnrollmentCount;
 import com.example.student_management_system.model.Course;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * =================================================================
  * Course Repository
@@ -16,4 +23,22 @@ import org.springframework.stereotype.Repository;
 
 @Repository
 public interface CourseRepository extends JpaRepository<Course, Long> {
+
+    @Query("SELECT c.id FROM Course c WHERE c.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Reads the maintained enrollment counters: two narrow columns per course,
+     * no join with student_courses and no COUNT(*).
+     */
+    @Query("SELECT new com.example.student_management_system.dto.CourseEnrollmentCount(c.id, c.enrollmentCount) FROM Course c")
+    List<CourseEnrollmentCount> findEnrollmentCounts();
+
+    /**
+     * Summarises the version of the whole course listing in one aggregate over the course table.
+     * Course versions only ever grow and courses are never deleted, so the pair changes whenever
+     * a course is added or any course's enrollment count moves.
+     */
+    @Query("SELECT new com.example.student_management_system.dto.CourseCatalogVersion(COUNT(c), COALESCE(SUM(c.version), 0)) FROM Course c")
+    CourseCatalogVersion findCatalogVersion();
 }
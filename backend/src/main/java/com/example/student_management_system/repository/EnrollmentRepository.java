@@ -0,0 +1,320 @@
+package com.example.student_management_system.repository;
+
+import com.example.student_management_system.dto.EnrollmentPair;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * =================================================================
+ * Enrollment Repository
+ * =================================================================
+ * Purpose:
+ * Direct JDBC access to the `student_courses` join table that backs the
+ * Student.courses association. It writes enrollment rows without loading
+ * either entity or any collection, which is what makes bulk enrollment fast.
+ *
+ * Note:
+ * Every method that adds or removes rows is paired with an adjustment of
+ * course.enrollment_count, which callers apply in the same transaction.
+ * Adding a row to a course with a capacity must also fit into it: single
+ * enrollments take their seat with reserveSeat(), batch writers lock the
+ * courses with lockFreeSeats() and keep only what fits.
+ *
+ * It also reads the courses of a page of students in exactly the shape a client
+ * asked for (see StudentShape): course ids from the join table alone, or only
+ * the requested course columns.
+ *
+ * Rows written here bypass the JPA persistence context. Callers must not rely
+ * on an already-loaded Student.courses collection reflecting these changes
+ * within the same transaction.
+ * =================================================================
+ */
+@Repository
+public class EnrollmentRepository {
+
+    // Conditional insert: adds the row only if it is not there yet, so a pair that is already
+    // enrolled (or was enrolled concurrently) reports an update count of 0 instead of failing the batch.
+    private static final String INSERT_IF_ABSENT =
+            "INSERT INTO student_courses (student_id, course_id) " +
+            "SELECT ?, ? WHERE NOT EXISTS " +
+            "(SELECT 1 FROM student_courses WHERE student_id = ? AND course_id = ?)";
+
+    private static final String DELETE =
+            "DELETE FROM student_courses WHERE student_id = ? AND course_id = ?";
+
+    // H2's data change delta table: returns the course of every row this very statement deleted,
+    // including rows committed after the caller last read the student's courses.
+    private static final String DELETE_ALL_OF_STUDENT =
+            "SELECT course_id FROM OLD TABLE (DELETE FROM student_courses WHERE student_id = ?)";
+
+    // Relative update: concurrent enrollments in one course serialise on the row lock instead of losing counts.
+    // Also moves the course version, which the ETag of the course listing is derived from.
+    private static final String ADJUST_COUNT =
+            "UPDATE course SET enrollment_count = enrollment_count + ?, version = version + 1 WHERE id = ?";
+
+    // Takes one seat only while one is free. The capacity check and the increment are a single atomic
+    // statement, so two enrollments can never both take the last seat, and nothing is locked before it runs.
+    private static final String RESERVE_SEAT =
+            "UPDATE course SET enrollment_count = enrollment_count + 1, version = version + 1 " +
+            "WHERE id = ? AND (capacity IS NULL OR enrollment_count < capacity)";
+
+    private static final String LOCK_FREE_SEATS =
+            "SELECT id, capacity - enrollment_count FROM course " +
+            "WHERE capacity IS NOT NULL AND id IN (%s) ORDER BY id FOR UPDATE";
+
+    // Served by the join table's (student_id, course_id) primary key; the course table is not read.
+    private static final String COURSE_IDS_OF_STUDENTS =
+            "SELECT student_id, course_id FROM student_courses WHERE student_id IN (%s) ORDER BY student_id, course_id";
+
+    private static final String COURSES_OF_STUDENTS =
+            "SELECT sc.student_id, %s FROM student_courses sc JOIN course c ON c.id = sc.course_id " +
+            "WHERE sc.student_id IN (%s) ORDER BY sc.student_id, c.id";
+
+    private static final String ALL_ENROLLMENTS = "SELECT student_id, course_id FROM student_courses";
+
+    // Rows fetched per round trip when scanning the whole join table.
+    private static final int SCAN_FETCH_SIZE = 10_000;
+
+    // Course field (as serialized) -> column. Only these names are ever put into COURSES_OF_STUDENTS.
+    private static final Map<String, String> COURSE_COLUMNS = Map.of(
+            "id", "c.id",
+            "name", "c.name",
+            "courseCode", "c.course_code",
+            "professor", "c.professor",
+            "description", "c.description",
+            "credits", "c.credits",
+            "capacity", "c.capacity");
+
+    private static final int MAX_INSERT_ATTEMPTS = 3;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts a single enrollment if it does not exist yet.
+     * Two concurrent calls for the same pair can both pass the NOT EXISTS check; the one that loses
+     * the race on the primary key reports "already enrolled" instead of failing.
+     * @return true if a row was inserted, false if the student was already enrolled.
+     */
+    public boolean insertIfAbsent(long studentId, long courseId) {
+        try {
+            return jdbcTemplate.update(INSERT_IF_ABSENT, studentId, courseId, studentId, courseId) > 0;
+        } catch (DuplicateKeyException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Deletes a single enrollment.
+     * @return true if a row was deleted, false if the student was not enrolled.
+     */
+    public boolean delete(long studentId, long courseId) {
+        return jdbcTemplate.update(DELETE, studentId, courseId) > 0;
+    }
+
+    /**
+     * Deletes every enrollment of a student.
+     * @return The courses of the rows actually deleted.
+     */
+    public List<Long> deleteAllOfStudent(long studentId) {
+        return jdbcTemplate.queryForList(DELETE_ALL_OF_STUDENT, Long.class, studentId);
+    }
+
+    /**
+     * Adds delta (positive or negative) to a course's maintained enrollment count.
+     */
+    public void adjustEnrollmentCount(long courseId, int delta) {
+        jdbcTemplate.update(ADJUST_COUNT, delta, courseId);
+    }
+
+    /**
+     * Counts a new enrollment against the course's capacity.
+     * @return true if a seat was free and has been taken (the count was incremented), false if the course is full.
+     */
+    public boolean reserveSeat(long courseId) {
+        return jdbcTemplate.update(RESERVE_SEAT, courseId) > 0;
+    }
+
+    /**
+     * Locks the rows of the given courses that have a capacity, in id order, until the transaction ends,
+     * and reads how many seats each has left. Used by batch writers, which must decide for many
+     * enrollments at once; courses without a capacity are neither locked nor returned.
+     * @param courseIds The courses to lock; at most a few thousand.
+     * @return The free seats per capacity-limited course (zero or negative when full).
+     */
+    public Map<Long, Integer> lockFreeSeats(Collection<Long> courseIds) {
+        Map<Long, Integer> freeSeats = new HashMap<>();
+        if (courseIds.isEmpty()) {
+            return freeSeats;
+        }
+        String sql = String.format(LOCK_FREE_SEATS, placeholders(courseIds.size()));
+        jdbcTemplate.query(sql, rs -> {
+            freeSeats.put(rs.getLong(1), rs.getInt(2));
+        }, courseIds.toArray());
+        return freeSeats;
+    }
+
+    /**
+     * Applies one count adjustment per course in a single JDBC batch.
+     * Courses are updated in id order so concurrent callers lock rows in the same order.
+     * @param deltas The change per course id; zero entries are skipped.
+     */
+    public void adjustEnrollmentCounts(Map<Long, Integer> deltas) {
+        List<Map.Entry<Long, Integer>> changes = deltas.entrySet().stream()
+                .filter(e -> e.getValue() != 0)
+                .sorted(Map.Entry.comparingByKey())
+                .toList();
+        if (changes.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(ADJUST_COUNT, changes, changes.size(), (ps, change) -> {
+            ps.setInt(1, change.getValue());
+            ps.setLong(2, change.getKey());
+        });
+    }
+
+    /**
+     * Deletes the given enrollments using JDBC batches.
+     * @param pairs The (student, course) pairs to delete.
+     * @param batchSize The number of statements sent to the database per round trip.
+     * @return One update count per pair, in input order: 1 if the row was deleted, 0 if there was none.
+     */
+    public int[] delete(List<EnrollmentPair> pairs, int batchSize) {
+        return flatten(pairs.size(), jdbcTemplate.batchUpdate(DELETE, pairs, batchSize, (ps, pair) -> {
+            ps.setLong(1, pair.studentId());
+            ps.setLong(2, pair.courseId());
+        }));
+    }
+
+    /**
+     * Inserts the given enrollments using JDBC batches. Must run inside a transaction.
+     * @param pairs The (student, course) pairs to insert; both ids must exist.
+     * @param batchSize The number of statements sent to the database per round trip.
+     * @return One update count per pair, in input order: 1 if the row was inserted, 0 if it already existed.
+     */
+    public int[] insertIfAbsent(List<EnrollmentPair> pairs, int batchSize) {
+        // A concurrent enrollment of one of the pairs can commit between its NOT EXISTS check and its insert.
+        // The batch is then undone to a savepoint and sent again; the retry sees that row and skips it.
+        return jdbcTemplate.execute((ConnectionCallback<int[]>) connection -> {
+            for (int attempt = 1; ; attempt++) {
+                Savepoint savepoint = connection.setSavepoint();
+                try {
+                    int[] counts = flatten(pairs.size(), jdbcTemplate.batchUpdate(INSERT_IF_ABSENT, pairs, batchSize, (ps, pair) -> {
+                        ps.setLong(1, pair.studentId());
+                        ps.setLong(2, pair.courseId());
+                        ps.setLong(3, pair.studentId());
+                        ps.setLong(4, pair.courseId());
+                    }));
+                    connection.releaseSavepoint(savepoint);
+                    return counts;
+                } catch (DuplicateKeyException ex) {
+                    connection.rollback(savepoint);
+                    if (attempt == MAX_INSERT_ATTEMPTS) {
+                        throw ex;
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Reads the ids of the courses each student is enrolled in, in one statement over the join table.
+     * @param studentIds The students, at most a page (a few hundred).
+     * @return The course ids per student, in ascending order; students without courses are absent.
+     */
+    public Map<Long, List<Long>> findCourseIds(Collection<Long> studentIds) {
+        Map<Long, List<Long>> courseIds = new HashMap<>();
+        if (studentIds.isEmpty()) {
+            return courseIds;
+        }
+        jdbcTemplate.query(String.format(COURSE_IDS_OF_STUDENTS, placeholders(studentIds.size())), rs -> {
+            courseIds.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>()).add(rs.getLong(2));
+        }, studentIds.toArray());
+        return courseIds;
+    }
+
+    /**
+     * Reads the courses each student is enrolled in, selecting only the given course fields.
+     * @param studentIds The students, at most a page (a few hundred).
+     * @param courseFields Course fields as serialized (e.g. "courseCode"); each must be a key of the course JSON.
+     * @return Per student, one map of field to value per course, in course id order; students without courses are absent.
+     * @throws IllegalArgumentException if a field is not a course field.
+     */
+    public Map<Long, List<Map<String, Object>>> findCourses(Collection<Long> studentIds, List<String> courseFields) {
+        Map<Long, List<Map<String, Object>>> courses = new HashMap<>();
+        if (studentIds.isEmpty()) {
+            return courses;
+        }
+        List<String> columns = courseFields.stream().map(field -> {
+            String column = COURSE_COLUMNS.get(field);
+            if (column == null) {
+                throw new IllegalArgumentException("Not a course field: " + field);
+            }
+            return column;
+        }).toList();
+        String sql = String.format(COURSES_OF_STUDENTS, String.join(", ", columns), placeholders(studentIds.size()));
+        jdbcTemplate.query(sql, rs -> {
+            courses.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>()).add(courseRow(rs, courseFields));
+        }, studentIds.toArray());
+        return courses;
+    }
+
+    /**
+     * Streams every enrollment to the consumer, one row at a time, without collecting them.
+     * Used to build the in-memory EnrollmentIndex at startup.
+     */
+    public void forEachEnrollment(EnrollmentConsumer consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(ALL_ENROLLMENTS);
+            statement.setFetchSize(SCAN_FETCH_SIZE);
+            return statement;
+        }, (RowCallbackHandler) rs -> consumer.accept(rs.getLong(1), rs.getLong(2)));
+    }
+
+    /**
+     * Receives the (student, course) pairs of forEachEnrollment() as primitives.
+     */
+    @FunctionalInterface
+    public interface EnrollmentConsumer {
+        void accept(long studentId, long courseId);
+    }
+
+    private static Map<String, Object> courseRow(ResultSet rs, List<String> courseFields) throws SQLException {
+        Map<String, Object> course = new LinkedHashMap<>();
+        for (int i = 0; i < courseFields.size(); i++) {
+            course.put(courseFields.get(i), rs.getObject(i + 2));
+        }
+        return course;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+
+    private static int[] flatten(int size, int[][] batches) {
+        int[] counts = new int[size];
+        int i = 0;
+        for (int[] batch : batches) {
+            for (int count : batch) {
+                counts[i++] = count;
+            }
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,290 @@
+package com.example.student_management_system.repository;
+
+import com.example.student_management_system.dto.StudentChangeRow;
+import com.example.student_management_system.dto.StudentSummary;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * =================================================================
+ * Student Change Repository
+ * =================================================================
+ * Purpose:
+ * Direct JDBC access to the student change sequence behind the delta sync
+ * (GET /api/students/changes). Every write transaction that changes students
+ * takes the next position of the student_change_seq database sequence, and
+ * stamps it on the changed rows (student.change_seq) or on a tombstone for a
+ * deleted student. Readers seek through the (change_seq, id) indexes, so a
+ * sync costs in proportion to the number of changes, not the roster size.
+ *
+ * Ordering:
+ * A sequence hands out positions without locking anything, so writers never
+ * queue behind each other for them; but positions are not committed in
+ * order. Readers therefore never go beyond the watermark kept on the clock
+ * row (committed_through): the last position below which every transaction
+ * has completed. Positions taken by this instance stay in flight until their
+ * transaction commits or rolls back; after each completion the watermark is
+ * raised to just below the oldest position still in flight, in a short
+ * transaction of its own. Write transactions never touch the clock row, and
+ * a slower writer holds the watermark back instead of committing a change
+ * behind a token already handed out. Rolled-back positions simply leave a gap.
+ *
+ * The in-flight positions are tracked in memory, so every instance that
+ * writes students must share them: like the write-behind queue and the change
+ * feed, this assumes a single writing instance. Replicas need nothing extra,
+ * as they read the watermark in the same snapshot as the rows it covers.
+ * =================================================================
+ */
+@Repository
+public class StudentChangeRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(StudentChangeRepository.class);
+
+    private static final String CREATE_SEQUENCE = "CREATE SEQUENCE IF NOT EXISTS student_change_seq";
+
+    private static final String NEXT_POSITION = "SELECT NEXT VALUE FOR student_change_seq";
+
+    private static final String INIT_CLOCK =
+            "INSERT INTO student_change_clock (id, committed_through, purged_through) VALUES (1, 0, 0)";
+
+    private static final String RAISE_COMMITTED_THROUGH =
+            "UPDATE student_change_clock SET committed_through = ? WHERE id = 1 AND committed_through < ?";
+
+    private static final String READ_CLOCK = "SELECT committed_through, purged_through FROM student_change_clock WHERE id = 1";
+
+    private static final String MARK_CHANGED = "UPDATE student SET change_seq = ? WHERE id IN (%s)";
+
+    private static final String INSERT_TOMBSTONE =
+            "INSERT INTO student_tombstone (student_id, change_seq, deleted_at) VALUES (?, ?, ?)";
+
+    // Served by idx_student_change_seq_id: a range scan starting right after the token.
+    private static final String CHANGED_STUDENTS =
+            "SELECT change_seq, id, first_name, last_name, email FROM student " +
+            "WHERE (change_seq > ? OR (change_seq = ? AND id > ?)) AND change_seq <= ? " +
+            "ORDER BY change_seq, id LIMIT ?";
+
+    // Served by idx_student_tombstone_change_seq_id.
+    private static final String TOMBSTONES =
+            "SELECT change_seq, student_id FROM student_tombstone " +
+            "WHERE (change_seq > ? OR (change_seq = ? AND student_id > ?)) AND change_seq <= ? " +
+            "ORDER BY change_seq, student_id LIMIT ?";
+
+    private static final String LAST_EXPIRED_TOMBSTONE = "SELECT MAX(change_seq) FROM student_tombstone WHERE deleted_at < ?";
+
+    private static final String DELETE_TOMBSTONES = "DELETE FROM student_tombstone WHERE change_seq <= ?";
+
+    private static final String RAISE_PURGED_THROUGH =
+            "UPDATE student_change_clock SET purged_through = ? WHERE id = 1 AND purged_through < ?";
+
+    // Keeps IN lists well below the bind-parameter limits of common databases.
+    private static final int ID_CHUNK_SIZE = 1000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate ownTransaction;
+
+    // Positions taken by transactions that have not completed yet, and the highest position taken.
+    // Both change together under the monitor of inFlight, so the watermark never passes a position
+    // that has been taken but not yet registered.
+    private final NavigableSet<Long> inFlight = new TreeSet<>();
+    private long lastTaken;
+
+    // The watermark last written to the clock row; only one thread writes it at a time.
+    private final ReentrantLock publishing = new ReentrantLock();
+    private volatile long published;
+
+    @PostConstruct
+    void createSequence() {
+        jdbcTemplate.execute(CREATE_SEQUENCE);
+        ownTransaction = new TransactionTemplate(transactionManager);
+        ownTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Positions committed before a restart were never in flight here: take one position, so that the
+     * watermark covers everything before it, and publish it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void publishOnStartup() {
+        synchronized (inFlight) {
+            lastTaken = Math.max(lastTaken, jdbcTemplate.queryForObject(NEXT_POSITION, Long.class));
+        }
+        publish();
+    }
+
+    /**
+     * Takes the next position of the change sequence for the current transaction. Locks nothing; the
+     * position holds the watermark back until the transaction commits or rolls back.
+     * @return The position to stamp on this transaction's changes.
+     * @throws IllegalStateException if no transaction is active.
+     */
+    public long nextPosition() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("A change sequence position can only be taken in a transaction");
+        }
+        long seq;
+        synchronized (inFlight) {
+            seq = jdbcTemplate.queryForObject(NEXT_POSITION, Long.class);
+            inFlight.add(seq);
+            lastTaken = Math.max(lastTaken, seq);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                synchronized (inFlight) {
+                    inFlight.remove(seq);
+                }
+                publish();
+            }
+        });
+        return seq;
+    }
+
+    /**
+     * The last position below which every transaction of this instance has completed.
+     */
+    long committedThrough() {
+        synchronized (inFlight) {
+            return inFlight.isEmpty() ? lastTaken : inFlight.first() - 1;
+        }
+    }
+
+    // Raises the clock row to the watermark. A thread that finds another one publishing leaves it to
+    // that one, which checks again before it stops; writers never wait for each other here.
+    private void publish() {
+        do {
+            if (!publishing.tryLock()) {
+                return;
+            }
+            try {
+                long target;
+                while ((target = committedThrough()) > published) {
+                    long through = target;
+                    ownTransaction.executeWithoutResult(status -> raiseCommittedThrough(through));
+                    published = through;
+                }
+            } catch (RuntimeException ex) {
+                // Raised again after the next completed write; until then readers stop a little short.
+                log.warn("Publishing the student change watermark failed: {}", ex.getMessage());
+                return;
+            } finally {
+                publishing.unlock();
+            }
+        } while (committedThrough() > published);
+    }
+
+    private void raiseCommittedThrough(long through) {
+        if (jdbcTemplate.update(RAISE_COMMITTED_THROUGH, through, through) == 0) {
+            try {
+                jdbcTemplate.update(INIT_CLOCK);
+            } catch (DuplicateKeyException ex) {
+                // Another transaction created the clock row first; it now exists either way.
+            }
+            jdbcTemplate.update(RAISE_COMMITTED_THROUGH, through, through);
+        }
+    }
+
+    /**
+     * Records that the given students were created or changed: takes the next position and stamps it on their rows.
+     * All of them get the same position. The rows must already have been written (flushed) in this transaction.
+     * @param studentIds The changed students.
+     */
+    public void recordChanged(Collection<Long> studentIds) {
+        if (studentIds.isEmpty()) {
+            return;
+        }
+        long seq = nextPosition();
+        List<Long> ids = new ArrayList<>(studentIds);
+        for (int from = 0; from < ids.size(); from += ID_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + ID_CHUNK_SIZE));
+            Object[] args = new Object[chunk.size() + 1];
+            args[0] = seq;
+            for (int i = 0; i < chunk.size(); i++) {
+                args[i + 1] = chunk.get(i);
+            }
+            jdbcTemplate.update(String.format(MARK_CHANGED, placeholders(chunk.size())), args);
+        }
+    }
+
+    /**
+     * Records that a student was deleted: takes the next position and writes a tombstone with it.
+     */
+    public void recordDeleted(long studentId) {
+        long seq = nextPosition();
+        jdbcTemplate.update(INSERT_TOMBSTONE, studentId, seq, Timestamp.from(Instant.now()));
+    }
+
+    /**
+     * Reads the clock: the watermark below which every change is committed, and the position
+     * up to which tombstones have been purged. A purge may commit while a sync is reading, so
+     * readers check the purged position again after reading the tombstones.
+     * @return {seq, purgedThrough}; {0, 0} before the first change.
+     */
+    public long[] readClock() {
+        List<long[]> clock = jdbcTemplate.query(READ_CLOCK, (rs, i) -> new long[] { rs.getLong(1), rs.getLong(2) });
+        return clock.isEmpty() ? new long[] { 0, 0 } : clock.get(0);
+    }
+
+    /**
+     * Reads the students changed after the position (afterSeq, afterId), up to and including upToSeq,
+     * in (change_seq, id) order.
+     */
+    public List<StudentChangeRow> findChangedStudents(long afterSeq, long afterId, long upToSeq, int limit) {
+        return jdbcTemplate.query(CHANGED_STUDENTS, (rs, i) -> new StudentChangeRow(rs.getLong(1), rs.getLong(2),
+                        new StudentSummary(rs.getLong(2), rs.getString(3), rs.getString(4), rs.getString(5))),
+                afterSeq, afterSeq, afterId, upToSeq, limit);
+    }
+
+    /**
+     * Reads the tombstones written after the position (afterSeq, afterId), up to and including upToSeq,
+     * in (change_seq, student_id) order.
+     */
+    public List<StudentChangeRow> findTombstones(long afterSeq, long afterId, long upToSeq, int limit) {
+        return jdbcTemplate.query(TOMBSTONES, (rs, i) -> new StudentChangeRow(rs.getLong(1), rs.getLong(2), null),
+                afterSeq, afterSeq, afterId, upToSeq, limit);
+    }
+
+    /**
+     * Deletes the tombstones of students deleted before the cutoff, and raises the clock's
+     * purged-through position to the last of them, so that older sync tokens are refused.
+     * @return The number of tombstones deleted.
+     */
+    public int purgeTombstones(Instant deletedBefore) {
+        Long last = jdbcTemplate.queryForObject(LAST_EXPIRED_TOMBSTONE, Long.class, Timestamp.from(deletedBefore));
+        if (last == null) {
+            return 0;
+        }
+        jdbcTemplate.update(RAISE_PURGED_THROUGH, last, last);
+        return jdbcTemplate.update(DELETE_TOMBSTONES, last);
+    }
+
+    private static String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+}
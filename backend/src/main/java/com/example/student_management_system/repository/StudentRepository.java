@@ -1,14 +1,151 @@
 package com.example.student_management_system.repository;
 
+import com.example.student_management_system.dto.StudentCourseRow;
+import com.example.student_management_system.dto.StudentSummary;
 import com.example.student_management_system.model.Student;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 /**
  * =================================================================
  * Student Repository
  * =================================================================
+ * Fetch plans:
+ * `Student.courses` is lazy. Callers choose how much of the graph to load:
+ * - The page queries select StudentSummary rows (no courses) with a JPQL
+ *   constructor expression, so no entities are managed and no collection is touched.
+ * - The "WithCourses" methods and findAll() use an entity graph, so the student
+ *   and its courses come back from a single joined SELECT instead of 1 + N.
+ *
+ * Keyset ("seek") pagination:
+ * The page queries below never use OFFSET. Each one starts strictly after the
+ * (sortKey, id) of the last row the client has already seen, so the database
+ * walks the matching index straight to the next row and page N costs the same
+ * as page 1. The id is always the final tie-breaker to keep the order stable.
+ * =================================================================
  */
 @Repository
 public interface StudentRepository extends JpaRepository<Student, Long> {
-}
\ No newline at end of file
+
+    String SUMMARY = "SELECT new com.example.student_management_system.dto.StudentSummary(s.id, s.firstName, s.lastName, s.email) FROM Student s ";
+
+    // --- Streaming export ---
+
+    /**
+     * Streams every student joined with its course codes, ordered by student id so that all
+     * rows of one student are adjacent. The rows are scalar projections (nothing enters the
+     * persistence context) read through a forward-only cursor with a large fetch size.
+     * Must be consumed inside a transaction and closed afterwards.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.example.student_management_system.dto.StudentCourseRow(s.id, s.firstName, s.lastName, s.email, c.courseCode) " +
+            "FROM Student s LEFT JOIN s.courses c ORDER BY s.id ASC")
+    Stream<StudentCourseRow> streamAllWithCourseCodes();
+
+    /**
+     * Streams every student as a summary row. Used to rebuild in-memory derived state
+     * (the search index) without materialising the roster. Same cursor rules as above.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(SUMMARY)
+    Stream<StudentSummary> streamAllSummaries();
+
+    // --- Set-based existence checks ---
+
+    @Query("SELECT s.id FROM Student s WHERE s.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // --- Detail fetch plans ---
+
+    @Override
+    @EntityGraph(attributePaths = "courses")
+    List<Student> findAll();
+
+    @EntityGraph(attributePaths = "courses")
+    Optional<Student> findWithCoursesById(Long id);
+
+    @EntityGraph(attributePaths = "courses")
+    List<Student> findWithCoursesByIdIn(Collection<Long> ids);
+
+    @Query(SUMMARY + "WHERE s.id = :id")
+    Optional<StudentSummary> findSummaryById(@Param("id") Long id);
+
+    // --- Representation versions (ETags) ---
+
+    /**
+     * Reads only the version column: one primary-key lookup, no entity and no courses loaded.
+     */
+    @Query("SELECT s.version FROM Student s WHERE s.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Student s SET s.version = s.version + 1 WHERE s.id = :id")
+    int incrementVersion(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Student s SET s.version = s.version + 1 WHERE s.id IN :ids")
+    int incrementVersions(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Deletes only the student row. Unlike delete(student), Hibernate does not first clear the join
+     * table, so an enrollment the caller has not released makes the statement fail instead of vanishing.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM student WHERE id = :id", nativeQuery = true)
+    int deleteRowById(@Param("id") Long id);
+
+    // --- Ordered by id ---
+
+    @Query(SUMMARY + "ORDER BY s.id ASC")
+    List<StudentSummary> findSummaryPage(Limit limit);
+
+    @Query(SUMMARY + "WHERE s.id > :afterId ORDER BY s.id ASC")
+    List<StudentSummary> findSummaryPageAfterId(@Param("afterId") Long afterId, Limit limit);
+
+    // --- Course roster, ordered by id (served by idx_student_courses_course_student) ---
+
+    @Query(SUMMARY + "JOIN s.courses c WHERE c.id = :courseId ORDER BY s.id ASC")
+    List<StudentSummary> findSummaryPageByCourse(@Param("courseId") Long courseId, Limit limit);
+
+    @Query(SUMMARY + "JOIN s.courses c WHERE c.id = :courseId AND s.id > :afterId ORDER BY s.id ASC")
+    List<StudentSummary> findSummaryPageByCourseAfterId(@Param("courseId") Long courseId, @Param("afterId") Long afterId, Limit limit);
+
+    // --- Ordered by last name, then id ---
+
+    @Query(SUMMARY + "ORDER BY s.lastName ASC, s.id ASC")
+    List<StudentSummary> findSummaryPageByLastName(Limit limit);
+
+    @Query(SUMMARY +
+            "WHERE s.lastName > :lastName OR (s.lastName = :lastName AND s.id > :afterId) " +
+            "ORDER BY s.lastName ASC, s.id ASC")
+    List<StudentSummary> findSummaryPageAfterLastName(@Param("lastName") String lastName, @Param("afterId") Long afterId, Limit limit);
+
+    // --- Ordered by email, then id ---
+
+    @Query(SUMMARY + "ORDER BY s.email ASC, s.id ASC")
+    List<StudentSummary> findSummaryPageByEmail(Limit limit);
+
+    @Query(SUMMARY +
+            "WHERE s.email > :email OR (s.email = :email AND s.id > :afterId) " +
+            "ORDER BY s.email ASC, s.id ASC")
+    List<StudentSummary> findSummaryPageAfterEmail(@Param("email") String email, @Param("afterId") Long afterId, Limit limit);
+}
@@ -0,0 +1,33 @@
+package com.example.student_management_system.routing;
+
+/**
+ * =================================================================
+ * Read Your Writes
+ * =================================================================
+ * Purpose:
+ * Tells ReplicaDataSource whether the request running on the current thread
+ * must read from the primary: it is itself a write, or its client wrote
+ * recently enough that the replica may not have caught up yet.
+ * ReadYourWritesFilter opens a scope per request. Work outside a request
+ * scope (startup, scheduled jobs, async streaming) reads from the replica.
+ * =================================================================
+ */
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    static void begin(boolean primaryRequired) {
+        PRIMARY_REQUIRED.set(primaryRequired);
+    }
+
+    static void end() {
+        PRIMARY_REQUIRED.remove();
+    }
+
+    static boolean isPrimaryRequired() {
+        return Boolean.TRUE.equals(PRIMARY_REQUIRED.get());
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.student_management_system.routing;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * =================================================================
+ * Read Your Writes Filter
+ * =================================================================
+ * Purpose:
+ * Implements the replica lag policy: a client that just changed something
+ * must see its change, even though the replica applies it a little later.
+ *
+ * Behaviour:
+ * - A POST/PUT/PATCH/DELETE request reads from the primary throughout (e.g. the
+ *   detail view returned after an enrollment), and marks its client as a writer.
+ * - For app.datasource.replica.read-your-writes-window after a write has completed,
+ *   every request of that client reads from the primary as well. The window should
+ *   be larger than the replica's usual lag; 0 turns the policy off.
+ * - Everybody else reads from the replica and may see data that is up to the
+ *   replica lag old.
+ *
+ * Clients are identified by their address, as in admission control. Registered
+ * by ReadReplicaConfig only when the replica is enabled.
+ * =================================================================
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+    private final boolean enabled;
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesFilter(Duration window, long maxClients) {
+        this.enabled = !window.isZero() && !window.isNegative();
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterWrite(enabled ? window : Duration.ofNanos(1))
+                .build();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!enabled) {
+            chain.doFilter(request, response);
+            return;
+        }
+        String client = request.getRemoteAddr();
+        boolean write = WRITE_METHODS.contains(request.getMethod());
+        ReadYourWrites.begin(write || recentWriters.getIfPresent(client) != null);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReadYourWrites.end();
+            if (write) {
+                // The window starts when the write has committed, i.e. now.
+                recentWriters.put(client, Boolean.TRUE);
+            }
+        }
+    }
+}
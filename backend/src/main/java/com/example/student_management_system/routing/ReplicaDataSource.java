@@ -0,0 +1,64 @@
+package com.example.student_management_system.routing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * =================================================================
+ * Replica DataSource
+ * =================================================================
+ * Purpose:
+ * The DataSource read-only transactions get their connection from (see
+ * ReadReplicaConfig). Normally that is the replica pool; it hands out a
+ * primary connection instead when:
+ * - the current request must read its own writes (ReadYourWrites), or
+ * - the replica is down (ReplicaHealthMonitor), including when getting a
+ *   replica connection fails right now.
+ *
+ * Metrics:
+ * app.datasource.reads counts read-only connections by target (replica, primary)
+ * and reason (read_only, read_your_writes, replica_down).
+ * =================================================================
+ */
+public class ReplicaDataSource extends DelegatingDataSource {
+
+    private final DataSource primary;
+    private final ReplicaHealthMonitor health;
+    private final MeterRegistry meterRegistry;
+
+    public ReplicaDataSource(DataSource replica, DataSource primary, ReplicaHealthMonitor health,
+                             MeterRegistry meterRegistry) {
+        super(replica);
+        this.primary = primary;
+        this.health = health;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (ReadYourWrites.isPrimaryRequired()) {
+            return fromPrimary("read_your_writes");
+        }
+        if (!health.isUp()) {
+            return fromPrimary("replica_down");
+        }
+        Connection connection;
+        try {
+            connection = super.getConnection();
+        } catch (SQLException ex) {
+            health.markDown(ex);
+            return fromPrimary("replica_down");
+        }
+        meterRegistry.counter("app.datasource.reads", "target", "replica", "reason", "read_only").increment();
+        return connection;
+    }
+
+    private Connection fromPrimary(String reason) throws SQLException {
+        meterRegistry.counter("app.datasource.reads", "target", "primary", "reason", reason).increment();
+        return primary.getConnection();
+    }
+}
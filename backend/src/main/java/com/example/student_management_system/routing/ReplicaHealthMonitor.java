@@ -0,0 +1,103 @@
+package com.example.student_management_system.routing;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * =================================================================
+ * Replica Health Monitor
+ * =================================================================
+ * Purpose:
+ * Keeps track of whether the read replica can be used, so that reads fall back
+ * to the primary while it is unreachable instead of failing.
+ *
+ * Behaviour:
+ * - The replica is checked once at startup, so an application started while the
+ *   replica is unreachable reads from the primary from its first request on.
+ * - ReplicaDataSource marks the replica down as soon as it cannot get a connection.
+ * - Every app.datasource.replica.health-check-interval a background thread
+ *   validates a replica connection and marks the replica up or down accordingly.
+ *   Requests never wait for that check: while the replica is down they go
+ *   straight to the primary.
+ *
+ * Metrics:
+ * app.datasource.replica.up is 1 while reads may use the replica, 0 otherwise.
+ * =================================================================
+ */
+public class ReplicaHealthMonitor implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaHealthMonitor.class);
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final DataSource replica;
+    private final Duration interval;
+    private volatile boolean up = true;
+    private ScheduledExecutorService checker;
+
+    public ReplicaHealthMonitor(DataSource replica, Duration interval) {
+        this.replica = replica;
+        this.interval = interval;
+    }
+
+    @PostConstruct
+    void start() {
+        check();
+        checker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        checker.scheduleWithFixedDelay(this::check, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        checker.shutdownNow();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("app.datasource.replica.up", this, monitor -> monitor.isUp() ? 1 : 0)
+                .description("Whether read-only transactions may use the read replica")
+                .register(registry);
+    }
+
+    public boolean isUp() {
+        return up;
+    }
+
+    void markDown(SQLException cause) {
+        if (up) {
+            up = false;
+            log.warn("Read replica unavailable, reading from the primary until it recovers: {}", cause.getMessage());
+        }
+    }
+
+    void check() {
+        try (Connection connection = replica.getConnection()) {
+            if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                throw new SQLException("Replica connection failed validation");
+            }
+            if (!up) {
+                up = true;
+                log.info("Read replica available again");
+            }
+        } catch (SQLException ex) {
+            markDown(ex);
+        }
+    }
+}
@@ -0,0 +1,518 @@
+package com.example.student_management_system.search;
+
+import com.example.student_management_system.dto.StudentSearchHit;
+import com.example.student_management_system.dto.StudentSummary;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.LongPredicate;
+import java.util.regex.Pattern;
+
+/**
+ * =================================================================
+ * Student Search Index
+ * =================================================================
+ * Purpose:
+ * An in-memory prefix and typo-tolerant index over student first names,
+ * last names and emails, so search-as-you-type never issues LIKE '%..%'
+ * scans against the database.
+ *
+ * Structure:
+ *  - Two sorted token dictionaries (names, emails) mapping a normalised token
+ *    (lower-cased, accents stripped) to the ids of the students that contain it.
+ *    A prefix query is a range scan of the dictionary: [prefix, prefix + Character.MAX_VALUE).
+ *  - An id -> indexed student map holding the summary returned in results and the
+ *    tokens to remove when the student changes.
+ *  - Fuzzy matching is restricted to name tokens sharing the query's first letter
+ *    and uses a bounded prefix edit distance (1 edit up to 5 characters, 2 above).
+ *
+ * Ranking (per query term, summed over terms; every term must match):
+ *  exact field > exact token > prefix (closer in length scores higher) > fuzzy,
+ *  weighted last name > first name > email. Ties are broken by id.
+ *
+ * Concurrency:
+ * Reads are lock-free over concurrent maps; writes are serialised on the index.
+ *
+ * Candidates:
+ * A query walks the postings of its most selective term only (fewest ids), and
+ * keeps an id only if the student matches every other term too: the intersection
+ * of all terms' postings, starting with the smallest list. The cap on candidates
+ * applies to that intersection, so every student matching all terms is scored
+ * unless more than app.students.search.max-candidates do.
+ * =================================================================
+ */
+@Component
+public class StudentSearchIndex {
+
+    private static final Pattern NAME_SEPARATORS = Pattern.compile("[\\s\\-']+");
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private static final double LAST_NAME_WEIGHT = 1.0;
+    private static final double FIRST_NAME_WEIGHT = 0.95;
+    private static final double EMAIL_WEIGHT = 0.8;
+
+    private final NavigableMap<String, Postings> nameTokens = new ConcurrentSkipListMap<>();
+    private final NavigableMap<String, Postings> emailTokens = new ConcurrentSkipListMap<>();
+    private final Map<Long, IndexedStudent> students = new ConcurrentHashMap<>();
+
+    // Ids removed while a bulk load is running; the load must not resurrect them.
+    private Set<Long> removedDuringLoad;
+
+    // Upper bound on candidate ids scored per query.
+    @Value("${app.students.search.max-candidates:1000}")
+    private int maxCandidates = 1000;
+
+    /**
+     * Adds a student, or replaces its previous entry.
+     */
+    public synchronized void put(StudentSummary student) {
+        IndexedStudent previous = students.get(student.id());
+        if (previous != null) {
+            unlink(previous);
+        }
+        IndexedStudent indexed = IndexedStudent.of(student);
+        link(indexed);
+        students.put(student.id(), indexed);
+    }
+
+    /**
+     * Removes a student; unknown ids are ignored.
+     */
+    public synchronized void remove(Long studentId) {
+        IndexedStudent previous = students.remove(studentId);
+        if (previous != null) {
+            unlink(previous);
+        }
+        if (removedDuringLoad != null) {
+            removedDuringLoad.add(studentId);
+        }
+    }
+
+    /**
+     * Starts a bulk load from the database. Until finishLoad() is called, load() never
+     * overwrites an entry written by put() and never re-adds an id passed to remove(),
+     * so changes committed while the load is scanning the table win over the scanned rows.
+     */
+    public synchronized void beginLoad() {
+        removedDuringLoad = new HashSet<>();
+    }
+
+    public synchronized void load(StudentSummary student) {
+        if (students.containsKey(student.id()) || (removedDuringLoad != null && removedDuringLoad.contains(student.id()))) {
+            return;
+        }
+        IndexedStudent indexed = IndexedStudent.of(student);
+        link(indexed);
+        students.put(student.id(), indexed);
+    }
+
+    public synchronized void finishLoad() {
+        removedDuringLoad = null;
+    }
+
+    public int size() {
+        return students.size();
+    }
+
+    /**
+     * Returns the best matches for a free-text query, highest score first.
+     * @param query One or more whitespace-separated terms; each must match a name or the email.
+     * @param limit The maximum number of hits (top-k).
+     * @param fuzzy Whether name terms of three or more characters may match with typos.
+     */
+    public List<StudentSearchHit> search(String query, int limit, boolean fuzzy) {
+        List<String> terms = terms(query);
+        if (terms.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        // Drive candidate generation from the most selective term: the one with the fewest postings.
+        String driver = null;
+        long fewest = Long.MAX_VALUE;
+        for (String term : terms) {
+            long postings = countPrefix(term, fewest);
+            if (postings < fewest) {
+                driver = term;
+                fewest = postings;
+            }
+        }
+        if (fewest == 0 && !(fuzzy && maxEdits(driver) > 0)) {
+            return List.of();
+        }
+
+        Candidates candidates = new Candidates(terms, driver, fuzzy);
+        if (collectPrefix(nameTokens, driver, candidates) && collectPrefix(emailTokens, driver, candidates)
+                && fuzzy && candidates.matched.size() < limit && maxEdits(driver) > 0) {
+            collectFuzzy(driver, candidates);
+        }
+
+        PriorityQueue<StudentSearchHit> top = new PriorityQueue<>(limit + 1, RANKING.reversed());
+        for (Long id : candidates.matched) {
+            IndexedStudent student = students.get(id);
+            if (student == null) {
+                continue;
+            }
+            double score = 0;
+            for (String term : terms) {
+                double termScore = student.score(term, fuzzy);
+                if (termScore == 0) {
+                    score = 0;
+                    break;
+                }
+                score += termScore;
+            }
+            if (score > 0) {
+                StudentSummary s = student.summary();
+                top.add(new StudentSearchHit(s.id(), s.firstName(), s.lastName(), s.email(), Math.round(score * 1000) / 1000d));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+        }
+        List<StudentSearchHit> hits = new ArrayList<>(top);
+        hits.sort(RANKING);
+        return hits;
+    }
+
+    private static final Comparator<StudentSearchHit> RANKING =
+            Comparator.comparingDouble(StudentSearchHit::score).reversed().thenComparing(StudentSearchHit::id);
+
+    // The number of ids in the postings of tokens starting with the term, counted no further than stopAt.
+    private long countPrefix(String term, long stopAt) {
+        long count = 0;
+        for (NavigableMap<String, Postings> dictionary : List.of(nameTokens, emailTokens)) {
+            for (Postings postings : dictionary.subMap(term, true, term + Character.MAX_VALUE, false).values()) {
+                count += postings.size();
+                if (count >= stopAt) {
+                    return count;
+                }
+            }
+        }
+        return count;
+    }
+
+    /** @return false once the candidates are full. */
+    private boolean collectPrefix(NavigableMap<String, Postings> dictionary, String prefix, Candidates into) {
+        for (Postings postings : dictionary.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            if (!postings.forEach(into::offer)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The ids of the driver term's postings that match every other term as well, up to maxCandidates.
+     * Each id is checked once, against the student's own tokens.
+     */
+    private final class Candidates {
+        private final List<String> others;
+        private final boolean fuzzy;
+        private final Set<Long> examined = new HashSet<>();
+        private final Set<Long> matched = new LinkedHashSet<>();
+
+        Candidates(List<String> terms, String driver, boolean fuzzy) {
+            this.others = terms.stream().filter(term -> !term.equals(driver)).toList();
+            this.fuzzy = fuzzy;
+        }
+
+        /** @return false once maxCandidates ids match. */
+        boolean offer(long id) {
+            if (examined.add(id)) {
+                IndexedStudent student = students.get(id);
+                if (student != null && others.stream().allMatch(term -> student.score(term, fuzzy) > 0)) {
+                    matched.add(id);
+                }
+            }
+            return matched.size() < maxCandidates;
+        }
+    }
+
+    /**
+     * Walks the sorted name dictionary like a trie: consecutive tokens share the edit-distance
+     * rows of their common prefix, a prefix whose best distance already exceeds the budget skips
+     * every token below it, and a prefix within the budget takes every token below it at once.
+     */
+    private void collectFuzzy(String term, Candidates into) {
+        int maxEdits = maxEdits(term);
+        String first = term.substring(0, 1);
+        int width = term.length() + 1;
+        int[][] rows = new int[16][];
+        rows[0] = new int[width];
+        for (int j = 0; j < width; j++) {
+            rows[0][j] = j;
+        }
+        String previous = "";
+        String token = nameTokens.ceilingKey(first);
+        while (token != null && token.startsWith(first)) {
+            int k = commonPrefixLength(previous, token);
+            String next = null;
+            while (k < token.length()) {
+                k++;
+                if (k == rows.length) {
+                    rows = Arrays.copyOf(rows, rows.length * 2);
+                }
+                int[] row = rows[k] == null ? (rows[k] = new int[width]) : rows[k];
+                int rowMin = nextRow(term, token, k, rows, row);
+                if (row[width - 1] <= maxEdits) {
+                    // token[0..k) is within the budget: every token starting with it matches.
+                    String prefix = token.substring(0, k);
+                    if (!collectPrefix(nameTokens, prefix, into)) {
+                        return;
+                    }
+                    next = prefix + Character.MAX_VALUE;
+                    break;
+                }
+                if (rowMin > maxEdits) {
+                    // No extension of token[0..k) can come back within the budget.
+                    next = token.substring(0, k) + Character.MAX_VALUE;
+                    break;
+                }
+            }
+            previous = token.substring(0, k);
+            token = nameTokens.higherKey(next != null ? next : token);
+        }
+    }
+
+    /**
+     * Fills row k of the optimal-string-alignment table of token[0..k) against every prefix of the query.
+     * @return the smallest value in the row.
+     */
+    private static int nextRow(String query, String token, int k, int[][] rows, int[] row) {
+        int[] above = rows[k - 1];
+        char c = token.charAt(k - 1);
+        row[0] = k;
+        int rowMin = k;
+        for (int j = 1; j < row.length; j++) {
+            int cost = query.charAt(j - 1) == c ? 0 : 1;
+            int distance = Math.min(Math.min(row[j - 1] + 1, above[j] + 1), above[j - 1] + cost);
+            if (k > 1 && j > 1 && query.charAt(j - 1) == token.charAt(k - 2) && query.charAt(j - 2) == c) {
+                distance = Math.min(distance, rows[k - 2][j - 2] + 1);
+            }
+            row[j] = distance;
+            rowMin = Math.min(rowMin, distance);
+        }
+        return rowMin;
+    }
+
+    private static int commonPrefixLength(String a, String b) {
+        int length = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < length && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private void link(IndexedStudent student) {
+        for (String token : student.nameTokens()) {
+            nameTokens.computeIfAbsent(token, t -> new Postings()).add(student.summary().id());
+        }
+        if (!student.email().isEmpty()) {
+            emailTokens.computeIfAbsent(student.email(), t -> new Postings()).add(student.summary().id());
+        }
+    }
+
+    private void unlink(IndexedStudent student) {
+        for (String token : student.nameTokens()) {
+            unlink(nameTokens, token, student.summary().id());
+        }
+        unlink(emailTokens, student.email(), student.summary().id());
+    }
+
+    private static void unlink(NavigableMap<String, Postings> dictionary, String token, long id) {
+        Postings postings = dictionary.get(token);
+        if (postings != null && postings.remove(id) == 0) {
+            dictionary.remove(token);
+        }
+    }
+
+    // --- Text handling ---
+
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(value.trim(), Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private static List<String> terms(String query) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        return Arrays.stream(normalized.split("\\s+")).distinct().toList();
+    }
+
+    private static int maxEdits(String term) {
+        if (term.length() < 3) {
+            return 0;
+        }
+        return term.length() <= 5 ? 1 : 2;
+    }
+
+    /**
+     * The smallest edit distance (insertions, deletions, substitutions and adjacent
+     * transpositions) between the query and any prefix of the token, or maxEdits + 1
+     * as soon as it is known to exceed maxEdits.
+     */
+    static int prefixDistance(String query, String token, int maxEdits) {
+        int columns = token.length() + 1;
+        int[] beforePrevious = new int[columns];
+        int[] previous = new int[columns];
+        int[] current = new int[columns];
+        for (int j = 0; j < columns; j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= query.length(); i++) {
+            current[0] = i;
+            int rowMin = i;
+            for (int j = 1; j < columns; j++) {
+                int cost = query.charAt(i - 1) == token.charAt(j - 1) ? 0 : 1;
+                int distance = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && query.charAt(i - 1) == token.charAt(j - 2) && query.charAt(i - 2) == token.charAt(j - 1)) {
+                    distance = Math.min(distance, beforePrevious[j - 2] + 1);
+                }
+                current[j] = distance;
+                rowMin = Math.min(rowMin, distance);
+            }
+            if (rowMin > maxEdits) {
+                return maxEdits + 1;
+            }
+            int[] recycled = beforePrevious;
+            beforePrevious = previous;
+            previous = current;
+            current = recycled;
+        }
+        int best = Integer.MAX_VALUE;
+        for (int distance : previous) {
+            best = Math.min(best, distance);
+        }
+        return best;
+    }
+
+    /**
+     * The ids holding one token. Most tokens are held by a handful of students,
+     * so a small growable array is far cheaper than a set of boxed longs.
+     */
+    private static final class Postings {
+        private long[] ids = new long[2];
+        private int size;
+
+        /** Callers never add an id twice: a student's tokens are distinct and unlinked before re-linking. */
+        synchronized void add(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        /** @return the number of ids left. */
+        synchronized int remove(long id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    ids[i] = ids[--size];
+                    break;
+                }
+            }
+            return size;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        /** @return false as soon as the action does, without visiting the remaining ids. */
+        synchronized boolean forEach(LongPredicate action) {
+            for (int i = 0; i < size; i++) {
+                if (!action.test(ids[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * One indexed student: the summary returned in hits plus its normalised fields,
+     * each split into its parts ("mary-jane" -> mary-jane, mary, jane).
+     */
+    private record IndexedStudent(StudentSummary summary, List<String> firstName, List<String> lastName, String email) {
+
+        static IndexedStudent of(StudentSummary summary) {
+            return new IndexedStudent(summary, nameParts(summary.firstName()), nameParts(summary.lastName()),
+                    normalize(summary.email()));
+        }
+
+        private static List<String> nameParts(String name) {
+            String normalized = normalize(name);
+            if (normalized.isEmpty()) {
+                return List.of();
+            }
+            Set<String> parts = new LinkedHashSet<>();
+            parts.add(normalized);
+            for (String part : NAME_SEPARATORS.split(normalized)) {
+                if (!part.isEmpty()) {
+                    parts.add(part);
+                }
+            }
+            return List.copyOf(parts);
+        }
+
+        List<String> nameTokens() {
+            Set<String> tokens = new LinkedHashSet<>(firstName);
+            tokens.addAll(lastName);
+            return List.copyOf(tokens);
+        }
+
+        double score(String term, boolean fuzzy) {
+            double best = Math.max(nameScore(term, lastName) * LAST_NAME_WEIGHT, nameScore(term, firstName) * FIRST_NAME_WEIGHT);
+            best = Math.max(best, fieldScore(term, email) * EMAIL_WEIGHT);
+            if (best == 0 && fuzzy && maxEdits(term) > 0) {
+                best = Math.max(fuzzyScore(term, lastName) * LAST_NAME_WEIGHT, fuzzyScore(term, firstName) * FIRST_NAME_WEIGHT);
+            }
+            return best;
+        }
+
+        /** The first part is the whole name; an exact match on it outranks one on a single part. */
+        private static double nameScore(String term, List<String> parts) {
+            double best = 0;
+            for (int i = 0; i < parts.size(); i++) {
+                String part = parts.get(i);
+                best = Math.max(best, part.equals(term) ? (i == 0 ? 1.0 : 0.9) : prefixScore(term, part));
+            }
+            return best;
+        }
+
+        private static double fuzzyScore(String term, List<String> parts) {
+            int maxEdits = maxEdits(term);
+            int distance = maxEdits + 1;
+            for (String part : parts) {
+                distance = Math.min(distance, prefixDistance(term, part, maxEdits));
+            }
+            return distance <= maxEdits ? 0.4 / (1 + distance) : 0;
+        }
+
+        private static double fieldScore(String term, String value) {
+            return value.equals(term) ? 1.0 : prefixScore(term, value);
+        }
+
+        private static double prefixScore(String term, String value) {
+            return value.startsWith(term) ? 0.5 + 0.3 * term.length() / value.length() : 0;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.student_management_system.search;
+
+import com.example.student_management_system.dto.StudentSummary;
+import com.example.student_management_system.event.StudentChangedEvent;
+import com.example.student_management_system.repository.StudentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.stream.Stream;
+
+/**
+ * =================================================================
+ * Student Search Index Updater
+ * =================================================================
+ * Keeps the StudentSearchIndex in step with the database:
+ *  - At startup the index is loaded from one streamed scan of the student table.
+ *  - Afterwards every committed StudentChangedEvent is applied incrementally.
+ *    Events from a rolled-back transaction are never applied.
+ * =================================================================
+ */
+@Component
+public class StudentSearchIndexUpdater {
+
+    private static final Logger log = LoggerFactory.getLogger(StudentSearchIndexUpdater.class);
+
+    @Autowired
+    private StudentSearchIndex studentSearchIndex;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Value("${app.students.search.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup = true;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        if (!rebuildOnStartup) {
+            return;
+        }
+        long start = System.nanoTime();
+        studentSearchIndex.beginLoad();
+        try (Stream<StudentSummary> rows = studentRepository.streamAllSummaries()) {
+            rows.forEach(studentSearchIndex::load);
+        } finally {
+            studentSearchIndex.finishLoad();
+        }
+        log.info("Student search index loaded {} students in {} ms",
+                studentSearchIndex.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        if (event.type() == StudentChangedEvent.Type.DELETED) {
+            studentSearchIndex.remove(event.studentId());
+        } else {
+            studentSearchIndex.put(event.student());
+        }
+    }
+}
@@ -1,13 +1,29 @@
 package com.example.student_management_system.service;
 
+import com.example.student_management_system.cache.CourseCatalogCache;
+import com.example.student_management_system.dto.CacheStatistics;
+import com.example.student_management_system.dto.CourseCatalogVersion;
+import com.example.student_management_system.dto.CourseEnrollmentCount;
+import com.example.student_management_system.dto.CourseListing;
+import com.example.student_management_system.dto.StudentPage;
+import com.example.student_management_system.dto.StudentSort;
+import com.example.student_management_system.dto.StudentSummary;
+import com.example.student_management_system.event.CourseCreatedEvent;
+import com.example.student_management_system.exception.BadRequestException;
 import com.example.student_management_system.exception.ResourceNotFoundException;
 import com.example.student_management_system.model.Course;
 import com.example.student_management_system.repository.CourseRepository;
+import com.example.student_management_system.repository.StudentRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 
 /**
@@ -18,6 +34,15 @@ import java.util.List;
  * This class contains the business logic for course-related operations.
  * It acts as an intermediary between the CourseController and the CourseRepository.
  * All operations are transactional to ensure data integrity.
+ *
+ * Reads are served through the CourseCatalogCache; every write evicts it
+ * (locally after commit, and on the other instances through the invalidation channel).
+ *
+ * Enrollment counts are not part of the cached entities: they change on every
+ * enrollment, so listings read them from the maintained course.enrollment_count
+ * column and merge them into the cached catalog.
+ *
+ * Creating a course publishes a CourseCreatedEvent, which listeners apply after commit.
  * =================================================================
  */
 
@@ -28,13 +53,89 @@ public class CourseService {
     @Autowired
     private CourseRepository courseRepository;
 
+    @Autowired
+    private CourseCatalogCache courseCatalogCache;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Roster pages use the same size limits as the student listing.
+    @Value("${app.students.page.default-size:50}")
+    private int defaultPageSize = 50;
+
+    @Value("${app.students.page.max-size:500}")
+    private int maxPageSize = 500;
+
     /**
      * Retrieves a list of all courses from the database.
      * @return a List of Course objects.
      */
     @Transactional(readOnly = true) // A read-only transaction is more efficient for find operations.
     public List<Course> getAllCourses() {
-        return courseRepository.findAll();
+        return courseCatalogCache.getAll(courseRepository::findAll);
+    }
+
+    /**
+     * Lists all courses with their enrollment counts.
+     * Costs the cached catalog plus one narrow query over the course table; the work is
+     * proportional to the number of courses, whatever the number of enrollments.
+     * @return One CourseListing per course, in catalog order.
+     */
+    @Transactional(readOnly = true)
+    public List<CourseListing> getCourseListings() {
+        Map<Long, Long> counts = new HashMap<>();
+        for (CourseEnrollmentCount count : courseRepository.findEnrollmentCounts()) {
+            counts.put(count.courseId(), count.enrollmentCount());
+        }
+        return getAllCourses().stream()
+                .map(course -> CourseListing.of(course, counts.getOrDefault(course.getId(), 0L)))
+                .toList();
+    }
+
+    /**
+     * Reads the version of the course listing (see CourseRepository.findCatalogVersion) without
+     * touching the catalog cache, so conditional GETs of the listing cost one narrow aggregate.
+     * @return The current version of the listing returned by getCourseListings().
+     */
+    @Transactional(readOnly = true)
+    public CourseCatalogVersion getCatalogVersion() {
+        return courseRepository.findCatalogVersion();
+    }
+
+    /**
+     * Fetches one keyset-paginated page of the students enrolled in a course, ordered by student id.
+     * Each page is one indexed seek into student_courses; no course or student entity is loaded.
+     * @param courseId The ID of the course.
+     * @param cursor The `nextCursor` of the previous page, or null/blank for the first page.
+     * @param size The requested page size; null means the configured default, values above the cap are clamped.
+     * @return The page of student summaries, with a `nextCursor` if more students follow.
+     * @throws ResourceNotFoundException if the course does not exist.
+     * @throws BadRequestException if the size is not positive or the cursor is invalid.
+     */
+    @Transactional(readOnly = true)
+    public StudentPage<StudentSummary> getCourseRoster(Long courseId, String cursor, Integer size) {
+        getCourseById(courseId);
+        if (size != null && size < 1) {
+            throw new BadRequestException("Page size must be at least 1");
+        }
+        int pageSize = size == null ? defaultPageSize : Math.min(size, maxPageSize);
+        StudentPageCursor after = (cursor == null || cursor.isBlank()) ? null : StudentPageCursor.decode(cursor, StudentSort.ID);
+
+        // Fetch one extra row: if it comes back, there is a next page.
+        Limit limit = Limit.of(pageSize + 1);
+        List<StudentSummary> rows = after == null
+                ? studentRepository.findSummaryPageByCourse(courseId, limit)
+                : studentRepository.findSummaryPageByCourseAfterId(courseId, after.getLastId(), limit);
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            nextCursor = new StudentPageCursor(StudentSort.ID, rows.get(pageSize - 1).id(), "").encode();
+        }
+        return new StudentPage<>(List.copyOf(rows), pageSize, StudentSort.ID, nextCursor);
     }
 
     /**
@@ -44,7 +145,10 @@ public class CourseService {
      */
     @Transactional
     public Course createCourse(Course course) {
-        return courseRepository.save(course);
+        Course saved = courseRepository.save(course);
+        courseCatalogCache.evict(saved.getId());
+        eventPublisher.publishEvent(new CourseCreatedEvent(CourseListing.of(saved, 0)));
+        return saved;
     }
 
     /**
@@ -55,7 +159,14 @@ public class CourseService {
      */
     @Transactional(readOnly = true)
     public Course getCourseById(Long id) {
-        return courseRepository.findById(id)
+        return courseCatalogCache.get(id, courseRepository::findById)
                 .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + id));
     }
+
+    /**
+     * @return Hit/miss statistics of the course catalog cache.
+     */
+    public CacheStatistics getCacheStatistics() {
+        return courseCatalogCache.stats();
+    }
 }
\ No newline at end of file
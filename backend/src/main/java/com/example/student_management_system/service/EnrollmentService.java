@@ -0,0 +1,405 @@
+package com.example.student_management_system.service;
+
+import com.example.student_management_system.dto.BulkEnrollmentRequest;
+import com.example.student_management_system.dto.BulkEnrollmentResult;
+import com.example.student_management_system.dto.EnrollmentAck.Operation;
+import com.example.student_management_system.dto.EnrollmentOutcome;
+import com.example.student_management_system.dto.EnrollmentOutcome.Status;
+import com.example.student_management_system.dto.EnrollmentPair;
+import com.example.student_management_system.dto.EnrollmentSet;
+import com.example.student_management_system.dto.EnrollmentSetOperation;
+import com.example.student_management_system.event.EnrollmentChangedEvent;
+import com.example.student_management_system.exception.BadRequestException;
+import com.example.student_management_system.exception.ResourceNotFoundException;
+import com.example.student_management_system.index.EnrollmentIndex;
+import com.example.student_management_system.repository.CourseRepository;
+import com.example.student_management_system.repository.EnrollmentRepository;
+import com.example.student_management_system.repository.StudentChangeRepository;
+import com.example.student_management_system.repository.StudentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+/**
+ * =================================================================
+ * Enrollment Service
+ * =================================================================
+ * Purpose:
+ * Business logic for enrolling many students at once (e.g. on registration day).
+ *
+ * How a bulk request is processed, in a single transaction:
+ *  1. Expand the request into (student, course) pairs and drop in-request duplicates.
+ *  2. Check every distinct student id and course id with set-based IN queries
+ *     (chunked), instead of one findById per pair.
+ *  3. Write the valid pairs to `student_courses` with JDBC batches of conditional
+ *     inserts; the per-statement update counts tell which pairs were new.
+ *  4. Lock the affected courses that have a capacity and read their free seats. New
+ *     pairs beyond them are deleted again and reported as COURSE_FULL.
+ *  5. Add the number of new pairs to each affected course's enrollment count
+ *     (one batched UPDATE per course).
+ *  6. Move the version of every changed student, and stamp all of them with one
+ *     position of the student change sequence, taken last. Taking it locks
+ *     nothing, so the course rows are never held waiting for it.
+ *
+ * Lock order: join rows, then course rows, then student rows. Single enrollments,
+ * unenrollments and student deletions lock in the same order, so none of them can
+ * deadlock with another.
+ *
+ * No Student or Course entity is loaded, so the cost per pair stays constant no
+ * matter how many courses a student already has.
+ *
+ * applyChanges() applies a mixed batch of enrollments and unenrollments the same
+ * way; it is how the EnrollmentWriteBehindQueue writes its coalesced commands.
+ *
+ * Both publish one EnrollmentChangedEvent with the pairs they changed, applied by listeners after commit.
+ *
+ * findStudents() and findCourses() answer set queries (intersection, union,
+ * difference) from the in-memory EnrollmentIndex, without touching the database.
+ * =================================================================
+ */
+@Service
+public class EnrollmentService {
+
+    // Keeps IN lists well below the bind-parameter limits of common databases.
+    private static final int ID_CHUNK_SIZE = 1000;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private StudentChangeRepository studentChangeRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private EnrollmentIndex enrollmentIndex;
+
+    @Value("${app.enrollments.batch-size:500}")
+    private int batchSize = 500;
+
+    @Value("${app.enrollments.bulk.max-pairs:10000}")
+    private int maxPairs = 10000;
+
+    @Value("${app.enrollments.index.max-operands:1000}")
+    private int maxSetOperands = 1000;
+
+    @Value("${app.enrollments.index.default-limit:1000}")
+    private int defaultSetLimit = 1000;
+
+    @Value("${app.enrollments.index.max-limit:10000}")
+    private int maxSetLimit = 10000;
+
+    /**
+     * Enrolls many (student, course) pairs at once.
+     * @param request The pairs and/or a course with a list of students.
+     * @return Totals plus one outcome per requested pair, in request order.
+     * @throws BadRequestException if the request is empty or exceeds the configured maximum number of pairs.
+     */
+    @Transactional
+    public BulkEnrollmentResult enrollAll(BulkEnrollmentRequest request) {
+        List<EnrollmentPair> requested = expand(request);
+        if (requested.isEmpty()) {
+            throw new BadRequestException("Bulk enrollment request contains no pairs");
+        }
+        if (requested.size() > maxPairs) {
+            throw new BadRequestException("Bulk enrollment request exceeds the limit of " + maxPairs + " pairs");
+        }
+
+        Set<Long> studentIds = new HashSet<>();
+        Set<Long> courseIds = new HashSet<>();
+        for (EnrollmentPair pair : requested) {
+            studentIds.add(pair.studentId());
+            courseIds.add(pair.courseId());
+        }
+        Set<Long> existingStudents = findExisting(studentIds, studentRepository::findExistingIds);
+        Set<Long> existingCourses = findExisting(courseIds, courseRepository::findExistingIds);
+
+        // Classify each pair; only valid, first-seen pairs go to the database.
+        Status[] statuses = new Status[requested.size()];
+        List<EnrollmentPair> toInsert = new ArrayList<>();
+        List<Integer> insertPositions = new ArrayList<>();
+        Set<EnrollmentPair> seen = new HashSet<>();
+        for (int i = 0; i < requested.size(); i++) {
+            EnrollmentPair pair = requested.get(i);
+            if (!existingStudents.contains(pair.studentId())) {
+                statuses[i] = Status.STUDENT_NOT_FOUND;
+            } else if (!existingCourses.contains(pair.courseId())) {
+                statuses[i] = Status.COURSE_NOT_FOUND;
+            } else if (!seen.add(pair)) {
+                statuses[i] = Status.DUPLICATE_IN_REQUEST;
+            } else {
+                toInsert.add(pair);
+                insertPositions.add(i);
+            }
+        }
+
+        if (!toInsert.isEmpty()) {
+            int[] counts = enrollmentRepository.insertIfAbsent(toInsert, batchSize);
+            Map<Long, Integer> freeSeats = lockFreeSeats(toInsert);
+            Map<Long, Integer> added = new HashMap<>();
+            Set<Long> changedStudents = new HashSet<>();
+            List<EnrollmentPair> overbooked = new ArrayList<>();
+            for (int j = 0; j < counts.length; j++) {
+                EnrollmentPair pair = toInsert.get(j);
+                if (counts[j] == 0) {
+                    statuses[insertPositions.get(j)] = Status.ALREADY_ENROLLED;
+                } else if (!takeSeat(freeSeats, pair.courseId())) {
+                    statuses[insertPositions.get(j)] = Status.COURSE_FULL;
+                    overbooked.add(pair);
+                } else {
+                    statuses[insertPositions.get(j)] = Status.ENROLLED;
+                    added.merge(pair.courseId(), 1, Integer::sum);
+                    changedStudents.add(pair.studentId());
+                }
+            }
+            if (!overbooked.isEmpty()) {
+                enrollmentRepository.delete(overbooked, batchSize);
+            }
+            // One counter update per affected course, not per enrollment.
+            enrollmentRepository.adjustEnrollmentCounts(added);
+            // One statement moves the version (ETag) of every student whose course list changed.
+            if (!changedStudents.isEmpty()) {
+                requireAll(changedStudents, studentRepository.incrementVersions(changedStudents));
+                studentChangeRepository.recordChanged(changedStudents);
+            }
+        }
+
+        int enrolled = 0;
+        int alreadyEnrolled = 0;
+        List<EnrollmentOutcome> results = new ArrayList<>(requested.size());
+        for (int i = 0; i < requested.size(); i++) {
+            EnrollmentPair pair = requested.get(i);
+            if (statuses[i] == Status.ENROLLED) {
+                enrolled++;
+            } else if (statuses[i] == Status.ALREADY_ENROLLED) {
+                alreadyEnrolled++;
+            }
+            results.add(new EnrollmentOutcome(pair.studentId(), pair.courseId(), statuses[i]));
+        }
+        publishChanges(results);
+        int rejected = requested.size() - enrolled - alreadyEnrolled;
+        return new BulkEnrollmentResult(requested.size(), enrolled, alreadyEnrolled, rejected, results);
+    }
+
+    /**
+     * Applies a batch of enrollment changes in one transaction: set-based existence checks, one JDBC batch
+     * of deletes and one of conditional inserts, then one count adjustment per course and one version
+     * increment for all students whose course list changed. Deletes go first so that their seats can be
+     * reused; inserts beyond a course's capacity are taken back and reported as COURSE_FULL.
+     * @param changes The operation per (student, course) pair; each pair occurs once, so the batch is already coalesced.
+     * @return One outcome per pair, in the iteration order of the map.
+     */
+    @Transactional
+    public List<EnrollmentOutcome> applyChanges(Map<EnrollmentPair, Operation> changes) {
+        Set<Long> studentIds = new HashSet<>();
+        Set<Long> courseIds = new HashSet<>();
+        for (EnrollmentPair pair : changes.keySet()) {
+            studentIds.add(pair.studentId());
+            courseIds.add(pair.courseId());
+        }
+        Set<Long> existingStudents = findExisting(studentIds, studentRepository::findExistingIds);
+        Set<Long> existingCourses = findExisting(courseIds, courseRepository::findExistingIds);
+
+        // Students or courses deleted since the command was accepted are reported, not written.
+        Map<EnrollmentPair, Status> statuses = new HashMap<>();
+        List<EnrollmentPair> toInsert = new ArrayList<>();
+        List<EnrollmentPair> toDelete = new ArrayList<>();
+        changes.forEach((pair, operation) -> {
+            if (!existingStudents.contains(pair.studentId())) {
+                statuses.put(pair, Status.STUDENT_NOT_FOUND);
+            } else if (!existingCourses.contains(pair.courseId())) {
+                statuses.put(pair, Status.COURSE_NOT_FOUND);
+            } else if (operation == Operation.ENROLL) {
+                toInsert.add(pair);
+            } else {
+                toDelete.add(pair);
+            }
+        });
+
+        Map<Long, Integer> deltas = new HashMap<>();
+        Set<Long> changedStudents = new HashSet<>();
+        if (!toDelete.isEmpty()) {
+            int[] counts = enrollmentRepository.delete(toDelete, batchSize);
+            for (int j = 0; j < counts.length; j++) {
+                EnrollmentPair pair = toDelete.get(j);
+                statuses.put(pair, counts[j] > 0 ? Status.UNENROLLED : Status.NOT_ENROLLED);
+                if (counts[j] > 0) {
+                    deltas.merge(pair.courseId(), -1, Integer::sum);
+                    changedStudents.add(pair.studentId());
+                }
+            }
+        }
+        if (!toInsert.isEmpty()) {
+            int[] counts = enrollmentRepository.insertIfAbsent(toInsert, batchSize);
+            Map<Long, Integer> freeSeats = lockFreeSeats(toInsert);
+            // Seats released by this batch's deletes are not in the stored count yet.
+            deltas.forEach((courseId, delta) -> freeSeats.computeIfPresent(courseId, (id, free) -> free - delta));
+            List<EnrollmentPair> overbooked = new ArrayList<>();
+            for (int j = 0; j < counts.length; j++) {
+                EnrollmentPair pair = toInsert.get(j);
+                if (counts[j] == 0) {
+                    statuses.put(pair, Status.ALREADY_ENROLLED);
+                } else if (!takeSeat(freeSeats, pair.courseId())) {
+                    statuses.put(pair, Status.COURSE_FULL);
+                    overbooked.add(pair);
+                } else {
+                    statuses.put(pair, Status.ENROLLED);
+                    deltas.merge(pair.courseId(), 1, Integer::sum);
+                    changedStudents.add(pair.studentId());
+                }
+            }
+            if (!overbooked.isEmpty()) {
+                enrollmentRepository.delete(overbooked, batchSize);
+            }
+        }
+        enrollmentRepository.adjustEnrollmentCounts(deltas);
+        if (!changedStudents.isEmpty()) {
+            requireAll(changedStudents, studentRepository.incrementVersions(changedStudents));
+            studentChangeRepository.recordChanged(changedStudents);
+        }
+
+        List<EnrollmentOutcome> results = new ArrayList<>(changes.size());
+        for (EnrollmentPair pair : changes.keySet()) {
+            results.add(new EnrollmentOutcome(pair.studentId(), pair.courseId(), statuses.get(pair)));
+        }
+        publishChanges(results);
+        return results;
+    }
+
+    /**
+     * Finds the students of a combination of courses, e.g. those in course 3 but not in course 5.
+     * @param operation "intersection", "union" or "difference" (the first course minus all others).
+     * @param courseIds The courses; unknown ones count as courses without students.
+     * @param limit The maximum number of student ids returned (optional); the count is always exact.
+     * @return The number of matching students and their ids in ascending order.
+     * @throws BadRequestException if the operation is unknown, no or too many courses are given, or the limit is below 1.
+     */
+    public EnrollmentSet findStudents(String operation, List<Long> courseIds, Integer limit) {
+        EnrollmentSetOperation setOperation = EnrollmentSetOperation.fromParameter(operation);
+        checkOperands(courseIds, "courseIds");
+        return enrollmentIndex.students(setOperation, courseIds, setLimit(limit));
+    }
+
+    /**
+     * Finds the courses of a combination of students, e.g. the courses shared by all of them.
+     * @param operation "intersection", "union" or "difference" (the first student's courses minus all others').
+     * @param studentIds The students; unknown ones count as students without courses.
+     * @param limit The maximum number of course ids returned (optional); the count is always exact.
+     * @return The number of matching courses and their ids in ascending order.
+     * @throws BadRequestException if the operation is unknown, no or too many students are given, or the limit is below 1.
+     */
+    public EnrollmentSet findCourses(String operation, List<Long> studentIds, Integer limit) {
+        EnrollmentSetOperation setOperation = EnrollmentSetOperation.fromParameter(operation);
+        checkOperands(studentIds, "studentIds");
+        return enrollmentIndex.courses(setOperation, studentIds, setLimit(limit));
+    }
+
+    private void checkOperands(List<Long> ids, String name) {
+        if (ids == null || ids.isEmpty()) {
+            throw new BadRequestException("At least one id is required in " + name);
+        }
+        if (ids.size() > maxSetOperands) {
+            throw new BadRequestException("Set query exceeds the limit of " + maxSetOperands + " " + name);
+        }
+    }
+
+    private int setLimit(Integer limit) {
+        if (limit == null) {
+            return Math.min(defaultSetLimit, maxSetLimit);
+        }
+        if (limit < 1) {
+            throw new BadRequestException("Limit must be at least 1");
+        }
+        return Math.min(limit, maxSetLimit);
+    }
+
+    private void publishChanges(List<EnrollmentOutcome> outcomes) {
+        EnrollmentChangedEvent event = EnrollmentChangedEvent.of(outcomes);
+        if (!event.isEmpty()) {
+            eventPublisher.publishEvent(event);
+        }
+    }
+
+    // Locks the capacity-limited courses among the pairs, in id order across chunks so concurrent batches cannot deadlock.
+    private Map<Long, Integer> lockFreeSeats(List<EnrollmentPair> pairs) {
+        List<Long> courseIds = new ArrayList<>(new TreeSet<>(pairs.stream().map(EnrollmentPair::courseId).toList()));
+        Map<Long, Integer> freeSeats = new HashMap<>();
+        for (int from = 0; from < courseIds.size(); from += ID_CHUNK_SIZE) {
+            freeSeats.putAll(enrollmentRepository.lockFreeSeats(courseIds.subList(from, Math.min(from + ID_CHUNK_SIZE, courseIds.size()))));
+        }
+        return freeSeats;
+    }
+
+    // Takes one of the free seats counted by lockFreeSeats(); courses without a capacity always have one.
+    private static boolean takeSeat(Map<Long, Integer> freeSeats, Long courseId) {
+        Integer free = freeSeats.get(courseId);
+        if (free == null) {
+            return true;
+        }
+        if (free <= 0) {
+            return false;
+        }
+        freeSeats.put(courseId, free - 1);
+        return true;
+    }
+
+    private static List<EnrollmentPair> expand(BulkEnrollmentRequest request) {
+        List<EnrollmentPair> pairs = new ArrayList<>();
+        if (request.pairs() != null) {
+            for (EnrollmentPair pair : request.pairs()) {
+                if (pair == null || pair.studentId() == null || pair.courseId() == null) {
+                    throw new BadRequestException("pairs must not contain null, nor pairs without studentId or courseId");
+                }
+                pairs.add(pair);
+            }
+        }
+        if (request.studentIds() != null && !request.studentIds().isEmpty()) {
+            if (request.courseId() == null) {
+                throw new BadRequestException("courseId is required when studentIds are given");
+            }
+            for (Long studentId : request.studentIds()) {
+                if (studentId == null) {
+                    throw new BadRequestException("studentIds must not contain null");
+                }
+                pairs.add(new EnrollmentPair(studentId, request.courseId()));
+            }
+        }
+        return pairs;
+    }
+
+    // The version update is the first statement to lock the student rows. A student deleted since the
+    // existence check is missing from its count; failing rolls back its join rows and seats instead of orphaning them.
+    private static void requireAll(Set<Long> studentIds, int updated) {
+        if (updated < studentIds.size()) {
+            throw new ResourceNotFoundException("A student was deleted while its enrollments were written");
+        }
+    }
+
+    private static Set<Long> findExisting(Collection<Long> ids, Function<Collection<Long>, List<Long>> query) {
+        List<Long> all = new ArrayList<>(ids);
+        Set<Long> existing = new HashSet<>();
+        for (int from = 0; from < all.size(); from += ID_CHUNK_SIZE) {
+            existing.addAll(query.apply(all.subList(from, Math.min(from + ID_CHUNK_SIZE, all.size()))));
+        }
+        return existing;
+    }
+}
@@ -0,0 +1,418 @@
+package com.example.student_management_system.service;
+
+import com.example.student_management_system.dto.EnrollmentAck;
+import com.example.student_management_system.dto.EnrollmentAck.Operation;
+import com.example.student_management_system.dto.EnrollmentOutcome;
+import com.example.student_management_system.dto.EnrollmentPair;
+import com.example.student_management_system.exception.CourseFullException;
+import com.example.student_management_system.exception.EnrollmentWriteFailedException;
+import com.example.student_management_system.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * =================================================================
+ * Enrollment Write-Behind Queue
+ * =================================================================
+ * Purpose:
+ * Optional asynchronous mode for single enrollments and unenrollments
+ * (app.enrollments.write-behind.enabled=true). During registration students
+ * flip-flop between courses; instead of one write transaction per click, each
+ * command is acknowledged at once and written later, together with others.
+ *
+ * Behaviour:
+ * - Commands are validated (student and course exist) and keyed by (student, course).
+ *   A command for a pair that is still pending replaces the pending one, so
+ *   enroll, unenroll, enroll collapses into a single write of the last intent.
+ * - At most `capacity` distinct pairs are pending. A command for a new pair is
+ *   then refused with ServiceOverloadedException (503); commands for pairs that
+ *   are already pending are still accepted, since they take no extra room.
+ * - One flusher thread takes up to `batch-size` pairs, oldest first, every
+ *   `flush-interval` (at once when a full batch is waiting) and applies them in one
+ *   transaction through EnrollmentService.applyChanges, which keeps enrollment
+ *   counts and student versions exact. A failed batch is put back, unless a newer
+ *   command for the pair arrived meanwhile, and dropped after `max-attempts`.
+ *   The tickets of a dropped command are remembered (the most recent
+ *   MAX_FAILED_TICKETS of them), so nobody is told it was written.
+ * - Capacity is only checked when a batch is written: an enrollment queued into a
+ *   full course is acknowledged (202) and then refused as COURSE_FULL. Its tickets
+ *   are remembered the same way, so nobody is told it was enrolled.
+ * - Every command gets a ticket, increasing in submission order. awaitApplied(ticket)
+ *   blocks until that command and every earlier one has been written (or was
+ *   replaced by a later command that has been written), which is how a client
+ *   reads its own writes. If the command was dropped, it throws EnrollmentWriteFailedException;
+ *   if the course was full, CourseFullException.
+ *
+ * Pending commands live in memory only: they are flushed on shutdown, but lost
+ * if the process dies.
+ *
+ * Metrics:
+ * - app.enrollments.queue.pending: pairs waiting to be written.
+ * - app.enrollments.queue.commands: accepted and refused commands, by outcome (queued, coalesced, rejected).
+ * - app.enrollments.queue.flush: duration of each batch transaction, by result (success, failure).
+ * - app.enrollments.queue.applied: written pairs, by status (ENROLLED, NOT_ENROLLED, ...).
+ * - app.enrollments.queue.dropped: pairs given up after `max-attempts` failed batches.
+ * =================================================================
+ */
+@Service
+public class EnrollmentWriteBehindQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(EnrollmentWriteBehindQueue.class);
+
+    // Bounds the memory of dropped (and of refused) tickets; a reader that waits for an older one is no longer told.
+    static final int MAX_FAILED_TICKETS = 10_000;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.enrollments.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.enrollments.write-behind.capacity:10000}")
+    private int capacity = 10000;
+
+    @Value("${app.enrollments.write-behind.batch-size:500}")
+    private int batchSize = 500;
+
+    @Value("${app.enrollments.write-behind.flush-interval:100ms}")
+    private Duration flushInterval = Duration.ofMillis(100);
+
+    @Value("${app.enrollments.write-behind.max-attempts:3}")
+    private int maxAttempts = 3;
+
+    // How long a read waits for its ticket before giving up with 503.
+    @Value("${app.enrollments.write-behind.read-timeout:5s}")
+    private Duration readTimeout = Duration.ofSeconds(5);
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition batchReady = lock.newCondition();
+    private final Condition applied = lock.newCondition();
+
+    // Guarded by lock. Insertion order is submission order; coalescing keeps a pair's place.
+    private final Map<EnrollmentPair, PendingCommand> pending = new LinkedHashMap<>();
+    private long lastTicket;
+    private long appliedThrough;
+    private boolean accepting;
+    // Tickets of commands that were dropped; appliedThrough moves past them, so they are checked separately.
+    private final NavigableSet<Long> failedTickets = new TreeSet<>();
+    // Tickets of enrollments that were written but refused because the course was full.
+    private final NavigableSet<Long> courseFullTickets = new TreeSet<>();
+
+    private Thread flusher;
+
+    private static final class PendingCommand {
+        private Operation operation;
+        // The oldest ticket this command answers for: a replaced command is only applied once its replacement is.
+        private long firstTicket;
+        // Every ticket this command answers for, including those of the commands it replaced.
+        private final List<Long> tickets = new ArrayList<>(1);
+        private int attempts;
+
+        private PendingCommand(Operation operation, long ticket) {
+            this.operation = operation;
+            this.firstTicket = ticket;
+            this.tickets.add(ticket);
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        meterRegistry.gauge("app.enrollments.queue.pending", this, EnrollmentWriteBehindQueue::pendingCount);
+        open();
+        flusher = new Thread(this::runFlusher, "enrollment-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info("Enrollment write-behind queue enabled: capacity {}, batch size {}, flush interval {}",
+                capacity, batchSize, flushInterval);
+    }
+
+    /**
+     * Stops accepting commands and writes everything still pending before the database goes away.
+     */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        lock.lock();
+        try {
+            accepting = false;
+            batchReady.signal();
+        } finally {
+            lock.unlock();
+        }
+        if (flusher != null) {
+            flusher.join(TimeUnit.SECONDS.toMillis(30));
+        }
+    }
+
+    // Accept commands without starting the flusher thread; tests flush by hand.
+    void open() {
+        lock.lock();
+        try {
+            accepting = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues an enrollment of a student in a course.
+     * @return The acknowledgement with the command's ticket.
+     * @throws com.example.student_management_system.exception.ResourceNotFoundException if either the student or course is not found.
+     * @throws ServiceOverloadedException if the queue is full or shutting down.
+     */
+    public EnrollmentAck enroll(Long studentId, Long courseId) {
+        return submit(studentId, courseId, Operation.ENROLL);
+    }
+
+    /**
+     * Queues an unenrollment of a student from a course.
+     * @return The acknowledgement with the command's ticket.
+     * @throws com.example.student_management_system.exception.ResourceNotFoundException if either the student or course is not found.
+     * @throws ServiceOverloadedException if the queue is full or shutting down.
+     */
+    public EnrollmentAck unenroll(Long studentId, Long courseId) {
+        return submit(studentId, courseId, Operation.UNENROLL);
+    }
+
+    private EnrollmentAck submit(Long studentId, Long courseId, Operation operation) {
+        studentService.requireStudentAndCourse(studentId, courseId);
+        EnrollmentPair pair = new EnrollmentPair(studentId, courseId);
+        long ticket;
+        boolean coalesced;
+        lock.lock();
+        try {
+            if (!accepting) {
+                throw new ServiceOverloadedException("The enrollment queue is not accepting commands");
+            }
+            PendingCommand command = pending.get(pair);
+            coalesced = command != null;
+            if (!coalesced && pending.size() >= capacity) {
+                countCommand("rejected");
+                throw new ServiceOverloadedException("The enrollment queue is full");
+            }
+            ticket = ++lastTicket;
+            if (coalesced) {
+                command.operation = operation;
+                command.tickets.add(ticket);
+                command.attempts = 0;
+            } else {
+                pending.put(pair, new PendingCommand(operation, ticket));
+                if (pending.size() >= batchSize) {
+                    batchReady.signal();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        countCommand(coalesced ? "coalesced" : "queued");
+        return new EnrollmentAck(ticket, studentId, courseId, operation, coalesced);
+    }
+
+    /**
+     * Blocks until the command with the given ticket, and every command accepted before it, has been written.
+     * Tickets above the last one issued come from before a restart, whose commands were flushed on shutdown,
+     * so they do not wait.
+     * @param ticket The ticket from an EnrollmentAck.
+     * @throws ServiceOverloadedException if the write takes longer than the configured read timeout.
+     * @throws EnrollmentWriteFailedException if the command was dropped after repeated write failures.
+     * @throws CourseFullException if the command was an enrollment refused because the course was full.
+     */
+    public void awaitApplied(long ticket) {
+        long remaining = readTimeout.toNanos();
+        lock.lock();
+        try {
+            while (appliedThrough < ticket && ticket <= lastTicket) {
+                if (remaining <= 0) {
+                    throw new ServiceOverloadedException("Pending enrollments were not written in time, please retry.");
+                }
+                remaining = applied.awaitNanos(remaining);
+            }
+            if (failedTickets.contains(ticket)) {
+                throw new EnrollmentWriteFailedException("The enrollment change with ticket " + ticket
+                        + " could not be written, please submit it again.");
+            }
+            if (courseFullTickets.contains(ticket)) {
+                throw new CourseFullException("The enrollment with ticket " + ticket + " was refused: the course is full");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ServiceOverloadedException("Interrupted while waiting for pending enrollments");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void runFlusher() {
+        while (true) {
+            Map<EnrollmentPair, PendingCommand> batch;
+            lock.lock();
+            try {
+                if (accepting && pending.size() < batchSize) {
+                    batchReady.awaitNanos(flushInterval.toNanos());
+                }
+                if (!accepting && pending.isEmpty()) {
+                    return;
+                }
+                batch = drain();
+            } catch (InterruptedException ex) {
+                return;
+            } finally {
+                lock.unlock();
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+            }
+        }
+    }
+
+    /**
+     * Writes everything pending, one batch at a time, on the calling thread.
+     */
+    void flushPending() {
+        while (true) {
+            Map<EnrollmentPair, PendingCommand> batch;
+            lock.lock();
+            try {
+                batch = drain();
+            } finally {
+                lock.unlock();
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            flush(batch);
+        }
+    }
+
+    private Map<EnrollmentPair, PendingCommand> drain() {
+        Map<EnrollmentPair, PendingCommand> batch = new LinkedHashMap<>();
+        Iterator<Map.Entry<EnrollmentPair, PendingCommand>> it = pending.entrySet().iterator();
+        while (it.hasNext() && batch.size() < batchSize) {
+            Map.Entry<EnrollmentPair, PendingCommand> entry = it.next();
+            batch.put(entry.getKey(), entry.getValue());
+            it.remove();
+        }
+        return batch;
+    }
+
+    private void flush(Map<EnrollmentPair, PendingCommand> batch) {
+        Map<EnrollmentPair, Operation> changes = new LinkedHashMap<>();
+        batch.forEach((pair, command) -> changes.put(pair, command.operation));
+        long start = System.nanoTime();
+        List<EnrollmentOutcome> outcomes = null;
+        try {
+            outcomes = enrollmentService.applyChanges(changes);
+        } catch (RuntimeException ex) {
+            log.warn("Writing {} pending enrollment changes failed; they will be retried", batch.size(), ex);
+        }
+        meterRegistry.timer("app.enrollments.queue.flush", "result", outcomes != null ? "success" : "failure")
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        Set<EnrollmentPair> courseFull = new HashSet<>();
+        if (outcomes != null) {
+            outcomes.forEach(outcome -> {
+                meterRegistry.counter("app.enrollments.queue.applied", "status", outcome.status().name()).increment();
+                if (outcome.status() == EnrollmentOutcome.Status.COURSE_FULL) {
+                    courseFull.add(new EnrollmentPair(outcome.studentId(), outcome.courseId()));
+                }
+            });
+        }
+
+        lock.lock();
+        try {
+            if (outcomes == null) {
+                requeue(batch);
+            }
+            for (EnrollmentPair pair : courseFull) {
+                remember(courseFullTickets, batch.get(pair).tickets);
+            }
+            advance();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Caller holds the lock.
+    private void requeue(Map<EnrollmentPair, PendingCommand> batch) {
+        batch.forEach((pair, command) -> {
+            PendingCommand newer = pending.get(pair);
+            if (newer != null) {
+                // The newer command supersedes this one, and now also answers for its tickets.
+                newer.firstTicket = Math.min(newer.firstTicket, command.firstTicket);
+                newer.tickets.addAll(command.tickets);
+            } else if (++command.attempts < maxAttempts) {
+                pending.put(pair, command);
+            } else {
+                log.error("Dropping {} of student {} in course {} after {} failed attempts",
+                        command.operation, pair.studentId(), pair.courseId(), command.attempts);
+                meterRegistry.counter("app.enrollments.queue.dropped").increment();
+                remember(failedTickets, command.tickets);
+            }
+        });
+    }
+
+    // Caller holds the lock.
+    private static void remember(NavigableSet<Long> tickets, Collection<Long> added) {
+        tickets.addAll(added);
+        while (tickets.size() > MAX_FAILED_TICKETS) {
+            tickets.pollFirst();
+        }
+    }
+
+    // Caller holds the lock. Everything below the oldest ticket still pending has been written.
+    private void advance() {
+        long through = lastTicket;
+        for (PendingCommand command : pending.values()) {
+            through = Math.min(through, command.firstTicket - 1);
+        }
+        if (through > appliedThrough) {
+            appliedThrough = through;
+            applied.signalAll();
+        }
+    }
+
+    private int pendingCount() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void countCommand(String outcome) {
+        meterRegistry.counter("app.enrollments.queue.commands", "outcome", outcome).increment();
+    }
+}
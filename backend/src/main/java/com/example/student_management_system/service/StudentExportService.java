@@ -0,0 +1,160 @@
+package com.example.student_management_system.service;
+
+import com.example.student_management_system.dto.ExportFormat;
+import com.example.student_management_system.dto.StudentCourseRow;
+import com.example.student_management_system.dto.StudentExportRecord;
+import com.example.student_management_system.repository.StudentRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * =================================================================
+ * Student Export Service
+ * =================================================================
+ * Purpose:
+ * Writes every student with its course codes to an OutputStream as NDJSON or
+ * CSV, for nightly jobs that need a full dump.
+ *
+ * Memory profile:
+ * Rows are read through StudentRepository.streamAllWithCourseCodes(), a
+ * forward-only cursor over scalar projections, so the persistence context
+ * stays empty and nothing is accumulated. Consecutive rows of the same student
+ * are folded into one record, written, and dropped; output is flushed every
+ * FLUSH_EVERY students. Heap use is flat whether there are 1k or 10M students.
+ * =================================================================
+ */
+@Service
+public class StudentExportService {
+
+    private static final int FLUSH_EVERY = 1000;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Streams all students to the given output.
+     * @param format NDJSON or CSV.
+     * @param out The destination (usually the HTTP response body); it is flushed but not closed.
+     * @return The number of students written.
+     * @throws IOException if writing to the output fails.
+     */
+    @Transactional(readOnly = true)
+    public long export(ExportFormat format, OutputStream out) throws IOException {
+        RecordWriter writer = format == ExportFormat.CSV ? new CsvRecordWriter(out) : new NdjsonRecordWriter(out, objectMapper);
+        long written = 0;
+        try (Stream<StudentCourseRow> rows = studentRepository.streamAllWithCourseCodes()) {
+            Iterator<StudentCourseRow> iterator = rows.iterator();
+            StudentCourseRow current = null;
+            List<String> courseCodes = new ArrayList<>();
+            while (iterator.hasNext()) {
+                StudentCourseRow row = iterator.next();
+                if (current != null && !current.studentId().equals(row.studentId())) {
+                    writer.write(toRecord(current, courseCodes));
+                    courseCodes = new ArrayList<>();
+                    if (++written % FLUSH_EVERY == 0) {
+                        writer.flush();
+                    }
+                }
+                current = row;
+                if (row.courseCode() != null) {
+                    courseCodes.add(row.courseCode());
+                }
+            }
+            if (current != null) {
+                writer.write(toRecord(current, courseCodes));
+                written++;
+            }
+        }
+        writer.flush();
+        return written;
+    }
+
+    private static StudentExportRecord toRecord(StudentCourseRow row, List<String> courseCodes) {
+        return new StudentExportRecord(row.studentId(), row.firstName(), row.lastName(), row.email(), courseCodes);
+    }
+
+    private interface RecordWriter {
+        void write(StudentExportRecord record) throws IOException;
+
+        void flush() throws IOException;
+    }
+
+    /** One JSON object per line, written with a single reused generator. */
+    private static final class NdjsonRecordWriter implements RecordWriter {
+        private final JsonGenerator generator;
+
+        NdjsonRecordWriter(OutputStream out, ObjectMapper objectMapper) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(out);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Records are separated by the explicit newline below, not by Jackson's default space.
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(StudentExportRecord record) throws IOException {
+            generator.writeObject(record);
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+    }
+
+    /** RFC 4180 style CSV with a header line; course codes are joined with ';'. */
+    private static final class CsvRecordWriter implements RecordWriter {
+        private final Writer writer;
+
+        CsvRecordWriter(OutputStream out) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            this.writer.write("id,firstName,lastName,email,courseCodes\n");
+        }
+
+        @Override
+        public void write(StudentExportRecord record) throws IOException {
+            writer.write(String.valueOf(record.id()));
+            writer.write(',');
+            writer.write(escape(record.firstName()));
+            writer.write(',');
+            writer.write(escape(record.lastName()));
+            writer.write(',');
+            writer.write(escape(record.email()));
+            writer.write(',');
+            writer.write(escape(String.join(";", record.courseCodes())));
+            writer.write('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        private static String escape(String value) {
+            if (value == null) {
+                return "";
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.example.student_management_system.service;
+
+import com.example.student_management_system.dto.ImportFormat;
+import com.example.student_management_system.dto.ImportRowError;
+import com.example.student_management_system.dto.StudentImportReport;
+import com.example.student_management_system.dto.StudentSummary;
+import com.example.student_management_system.event.StudentChangedEvent;
+import com.example.student_management_system.exception.BadRequestException;
+import com.example.student_management_system.model.Student;
+import com.example.student_management_system.repository.StudentChangeRepository;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * =================================================================
+ * Student Import Service
+ * =================================================================
+ * Purpose:
+ * Loads whole intake cohorts from a CSV or JSON array request body.
+ *
+ * How an import is processed:
+ *  1. The body is parsed incrementally (one CSV record / one JSON object at a
+ *     time), so the input is never buffered as a whole.
+ *  2. Each row is validated with the same Bean Validation rules as
+ *     POST /api/students. Invalid rows are reported and skipped; they never
+ *     abort the import.
+ *  3. Valid rows are persisted in chunks, one transaction per chunk. Student ids
+ *     come from a pooled sequence, so Hibernate batches the INSERTs. The
+ *     persistence context is flushed and cleared after each chunk.
+ *     Every persisted row publishes a StudentChangedEvent, which listeners
+ *     receive only if its chunk commits. Each chunk takes one position of the
+ *     student change sequence (see StudentChangeRepository).
+ *  4. If a chunk fails in the database, only that chunk is rolled back and its
+ *     rows are reported as failed; earlier and later chunks are kept.
+ * =================================================================
+ */
+@Service
+public class StudentImportService {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private StudentChangeRepository studentChangeRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.students.import.chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    @Value("${app.students.import.max-reported-errors:1000}")
+    private int maxReportedErrors = 1000;
+
+    /**
+     * Imports students from the given input.
+     * @param format CSV or JSON.
+     * @param in The request body; read to the end but not closed.
+     * @return A report with counts, per-row errors and throughput.
+     * @throws BadRequestException if the input cannot be read as the given format at all (e.g. no CSV header).
+     */
+    public StudentImportReport importStudents(ImportFormat format, InputStream in) throws IOException {
+        Import run = new Import();
+        if (format == ImportFormat.CSV) {
+            readCsv(in, run);
+        } else {
+            readJson(in, run);
+        }
+        run.flushChunk();
+        return run.report();
+    }
+
+    private void readCsv(InputStream in, Import run) throws IOException {
+        CsvReader csv = new CsvReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+        List<String> header = csv.readRecord();
+        if (header == null) {
+            throw new BadRequestException("CSV input is empty; a header line is required");
+        }
+        int firstName = columnIndex(header, "firstName");
+        int lastName = columnIndex(header, "lastName");
+        int email = columnIndex(header, "email");
+
+        List<String> fields;
+        while ((fields = csv.readRecord()) != null) {
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                continue; // blank line
+            }
+            run.accept(newStudent(field(fields, firstName), field(fields, lastName), field(fields, email)));
+        }
+    }
+
+    private void readJson(InputStream in, Import run) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new BadRequestException("JSON input must be an array of students");
+            }
+            try {
+                JsonToken token;
+                while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+                    if (token != JsonToken.START_OBJECT) {
+                        // Not a student: reported for its row, and the import goes on with the next element.
+                        String found = token.isScalarValue() ? parser.getText() : "an array";
+                        parser.skipChildren();
+                        run.reject("Expected a student object, found " + found);
+                        continue;
+                    }
+                    JsonNode node = parser.readValueAsTree();
+                    run.accept(newStudent(text(node, "firstName"), text(node, "lastName"), text(node, "email")));
+                }
+            } catch (JsonProcessingException ex) {
+                // The rest of the stream cannot be parsed; keep what was read so far.
+                run.error(run.rowsRead + 1, "Malformed JSON, import stopped: " + ex.getOriginalMessage());
+            }
+        }
+    }
+
+    private static int columnIndex(List<String> header, String column) {
+        for (int i = 0; i < header.size(); i++) {
+            if (header.get(i).trim().toLowerCase(Locale.ROOT).equals(column.toLowerCase(Locale.ROOT))) {
+                return i;
+            }
+        }
+        throw new BadRequestException("CSV header is missing the '" + column + "' column");
+    }
+
+    private static String field(List<String> fields, int index) {
+        return index < fields.size() ? fields.get(index).trim() : null;
+    }
+
+    private static String text(JsonNode node, String name) {
+        JsonNode value = node.get(name);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private static Student newStudent(String firstName, String lastName, String email) {
+        Student student = new Student();
+        student.setFirstName(firstName);
+        student.setLastName(lastName);
+        student.setEmail(email);
+        return student;
+    }
+
+    /**
+     * The state of one import run: the pending chunk and the running totals.
+     */
+    private final class Import {
+        private final long startNanos = System.nanoTime();
+        private final List<Student> chunk = new ArrayList<>(chunkSize);
+        private final List<Long> chunkRows = new ArrayList<>(chunkSize);
+        private final List<ImportRowError> errors = new ArrayList<>();
+        private long rowsRead;
+        private long imported;
+        private long failed;
+        private int chunks;
+        private boolean errorsTruncated;
+
+        void accept(Student student) {
+            long row = ++rowsRead;
+            Set<ConstraintViolation<Student>> violations = validator.validate(student);
+            if (!violations.isEmpty()) {
+                failed++;
+                error(row, violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+                return;
+            }
+            chunk.add(student);
+            chunkRows.add(row);
+            if (chunk.size() >= chunkSize) {
+                flushChunk();
+            }
+        }
+
+        void reject(String message) {
+            long row = ++rowsRead;
+            failed++;
+            error(row, message);
+        }
+
+        void flushChunk() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    for (Student student : chunk) {
+                        entityManager.persist(student);
+                        eventPublisher.publishEvent(StudentChangedEvent.created(StudentSummary.of(student)));
+                    }
+                    entityManager.flush();
+                    entityManager.clear();
+                    // Last, once the rows exist: one position of the change sequence for the whole chunk.
+                    studentChangeRepository.recordChanged(chunk.stream().map(Student::getId).toList());
+                });
+                imported += chunk.size();
+            } catch (RuntimeException ex) {
+                failed += chunk.size();
+                String message = "Chunk rolled back: " + NestedExceptionUtils.getMostSpecificCause(ex).getMessage();
+                for (Long row : chunkRows) {
+                    error(row, message);
+                }
+            }
+            chunks++;
+            chunk.clear();
+            chunkRows.clear();
+        }
+
+        void error(long row, String message) {
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new ImportRowError(row, message));
+            } else {
+                errorsTruncated = true;
+            }
+        }
+
+        StudentImportReport report() {
+            long elapsedNanos = System.nanoTime() - startNanos;
+            double seconds = elapsedNanos / 1_000_000_000d;
+            double rowsPerSecond = seconds > 0 ? imported / seconds : 0;
+            return new StudentImportReport(rowsRead, imported, failed, chunks, elapsedNanos / 1_000_000,
+                    rowsPerSecond, List.copyOf(errors), errorsTruncated);
+        }
+    }
+}
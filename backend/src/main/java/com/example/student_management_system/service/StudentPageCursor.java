@@ -0,0 +1,89 @@
+package com.example.student_management_system.service;
+
+import com.example.student_management_system.dto.StudentSort;
+import com.example.student_management_system.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * =================================================================
+ * Student Page Cursor
+ * =================================================================
+ * Purpose:
+ * Encodes the position of the last row of a page (its sort key and id) as an
+ * opaque, URL-safe token, and decodes it again when the client asks for the
+ * next page. The sort is embedded so a cursor cannot be replayed against a
+ * different ordering.
+ *
+ * Token layout (before Base64url encoding): "<sort>\n<id>\n<sortKey>"
+ * =================================================================
+ */
+final class StudentPageCursor {
+
+    private static final char SEPARATOR = '\n';
+
+    private final StudentSort sort;
+    private final long lastId;
+    private final String lastKey;
+
+    StudentPageCursor(StudentSort sort, long lastId, String lastKey) {
+        this.sort = sort;
+        this.lastId = lastId;
+        this.lastKey = lastKey == null ? "" : lastKey;
+    }
+
+    StudentSort getSort() {
+        return sort;
+    }
+
+    long getLastId() {
+        return lastId;
+    }
+
+    String getLastKey() {
+        return lastKey;
+    }
+
+    /**
+     * @return The opaque token handed to the client as `nextCursor`.
+     */
+    String encode() {
+        String raw = sort.name() + SEPARATOR + lastId + SEPARATOR + lastKey;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parses a token previously produced by {@link #encode()}.
+     * @param token The cursor sent by the client.
+     * @param expectedSort The sort of the current request; must match the sort the cursor was issued for.
+     * @return The decoded cursor.
+     * @throws BadRequestException if the token is malformed or was issued for another sort.
+     */
+    static StudentPageCursor decode(String token, StudentSort expectedSort) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Invalid cursor");
+        }
+
+        String[] parts = raw.split(String.valueOf(SEPARATOR), 3);
+        if (parts.length != 3) {
+            throw new BadRequestException("Invalid cursor");
+        }
+
+        StudentSort sort;
+        long lastId;
+        try {
+            sort = StudentSort.valueOf(parts[0]);
+            lastId = Long.parseLong(parts[1]);
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Invalid cursor");
+        }
+        if (sort != expectedSort) {
+            throw new BadRequestException("Cursor was issued for sort " + sort + ", not " + expectedSort);
+        }
+        return new StudentPageCursor(sort, lastId, parts[2]);
+    }
+}
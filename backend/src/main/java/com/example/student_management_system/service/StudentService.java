@@ -1,15 +1,42 @@
 package com.example.student_management_system.service;
 
+import com.example.student_management_system.cache.CourseCatalogCache;
+import com.example.student_management_system.dto.EnrollmentOutcome;
+import com.example.student_management_system.dto.EnrollmentOutcome.Status;
+import com.example.student_management_system.dto.StudentChangeRow;
+import com.example.student_management_system.dto.StudentChanges;
+import com.example.student_management_system.dto.StudentPage;
+import com.example.student_management_system.dto.StudentSearchHit;
+import com.example.student_management_system.dto.StudentShape;
+import com.example.student_management_system.dto.StudentSort;
+import com.example.student_management_system.dto.StudentSummary;
+import com.example.student_management_system.event.EnrollmentChangedEvent;
+import com.example.student_management_system.event.StudentChangedEvent;
+import com.example.student_management_system.exception.BadRequestException;
+import com.example.student_management_system.exception.ConcurrentEnrollmentException;
+import com.example.student_management_system.exception.CourseFullException;
 import com.example.student_management_system.exception.ResourceNotFoundException;
-import com.example.student_management_system.model.Course;
+import com.example.student_management_system.exception.SyncTokenExpiredException;
 import com.example.student_management_system.model.Student;
 import com.example.student_management_system.repository.CourseRepository;
+import com.example.student_management_system.repository.EnrollmentRepository;
+import com.example.student_management_system.repository.StudentChangeRepository;
 import com.example.student_management_system.repository.StudentRepository;
+import com.example.student_management_system.search.StudentSearchIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 /**
  * =================================================================
@@ -21,12 +48,26 @@ import java.util.List;
  *
  *  Methods:
  *  - getAllStudents(): Fetches all students.
- *  - getStudentById(Long id): Fetches a student by ID.
+ *  - getStudentPage(StudentSort sort, String cursor, Integer size): Fetches one keyset-paginated page of student summaries.
+ *  - getStudentDetailPage(StudentSort sort, String cursor, Integer size): Same page, with courses join-fetched.
+ *  - getStudentById(Long id): Fetches a student (with courses) by ID.
+ *  - getStudentSummaryById(Long id): Fetches a student (without courses) by ID.
+ *  - getShapedStudentPage(...) / getShapedStudentById(...): Same reads, returning only the fields a StudentShape asks for.
+ *  - getStudentVersion(Long id): Reads the version a student's ETag is derived from, without loading it.
+ *  - getStudentChanges(String since, Integer size): Delta sync; the students changed and deleted since a token.
+ *  - searchStudents(String query, Integer limit, boolean fuzzy): Ranked prefix/fuzzy search served by the in-memory index.
  *  - createStudent(Student): Creates a new student.
  *  - updateStudent(Long id, Student studentDetails): Updates an existing student.
  *  - deleteStudent(Long id): Deletes a student by ID.
- *  - enrollStudentInCourse(Long studentId, Long courseId): Enrolls a student in a course.
- *  - unenrollStudentFromCourse(Long studentId, Long courseId): Unenrolls a student from a course.
+ *  - enrollStudentInCourse(Long studentId, Long courseId): Enrolls a student in a course (single-row insert, capacity-checked).
+ *  - unenrollStudentFromCourse(Long studentId, Long courseId): Unenrolls a student from a course (single-row delete).
+ *
+ *  Every create, update and delete publishes a StudentChangedEvent, and every enrollment or unenrollment
+ *  that changes something an EnrollmentChangedEvent; listeners apply them after commit.
+ *  Every update, enrollment and unenrollment increments the student's version in the same transaction.
+ *  Every write also takes the next position of the change sequence: it is stamped on the student, or on
+ *  a tombstone when the student is deleted (see StudentChangeRepository). Taking it locks nothing, so
+ *  writes never wait for each other there.
  * =================================================================
  */
 @Service
@@ -38,8 +79,37 @@ public class StudentService {
     @Autowired
     private CourseRepository courseRepository;
 
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private CourseCatalogCache courseCatalogCache;
+
+    @Autowired
+    private StudentSearchIndex studentSearchIndex;
+
+    @Autowired
+    private StudentChangeRepository studentChangeRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Page size used when the client does not ask for one, and the hard cap on what it may ask for.
+    @Value("${app.students.page.default-size:50}")
+    private int defaultPageSize = 50;
+
+    @Value("${app.students.page.max-size:500}")
+    private int maxPageSize = 500;
+
+    @Value("${app.students.search.default-limit:10}")
+    private int defaultSearchLimit = 10;
+
+    @Value("${app.students.search.max-limit:100}")
+    private int maxSearchLimit = 100;
+
     /**
-     * Fetches all students from the database.
+     * Fetches all students from the database, with their courses loaded by one joined query.
+     * Unbounded; prefer getStudentPage() for anything user-facing.
      * @return A list of all Student objects.
      */
     @Transactional(readOnly = true)
@@ -48,14 +118,285 @@ public class StudentService {
     }
 
     /**
-     * Fetches a single student by their unique ID.
+     * Fetches one page of student summaries (no courses) using keyset pagination.
+     * The query seeks past the (sort key, id) carried by the cursor instead of using an OFFSET,
+     * so every page costs the same regardless of how deep into the roster the client is.
+     * A page is always exactly one SQL statement.
+     * @param sort The ordering of the listing.
+     * @param cursor The `nextCursor` of the previous page, or null/blank for the first page.
+     * @param size The requested page size; null means the configured default, values above the cap are clamped.
+     * @return The page, with a `nextCursor` if more students follow.
+     * @throws BadRequestException if the size is not positive or the cursor is invalid for this sort.
+     */
+    @Transactional(readOnly = true)
+    public StudentPage<StudentSummary> getStudentPage(StudentSort sort, String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        StudentPageCursor after = (cursor == null || cursor.isBlank()) ? null : StudentPageCursor.decode(cursor, sort);
+
+        // Fetch one extra row: if it comes back, there is a next page.
+        Limit limit = Limit.of(pageSize + 1);
+        List<StudentSummary> rows;
+        switch (sort) {
+            case LAST_NAME:
+                rows = after == null
+                        ? studentRepository.findSummaryPageByLastName(limit)
+                        : studentRepository.findSummaryPageAfterLastName(after.getLastKey(), after.getLastId(), limit);
+                break;
+            case EMAIL:
+                rows = after == null
+                        ? studentRepository.findSummaryPageByEmail(limit)
+                        : studentRepository.findSummaryPageAfterEmail(after.getLastKey(), after.getLastId(), limit);
+                break;
+            default:
+                rows = after == null
+                        ? studentRepository.findSummaryPage(limit)
+                        : studentRepository.findSummaryPageAfterId(after.getLastId(), limit);
+        }
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            StudentSummary last = rows.get(pageSize - 1);
+            nextCursor = new StudentPageCursor(sort, last.id(), sortKeyOf(last, sort)).encode();
+        }
+        return new StudentPage<>(List.copyOf(rows), pageSize, sort, nextCursor);
+    }
+
+    /**
+     * Fetches one page of students together with their courses.
+     * Runs exactly two SQL statements whatever the page size: the keyset summary query
+     * picks the ids, then a single join-fetch loads those students with their courses.
+     * @param sort The ordering of the listing.
+     * @param cursor The `nextCursor` of the previous page, or null/blank for the first page.
+     * @param size The requested page size (see getStudentPage).
+     * @return The page of fully loaded students, in the same order and with the same cursor as the summary page.
+     */
+    @Transactional(readOnly = true)
+    public StudentPage<Student> getStudentDetailPage(StudentSort sort, String cursor, Integer size) {
+        StudentPage<StudentSummary> summaries = getStudentPage(sort, cursor, size);
+        if (summaries.items().isEmpty()) {
+            return new StudentPage<>(List.of(), summaries.size(), sort, summaries.nextCursor());
+        }
+
+        List<Long> ids = summaries.items().stream().map(StudentSummary::id).toList();
+        Map<Long, Student> byId = new HashMap<>();
+        for (Student student : studentRepository.findWithCoursesByIdIn(ids)) {
+            byId.put(student.getId(), student);
+        }
+        // Keep the keyset order; a student deleted between the two queries is simply skipped.
+        List<Student> students = ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+        return new StudentPage<>(students, summaries.size(), sort, summaries.nextCursor());
+    }
+
+    /**
+     * Fetches a single student without its courses.
+     * @param id The ID of the student to find.
+     * @return The student's summary.
+     * @throws ResourceNotFoundException if the student with the specified ID does not exist.
+     */
+    @Transactional(readOnly = true)
+    public StudentSummary getStudentSummaryById(Long id) {
+        return studentRepository.findSummaryById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + id));
+    }
+
+    /**
+     * Fetches one page of students in the requested shape (see StudentShape).
+     * Runs the keyset summary query, plus one course query only if the shape embeds courses:
+     * the join table alone for course ids, or a join selecting just the requested course columns.
+     * @param sort The ordering of the listing.
+     * @param cursor The `nextCursor` of the previous page, or null/blank for the first page.
+     * @param size The requested page size (see getStudentPage).
+     * @param shape The fields and course expansion to return.
+     * @return The page of shaped students, in the same order and with the same cursor as the summary page.
+     */
+    @Transactional(readOnly = true)
+    public StudentPage<Map<String, Object>> getShapedStudentPage(StudentSort sort, String cursor, Integer size, StudentShape shape) {
+        StudentPage<StudentSummary> summaries = getStudentPage(sort, cursor, size);
+        return new StudentPage<>(shapeAll(summaries.items(), shape), summaries.size(), sort, summaries.nextCursor());
+    }
+
+    /**
+     * Fetches a single student in the requested shape; see getShapedStudentPage() for the queries.
+     * @param id The ID of the student to find.
+     * @param shape The fields and course expansion to return.
+     * @return The shaped student.
+     * @throws ResourceNotFoundException if the student with the specified ID does not exist.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getShapedStudentById(Long id, StudentShape shape) {
+        return shapeAll(List.of(getStudentSummaryById(id)), shape).get(0);
+    }
+
+    private List<Map<String, Object>> shapeAll(List<StudentSummary> students, StudentShape shape) {
+        if (students.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = students.stream().map(StudentSummary::id).toList();
+        Map<Long, ? extends List<?>> courses;
+        switch (shape.expand()) {
+            case COURSE_IDS:
+                courses = enrollmentRepository.findCourseIds(ids);
+                break;
+            case COURSES:
+                courses = enrollmentRepository.findCourses(ids, shape.courseFields());
+                break;
+            default:
+                courses = Map.of();
+        }
+
+        List<Map<String, Object>> shaped = new ArrayList<>(students.size());
+        for (StudentSummary student : students) {
+            Map<String, Object> fields = new LinkedHashMap<>();
+            fields.put("id", student.id());
+            for (String field : shape.studentFields()) {
+                fields.put(field, fieldOf(student, field));
+            }
+            if (shape.expand() != StudentShape.Expand.NONE) {
+                String name = shape.expand() == StudentShape.Expand.COURSE_IDS ? "courseIds" : "courses";
+                fields.put(name, courses.containsKey(student.id()) ? courses.get(student.id()) : List.of());
+            }
+            shaped.add(fields);
+        }
+        return shaped;
+    }
+
+    private static Object fieldOf(StudentSummary student, String field) {
+        switch (field) {
+            case "firstName":
+                return student.firstName();
+            case "lastName":
+                return student.lastName();
+            case "email":
+                return student.email();
+            default:
+                throw new IllegalArgumentException("Not a student field: " + field);
+        }
+    }
+
+    /**
+     * Reads the version of a student's representation: a single indexed lookup that loads
+     * neither the student nor its courses, so conditional GETs can be answered cheaply.
+     * @param id The ID of the student.
+     * @return The student's current version.
+     * @throws ResourceNotFoundException if the student with the specified ID does not exist.
+     */
+    @Transactional(readOnly = true)
+    public long getStudentVersion(Long id) {
+        return studentRepository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + id));
+    }
+
+    /**
+     * Fetches the students created, updated or deleted after a sync token, oldest change first.
+     * Both reads are range scans over a (change_seq, id) index, so an incremental sync costs in
+     * proportion to the number of changes. Without a token, the first page of a full sync is returned:
+     * every student, and no tombstones.
+     * Changes are read only up to the clock's committed watermark, so a token never passes a change that is still uncommitted.
+     * @param since The `token` of the previous response, or null/blank to start a full sync.
+     * @param size The maximum number of changes; null means the configured default, values above the cap are clamped.
+     * @return The changes, with the token to continue from.
+     * @throws BadRequestException if the size is not positive or the token is malformed.
+     * @throws SyncTokenExpiredException if the token is older than the retained tombstones.
+     */
+    @Transactional(readOnly = true)
+    public StudentChanges getStudentChanges(String since, Integer size) {
+        int pageSize = resolvePageSize(size);
+        StudentSyncToken after = (since == null || since.isBlank()) ? StudentSyncToken.START : StudentSyncToken.decode(since);
+        long committed = studentChangeRepository.readClock()[0];
+        if (after.getChangeSeq() > committed) {
+            throw new SyncTokenExpiredException("Sync token is ahead of this server, start a full sync");
+        }
+
+        List<StudentChangeRow> students = studentChangeRepository.findChangedStudents(
+                after.getChangeSeq(), after.getLastId(), committed, pageSize + 1);
+        List<StudentChangeRow> tombstones = List.of();
+        if (after != StudentSyncToken.START) {
+            tombstones = studentChangeRepository.findTombstones(after.getChangeSeq(), after.getLastId(), committed, pageSize + 1);
+            // Checked after reading: a purge that committed meanwhile may have removed tombstones this page needed.
+            if (after.getChangeSeq() < studentChangeRepository.readClock()[1]) {
+                throw new SyncTokenExpiredException("Sync token has expired, start a full sync");
+            }
+        }
+
+        // Merge both (change_seq, id)-ordered lists and keep the first pageSize entries.
+        List<StudentSummary> changed = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        StudentChangeRow last = null;
+        int s = 0;
+        int t = 0;
+        while (changed.size() + deleted.size() < pageSize && (s < students.size() || t < tombstones.size())) {
+            boolean takeStudent = t >= tombstones.size() || (s < students.size() && compare(students.get(s), tombstones.get(t)) < 0);
+            last = takeStudent ? students.get(s++) : tombstones.get(t++);
+            if (last.isTombstone()) {
+                deleted.add(last.studentId());
+            } else {
+                changed.add(last.student());
+            }
+        }
+        boolean hasMore = s < students.size() || t < tombstones.size();
+        StudentSyncToken next = hasMore ? new StudentSyncToken(last.changeSeq(), last.studentId()) : StudentSyncToken.upTo(committed);
+        return new StudentChanges(changed, deleted, next.encode(), hasMore);
+    }
+
+    private static int compare(StudentChangeRow a, StudentChangeRow b) {
+        int bySeq = Long.compare(a.changeSeq(), b.changeSeq());
+        return bySeq != 0 ? bySeq : Long.compare(a.studentId(), b.studentId());
+    }
+
+    /**
+     * Searches students by first name, last name or email prefix, optionally tolerating typos in names.
+     * Served entirely from the in-memory StudentSearchIndex; no SQL is issued.
+     * @param query The search text; every whitespace-separated term must match.
+     * @param limit The number of hits to return; null means the configured default, values above the cap are clamped.
+     * @param fuzzy Whether name terms may match with one or two typos.
+     * @return The hits, best match first.
+     * @throws BadRequestException if the query is blank or the limit is not positive.
+     */
+    public List<StudentSearchHit> searchStudents(String query, Integer limit, boolean fuzzy) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Search query must not be blank");
+        }
+        int hits = defaultSearchLimit;
+        if (limit != null) {
+            if (limit < 1) {
+                throw new BadRequestException("Search limit must be at least 1");
+            }
+            hits = Math.min(limit, maxSearchLimit);
+        }
+        return studentSearchIndex.search(query, hits, fuzzy);
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return defaultPageSize;
+        }
+        if (size < 1) {
+            throw new BadRequestException("Page size must be at least 1");
+        }
+        return Math.min(size, maxPageSize);
+    }
+
+    private static String sortKeyOf(StudentSummary student, StudentSort sort) {
+        switch (sort) {
+            case LAST_NAME:
+                return student.lastName();
+            case EMAIL:
+                return student.email();
+            default:
+                return "";
+        }
+    }
+
+    /**
+     * Fetches a single student by their unique ID, with its courses join-fetched in the same statement.
      * @param id The ID of the student to find.
      * @return The found Student object.
      * @throws ResourceNotFoundException if the student with the specified ID does not exist.
      */
     @Transactional(readOnly = true)
     public Student getStudentById(Long id) {
-        return studentRepository.findById(id)
+        return studentRepository.findWithCoursesById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + id));
     }
 
@@ -66,7 +407,12 @@ public class StudentService {
      */
     @Transactional
     public Student createStudent(Student student) {
-        return studentRepository.save(student);
+        // The INSERT is only flushed at commit, so the position is stamped on the entity instead of the row.
+        // Taking it locks nothing; it only holds the sync watermark back until this transaction completes.
+        student.setChangeSeq(studentChangeRepository.nextPosition());
+        Student saved = studentRepository.save(student);
+        eventPublisher.publishEvent(StudentChangedEvent.created(StudentSummary.of(saved)));
+        return saved;
     }
 
     /**
@@ -82,51 +428,126 @@ public class StudentService {
         student.setFirstName(studentDetails.getFirstName());
         student.setLastName(studentDetails.getLastName());
         student.setEmail(studentDetails.getEmail());
-        return studentRepository.save(student); // Save the updated student.
+        Student saved = studentRepository.save(student); // Save the updated student.
+        studentRepository.incrementVersion(id);
+        studentChangeRepository.recordChanged(List.of(id));
+        eventPublisher.publishEvent(StudentChangedEvent.updated(StudentSummary.of(saved)));
+        return saved;
     }
 
     /**
      * Deletes a student from the database based on their ID.
+     * Its enrollments are released with it and published as unenrollments.
      * @param id The ID of the student to be deleted.
      * @throws ResourceNotFoundException if the student to delete is not found.
+     * @throws ConcurrentEnrollmentException if the student was enrolled in a course while being deleted.
      */
     @Transactional
     public void deleteStudent(Long id) {
-        Student student = getStudentById(id); // Ensures the student exists before attempting to delete.
-        studentRepository.delete(student);
+        if (!studentRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Student not found with id: " + id);
+        }
+        // Release its place in each course's count, in the lock order of the enrollment writes: its join rows,
+        // then the course rows (in id order), then the student row. The counts come from the rows the DELETE
+        // actually removed, so an enrollment committed since the student was read is released as well.
+        List<Long> courseIds = enrollmentRepository.deleteAllOfStudent(id);
+        Map<Long, Integer> released = new HashMap<>();
+        List<EnrollmentOutcome> unenrolled = new ArrayList<>(courseIds.size());
+        for (Long courseId : courseIds) {
+            released.put(courseId, -1);
+            unenrolled.add(new EnrollmentOutcome(id, courseId, Status.UNENROLLED));
+        }
+        enrollmentRepository.adjustEnrollmentCounts(released);
+        // An enrollment still in flight fails on the deleted student row (see enrollStudentInCourse).
+        // One that committed after the sweep above leaves a join row behind, and the delete is refused.
+        try {
+            studentRepository.deleteRowById(id);
+        } catch (DataIntegrityViolationException e) {
+            throw new ConcurrentEnrollmentException(
+                    "Student " + id + " was enrolled in a course while being deleted, please retry.");
+        }
+        studentChangeRepository.recordDeleted(id);
+        // Listeners that follow enrollments (feed clients' course counts) see the released seats as unenrollments.
+        if (!unenrolled.isEmpty()) {
+            eventPublisher.publishEvent(EnrollmentChangedEvent.of(unenrolled));
+        }
+        eventPublisher.publishEvent(StudentChangedEvent.deleted(id));
     }
 
     /**
      * Enrolls a student in a specific course.
+     * Runs as one idempotent insert into `student_courses` after two id-only existence checks,
+     * plus an increment of the student's version and a seat reservation when a row was actually added;
+     * neither entity nor the student's course set is loaded, so the cost does not grow with
+     * the number of courses the student already has.
+     *
+     * The seat is taken by a single conditional UPDATE of the course's enrollment count, issued right after
+     * the insert: the course row, which every enrollment in a popular course contends for, is locked only from
+     * that statement to the commit, and a full course rolls the whole enrollment back.
+     * Like every enrollment write, it locks the join row, then the course row, then the student row,
+     * so it cannot deadlock with bulk or write-behind enrollments.
      * @param studentId The ID of the student.
      * @param courseId The ID of the course.
-     * @return The updated Student object with the new course enrollment.
+     * @return ENROLLED if the enrollment was added, ALREADY_ENROLLED if it already existed.
      * @throws ResourceNotFoundException if either the student or course is not found.
+     * @throws CourseFullException if the course has a capacity and no seat is left.
      */
     @Transactional
-    public Student enrollStudentInCourse(Long studentId, Long courseId) {
-        Student student = getStudentById(studentId);
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + courseId));
-
-        student.getCourses().add(course); // Add the course to the student's set of courses.
-        return studentRepository.save(student);
+    public EnrollmentOutcome enrollStudentInCourse(Long studentId, Long courseId) {
+        requireStudentAndCourse(studentId, courseId);
+        if (!enrollmentRepository.insertIfAbsent(studentId, courseId)) {
+            return new EnrollmentOutcome(studentId, courseId, Status.ALREADY_ENROLLED);
+        }
+        if (!enrollmentRepository.reserveSeat(courseId)) {
+            throw new CourseFullException("Course " + courseId + " is full");
+        }
+        if (studentRepository.incrementVersion(studentId) == 0) {
+            // Deleted since the existence check: roll the join row and the seat back instead of orphaning them.
+            throw new ResourceNotFoundException("Student not found with id: " + studentId);
+        }
+        studentChangeRepository.recordChanged(List.of(studentId));
+        EnrollmentOutcome outcome = new EnrollmentOutcome(studentId, courseId, Status.ENROLLED);
+        eventPublisher.publishEvent(EnrollmentChangedEvent.of(List.of(outcome)));
+        return outcome;
     }
 
     /**
      * Unenrolls a student from a specific course.
+     * Runs as one idempotent delete from `student_courses` after two id-only existence checks,
+     * plus a decrement of the course's enrollment count and an increment of the student's version
+     * when a row was actually removed.
      * @param studentId The ID of the student.
      * @param courseId The ID of the course.
-     * @return The updated Student object without the course enrollment.
+     * @return UNENROLLED if the enrollment was removed, NOT_ENROLLED if there was none.
      * @throws ResourceNotFoundException if either the student or course is not found.
      */
     @Transactional
-    public Student unenrollStudentFromCourse(Long studentId, Long courseId) {
-        Student student = getStudentById(studentId);
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + courseId));
+    public EnrollmentOutcome unenrollStudentFromCourse(Long studentId, Long courseId) {
+        requireStudentAndCourse(studentId, courseId);
+        if (!enrollmentRepository.delete(studentId, courseId)) {
+            return new EnrollmentOutcome(studentId, courseId, Status.NOT_ENROLLED);
+        }
+        enrollmentRepository.adjustEnrollmentCount(courseId, -1);
+        studentRepository.incrementVersion(studentId);
+        studentChangeRepository.recordChanged(List.of(studentId));
+        EnrollmentOutcome outcome = new EnrollmentOutcome(studentId, courseId, Status.UNENROLLED);
+        eventPublisher.publishEvent(EnrollmentChangedEvent.of(List.of(outcome)));
+        return outcome;
+    }
 
-        student.getCourses().remove(course); // Remove the course from the student's set.
-        return studentRepository.save(student);
+    /**
+     * Checks that both sides of an enrollment exist, without loading the student.
+     * @param studentId The ID of the student.
+     * @param courseId The ID of the course.
+     * @throws ResourceNotFoundException if either the student or course is not found.
+     */
+    public void requireStudentAndCourse(Long studentId, Long courseId) {
+        if (!studentRepository.existsById(studentId)) {
+            throw new ResourceNotFoundException("Student not found with id: " + studentId);
+        }
+        // Course lookups are served by the catalog cache; only a miss reaches the database.
+        if (courseCatalogCache.get(courseId, courseRepository::findById).isEmpty()) {
+            throw new ResourceNotFoundException("Course not found with id: " + courseId);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,88 @@
+package com.example.student_management_system.service;
+
+import com.example.student_management_system.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * =================================================================
+ * Student Sync Token
+ * =================================================================
+ * Purpose:
+ * Encodes a position in the student change sequence, the (change_seq, id) of
+ * the last change a client has received, as an opaque, URL-safe token for
+ * GET /api/students/changes. A client that is up to date holds the latest
+ * committed change_seq with the largest possible id.
+ *
+ * Token layout (before Base64url encoding): "<changeSeq>\n<id>"
+ * =================================================================
+ */
+final class StudentSyncToken {
+
+    private static final char SEPARATOR = '\n';
+
+    // Before every change, including the seeded rows, which carry change_seq 0.
+    static final StudentSyncToken START = new StudentSyncToken(-1, 0);
+
+    private final long changeSeq;
+    private final long lastId;
+
+    StudentSyncToken(long changeSeq, long lastId) {
+        this.changeSeq = changeSeq;
+        this.lastId = lastId;
+    }
+
+    /**
+     * @return The token of a client that has seen every change up to and including changeSeq.
+     */
+    static StudentSyncToken upTo(long changeSeq) {
+        return new StudentSyncToken(changeSeq, Long.MAX_VALUE);
+    }
+
+    long getChangeSeq() {
+        return changeSeq;
+    }
+
+    long getLastId() {
+        return lastId;
+    }
+
+    /**
+     * @return The opaque token handed to the client.
+     */
+    String encode() {
+        String raw = String.valueOf(changeSeq) + SEPARATOR + lastId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parses a token previously produced by {@link #encode()}.
+     * @param token The token sent by the client.
+     * @return The decoded position.
+     * @throws BadRequestException if the token is malformed.
+     */
+    static StudentSyncToken decode(String token) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Invalid sync token");
+        }
+
+        String[] parts = raw.split(String.valueOf(SEPARATOR), 2);
+        if (parts.length != 2) {
+            throw new BadRequestException("Invalid sync token");
+        }
+        try {
+            long changeSeq = Long.parseLong(parts[0]);
+            long lastId = Long.parseLong(parts[1]);
+            if (changeSeq < 0) {
+                throw new BadRequestException("Invalid sync token");
+            }
+            return new StudentSyncToken(changeSeq, lastId);
+        } catch (NumberFormatException ex) {
+            throw new BadRequestException("Invalid sync token");
+        }
+    }
+}
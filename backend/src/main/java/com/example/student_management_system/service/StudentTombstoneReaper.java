@@ -0,0 +1,91 @@
+package com.example.student_management_system.service;
+
+import com.example.student_management_system.repository.StudentChangeRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * =================================================================
+ * Student Tombstone Reaper
+ * =================================================================
+ * Purpose:
+ * Keeps the tombstones of deleted students, which the delta sync
+ * (GET /api/students/changes) hands out, from growing forever.
+ *
+ * Behaviour:
+ * Every app.students.changes.purge-interval a background thread deletes the
+ * tombstones older than app.students.changes.tombstone-retention, in one
+ * transaction with raising the clock's purged-through position. Sync tokens
+ * from before that position are answered with 410 Gone, and the client starts
+ * a full sync; so the retention is also how long a client may stay offline and
+ * still catch up incrementally.
+ * =================================================================
+ */
+@Component
+public class StudentTombstoneReaper {
+
+    private static final Logger log = LoggerFactory.getLogger(StudentTombstoneReaper.class);
+
+    @Autowired
+    private StudentChangeRepository studentChangeRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.students.changes.tombstone-retention:30d}")
+    private Duration retention = Duration.ofDays(30);
+
+    @Value("${app.students.changes.purge-interval:1h}")
+    private Duration interval = Duration.ofHours(1);
+
+    private ScheduledExecutorService reaper;
+
+    @PostConstruct
+    void start() {
+        reaper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "tombstone-reaper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reaper.scheduleWithFixedDelay(this::purgeSafely, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        reaper.shutdownNow();
+    }
+
+    /**
+     * Deletes the tombstones that have outlived the retention.
+     * @return The number of tombstones deleted.
+     */
+    public int purge() {
+        Instant cutoff = Instant.now().minus(retention);
+        Integer purged = transactionTemplate.execute(status -> studentChangeRepository.purgeTombstones(cutoff));
+        if (purged != null && purged > 0) {
+            log.info("Purged {} student tombstones deleted before {}", purged, cutoff);
+        }
+        return purged == null ? 0 : purged;
+    }
+
+    private void purgeSafely() {
+        try {
+            purge();
+        } catch (RuntimeException ex) {
+            // Retried on the next run; an exception must not cancel the schedule.
+            log.warn("Purging student tombstones failed: {}", ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.student_management_system.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class AdmissionControlFilterTest {
+    // 1 token per second, bucket of 10: refills are negligible within a test.
+    @Spy
+    private ClientRateLimiter rateLimiter = new ClientRateLimiter(1, 10, 100, Duration.ofMinutes(1));
+    @Spy
+    private AdaptiveConcurrencyLimiter concurrencyLimiter = new AdaptiveConcurrencyLimiter(1, 1, 4, Duration.ofSeconds(1));
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    @InjectMocks
+    private AdmissionControlFilter filter;
+
+    private final AtomicInteger executions = new AtomicInteger();
+    private final FilterChain controller = (request, response) -> executions.incrementAndGet();
+
+    @DisplayName("a client that used up its tokens gets 429 with Retry-After, other clients are still served")
+    @org.junit.jupiter.api.Test
+    void rateLimitsPerClient() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            assertEquals(200, send("GET", "/api/students/1", "10.0.0.1", controller).getStatus());
+        }
+        MockHttpServletResponse rejected = send("GET", "/api/students/1", "10.0.0.1", controller);
+
+        assertEquals(429, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+        assertEquals(200, send("GET", "/api/students/1", "10.0.0.2", controller).getStatus());
+        assertEquals(11, executions.get());
+        assertEquals(1, meterRegistry.counter("app.admission.rejected", "reason", "rate_limited", "route", "standard").count());
+    }
+
+    @DisplayName("listings cost more tokens than lookups by id")
+    @org.junit.jupiter.api.Test
+    void chargesListingsMore() throws Exception {
+        assertEquals(200, send("GET", "/api/students", "10.0.0.3", controller).getStatus());
+        assertEquals(200, send("GET", "/api/courses", "10.0.0.3", controller).getStatus());
+        assertEquals(429, send("GET", "/api/students/1", "10.0.0.3", controller).getStatus());
+
+        assertEquals(AdmissionControlFilter.RouteClass.BULK, AdmissionControlFilter.classify("GET", "/api/students/export"));
+        assertEquals(AdmissionControlFilter.RouteClass.LIST, AdmissionControlFilter.classify("GET", "/api/courses/7/students"));
+        assertEquals(AdmissionControlFilter.RouteClass.STANDARD, AdmissionControlFilter.classify("POST", "/api/students"));
+    }
+
+    @DisplayName("requests beyond the concurrency limit are shed with 503 without reaching the controller")
+    @org.junit.jupiter.api.Test
+    void shedsBeyondConcurrencyLimit() throws Exception {
+        CountDownLatch inController = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain slow = (request, response) -> {
+            inController.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            pool.submit(() -> send("GET", "/api/students/1", "10.0.0.4", slow));
+            assertTrue(inController.await(5, TimeUnit.SECONDS));
+
+            MockHttpServletResponse shed = send("GET", "/api/students/2", "10.0.0.5", controller);
+            assertEquals(503, shed.getStatus());
+            assertEquals("1", shed.getHeader("Retry-After"));
+            assertEquals(0, executions.get());
+        } finally {
+            release.countDown();
+            pool.shutdown();
+        }
+    }
+
+    @DisplayName("the concurrency limit shrinks on slow requests and grows again on fast ones under load")
+    @org.junit.jupiter.api.Test
+    void adaptsConcurrencyLimitToLatency() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 2, 40, Duration.ofMillis(100));
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(TimeUnit.SECONDS.toNanos(1), true, false);
+        }
+        double shrunk = limiter.limit();
+        assertTrue(shrunk < 8, "limit " + shrunk);
+
+        for (int i = 0; i < 100; i++) {
+            // Keep the server busy so fast completions count as evidence of spare capacity.
+            while (limiter.inFlight() < (int) limiter.limit() && limiter.tryAcquire()) {
+                // fill up
+            }
+            limiter.release(TimeUnit.MILLISECONDS.toNanos(5), true, false);
+        }
+        assertTrue(limiter.limit() > shrunk + 5, "limit " + limiter.limit());
+    }
+
+    @DisplayName("a token bucket refills with time and reports how long to wait")
+    @org.junit.jupiter.api.Test
+    void tokenBucketRefills() {
+        long now = 0;
+        TokenBucket bucket = new TokenBucket(10, 2, now);
+        assertEquals(0, bucket.tryAcquire(1, now));
+        assertEquals(0, bucket.tryAcquire(1, now));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), bucket.tryAcquire(1, now));
+        assertEquals(0, bucket.tryAcquire(1, now + TimeUnit.MILLISECONDS.toNanos(100)));
+    }
+
+    private MockHttpServletResponse send(String method, String uri, String client, FilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr(client);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.student_management_system.cache;
+
+import com.example.student_management_system.model.Course;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CourseCatalogCacheTest {
+    private LoopbackInvalidationChannel channel;
+    private CourseCatalogCache instanceA;
+    private CourseCatalogCache instanceB;
+    private Course course;
+
+    @BeforeEach
+    void setUp() {
+        // Two caches on one loopback channel stand in for two backend instances.
+        channel = new LoopbackInvalidationChannel();
+        instanceA = new CourseCatalogCache(100, Duration.ofMinutes(5), channel);
+        instanceB = new CourseCatalogCache(100, Duration.ofMinutes(5), channel);
+        course = new Course();
+        course.setId(1L);
+        course.setName("Math");
+    }
+
+    @DisplayName("get loads once and then serves hits")
+    @org.junit.jupiter.api.Test
+    void get_LoadsOnceThenHits() {
+        AtomicInteger loads = new AtomicInteger();
+        for (int i = 0; i < 3; i++) {
+            instanceA.get(1L, id -> {
+                loads.incrementAndGet();
+                return Optional.of(course);
+            });
+        }
+        assertEquals(1, loads.get());
+        assertEquals(2, instanceA.stats().hits());
+        assertEquals(1, instanceA.stats().misses());
+    }
+
+    @DisplayName("get does not cache a missing course")
+    @org.junit.jupiter.api.Test
+    void get_DoesNotCacheMisses() {
+        AtomicInteger loads = new AtomicInteger();
+        instanceA.get(2L, id -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+        Optional<Course> second = instanceA.get(2L, id -> {
+            loads.incrementAndGet();
+            return Optional.of(course);
+        });
+        assertEquals(2, loads.get());
+        assertTrue(second.isPresent());
+    }
+
+    @DisplayName("evict on one instance invalidates the other through the channel")
+    @org.junit.jupiter.api.Test
+    void evict_InvalidatesOtherInstances() {
+        instanceB.getAll(() -> List.of(course));
+        instanceB.get(1L, id -> Optional.of(course));
+
+        instanceA.evict(1L);
+
+        AtomicInteger loads = new AtomicInteger();
+        instanceB.getAll(() -> {
+            loads.incrementAndGet();
+            return List.of();
+        });
+        instanceB.get(1L, id -> {
+            loads.incrementAndGet();
+            return Optional.of(course);
+        });
+        assertEquals(2, loads.get());
+    }
+
+    @DisplayName("entries expire after the TTL")
+    @org.junit.jupiter.api.Test
+    void get_ReloadsAfterTtl() throws InterruptedException {
+        CourseCatalogCache shortLived = new CourseCatalogCache(100, Duration.ofMillis(20), channel);
+        AtomicInteger loads = new AtomicInteger();
+        shortLived.getAll(() -> {
+            loads.incrementAndGet();
+            return List.of(course);
+        });
+        Thread.sleep(50);
+        shortLived.getAll(() -> {
+            loads.incrementAndGet();
+            return List.of(course);
+        });
+        assertEquals(2, loads.get());
+    }
+}
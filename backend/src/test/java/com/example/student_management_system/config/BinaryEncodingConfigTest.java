@@ -0,0 +1,111 @@
+package com.example.student_management_system.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Drives content negotiation between JSON, Smile and CBOR through the real converters,
+ * and checks that each encoding gets its own ETag (see ResponseEncoding).
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class BinaryEncodingConfigTest {
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+    private static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private Jackson2ObjectMapperBuilder builder;
+
+    @DisplayName("*/*, no Accept header and application/json;q=0.9,*/* all get JSON with the unsuffixed ETag")
+    @org.junit.jupiter.api.Test
+    void wildcardAndMissingAccept_GetJson() throws Exception {
+        long id = create("encoding.json@example.com");
+        for (String path : new String[]{"/api/courses", "/api/students/" + id}) {
+            MockHttpServletResponse missing = perform(get(path));
+            MockHttpServletResponse any = perform(get(path).header(HttpHeaders.ACCEPT, "*/*"));
+            MockHttpServletResponse preferred = perform(get(path).header(HttpHeaders.ACCEPT, "application/json;q=0.9,*/*"));
+            for (MockHttpServletResponse response : new MockHttpServletResponse[]{missing, any, preferred}) {
+                assertTrue(MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(response.getContentType())),
+                        path + ": " + response.getContentType());
+                assertFalse(response.getHeader(HttpHeaders.ETAG).contains("-smile"), response.getHeader(HttpHeaders.ETAG));
+                assertFalse(response.getHeader(HttpHeaders.ETAG).contains("-cbor"), response.getHeader(HttpHeaders.ETAG));
+                assertEquals(missing.getHeader(HttpHeaders.ETAG), response.getHeader(HttpHeaders.ETAG));
+                objectMapper.readTree(response.getContentAsByteArray());
+            }
+        }
+    }
+
+    @DisplayName("Smile and CBOR responses round-trip through their mappers and carry their own ETag")
+    @org.junit.jupiter.api.Test
+    void binaryResponses_RoundTripWithSuffixedETags() throws Exception {
+        long id = create("encoding.binary@example.com");
+        for (String path : new String[]{"/api/courses", "/api/students/" + id}) {
+            MockHttpServletResponse json = perform(get(path).accept(MediaType.APPLICATION_JSON));
+            String jsonTag = json.getHeader(HttpHeaders.ETAG);
+            JsonNode expected = objectMapper.readTree(json.getContentAsByteArray());
+
+            MockHttpServletResponse smile = perform(get(path).accept(SMILE));
+            assertTrue(SMILE.isCompatibleWith(MediaType.parseMediaType(smile.getContentType())), smile.getContentType());
+            assertEquals(jsonTag.replaceFirst("\"$", "-smile\""), smile.getHeader(HttpHeaders.ETAG));
+            assertEquals(expected, asJson(BinaryEncodingConfig.smileObjectMapper(builder), smile));
+
+            MockHttpServletResponse cbor = perform(get(path).accept(CBOR));
+            assertTrue(CBOR.isCompatibleWith(MediaType.parseMediaType(cbor.getContentType())), cbor.getContentType());
+            assertEquals(jsonTag.replaceFirst("\"$", "-cbor\""), cbor.getHeader(HttpHeaders.ETAG));
+            assertEquals(expected, asJson(BinaryEncodingConfig.cborObjectMapper(builder), cbor));
+        }
+    }
+
+    @DisplayName("a Smile ETag does not make a JSON request 304, while it does for a Smile request")
+    @org.junit.jupiter.api.Test
+    void smileETag_DoesNotMatchJsonRequest() throws Exception {
+        long id = create("encoding.etag@example.com");
+        for (String path : new String[]{"/api/courses", "/api/students/" + id}) {
+            String smileTag = perform(get(path).accept(SMILE)).getHeader(HttpHeaders.ETAG);
+
+            mockMvc.perform(get(path).accept(MediaType.APPLICATION_JSON).header(HttpHeaders.IF_NONE_MATCH, smileTag))
+                    .andExpect(status().isOk());
+            mockMvc.perform(get(path).accept(SMILE).header(HttpHeaders.IF_NONE_MATCH, smileTag))
+                    .andExpect(status().isNotModified());
+        }
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequestBuilder request) throws Exception {
+        return mockMvc.perform(request).andExpect(status().isOk()).andReturn().getResponse();
+    }
+
+    // Decodes a binary body and re-reads it as JSON, so numbers compare by value rather than by node type.
+    private JsonNode asJson(ObjectMapper mapper, MockHttpServletResponse response) throws Exception {
+        JsonNode decoded = mapper.readTree(response.getContentAsByteArray());
+        return objectMapper.readTree(objectMapper.writeValueAsString(decoded));
+    }
+
+    private long create(String email) throws Exception {
+        String response = mockMvc.perform(post("/api/students").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"Encoding\",\"lastName\":\"Student\",\"email\":\"" + email + "\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return ((Number) JsonPath.read(response, "$.id")).longValue();
+    }
+}
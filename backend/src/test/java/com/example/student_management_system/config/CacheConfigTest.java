@@ -0,0 +1,43 @@
+package com.example.student_management_system.config;
+
+import com.example.student_management_system.cache.CacheInvalidationChannel;
+import com.example.student_management_system.cache.CacheInvalidationMessage;
+import com.example.student_management_system.cache.LoopbackInvalidationChannel;
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheConfigTest {
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withUserConfiguration(CacheConfig.class);
+
+    @DisplayName("the loopback channel is the default invalidation channel")
+    @org.junit.jupiter.api.Test
+    void loopbackByDefault() {
+        runner.run(context -> assertInstanceOf(LoopbackInvalidationChannel.class,
+                context.getBean(CacheInvalidationChannel.class)));
+    }
+
+    @DisplayName("another invalidation setting leaves the channel to the deployment's own bean")
+    @org.junit.jupiter.api.Test
+    void deploymentChannelReplacesLoopback() {
+        runner.withPropertyValues("app.courses.cache.invalidation=broker")
+                .withBean(CacheInvalidationChannel.class, BrokerChannel::new)
+                .run(context -> assertInstanceOf(BrokerChannel.class,
+                        context.getBean(CacheInvalidationChannel.class)));
+    }
+
+    private static final class BrokerChannel implements CacheInvalidationChannel {
+        @Override
+        public void publish(CacheInvalidationMessage message) {
+        }
+
+        @Override
+        public void subscribe(Consumer<CacheInvalidationMessage> listener) {
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.student_management_system.feed;
+
+import com.example.student_management_system.dto.EnrollmentOutcome;
+import com.example.student_management_system.dto.EnrollmentOutcome.Status;
+import com.example.student_management_system.dto.StudentSummary;
+import com.example.student_management_system.event.EnrollmentChangedEvent;
+import com.example.student_management_system.event.StudentChangedEvent;
+import com.example.student_management_system.exception.ServiceOverloadedException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChangeFeedTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ChangeFeed feed = feed(16, 10);
+
+    @AfterEach
+    void tearDown() {
+        feed.shutdown();
+    }
+
+    @DisplayName("committed changes reach every subscriber in the same order, serialized once")
+    @org.junit.jupiter.api.Test
+    void publishesChangesToAllSubscribers() throws Exception {
+        RecordingEmitter first = subscribe(null);
+        RecordingEmitter second = subscribe(null);
+
+        feed.onStudentChanged(StudentChangedEvent.created(new StudentSummary(1L, "Ada", "Lovelace", "ada@example.com")));
+        feed.onEnrollmentChanged(EnrollmentChangedEvent.of(List.of(
+                new EnrollmentOutcome(1L, 10L, Status.ENROLLED),
+                new EnrollmentOutcome(1L, 11L, Status.ALREADY_ENROLLED),
+                new EnrollmentOutcome(2L, 10L, Status.UNENROLLED))));
+
+        List<String> expected = List.of(
+                "id:1\nevent:student-created\ndata:{\"id\":1,\"firstName\":\"Ada\",\"lastName\":\"Lovelace\",\"email\":\"ada@example.com\"}\n\n",
+                "id:2\nevent:enrolled\ndata:{\"studentId\":1,\"courseId\":10}\n\n",
+                "id:3\nevent:unenrolled\ndata:{\"studentId\":2,\"courseId\":10}\n\n");
+        assertEquals(expected, first.await(3));
+        assertEquals(expected, second.await(3));
+        assertEquals(3, meterRegistry.get("app.feed.events").functionCounter().count());
+    }
+
+    @DisplayName("a subscriber that falls behind gets a resync instead of the backlog; the others get every event")
+    @org.junit.jupiter.api.Test
+    void replacesOverflowingBufferWithResync() throws Exception {
+        feed.shutdown();
+        feed = feed(4, 10);
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slow = subscribe(null, sending, release);
+        RecordingEmitter fast = subscribe(null);
+
+        feed.onStudentChanged(StudentChangedEvent.deleted(1L));
+        assertTrue(sending.await(5, TimeUnit.SECONDS));
+        for (long id = 2; id <= 11; id++) {
+            feed.onStudentChanged(StudentChangedEvent.deleted(id));
+            // The fast subscriber keeps up: it has sent each event before the next one is published.
+            fast.await((int) id);
+        }
+        release.countDown();
+
+        // Buffer of 4 while the first event is stuck in sending: events 6 and 10 overflow it.
+        assertEquals(List.of("1:student-deleted", "10:resync", "11:student-deleted"),
+                slow.await(3).stream().map(ChangeFeedTest::idAndEvent).toList());
+        assertEquals(11, fast.await(11).size());
+        assertEquals(2, meterRegistry.get("app.feed.resyncs").functionCounter().count());
+    }
+
+    @DisplayName("a client reconnecting after missed events starts with a resync; one that missed nothing does not")
+    @org.junit.jupiter.api.Test
+    void resyncsReconnectingClientThatMissedEvents() throws Exception {
+        feed.onStudentChanged(StudentChangedEvent.deleted(1L));
+        feed.onStudentChanged(StudentChangedEvent.deleted(2L));
+
+        RecordingEmitter behind = subscribe("1");
+        RecordingEmitter current = subscribe("2");
+        feed.onStudentChanged(StudentChangedEvent.deleted(3L));
+
+        assertEquals(List.of("2:resync", "3:student-deleted"), behind.await(2).stream().map(ChangeFeedTest::idAndEvent).toList());
+        assertEquals(List.of("3:student-deleted"), current.await(1).stream().map(ChangeFeedTest::idAndEvent).toList());
+        assertThrows(ServiceOverloadedException.class, () -> {
+            for (int i = 0; i < 10; i++) {
+                subscribe(null);
+            }
+        });
+    }
+
+    private ChangeFeed feed(int bufferSize, int maxSubscribers) {
+        ChangeFeed changeFeed = new ChangeFeed(new ObjectMapper(), bufferSize, maxSubscribers,
+                Duration.ofMinutes(1), Duration.ofMinutes(1), 2);
+        meterRegistry = new SimpleMeterRegistry();
+        changeFeed.bindTo(meterRegistry);
+        return changeFeed;
+    }
+
+    private RecordingEmitter subscribe(String lastEventId) {
+        return subscribe(lastEventId, null, null);
+    }
+
+    private RecordingEmitter subscribe(String lastEventId, CountDownLatch sending, CountDownLatch release) {
+        RecordingEmitter emitter = new RecordingEmitter(sending, release);
+        feed.subscribe(emitter, lastEventId);
+        return emitter;
+    }
+
+    private static String idAndEvent(String frame) {
+        String[] lines = frame.split("\n");
+        return lines[0].substring("id:".length()) + ":" + lines[1].substring("event:".length());
+    }
+
+    /** Records the frames sent to it; optionally blocks in its first send until released. */
+    private static final class RecordingEmitter extends SseEmitter {
+        private final List<String> frames = new CopyOnWriteArrayList<>();
+        private final CountDownLatch sending;
+        private final CountDownLatch release;
+
+        RecordingEmitter(CountDownLatch sending, CountDownLatch release) {
+            this.sending = sending;
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            if (sending != null && frames.isEmpty()) {
+                sending.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            frames.add(builder.build().stream()
+                    .map(ResponseBodyEmitter.DataWithMediaType::getData)
+                    .map(Object::toString)
+                    .collect(Collectors.joining()));
+        }
+
+        // Waits for `count` frames, then briefly for any unexpected extra ones.
+        List<String> await(int count) throws InterruptedException {
+            for (int i = 0; i < 250 && frames.size() < count; i++) {
+                Thread.sleep(20);
+            }
+            Thread.sleep(20);
+            return List.copyOf(frames);
+        }
+    }
+}
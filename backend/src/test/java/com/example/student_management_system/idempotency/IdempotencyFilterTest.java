@@ -0,0 +1,135 @@
+package com.example.student_management_system.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyFilterTest {
+    @Spy
+    private IdempotencyStore store = new IdempotencyStore(Duration.ofMinutes(5), DataSize.ofMegabytes(1));
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    @InjectMocks
+    private IdempotencyFilter filter;
+
+    private final AtomicInteger executions = new AtomicInteger();
+
+    // Stands in for the controller: creates "student n" on every execution.
+    private final FilterChain createStudent = (request, response) -> {
+        int n = executions.incrementAndGet();
+        ((HttpServletResponse) response).setStatus(201);
+        response.setContentType("application/json");
+        response.getOutputStream().write(("{\"id\":" + n + "}").getBytes(StandardCharsets.UTF_8));
+    };
+
+    @DisplayName("a retried request is answered from the stored response without executing again")
+    @org.junit.jupiter.api.Test
+    void replaysStoredResponse() throws Exception {
+        MockHttpServletResponse first = send("POST", "/api/students", "key-1", createStudent);
+        MockHttpServletResponse retry = send("POST", "/api/students", "key-1", createStudent);
+
+        assertEquals(1, executions.get());
+        assertEquals(201, retry.getStatus());
+        assertEquals(first.getContentAsString(), retry.getContentAsString());
+        assertEquals("application/json", retry.getContentType());
+        assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertNull(first.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @DisplayName("a key reused for a different request is rejected with 422")
+    @org.junit.jupiter.api.Test
+    void rejectsKeyReusedForOtherRequest() throws Exception {
+        send("POST", "/api/students", "key-2", createStudent);
+        MockHttpServletResponse other = send("POST", "/api/courses", "key-2", createStudent);
+
+        assertEquals(422, other.getStatus());
+        assertEquals(1, executions.get());
+    }
+
+    @DisplayName("server errors are not stored, so the retry executes")
+    @org.junit.jupiter.api.Test
+    void doesNotStoreServerErrors() throws Exception {
+        send("POST", "/api/students", "key-3", (request, response) -> {
+            executions.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(503);
+        });
+        MockHttpServletResponse retry = send("POST", "/api/students", "key-3", createStudent);
+
+        assertEquals(2, executions.get());
+        assertEquals(201, retry.getStatus());
+    }
+
+    @DisplayName("a concurrent retry waits for the first execution and gets its response")
+    @org.junit.jupiter.api.Test
+    void concurrentRetryWaitsForFirstExecution() throws Exception {
+        CountDownLatch executing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain slowCreate = (request, response) -> {
+            executing.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            createStudent.doFilter(request, response);
+        };
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<MockHttpServletResponse> first = pool.submit(() -> send("POST", "/api/students", "key-4", slowCreate));
+            assertTrue(executing.await(5, TimeUnit.SECONDS));
+            Future<MockHttpServletResponse> retry = pool.submit(() -> send("POST", "/api/students", "key-4", slowCreate));
+            Thread.sleep(100);
+            release.countDown();
+
+            assertEquals(first.get(5, TimeUnit.SECONDS).getContentAsString(), retry.get(5, TimeUnit.SECONDS).getContentAsString());
+            assertEquals(1, executions.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @DisplayName("requests without a key and reads are passed through untouched")
+    @org.junit.jupiter.api.Test
+    void ignoresRequestsWithoutKey() throws Exception {
+        send("POST", "/api/students", null, createStudent);
+        send("POST", "/api/students", null, createStudent);
+        send("GET", "/api/students", "key-5", createStudent);
+        send("GET", "/api/students", "key-5", createStudent);
+
+        assertEquals(4, executions.get());
+    }
+
+    private MockHttpServletResponse send(String method, String uri, String key, FilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.student_management_system.index;
+
+import com.example.student_management_system.dto.EnrollmentSet;
+import com.example.student_management_system.dto.EnrollmentSetOperation;
+import com.example.student_management_system.exception.ServiceOverloadedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnrollmentIndexTest {
+    private EnrollmentIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new EnrollmentIndex();
+        EnrollmentIndex.Loader loader = index.beginLoad();
+        // Course 10: students 1, 2, 3; course 20: students 2, 3; course 30: student 3.
+        loader.load(1L, 10L);
+        loader.load(2L, 10L);
+        loader.load(2L, 20L);
+        loader.load(3L, 30L);
+        loader.load(3L, 10L);
+        loader.load(3L, 20L);
+        index.finishLoad(loader);
+    }
+
+    private static List<Long> ids(EnrollmentSet set) {
+        return Arrays.stream(set.ids()).boxed().toList();
+    }
+
+    @DisplayName("students combines course sets by intersection, union and difference")
+    @org.junit.jupiter.api.Test
+    void students_CombinesCourseSets() {
+        assertEquals(List.of(2L, 3L), ids(index.students(EnrollmentSetOperation.INTERSECTION, List.of(10L, 20L), 100)));
+        assertEquals(List.of(3L), ids(index.students(EnrollmentSetOperation.INTERSECTION, List.of(10L, 20L, 30L), 100)));
+        assertEquals(List.of(1L, 2L), ids(index.students(EnrollmentSetOperation.DIFFERENCE, List.of(10L, 30L), 100)));
+        assertEquals(List.of(2L, 3L), ids(index.students(EnrollmentSetOperation.UNION, List.of(20L, 30L, 99L), 100)));
+        assertEquals(0, index.students(EnrollmentSetOperation.INTERSECTION, List.of(10L, 99L), 100).count());
+
+        EnrollmentSet limited = index.students(EnrollmentSetOperation.UNION, List.of(10L), 2);
+        assertEquals(3, limited.count());
+        assertTrue(limited.truncated());
+        assertEquals(List.of(1L, 2L), ids(limited));
+    }
+
+    @DisplayName("courses combines student sets, e.g. the courses shared by all given students")
+    @org.junit.jupiter.api.Test
+    void courses_CombinesStudentSets() {
+        assertEquals(List.of(10L, 20L), ids(index.courses(EnrollmentSetOperation.INTERSECTION, List.of(2L, 3L), 100)));
+        assertEquals(List.of(30L), ids(index.courses(EnrollmentSetOperation.DIFFERENCE, List.of(3L, 1L, 2L), 100)));
+        assertEquals(List.of(10L, 20L), ids(index.courses(EnrollmentSetOperation.UNION, List.of(1L, 2L), 100)));
+    }
+
+    @DisplayName("enroll, unenroll and removeStudent keep both directions current")
+    @org.junit.jupiter.api.Test
+    void updates_KeepBothDirectionsCurrent() {
+        index.enroll(1L, 30L);
+        index.unenroll(3L, 10L);
+        assertEquals(List.of(1L, 3L), ids(index.students(EnrollmentSetOperation.UNION, List.of(30L), 100)));
+        assertEquals(List.of(1L, 2L), ids(index.students(EnrollmentSetOperation.UNION, List.of(10L), 100)));
+
+        index.removeStudent(3L);
+        assertEquals(List.of(1L), ids(index.students(EnrollmentSetOperation.UNION, List.of(30L), 100)));
+        assertEquals(0, index.courses(EnrollmentSetOperation.UNION, List.of(3L), 100).count());
+        assertEquals(4, index.size());
+    }
+
+    @DisplayName("a load does not resurrect enrollments removed while it runs, and queries wait for it")
+    @org.junit.jupiter.api.Test
+    void load_DoesNotResurrectRemovedEnrollments() {
+        EnrollmentIndex loading = new EnrollmentIndex();
+        EnrollmentIndex.Loader loader = loading.beginLoad();
+        loading.unenroll(1L, 10L);
+        loading.removeStudent(2L);
+        loading.enroll(4L, 10L);
+        assertThrows(ServiceOverloadedException.class,
+                () -> loading.students(EnrollmentSetOperation.UNION, List.of(10L), 100));
+
+        loader.load(1L, 10L);
+        loader.load(2L, 10L);
+        loader.load(2L, 20L);
+        loader.load(3L, 10L);
+        loading.finishLoad(loader);
+
+        assertEquals(List.of(3L, 4L), ids(loading.students(EnrollmentSetOperation.UNION, List.of(10L), 100)));
+        assertEquals(0, loading.students(EnrollmentSetOperation.UNION, List.of(20L), 100).count());
+        assertEquals(2, loading.size());
+        assertEquals(2, loading.studentCount());
+        assertEquals(1, loading.courseCount());
+    }
+
+    @DisplayName("ids beyond the loaded range grow the index; ids never indexed are empty sets")
+    @org.junit.jupiter.api.Test
+    void enroll_GrowsBeyondLoadedIds() {
+        index.enroll(100_000L, 50_000L);
+        index.enroll(100_000L, 10L);
+        assertEquals(List.of(10L, 50_000L), ids(index.courses(EnrollmentSetOperation.UNION, List.of(100_000L), 100)));
+        assertEquals(List.of(100_000L), ids(index.students(EnrollmentSetOperation.UNION, List.of(50_000L), 100)));
+        assertEquals(0, index.courses(EnrollmentSetOperation.UNION, List.of(7_000_000L), 100).count());
+        assertEquals(4, index.courseCount());
+        assertEquals(4, index.studentCount());
+    }
+}
@@ -0,0 +1,222 @@
+package com.example.student_management_system.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * =================================================================
+ * Load Driver
+ * =================================================================
+ * Purpose:
+ * Drives a weighted mix of LoadOperations against a running server over
+ * real HTTP, in one of two models:
+ *
+ * - Closed model (fixed concurrency): N users each send a request, wait for
+ *   the response, and immediately send the next one. Measures the throughput
+ *   the server sustains at that concurrency.
+ * - Open model (arrival rate): requests start on a fixed schedule whether or
+ *   not earlier ones have finished, like independent clients. Latency is
+ *   measured from each request's scheduled start, so a stalled server shows up
+ *   as queueing delay instead of silently lowering the offered load
+ *   (no coordinated omission). At most maxInFlight requests are outstanding;
+ *   beyond that, requests are dropped and reported.
+ *
+ * Both models run a warmup phase first and discard its numbers.
+ * Responses with status >= 400 and transport failures count as errors.
+ * =================================================================
+ */
+final class LoadDriver implements AutoCloseable {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient client;
+    private final ExecutorService clientExecutor;
+
+    LoadDriver() {
+        clientExecutor = Executors.newCachedThreadPool(daemonThreads("load-client"));
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(clientExecutor)
+                .build();
+    }
+
+    ScenarioResult closed(String scenario, int concurrency, Duration warmup, Duration duration, List<LoadOperation> mix)
+            throws InterruptedException {
+        runClosed(concurrency, warmup, mix, newStats(mix));
+        Map<String, OperationStats> stats = newStats(mix);
+        long start = System.nanoTime();
+        runClosed(concurrency, duration, mix, stats);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        return new ScenarioResult(scenario, "closed " + concurrency + " users", seconds, stats, 0);
+    }
+
+    ScenarioResult open(String scenario, int ratePerSecond, int maxInFlight, Duration warmup, Duration duration,
+                        List<LoadOperation> mix) throws InterruptedException {
+        runOpen(ratePerSecond, maxInFlight, warmup, mix, newStats(mix));
+        Map<String, OperationStats> stats = newStats(mix);
+        long start = System.nanoTime();
+        long dropped = runOpen(ratePerSecond, maxInFlight, duration, mix, stats);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        return new ScenarioResult(scenario, "open " + ratePerSecond + " req/s", seconds, stats, dropped);
+    }
+
+    private void runClosed(int concurrency, Duration duration, List<LoadOperation> mix, Map<String, OperationStats> stats)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService users = Executors.newFixedThreadPool(concurrency, daemonThreads("load-user"));
+        try {
+            Future<?>[] running = new Future<?>[concurrency];
+            for (int i = 0; i < concurrency; i++) {
+                running[i] = users.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        LoadOperation operation = pick(mix, random);
+                        sendAndRecord(operation, operation.nextRequest(random), stats.get(operation.name()));
+                    }
+                });
+            }
+            for (Future<?> user : running) {
+                user.get();
+            }
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Load user failed", ex.getCause());
+        } finally {
+            users.shutdownNow();
+        }
+    }
+
+    private long runOpen(int ratePerSecond, int maxInFlight, Duration duration, List<LoadOperation> mix,
+                         Map<String, OperationStats> stats) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        AtomicLong dropped = new AtomicLong();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long interval = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        for (long scheduled = start; scheduled < end; scheduled += interval) {
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (!inFlight.tryAcquire()) {
+                dropped.incrementAndGet();
+                continue;
+            }
+            LoadOperation operation = pick(mix, random);
+            OperationStats operationStats = stats.get(operation.name());
+            long intendedStart = scheduled;
+            client.sendAsync(operation.nextRequest(random), bodyHandler(operation))
+                    .whenComplete((response, failure) -> {
+                        try {
+                            record(operation, operationStats, intendedStart, response, failure);
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+        }
+        // Let the requests still in flight finish (and be recorded) before reporting.
+        if (inFlight.tryAcquire(maxInFlight, REQUEST_TIMEOUT.toSeconds() + 5, TimeUnit.SECONDS)) {
+            inFlight.release(maxInFlight);
+        }
+        return dropped.get();
+    }
+
+    private void sendAndRecord(LoadOperation operation, HttpRequest request, OperationStats stats) {
+        long start = System.nanoTime();
+        HttpResponse<String> response = null;
+        Throwable failure = null;
+        try {
+            response = client.send(request, bodyHandler(operation));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Exception ex) {
+            failure = ex;
+        }
+        record(operation, stats, start, response, failure);
+    }
+
+    private static void record(LoadOperation operation, OperationStats stats, long start,
+                               HttpResponse<String> response, Throwable failure) {
+        long latency = System.nanoTime() - start;
+        if (response == null) {
+            stats.recordFailure(failure == null ? "no response" : failure.toString());
+            return;
+        }
+        int status = response.statusCode();
+        if (status >= 400) {
+            String body = response.body() == null ? "" : response.body();
+            stats.recordResponse(latency, "HTTP " + status + " " + response.request().method() + " " + response.uri()
+                    + " " + body.substring(0, Math.min(body.length(), 300)));
+            return;
+        }
+        stats.recordResponse(latency, null);
+        operation.onResponse(response.body());
+    }
+
+    private static HttpResponse.BodyHandler<String> bodyHandler(LoadOperation operation) {
+        // Bodies nobody reads are drained and discarded rather than decoded, except error bodies (for the report).
+        return responseInfo -> operation.readsBody() || responseInfo.statusCode() >= 400
+                ? HttpResponse.BodySubscribers.ofString(StandardCharsets.UTF_8)
+                : HttpResponse.BodySubscribers.replacing(null);
+    }
+
+    private static LoadOperation pick(List<LoadOperation> mix, ThreadLocalRandom random) {
+        if (mix.size() == 1) {
+            return mix.get(0);
+        }
+        int total = mix.stream().mapToInt(LoadOperation::weight).sum();
+        int ticket = random.nextInt(total);
+        for (LoadOperation operation : mix) {
+            ticket -= operation.weight();
+            if (ticket < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException("unreachable");
+    }
+
+    private static Map<String, OperationStats> newStats(List<LoadOperation> mix) {
+        Map<String, OperationStats> stats = new LinkedHashMap<>();
+        for (LoadOperation operation : mix) {
+            stats.put(operation.name(), new OperationStats());
+        }
+        return stats;
+    }
+
+    static HttpRequest.Builder request(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).timeout(REQUEST_TIMEOUT);
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicLong counter = new AtomicLong();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @Override
+    public void close() {
+        clientExecutor.shutdownNow();
+    }
+}
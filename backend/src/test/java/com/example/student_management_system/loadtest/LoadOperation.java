@@ -0,0 +1,61 @@
+package com.example.student_management_system.loadtest;
+
+import java.net.http.HttpRequest;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * One kind of request in a load scenario: how to build the next request, its
+ * relative weight when mixed with other operations, and an optional callback
+ * that sees each successful response body (e.g. to collect paging cursors).
+ */
+final class LoadOperation {
+
+    private final String name;
+    private final int weight;
+    private final Function<ThreadLocalRandom, HttpRequest> requests;
+    private final Consumer<String> responses;
+
+    private LoadOperation(String name, int weight, Function<ThreadLocalRandom, HttpRequest> requests,
+                          Consumer<String> responses) {
+        this.name = name;
+        this.weight = weight;
+        this.requests = requests;
+        this.responses = responses;
+    }
+
+    static LoadOperation of(String name, Function<ThreadLocalRandom, HttpRequest> requests) {
+        return new LoadOperation(name, 1, requests, null);
+    }
+
+    static LoadOperation of(String name, Function<ThreadLocalRandom, HttpRequest> requests, Consumer<String> responses) {
+        return new LoadOperation(name, 1, requests, responses);
+    }
+
+    LoadOperation weighted(int weight) {
+        return new LoadOperation(name, weight, requests, responses);
+    }
+
+    String name() {
+        return name;
+    }
+
+    int weight() {
+        return weight;
+    }
+
+    HttpRequest nextRequest(ThreadLocalRandom random) {
+        return requests.apply(random);
+    }
+
+    boolean readsBody() {
+        return responses != null;
+    }
+
+    void onResponse(String body) {
+        if (responses != null) {
+            responses.accept(body);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.student_management_system.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latency histogram (microseconds, 3 significant digits) and counters of one operation
+ * in one scenario. Safe to record into from many threads at once.
+ */
+final class OperationStats {
+
+    private static final int MAX_ERROR_SAMPLES = 5;
+
+    private final Histogram latencies = new ConcurrentHistogram(3);
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final List<String> errorSamples = new CopyOnWriteArrayList<>();
+
+    /**
+     * Records a completed exchange. Every response, including an error status, has a latency.
+     * @param error A description if the response counts as an error, otherwise null.
+     */
+    void recordResponse(long latencyNanos, String error) {
+        requests.incrementAndGet();
+        latencies.recordValue(Math.max(1, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        if (error != null) {
+            countError(error);
+        }
+    }
+
+    /**
+     * Records a request that got no response at all (connection failure, timeout).
+     */
+    void recordFailure(String error) {
+        requests.incrementAndGet();
+        countError(error);
+    }
+
+    private void countError(String error) {
+        errors.incrementAndGet();
+        if (errorSamples.size() < MAX_ERROR_SAMPLES) {
+            errorSamples.add(error);
+        }
+    }
+
+    Histogram latencies() {
+        return latencies;
+    }
+
+    long requests() {
+        return requests.get();
+    }
+
+    long errors() {
+        return errors.get();
+    }
+
+    List<String> errorSamples() {
+        return errorSamples;
+    }
+}
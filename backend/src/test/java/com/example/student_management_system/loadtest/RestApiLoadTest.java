@@ -0,0 +1,251 @@
+package com.example.student_management_system.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * =================================================================
+ * REST API Load Test
+ * =================================================================
+ * Purpose:
+ * End-to-end load scenarios against the real REST surface: the full
+ * application on a random port, seeded by the "generate" profile, driven over
+ * HTTP by LoadDriver. Complements the JMH microbenchmarks.
+ *
+ * Scenarios (in order):
+ * - browseStudents: users page through /api/students with random sorts, following nextCursor.
+ * - studentDetails: random /api/students/{id} reads (student with courses).
+ * - hotCourseEnrollmentStorm: enroll/unenroll of random students in the most popular course;
+ *   afterwards the course's enrollment_count must still equal its roster size.
+ * - courseCreation: POST /api/courses with unique codes.
+ * - mixedOpenModel: all of the above, weighted, at a fixed arrival rate.
+ *
+ * Output (target/load-test/):
+ * - summary.txt: requests, errors, throughput and p50/p90/p99/p99.9/max per scenario and operation.
+ * - {scenario}.{operation}.hgrm: the full HdrHistogram percentile distribution, in milliseconds.
+ *
+ * Tagged "load": excluded from the regular build. Run with
+ *   ./mvnw -Pload-test test
+ * and tune with -Dload.duration=20 -Dload.warmup=5 (seconds), -Dload.concurrency=32,
+ * -Dload.rate=300 (req/s), -Dload.students=20000, -Dload.courses=100.
+ * Admission control is off unless -Dload.admission=true (then the driver is rate limited like any single client).
+ * =================================================================
+ */
+@Tag("load")
+@ActiveProfiles("generate")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.data.generator.students=${load.students:20000}",
+        "app.data.generator.courses=${load.courses:100}",
+        // Every request is "slow" on a saturated server; keep the log readable.
+        "app.metrics.slow-request-threshold=10s",
+        // The driver is a single client by design; measure the server, not the per-client rate limit.
+        "app.admission.enabled=${load.admission:false}"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class RestApiLoadTest {
+
+    private static final Path REPORT_DIR = Path.of("target", "load-test");
+
+    private final Duration warmup = Duration.ofSeconds(Long.getLong("load.warmup", 5));
+    private final Duration duration = Duration.ofSeconds(Long.getLong("load.duration", 20));
+    private final int concurrency = Integer.getInteger("load.concurrency", 32);
+    private final int rate = Integer.getInteger("load.rate", 300);
+    private final int maxInFlight = Integer.getInteger("load.max-in-flight", 1000);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<ScenarioResult> results = new ArrayList<>();
+    // Cursors seen by the browse operation, shared by all simulated users: "sort|cursor".
+    private final Queue<String> browseCursors = new ConcurrentLinkedQueue<>();
+    private final AtomicLong courseSequence = new AtomicLong();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private LoadDriver driver;
+    private String baseUrl;
+    private long[] studentIds;
+    private long hotCourseId;
+
+    @BeforeAll
+    void setUp() {
+        driver = new LoadDriver();
+        baseUrl = "http://localhost:" + port + "/api";
+        studentIds = jdbcTemplate.queryForList("SELECT id FROM student ORDER BY id", Long.class)
+                .stream().mapToLong(Long::longValue).toArray();
+        hotCourseId = jdbcTemplate.queryForObject("SELECT id FROM course ORDER BY enrollment_count DESC, id LIMIT 1", Long.class);
+    }
+
+    @AfterAll
+    void writeSummary() throws IOException {
+        driver.close();
+        List<String> lines = new ArrayList<>();
+        lines.add(ScenarioResult.SUMMARY_HEADER);
+        results.forEach(result -> lines.addAll(result.summaryLines()));
+        Files.createDirectories(REPORT_DIR);
+        Files.write(REPORT_DIR.resolve("summary.txt"), lines);
+        System.out.println(String.join(System.lineSeparator(), lines));
+    }
+
+    @DisplayName("browse: keyset pages of /api/students, closed model")
+    @Order(1)
+    @org.junit.jupiter.api.Test
+    void browseStudents() throws Exception {
+        run(driver.closed("browseStudents", concurrency, warmup, duration, List.of(browse())));
+    }
+
+    @DisplayName("detail reads: /api/students/{id}, closed model")
+    @Order(2)
+    @org.junit.jupiter.api.Test
+    void studentDetails() throws Exception {
+        run(driver.closed("studentDetails", concurrency, warmup, duration, List.of(detail())));
+    }
+
+    @DisplayName("enroll/unenroll storm on the most popular course keeps its count exact")
+    @Order(3)
+    @org.junit.jupiter.api.Test
+    void hotCourseEnrollmentStorm() throws Exception {
+        run(driver.closed("hotCourseEnrollmentStorm", concurrency, warmup, duration, List.of(enroll(), unenroll())));
+        assertHotCourseCountConsistent();
+    }
+
+    @DisplayName("course creation: POST /api/courses, closed model")
+    @Order(4)
+    @org.junit.jupiter.api.Test
+    void courseCreation() throws Exception {
+        run(driver.closed("courseCreation", Math.max(1, concurrency / 4), warmup, duration, List.of(createCourse())));
+    }
+
+    @DisplayName("mixed workload at a fixed arrival rate, open model")
+    @Order(5)
+    @org.junit.jupiter.api.Test
+    void mixedOpenModel() throws Exception {
+        List<LoadOperation> mix = List.of(
+                browse().weighted(30),
+                detail().weighted(50),
+                enroll().weighted(9),
+                unenroll().weighted(9),
+                createCourse().weighted(2));
+        run(driver.open("mixedOpenModel", rate, maxInFlight, warmup, duration, mix));
+        assertHotCourseCountConsistent();
+    }
+
+    // --- Operations ---
+
+    private LoadOperation browse() {
+        String[] sorts = {"id", "lastName", "email"};
+        return LoadOperation.of("browse", random -> {
+            String next = random.nextInt(10) == 0 ? null : browseCursors.poll();
+            if (next == null) {
+                return LoadDriver.request(baseUrl + "/students?sort=" + sorts[random.nextInt(sorts.length)]).GET().build();
+            }
+            int separator = next.indexOf('|');
+            return LoadDriver.request(baseUrl + "/students?sort=" + next.substring(0, separator)
+                    + "&cursor=" + next.substring(separator + 1)).GET().build();
+        }, body -> {
+            JsonNode page = readTree(body);
+            JsonNode cursor = page.path("nextCursor");
+            if (!cursor.isNull() && !cursor.isMissingNode() && browseCursors.size() < 10_000) {
+                browseCursors.add(sortParameter(page.path("sort").asText()) + "|" + cursor.asText());
+            }
+        });
+    }
+
+    private LoadOperation detail() {
+        return LoadOperation.of("detail", random ->
+                LoadDriver.request(baseUrl + "/students/" + randomStudent(random)).GET().build());
+    }
+
+    private LoadOperation enroll() {
+        return LoadOperation.of("enroll", random ->
+                LoadDriver.request(baseUrl + "/students/" + randomStudent(random) + "/enroll/" + hotCourseId)
+                        .POST(HttpRequest.BodyPublishers.noBody()).build());
+    }
+
+    private LoadOperation unenroll() {
+        return LoadOperation.of("unenroll", random ->
+                LoadDriver.request(baseUrl + "/students/" + randomStudent(random) + "/unenroll/" + hotCourseId)
+                        .DELETE().build());
+    }
+
+    private LoadOperation createCourse() {
+        return LoadOperation.of("createCourse", random -> {
+            long n = courseSequence.incrementAndGet();
+            String json = "{\"name\":\"Load Test Course " + n + "\",\"courseCode\":\"LOAD" + n + "\","
+                    + "\"professor\":\"Dr. Load\",\"description\":\"Created by RestApiLoadTest\","
+                    + "\"credits\":" + (1 + random.nextInt(5)) + "}";
+            return LoadDriver.request(baseUrl + "/courses")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(json)).build();
+        });
+    }
+
+    // --- Helpers ---
+
+    private void run(ScenarioResult result) throws IOException {
+        results.add(result);
+        result.writeHistograms(REPORT_DIR);
+        result.summaryLines().forEach(System.out::println);
+        assertEquals(0, result.errors(), () -> result.scenario() + " had errors, e.g. " + result.errorSamples());
+    }
+
+    private void assertHotCourseCountConsistent() {
+        Long maintained = jdbcTemplate.queryForObject("SELECT enrollment_count FROM course WHERE id = ?", Long.class, hotCourseId);
+        Long actual = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM student_courses WHERE course_id = ?", Long.class, hotCourseId);
+        assertEquals(actual, maintained, "enrollment_count of the hot course drifted from its roster");
+    }
+
+    private long randomStudent(ThreadLocalRandom random) {
+        return studentIds[random.nextInt(studentIds.length)];
+    }
+
+    private JsonNode readTree(String body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Unreadable page: " + body, ex);
+        }
+    }
+
+    // The page echoes its sort as the enum name; map it back to the request parameter.
+    private static String sortParameter(String sort) {
+        switch (sort) {
+            case "LAST_NAME":
+                return "lastName";
+            case "EMAIL":
+                return "email";
+            default:
+                return "id";
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.student_management_system.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The measured (post-warmup) outcome of one scenario: per-operation latency
+ * histograms and counters, plus requests an open-model run had to drop.
+ */
+final class ScenarioResult {
+
+    static final String SUMMARY_HEADER = String.format(Locale.ROOT, "%-28s %-14s %-18s %9s %7s %9s %8s %8s %8s %8s %8s",
+            "scenario", "operation", "model", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+
+    private final String scenario;
+    private final String model;
+    private final double seconds;
+    private final Map<String, OperationStats> operations;
+    private final long dropped;
+
+    ScenarioResult(String scenario, String model, double seconds, Map<String, OperationStats> operations, long dropped) {
+        this.scenario = scenario;
+        this.model = model;
+        this.seconds = seconds;
+        this.operations = new LinkedHashMap<>(operations);
+        this.dropped = dropped;
+    }
+
+    String scenario() {
+        return scenario;
+    }
+
+    long errors() {
+        return operations.values().stream().mapToLong(OperationStats::errors).sum();
+    }
+
+    long dropped() {
+        return dropped;
+    }
+
+    List<String> errorSamples() {
+        List<String> samples = new ArrayList<>();
+        operations.forEach((name, stats) -> stats.errorSamples().forEach(e -> samples.add(name + ": " + e)));
+        return samples;
+    }
+
+    /**
+     * One summary line per operation, plus an "all" line when the scenario mixes several.
+     */
+    List<String> summaryLines() {
+        List<String> lines = new ArrayList<>();
+        Histogram all = new Histogram(3);
+        long requests = 0;
+        long errors = 0;
+        for (Map.Entry<String, OperationStats> entry : operations.entrySet()) {
+            OperationStats stats = entry.getValue();
+            lines.add(line(entry.getKey(), stats.requests(), stats.errors(), stats.latencies()));
+            all.add(stats.latencies());
+            requests += stats.requests();
+            errors += stats.errors();
+        }
+        if (operations.size() > 1) {
+            lines.add(line("all", requests, errors, all));
+        }
+        if (dropped > 0) {
+            lines.add(String.format(Locale.ROOT, "%-28s %d requests dropped: too many in flight", scenario, dropped));
+        }
+        return lines;
+    }
+
+    /**
+     * Writes each operation's full percentile distribution (HdrHistogram .hgrm format,
+     * values in milliseconds) to {dir}/{scenario}.{operation}.hgrm.
+     */
+    void writeHistograms(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        for (Map.Entry<String, OperationStats> entry : operations.entrySet()) {
+            Path file = dir.resolve(scenario + "." + entry.getKey() + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file), false, "UTF-8")) {
+                entry.getValue().latencies().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    private String line(String operation, long requests, long errors, Histogram latencies) {
+        return String.format(Locale.ROOT, "%-28s %-14s %-18s %9d %7d %9.1f %8.2f %8.2f %8.2f %8.2f %8.2f",
+                scenario, operation, model, requests, errors, requests / seconds,
+                millis(latencies, 50.0), millis(latencies, 90.0), millis(latencies, 99.0), millis(latencies, 99.9),
+                latencies.getMaxValue() / 1000.0);
+    }
+
+    private static double millis(Histogram latencies, double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
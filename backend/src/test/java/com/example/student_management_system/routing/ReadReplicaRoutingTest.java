@@ -0,0 +1,166 @@
+package com.example.student_management_system.routing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the application against two H2 databases: the usual in-memory primary, and a second
+ * in-memory database as the read replica. The application may only connect to the replica
+ * while it exists (IFEXISTS), so shutting it down stands in for an outage. "Replication" is
+ * an explicit copy of the primary (replicate()), so every test controls exactly how far the
+ * replica lags behind. The replica is created after the application has started, which
+ * therefore starts up reading from the primary.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing_primary",
+        "app.datasource.replica.enabled=true",
+        "app.datasource.replica.url=jdbc:h2:mem:routing_replica;IFEXISTS=TRUE",
+        "app.datasource.replica.read-your-writes-window=1s",
+        // Above the pool's 500ms validation window, so a check also weeds out connections the outage broke.
+        "app.datasource.replica.health-check-interval=600ms"
+})
+@AutoConfigureMockMvc
+class ReadReplicaRoutingTest {
+
+    // Keeps the replica database open, and is how the tests write to it directly.
+    private static Connection replicaConnection;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primary;
+    @Autowired
+    private ReplicaHealthMonitor health;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterAll
+    static void dropReplica() throws SQLException {
+        stopReplica();
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        if (replicaConnection == null) {
+            replicaConnection = DriverManager.getConnection("jdbc:h2:mem:routing_replica;DB_CLOSE_DELAY=-1", "sa", "password");
+        }
+        replicate();
+        awaitReplica(true);
+    }
+
+    @DisplayName("reads go to the replica, writes to the primary")
+    @org.junit.jupiter.api.Test
+    void routesReadsToReplica() throws Exception {
+        long id = firstStudentId();
+        replica().update("UPDATE student SET first_name = 'OnReplica' WHERE id = ?", id);
+
+        read("10.0.1.1", id).andExpect(status().isOk()).andExpect(jsonPath("$.firstName").value("OnReplica"));
+
+        long created = create("10.0.1.1", "routed.write@example.com");
+        assertEquals(1, new JdbcTemplate(primary).queryForObject(
+                "SELECT COUNT(*) FROM student WHERE id = ?", Integer.class, created));
+        assertEquals(0, replica().queryForObject("SELECT COUNT(*) FROM student WHERE id = ?", Integer.class, created));
+    }
+
+    @DisplayName("a client reads its own writes from the primary until the lag window has passed")
+    @org.junit.jupiter.api.Test
+    void readsYourOwnWrites() throws Exception {
+        long created = create("10.0.2.1", "own.write@example.com");
+
+        read("10.0.2.1", created).andExpect(status().isOk());
+        read("10.0.2.2", created).andExpect(status().isNotFound());
+
+        Thread.sleep(1200);
+        read("10.0.2.1", created).andExpect(status().isNotFound());
+        replicate();
+        read("10.0.2.2", created).andExpect(status().isOk());
+    }
+
+    @DisplayName("reads fall back to the primary while the replica is down, and return when it is back")
+    @org.junit.jupiter.api.Test
+    void fallsBackToPrimary() throws Exception {
+        long id = firstStudentId();
+        String onPrimary = new JdbcTemplate(primary).queryForObject("SELECT first_name FROM student WHERE id = ?", String.class, id);
+        stopReplica();
+        try {
+            awaitReplica(false);
+            read("10.0.3.1", id).andExpect(status().isOk()).andExpect(jsonPath("$.firstName").value(onPrimary));
+            assertTrue(meterRegistry.counter("app.datasource.reads", "target", "primary", "reason", "replica_down").count() > 0);
+        } finally {
+            setUp();
+        }
+        replica().update("UPDATE student SET first_name = 'OnReplica' WHERE id = ?", id);
+        read("10.0.3.1", id).andExpect(status().isOk()).andExpect(jsonPath("$.firstName").value("OnReplica"));
+    }
+
+    private ResultActions read(String client, long id) throws Exception {
+        return mockMvc.perform(get("/api/students/" + id).with(request -> {
+            request.setRemoteAddr(client);
+            return request;
+        }));
+    }
+
+    private long create(String client, String email) throws Exception {
+        String body = "{\"firstName\":\"Read\",\"lastName\":\"Replica\",\"email\":\"" + email + "\"}";
+        String response = mockMvc.perform(post("/api/students").contentType(MediaType.APPLICATION_JSON).content(body)
+                        .with(request -> {
+                            request.setRemoteAddr(client);
+                            return request;
+                        }))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return ((Number) com.jayway.jsonpath.JsonPath.read(response, "$.id")).longValue();
+    }
+
+    private long firstStudentId() {
+        return new JdbcTemplate(primary).queryForObject("SELECT MIN(id) FROM student", Long.class);
+    }
+
+    // A full copy of the primary, standing in for replication catching up.
+    private void replicate() {
+        List<String> script = new JdbcTemplate(primary).queryForList("SCRIPT", String.class);
+        JdbcTemplate replica = replica();
+        replica.execute("DROP ALL OBJECTS");
+        script.forEach(replica::execute);
+    }
+
+    private static JdbcTemplate replica() {
+        return new JdbcTemplate(new SingleConnectionDataSource(replicaConnection, true));
+    }
+
+    private static void stopReplica() throws SQLException {
+        replica().execute("SHUTDOWN");
+        replicaConnection = null;
+    }
+
+    private void awaitReplica(boolean up) throws InterruptedException {
+        for (int i = 0; i < 200 && health.isUp() != up; i++) {
+            Thread.sleep(50);
+        }
+        assertEquals(up, health.isUp());
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.student_management_system.search;
+
+import com.example.student_management_system.dto.StudentSearchHit;
+import com.example.student_management_system.dto.StudentSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentSearchIndexTest {
+    private StudentSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new StudentSearchIndex();
+        index.put(new StudentSummary(1L, "John", "Smith", "john.smith@example.com"));
+        index.put(new StudentSummary(2L, "Jane", "Smithers", "jane@example.com"));
+        index.put(new StudentSummary(3L, "Smita", "Patel", "smita.patel@example.com"));
+        index.put(new StudentSummary(4L, "José", "García", "jgarcia@example.com"));
+    }
+
+    private static List<Long> ids(List<StudentSearchHit> hits) {
+        return hits.stream().map(StudentSearchHit::id).toList();
+    }
+
+    @DisplayName("search ranks exact last name above longer prefix matches and first names")
+    @org.junit.jupiter.api.Test
+    void search_RanksPrefixMatches() {
+        assertEquals(List.of(1L, 2L), ids(index.search("smith", 10, false)));
+        assertEquals(List.of(1L, 3L, 2L), ids(index.search("smi", 10, false)));
+        assertEquals(List.of(1L), ids(index.search("smi", 1, false)));
+    }
+
+    @DisplayName("search requires every term and matches emails and accents")
+    @org.junit.jupiter.api.Test
+    void search_MatchesAllTermsEmailsAndAccents() {
+        assertEquals(List.of(2L), ids(index.search("ja smi", 10, false)));
+        assertEquals(List.of(4L), ids(index.search("jgar", 10, false)));
+        assertEquals(List.of(4L), ids(index.search("Jose garc", 10, false)));
+    }
+
+    @DisplayName("fuzzy search tolerates typos in names")
+    @org.junit.jupiter.api.Test
+    void search_ToleratesTypos_WhenFuzzy() {
+        assertTrue(index.search("smtih", 10, false).isEmpty());
+        assertEquals(List.of(1L, 2L), ids(index.search("smtih", 10, true)));
+        assertEquals(List.of(3L), ids(index.search("patle", 10, true)));
+    }
+
+    @DisplayName("search finds a match of all terms that lies beyond the first 1000 postings of every term")
+    @org.junit.jupiter.api.Test
+    void search_IntersectsTermsBeforeCapping() {
+        StudentSearchIndex crowded = new StudentSearchIndex();
+        for (long id = 1; id <= 1500; id++) {
+            crowded.put(new StudentSummary(id, "John", "Doe", "doe" + id + "@example.com"));
+        }
+        for (long id = 1501; id <= 2700; id++) {
+            crowded.put(new StudentSummary(id, "Anna", "Smith", "smith" + id + "@example.com"));
+        }
+        crowded.put(new StudentSummary(5000L, "John", "Smith", "js@example.com"));
+
+        assertEquals(List.of(5000L), ids(crowded.search("john smith", 10, false)));
+        assertEquals(List.of(5000L), ids(crowded.search("smith jo", 10, true)));
+    }
+
+    @DisplayName("put replaces old tokens and remove drops the student")
+    @org.junit.jupiter.api.Test
+    void putAndRemove_KeepIndexCurrent() {
+        index.put(new StudentSummary(1L, "John", "Doe", "john.doe@example.com"));
+        assertEquals(List.of(3L, 2L), ids(index.search("smi", 10, false)));
+        assertEquals(List.of(1L), ids(index.search("doe", 10, false)));
+
+        index.remove(2L);
+        assertEquals(List.of(3L), ids(index.search("smi", 10, false)));
+        assertEquals(3, index.size());
+    }
+
+    @DisplayName("load during a rebuild never overrides live changes")
+    @org.junit.jupiter.api.Test
+    void load_DoesNotOverrideLiveChanges() {
+        index.beginLoad();
+        index.remove(3L);
+        index.load(new StudentSummary(3L, "Smita", "Patel", "smita.patel@example.com"));
+        index.load(new StudentSummary(1L, "Old", "Name", "old@example.com"));
+        index.load(new StudentSummary(5L, "Ann", "Smirnova", "ann@example.com"));
+        index.finishLoad();
+
+        assertEquals(List.of(1L, 2L, 5L), ids(index.search("smi", 10, false)));
+        assertTrue(index.search("old", 10, false).isEmpty());
+    }
+}
@@ -0,0 +1,267 @@
+package com.example.student_management_system.service;
+
+import com.example.student_management_system.dto.BulkEnrollmentRequest;
+import com.example.student_management_system.dto.EnrollmentPair;
+import com.example.student_management_system.exception.ConcurrentEnrollmentException;
+import com.example.student_management_system.exception.CourseFullException;
+import com.example.student_management_system.exception.ResourceNotFoundException;
+import com.example.student_management_system.model.Course;
+import com.example.student_management_system.model.Student;
+import com.example.student_management_system.repository.CourseRepository;
+import com.example.student_management_system.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Many threads race for the seats of one small course through the real service, transaction
+ * and database stack; the course must never hold more students than its capacity.
+ * Single and bulk enrollments must also lock rows in the same order, so they cannot deadlock.
+ */
+@SpringBootTest
+class CourseCapacityStressTest {
+
+    private static final int CAPACITY = 25;
+    private static final int STUDENTS = 400;
+    private static final int THREADS = 32;
+
+    private static final AtomicInteger RUNS = new AtomicInteger();
+
+    @Autowired
+    private StudentService studentService;
+    @Autowired
+    private EnrollmentService enrollmentService;
+    @Autowired
+    private StudentRepository studentRepository;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long courseId;
+    private List<Long> studentIds;
+
+    @BeforeEach
+    void setUp() {
+        int run = RUNS.incrementAndGet();
+        Course course = new Course();
+        course.setName("Capacity Stress " + run);
+        course.setCourseCode("CAP" + run);
+        course.setProfessor("Dr. Stress");
+        course.setCredits(3);
+        course.setCapacity(CAPACITY);
+        courseId = courseRepository.save(course).getId();
+
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < STUDENTS; i++) {
+            Student student = new Student();
+            student.setFirstName("Seat");
+            student.setLastName("Seeker" + i);
+            student.setEmail("seat.seeker" + run + "." + i + "@example.com");
+            students.add(student);
+        }
+        studentIds = studentRepository.saveAll(students).stream().map(Student::getId).toList();
+    }
+
+    @DisplayName("concurrent enrollments fill the course exactly up to its capacity")
+    @org.junit.jupiter.api.Test
+    void concurrentEnrollments_NeverOverbook() throws Exception {
+        AtomicInteger enrolled = new AtomicInteger();
+        AtomicInteger refused = new AtomicInteger();
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (Long studentId : studentIds) {
+            tasks.add(() -> {
+                try {
+                    studentService.enrollStudentInCourse(studentId, courseId);
+                    enrolled.incrementAndGet();
+                } catch (CourseFullException ex) {
+                    refused.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        runAll(tasks);
+
+        assertEquals(CAPACITY, enrolled.get());
+        assertEquals(STUDENTS - CAPACITY, refused.get());
+        assertSeatsConsistent(CAPACITY);
+    }
+
+    @DisplayName("enroll/unenroll churn mixed with bulk enrollments never exceeds the capacity")
+    @org.junit.jupiter.api.Test
+    void churnWithBulkEnrollments_NeverOverbooks() throws Exception {
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong maxSeen = new AtomicLong();
+        Thread monitor = new Thread(() -> {
+            while (running.get()) {
+                maxSeen.accumulateAndGet(rosterSize(), Math::max);
+            }
+        });
+        monitor.start();
+
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < STUDENTS * 3; i++) {
+            int task = i;
+            tasks.add(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                if (task % 50 == 0) {
+                    List<Long> some = List.of(randomStudent(random), randomStudent(random), randomStudent(random));
+                    enrollmentService.enrollAll(new BulkEnrollmentRequest(courseId, some, null));
+                } else if (random.nextBoolean()) {
+                    try {
+                        studentService.enrollStudentInCourse(randomStudent(random), courseId);
+                    } catch (CourseFullException ex) {
+                        // Expected once the course is full.
+                    }
+                } else {
+                    studentService.unenrollStudentFromCourse(randomStudent(random), courseId);
+                }
+                return null;
+            });
+        }
+        try {
+            runAll(tasks);
+        } finally {
+            running.set(false);
+            monitor.join();
+        }
+
+        assertTrue(maxSeen.get() <= CAPACITY, "roster reached " + maxSeen.get());
+        assertSeatsConsistent(rosterSize());
+    }
+
+    @DisplayName("a single enrollment racing a bulk enrollment on the same student and course does not deadlock")
+    @org.junit.jupiter.api.Test
+    void singleAndBulkEnrollment_DoNotDeadlock() throws Exception {
+        Course open = new Course();
+        open.setName("Lock Order " + RUNS.get());
+        open.setCourseCode("LCK" + RUNS.get());
+        open.setProfessor("Dr. Order");
+        open.setCredits(3);
+        long openId = courseRepository.save(open).getId();
+
+        // Both sides touch the shared student and the open course; only a common lock order keeps them apart.
+        int rounds = STUDENTS / 2;
+        for (int round = 0; round < rounds; round++) {
+            Long shared = studentIds.get(2 * round);
+            Long neighbour = studentIds.get(2 * round + 1);
+            runAll(List.of(
+                    () -> {
+                        studentService.enrollStudentInCourse(shared, openId);
+                        return null;
+                    },
+                    () -> {
+                        enrollmentService.enrollAll(new BulkEnrollmentRequest(null, null,
+                                List.of(new EnrollmentPair(neighbour, openId), new EnrollmentPair(shared, courseId))));
+                        return null;
+                    }));
+        }
+
+        Long openRoster = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM student_courses WHERE course_id = ?", Long.class, openId);
+        Long openCount = jdbcTemplate.queryForObject("SELECT enrollment_count FROM course WHERE id = ?", Long.class, openId);
+        assertEquals(STUDENTS, openRoster);
+        assertEquals(openRoster, openCount);
+        assertSeatsConsistent(CAPACITY);
+    }
+
+    @DisplayName("deleting students while they enroll releases exactly the seats their join rows held")
+    @org.junit.jupiter.api.Test
+    void deletesRacingEnrollments_KeepCountsExact() throws Exception {
+        Course open = new Course();
+        open.setName("Delete Race " + RUNS.get());
+        open.setCourseCode("DEL" + RUNS.get());
+        open.setProfessor("Dr. Race");
+        open.setCredits(3);
+        long openId = courseRepository.save(open).getId();
+
+        // Each student is enrolled in both courses while being deleted; whichever commits first,
+        // no join row may survive the student and no count may keep a seat of a removed row.
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (Long studentId : studentIds) {
+            tasks.add(() -> {
+                try {
+                    studentService.enrollStudentInCourse(studentId, openId);
+                    studentService.enrollStudentInCourse(studentId, courseId);
+                } catch (ResourceNotFoundException | CourseFullException | DataIntegrityViolationException ex) {
+                    // Expected: the student is already gone, or the course is full.
+                }
+                return null;
+            });
+            tasks.add(() -> {
+                // A delete refused because an enrollment committed meanwhile is submitted again, as a client would.
+                while (true) {
+                    try {
+                        studentService.deleteStudent(studentId);
+                        return null;
+                    } catch (ConcurrentEnrollmentException ex) {
+                        // Retry.
+                    }
+                }
+            });
+        }
+        runAll(tasks);
+
+        Long openRoster = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM student_courses WHERE course_id = ?", Long.class, openId);
+        Long openCount = jdbcTemplate.queryForObject("SELECT enrollment_count FROM course WHERE id = ?", Long.class, openId);
+        Long orphans = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM student_courses sc LEFT JOIN student s ON s.id = sc.student_id WHERE s.id IS NULL",
+                Long.class);
+        assertEquals(0L, orphans, "join rows outlived their student");
+        assertEquals(0L, openRoster);
+        assertEquals(0L, openCount);
+        assertSeatsConsistent(0);
+    }
+
+    private void runAll(List<Callable<Void>> tasks) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (Callable<Void> task : tasks) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private void assertSeatsConsistent(long expectedRoster) {
+        long roster = rosterSize();
+        Long counted = jdbcTemplate.queryForObject("SELECT enrollment_count FROM course WHERE id = ?", Long.class, courseId);
+        assertEquals(expectedRoster, roster);
+        assertEquals(roster, counted, "enrollment_count drifted from the roster");
+        assertTrue(roster <= CAPACITY, "course overbooked: " + roster);
+    }
+
+    private long rosterSize() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM student_courses WHERE course_id = ?", Long.class, courseId);
+    }
+
+    private Long randomStudent(ThreadLocalRandom random) {
+        return studentIds.get(random.nextInt(studentIds.size()));
+    }
+}
@@ -1,15 +1,26 @@
 package com.example.student_management_system.service;
 
+import com.example.student_management_system.cache.CourseCatalogCache;
+import com.example.student_management_system.cache.LoopbackInvalidationChannel;
+import com.example.student_management_system.dto.CourseEnrollmentCount;
+import com.example.student_management_system.dto.CourseListing;
+import com.example.student_management_system.dto.StudentPage;
+import com.example.student_management_system.dto.StudentSummary;
 import com.example.student_management_system.exception.ResourceNotFoundException;
 import com.example.student_management_system.model.Course;
 import com.example.student_management_system.repository.CourseRepository;
+import com.example.student_management_system.repository.StudentRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
+import java.time.Duration;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -19,6 +30,13 @@ import static org.mockito.Mockito.*;
 class CourseServiceTest {
     @Mock
     private CourseRepository courseRepository;
+    @Mock
+    private StudentRepository studentRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Spy
+    private CourseCatalogCache courseCatalogCache =
+            new CourseCatalogCache(100, Duration.ofMinutes(5), new LoopbackInvalidationChannel());
     @InjectMocks
     private CourseService service;
 
@@ -40,6 +58,45 @@ class CourseServiceTest {
         assertEquals(courses, result);
     }
 
+    @DisplayName("getCourseListings merges maintained counts into the cached catalog")
+    @org.junit.jupiter.api.Test
+    void getCourseListings_MergesCounts() {
+        when(courseRepository.findAll()).thenReturn(List.of(course));
+        when(courseRepository.findEnrollmentCounts()).thenReturn(List.of(new CourseEnrollmentCount(1L, 42L)));
+        List<CourseListing> result = service.getCourseListings();
+        assertEquals(1, result.size());
+        assertEquals("Math", result.get(0).name());
+        assertEquals(42L, result.get(0).enrollmentCount());
+        verifyNoInteractions(studentRepository);
+    }
+
+    @DisplayName("getCourseRoster returns a keyset page with a cursor to the next one")
+    @org.junit.jupiter.api.Test
+    void getCourseRoster_ReturnsNextCursor_WhenMoreRowsExist() {
+        when(courseRepository.findById(1L)).thenReturn(Optional.of(course));
+        when(studentRepository.findSummaryPageByCourse(1L, Limit.of(3))).thenReturn(List.of(
+                new StudentSummary(5L, "A", "A", "a@x.com"),
+                new StudentSummary(7L, "B", "B", "b@x.com"),
+                new StudentSummary(9L, "C", "C", "c@x.com")));
+        StudentPage<StudentSummary> first = service.getCourseRoster(1L, null, 2);
+        assertEquals(List.of(5L, 7L), first.items().stream().map(StudentSummary::id).toList());
+        assertNotNull(first.nextCursor());
+
+        when(studentRepository.findSummaryPageByCourseAfterId(1L, 7L, Limit.of(3)))
+                .thenReturn(List.of(new StudentSummary(9L, "C", "C", "c@x.com")));
+        StudentPage<StudentSummary> second = service.getCourseRoster(1L, first.nextCursor(), 2);
+        assertEquals(List.of(9L), second.items().stream().map(StudentSummary::id).toList());
+        assertNull(second.nextCursor());
+    }
+
+    @DisplayName("getCourseRoster throws exception when the course is not found")
+    @org.junit.jupiter.api.Test
+    void getCourseRoster_ThrowsException_WhenCourseNotFound() {
+        when(courseRepository.findById(2L)).thenReturn(Optional.empty());
+        assertThrows(ResourceNotFoundException.class, () -> service.getCourseRoster(2L, null, null));
+        verifyNoInteractions(studentRepository);
+    }
+
     @DisplayName("createCourse saves and returns course")
     @org.junit.jupiter.api.Test
     void createCourse_SavesAndReturnsCourse() {
@@ -62,5 +119,25 @@ class CourseServiceTest {
         when(courseRepository.findById(2L)).thenReturn(Optional.empty());
         assertThrows(ResourceNotFoundException.class, () -> service.getCourseById(2L));
     }
-}
 
+    @DisplayName("getAllCourses serves repeated reads from the cache")
+    @org.junit.jupiter.api.Test
+    void getAllCourses_ServesRepeatedReadsFromCache() {
+        when(courseRepository.findAll()).thenReturn(List.of(course));
+        service.getAllCourses();
+        service.getAllCourses();
+        verify(courseRepository, times(1)).findAll();
+        assertEquals(1, service.getCacheStatistics().hits());
+    }
+
+    @DisplayName("createCourse evicts the cached catalog")
+    @org.junit.jupiter.api.Test
+    void createCourse_EvictsCachedCatalog() {
+        when(courseRepository.findAll()).thenReturn(List.of(course));
+        when(courseRepository.save(course)).thenReturn(course);
+        service.getAllCourses();
+        service.createCourse(course);
+        service.getAllCourses();
+        verify(courseRepository, times(2)).findAll();
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.student_management_system.service;
+
+import com.example.student_management_system.dto.BulkEnrollmentRequest;
+import com.example.student_management_system.dto.BulkEnrollmentResult;
+import com.example.student_management_system.dto.EnrollmentAck.Operation;
+import com.example.student_management_system.dto.EnrollmentOutcome;
+import com.example.student_management_system.dto.EnrollmentOutcome.Status;
+import com.example.student_management_system.dto.EnrollmentPair;
+import com.example.student_management_system.dto.EnrollmentSet;
+import com.example.student_management_system.dto.EnrollmentSetOperation;
+import com.example.student_management_system.event.EnrollmentChangedEvent;
+import com.example.student_management_system.exception.BadRequestException;
+import com.example.student_management_system.index.EnrollmentIndex;
+import com.example.student_management_system.repository.CourseRepository;
+import com.example.student_management_system.repository.EnrollmentRepository;
+import com.example.student_management_system.repository.StudentChangeRepository;
+import com.example.student_management_system.repository.StudentRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EnrollmentServiceTest {
+    @Mock
+    private StudentRepository studentRepository;
+    @Mock
+    private CourseRepository courseRepository;
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+    @Mock
+    private StudentChangeRepository studentChangeRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private EnrollmentIndex enrollmentIndex;
+    @InjectMocks
+    private EnrollmentService service;
+
+    @DisplayName("enrollAll checks ids in sets and reports an outcome per pair")
+    @org.junit.jupiter.api.Test
+    void enrollAll_ReportsOutcomePerPair() {
+        when(studentRepository.findExistingIds(anyCollection())).thenReturn(List.of(1L, 2L));
+        when(courseRepository.findExistingIds(anyCollection())).thenReturn(List.of(10L));
+        when(enrollmentRepository.insertIfAbsent(eq(List.of(new EnrollmentPair(1L, 10L), new EnrollmentPair(2L, 10L))), anyInt()))
+                .thenReturn(new int[]{1, 0});
+        when(studentRepository.incrementVersions(Set.of(1L))).thenReturn(1);
+
+        BulkEnrollmentRequest request = new BulkEnrollmentRequest(10L, List.of(1L, 2L, 3L, 1L),
+                List.of(new EnrollmentPair(1L, 99L)));
+        BulkEnrollmentResult result = service.enrollAll(request);
+
+        assertEquals(5, result.requested());
+        assertEquals(1, result.enrolled());
+        assertEquals(1, result.alreadyEnrolled());
+        assertEquals(3, result.rejected());
+        assertEquals(List.of(Status.COURSE_NOT_FOUND, Status.ENROLLED, Status.ALREADY_ENROLLED,
+                        Status.STUDENT_NOT_FOUND, Status.DUPLICATE_IN_REQUEST),
+                result.results().stream().map(r -> r.status()).toList());
+        verify(studentRepository, times(1)).findExistingIds(anyCollection());
+        verify(courseRepository, times(1)).findExistingIds(anyCollection());
+        verify(enrollmentRepository).adjustEnrollmentCounts(Map.of(10L, 1));
+        verify(studentRepository).incrementVersions(Set.of(1L));
+        verify(eventPublisher).publishEvent(new EnrollmentChangedEvent(List.of(new EnrollmentOutcome(1L, 10L, Status.ENROLLED))));
+    }
+
+    @DisplayName("applyChanges batches inserts and deletes and nets the count per course")
+    @org.junit.jupiter.api.Test
+    void applyChanges_NetsCountPerCourse() {
+        EnrollmentPair add = new EnrollmentPair(1L, 10L);
+        EnrollmentPair remove = new EnrollmentPair(2L, 10L);
+        EnrollmentPair missing = new EnrollmentPair(3L, 10L);
+        when(studentRepository.findExistingIds(anyCollection())).thenReturn(List.of(1L, 2L));
+        when(courseRepository.findExistingIds(anyCollection())).thenReturn(List.of(10L));
+        when(enrollmentRepository.insertIfAbsent(eq(List.of(add)), anyInt())).thenReturn(new int[]{1});
+        when(enrollmentRepository.delete(eq(List.of(remove)), anyInt())).thenReturn(new int[]{1});
+        when(studentRepository.incrementVersions(Set.of(1L, 2L))).thenReturn(2);
+
+        Map<EnrollmentPair, Operation> changes = new LinkedHashMap<>();
+        changes.put(add, Operation.ENROLL);
+        changes.put(remove, Operation.UNENROLL);
+        changes.put(missing, Operation.ENROLL);
+        List<EnrollmentOutcome> outcomes = service.applyChanges(changes);
+
+        assertEquals(List.of(Status.ENROLLED, Status.UNENROLLED, Status.STUDENT_NOT_FOUND),
+                outcomes.stream().map(EnrollmentOutcome::status).toList());
+        verify(enrollmentRepository).adjustEnrollmentCounts(Map.of(10L, 0));
+        verify(studentRepository).incrementVersions(Set.of(1L, 2L));
+    }
+
+    @DisplayName("enrollAll throws exception when the request is empty")
+    @org.junit.jupiter.api.Test
+    void enrollAll_ThrowsException_WhenEmpty() {
+        assertThrows(BadRequestException.class, () -> service.enrollAll(new BulkEnrollmentRequest(null, null, null)));
+        verifyNoInteractions(enrollmentRepository);
+    }
+
+    @DisplayName("enrollAll throws exception when studentIds are given without a course")
+    @org.junit.jupiter.api.Test
+    void enrollAll_ThrowsException_WhenCourseMissing() {
+        assertThrows(BadRequestException.class, () -> service.enrollAll(new BulkEnrollmentRequest(null, List.of(1L), null)));
+    }
+
+    @DisplayName("enrollAll throws exception when a pair or one of its ids is null")
+    @org.junit.jupiter.api.Test
+    void enrollAll_Throws_WhenPairIsNull() {
+        List<EnrollmentPair> withNull = new ArrayList<>();
+        withNull.add(new EnrollmentPair(1L, 10L));
+        withNull.add(null);
+        assertThrows(BadRequestException.class, () -> service.enrollAll(new BulkEnrollmentRequest(null, null, withNull)));
+        assertThrows(BadRequestException.class, () -> service.enrollAll(
+                new BulkEnrollmentRequest(null, null, List.of(new EnrollmentPair(null, 10L)))));
+        assertThrows(BadRequestException.class, () -> service.enrollAll(
+                new BulkEnrollmentRequest(null, null, List.of(new EnrollmentPair(1L, null)))));
+        verifyNoInteractions(enrollmentRepository);
+    }
+
+    @DisplayName("findStudents reads the index with a capped limit and rejects invalid queries")
+    @org.junit.jupiter.api.Test
+    void findStudents_ReadsIndex() {
+        EnrollmentSet set = new EnrollmentSet(1, false, new long[]{1L});
+        when(enrollmentIndex.students(EnrollmentSetOperation.DIFFERENCE, List.of(10L, 20L), 1000)).thenReturn(set);
+
+        assertSame(set, service.findStudents("Difference", List.of(10L, 20L), null));
+        assertThrows(BadRequestException.class, () -> service.findStudents("xor", List.of(10L), null));
+        assertThrows(BadRequestException.class, () -> service.findStudents("union", List.of(), null));
+        assertThrows(BadRequestException.class, () -> service.findCourses("union", List.of(1L), 0));
+        verifyNoMoreInteractions(enrollmentIndex);
+    }
+}
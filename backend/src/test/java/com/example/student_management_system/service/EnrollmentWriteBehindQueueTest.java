@@ -0,0 +1,121 @@
+package com.example.student_management_system.service;
+
+import com.example.student_management_system.dto.EnrollmentAck;
+import com.example.student_management_system.dto.EnrollmentAck.Operation;
+import com.example.student_management_system.dto.EnrollmentOutcome;
+import com.example.student_management_system.dto.EnrollmentOutcome.Status;
+import com.example.student_management_system.dto.EnrollmentPair;
+import com.example.student_management_system.exception.CourseFullException;
+import com.example.student_management_system.exception.EnrollmentWriteFailedException;
+import com.example.student_management_system.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EnrollmentWriteBehindQueueTest {
+    @Mock
+    private StudentService studentService;
+    @Mock
+    private EnrollmentService enrollmentService;
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    @InjectMocks
+    private EnrollmentWriteBehindQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        queue.open();
+    }
+
+    @DisplayName("enroll then unenroll of the same pair is written once, as the last intent")
+    @org.junit.jupiter.api.Test
+    void coalescesCommandsForTheSamePair() {
+        EnrollmentAck first = queue.enroll(1L, 10L);
+        EnrollmentAck second = queue.unenroll(1L, 10L);
+        queue.enroll(2L, 10L);
+
+        assertFalse(first.coalesced());
+        assertTrue(second.coalesced());
+        assertTrue(second.ticket() > first.ticket());
+
+        when(enrollmentService.applyChanges(anyMap())).thenReturn(List.of());
+        queue.flushPending();
+        verify(enrollmentService).applyChanges(Map.of(
+                new EnrollmentPair(1L, 10L), Operation.UNENROLL,
+                new EnrollmentPair(2L, 10L), Operation.ENROLL));
+        // Both tickets are now readable without waiting.
+        assertTimeoutPreemptively(Duration.ofSeconds(1), () -> queue.awaitApplied(second.ticket()));
+    }
+
+    @DisplayName("a failed batch is kept and written by the next flush")
+    @org.junit.jupiter.api.Test
+    void retriesFailedBatch() {
+        queue.enroll(1L, 10L);
+        when(enrollmentService.applyChanges(anyMap()))
+                .thenThrow(new IllegalStateException("database down"))
+                .thenReturn(List.of());
+
+        queue.flushPending();
+
+        verify(enrollmentService, times(2)).applyChanges(Map.of(new EnrollmentPair(1L, 10L), Operation.ENROLL));
+    }
+
+    @DisplayName("a command dropped after max-attempts fails its readers instead of counting as written")
+    @org.junit.jupiter.api.Test
+    void reportsDroppedCommands() {
+        EnrollmentAck first = queue.enroll(1L, 10L);
+        EnrollmentAck second = queue.unenroll(1L, 10L);
+        when(enrollmentService.applyChanges(anyMap())).thenThrow(new IllegalStateException("database down"));
+        queue.flushPending();
+
+        EnrollmentAck later = queue.enroll(2L, 10L);
+        reset(enrollmentService);
+        when(enrollmentService.applyChanges(anyMap())).thenReturn(List.of());
+        queue.flushPending();
+
+        assertThrows(EnrollmentWriteFailedException.class, () -> queue.awaitApplied(first.ticket()));
+        assertThrows(EnrollmentWriteFailedException.class, () -> queue.awaitApplied(second.ticket()));
+        assertTimeoutPreemptively(Duration.ofSeconds(1), () -> queue.awaitApplied(later.ticket()));
+        assertEquals(1.0, meterRegistry.counter("app.enrollments.queue.dropped").count());
+    }
+
+    @DisplayName("an enrollment refused at flush time because the course is full fails its readers")
+    @org.junit.jupiter.api.Test
+    void reportsCourseFullCommands() {
+        EnrollmentAck full = queue.enroll(1L, 10L);
+        EnrollmentAck written = queue.enroll(2L, 11L);
+        when(enrollmentService.applyChanges(anyMap())).thenReturn(List.of(
+                new EnrollmentOutcome(1L, 10L, Status.COURSE_FULL),
+                new EnrollmentOutcome(2L, 11L, Status.ENROLLED)));
+        queue.flushPending();
+
+        assertThrows(CourseFullException.class, () -> queue.awaitApplied(full.ticket()));
+        assertTimeoutPreemptively(Duration.ofSeconds(1), () -> queue.awaitApplied(written.ticket()));
+    }
+
+    @DisplayName("a full queue refuses new pairs but still coalesces pending ones")
+    @org.junit.jupiter.api.Test
+    void rejectsNewPairsWhenFull() {
+        ReflectionTestUtils.setField(queue, "capacity", 1);
+        queue.enroll(1L, 10L);
+
+        assertThrows(ServiceOverloadedException.class, () -> queue.enroll(2L, 10L));
+        assertTrue(queue.unenroll(1L, 10L).coalesced());
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.student_management_system.service;
+
+import com.example.student_management_system.repository.StudentChangeRepository;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Drives GET /api/students/changes through the real write paths, transactions and database.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class StudentChangeSyncTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private StudentChangeRepository studentChangeRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @DisplayName("an incremental sync returns only the students changed since the token, deletions as tombstones")
+    @org.junit.jupiter.api.Test
+    void returnsChangesSinceToken() throws Exception {
+        long kept = create("sync.kept@example.com");
+        long renamed = create("sync.renamed@example.com");
+        long removed = create("sync.removed@example.com");
+        long courseId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM course", Long.class);
+
+        // A full sync, in a few pages, ends with every student and a token.
+        long students = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM student", Long.class);
+        Set<Long> all = new HashSet<>();
+        String token = fullSync((int) students / 3 + 1, all);
+        assertEquals(students, all.size());
+
+        long created = create("sync.created@example.com");
+        mockMvc.perform(put("/api/students/" + renamed).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"Re\",\"lastName\":\"Named\",\"email\":\"sync.renamed@example.com\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/students/" + kept + "/enroll/" + courseId)).andExpect(status().isOk());
+        mockMvc.perform(delete("/api/students/" + removed)).andExpect(status().isNoContent());
+
+        String delta = sync(token, null);
+        assertEquals(Set.of(created, renamed, kept), ids(delta, "$.changed[*].id"));
+        assertEquals(Set.of(removed), ids(delta, "$.deleted[*]"));
+        assertEquals(false, JsonPath.read(delta, "$.hasMore"));
+
+        String unchanged = sync(JsonPath.read(delta, "$.token"), null);
+        assertEquals(Set.of(), ids(unchanged, "$.changed[*].id"));
+        assertEquals(Set.of(), ids(unchanged, "$.deleted[*]"));
+
+        String plan = jdbcTemplate.queryForObject("EXPLAIN SELECT change_seq, id FROM student " +
+                "WHERE (change_seq > 5 OR (change_seq = 5 AND id > 1)) AND change_seq <= 9 ORDER BY change_seq, id LIMIT 10", String.class);
+        assertTrue(plan.toUpperCase().contains("IDX_STUDENT_CHANGE_SEQ_ID"), plan);
+    }
+
+    @DisplayName("a token older than the purged tombstones is answered with 410 Gone")
+    @org.junit.jupiter.api.Test
+    void refusesExpiredToken() throws Exception {
+        long removed = create("sync.purged@example.com");
+        String token = fullSync(500, new HashSet<>());
+        mockMvc.perform(delete("/api/students/" + removed)).andExpect(status().isNoContent());
+
+        transactionTemplate.executeWithoutResult(tx -> studentChangeRepository.purgeTombstones(Instant.now().plusSeconds(1)));
+
+        mockMvc.perform(get("/api/students/changes").param("since", token)).andExpect(status().isGone());
+    }
+
+    @DisplayName("a sync does not pass a change that is still being written, even when later changes have committed")
+    @org.junit.jupiter.api.Test
+    void holdsTokenBehindUncommittedChange() throws Exception {
+        long slow = create("sync.slow@example.com");
+        String token = fullSync(500, new HashSet<>());
+
+        CountDownLatch positionTaken = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(tx -> {
+            studentChangeRepository.recordChanged(List.of(slow));
+            positionTaken.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertTrue(positionTaken.await(10, TimeUnit.SECONDS));
+        long later = create("sync.later@example.com");
+
+        String held = sync(token, null);
+        assertEquals(Set.of(), ids(held, "$.changed[*].id"));
+
+        release.countDown();
+        writer.get(10, TimeUnit.SECONDS);
+        String delta = sync(JsonPath.read(held, "$.token"), null);
+        assertEquals(Set.of(slow, later), ids(delta, "$.changed[*].id"));
+    }
+
+    private long create(String email) throws Exception {
+        String response = mockMvc.perform(post("/api/students").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"Sync\",\"lastName\":\"Student\",\"email\":\"" + email + "\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return ((Number) JsonPath.read(response, "$.id")).longValue();
+    }
+
+    private String fullSync(int pageSize, Set<Long> seen) throws Exception {
+        String token = null;
+        boolean hasMore = true;
+        while (hasMore) {
+            String page = sync(token, pageSize);
+            seen.addAll(ids(page, "$.changed[*].id"));
+            token = JsonPath.read(page, "$.token");
+            hasMore = JsonPath.read(page, "$.hasMore");
+        }
+        return token;
+    }
+
+    private String sync(String since, Integer size) throws Exception {
+        var request = get("/api/students/changes");
+        if (since != null) {
+            request.param("since", since);
+        }
+        if (size != null) {
+            request.param("size", String.valueOf(size));
+        }
+        return mockMvc.perform(request).andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+    }
+
+    private static Set<Long> ids(String json, String path) {
+        List<Number> ids = JsonPath.read(json, path);
+        return new ArrayList<>(ids).stream().map(Number::longValue).collect(Collectors.toSet());
+    }
+}
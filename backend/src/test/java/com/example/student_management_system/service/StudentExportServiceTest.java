@@ -0,0 +1,62 @@
+package com.example.student_management_system.service;
+
+import com.example.student_management_system.dto.ExportFormat;
+import com.example.student_management_system.dto.StudentCourseRow;
+import com.example.student_management_system.repository.StudentRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StudentExportServiceTest {
+    @Mock
+    private StudentRepository studentRepository;
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+    @InjectMocks
+    private StudentExportService service;
+
+    @BeforeEach
+    void setUp() {
+        when(studentRepository.streamAllWithCourseCodes()).thenReturn(Stream.of(
+                new StudentCourseRow(1L, "John", "Doe", "john.doe@example.com", "CS101"),
+                new StudentCourseRow(1L, "John", "Doe", "john.doe@example.com", "MATH201"),
+                new StudentCourseRow(2L, "Jane", "O\"Neil, Jr", "jane@example.com", null)));
+    }
+
+    @DisplayName("export writes one NDJSON line per student with its course codes")
+    @org.junit.jupiter.api.Test
+    void export_WritesNdjsonLinePerStudent() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long written = service.export(ExportFormat.NDJSON, out);
+        assertEquals(2, written);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[1].startsWith("{"));
+        assertTrue(lines[0].contains("\"courseCodes\":[\"CS101\",\"MATH201\"]"));
+        assertTrue(lines[1].contains("\"courseCodes\":[]"));
+    }
+
+    @DisplayName("export writes escaped CSV with a header line")
+    @org.junit.jupiter.api.Test
+    void export_WritesEscapedCsv() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.export(ExportFormat.CSV, out);
+        assertEquals("id,firstName,lastName,email,courseCodes\n" +
+                        "1,John,Doe,john.doe@example.com,CS101;MATH201\n" +
+                        "2,Jane,\"O\"\"Neil, Jr\",jane@example.com,\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+}
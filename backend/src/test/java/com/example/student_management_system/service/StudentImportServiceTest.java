@@ -0,0 +1,132 @@
+package com.example.student_management_system.service;
+
+import com.example.student_management_system.dto.ImportFormat;
+import com.example.student_management_system.dto.ImportRowError;
+import com.example.student_management_system.dto.StudentImportReport;
+import com.example.student_management_system.exception.BadRequestException;
+import com.example.student_management_system.model.Student;
+import com.example.student_management_system.repository.StudentChangeRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StudentImportServiceTest {
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+    @Mock
+    private StudentChangeRepository studentChangeRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @InjectMocks
+    private StudentImportService service;
+
+    @BeforeEach
+    void setUp() {
+        lenient().doAnswer(invocation -> {
+            Consumer<TransactionStatus> action = invocation.getArgument(0);
+            action.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    private static InputStream body(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @DisplayName("importStudents persists valid CSV rows and reports invalid ones without aborting")
+    @org.junit.jupiter.api.Test
+    void importStudents_Csv_ReportsInvalidRowsWithoutAborting() throws Exception {
+        String csv = "id,email,firstName,lastName\n" +
+                "7,john.doe@example.com,John,Doe\n" +
+                "8,not-an-email,Jane,Roe\n" +
+                "\n" +
+                "9,\"ann@example.com\",\"Ann, Marie\",Smith\n";
+        StudentImportReport report = service.importStudents(ImportFormat.CSV, body(csv));
+
+        assertEquals(3, report.rowsRead());
+        assertEquals(2, report.imported());
+        assertEquals(1, report.failed());
+        assertEquals(2, report.errors().get(0).row());
+        assertTrue(report.errors().get(0).message().startsWith("email:"));
+        verify(entityManager, times(2)).persist(any(Student.class));
+    }
+
+    @DisplayName("importStudents persists a JSON array in chunks")
+    @org.junit.jupiter.api.Test
+    void importStudents_Json_PersistsInChunks() throws Exception {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 2500; i++) {
+            json.append(i == 0 ? "" : ",")
+                    .append("{\"firstName\":\"F").append(i).append("\",\"lastName\":\"L\",\"email\":\"s")
+                    .append(i).append("@example.com\"}");
+        }
+        json.append("]");
+        StudentImportReport report = service.importStudents(ImportFormat.JSON, body(json.toString()));
+
+        assertEquals(2500, report.imported());
+        assertEquals(3, report.chunks());
+        verify(entityManager, times(3)).clear();
+    }
+
+    @DisplayName("importStudents reports JSON elements that are not objects and keeps going")
+    @org.junit.jupiter.api.Test
+    void importStudents_Json_ReportsNonObjectElements() throws Exception {
+        String json = "[{\"firstName\":\"John\",\"lastName\":\"Doe\",\"email\":\"john.doe@example.com\"}," +
+                "42,null,[\"Jane\",\"Roe\"]," +
+                "{\"firstName\":\"Ann\",\"lastName\":\"Smith\",\"email\":\"ann@example.com\"}]";
+        StudentImportReport report = service.importStudents(ImportFormat.JSON, body(json));
+
+        assertEquals(5, report.rowsRead());
+        assertEquals(2, report.imported());
+        assertEquals(3, report.failed());
+        assertEquals(List.of(2L, 3L, 4L), report.errors().stream().map(ImportRowError::row).toList());
+        assertEquals("Expected a student object, found 42", report.errors().get(0).message());
+        verify(entityManager, times(2)).persist(any(Student.class));
+    }
+
+    @DisplayName("importStudents reports a failed chunk and keeps going")
+    @org.junit.jupiter.api.Test
+    void importStudents_ReportsFailedChunk() throws Exception {
+        doThrow(new IllegalStateException("db down")).when(transactionTemplate).executeWithoutResult(any());
+        StudentImportReport report = service.importStudents(ImportFormat.JSON,
+                body("[{\"firstName\":\"A\",\"lastName\":\"B\",\"email\":\"a@b.com\"}]"));
+        assertEquals(0, report.imported());
+        assertEquals(1, report.failed());
+        assertTrue(report.errors().get(0).message().contains("db down"));
+    }
+
+    @DisplayName("importStudents throws exception when the CSV header lacks a required column")
+    @org.junit.jupiter.api.Test
+    void importStudents_ThrowsException_WhenHeaderIncomplete() {
+        assertThrows(BadRequestException.class,
+                () -> service.importStudents(ImportFormat.CSV, body("firstName,lastName\nA,B\n")));
+    }
+}
@@ -1,17 +1,41 @@
 package com.example.student_management_system.service;
 
+import com.example.student_management_system.cache.CourseCatalogCache;
+import com.example.student_management_system.cache.LoopbackInvalidationChannel;
+import com.example.student_management_system.dto.EnrollmentOutcome;
+import com.example.student_management_system.dto.EnrollmentOutcome.Status;
+import com.example.student_management_system.dto.StudentChangeRow;
+import com.example.student_management_system.dto.StudentChanges;
+import com.example.student_management_system.dto.StudentPage;
+import com.example.student_management_system.dto.StudentShape;
+import com.example.student_management_system.dto.StudentSort;
+import com.example.student_management_system.dto.StudentSummary;
+import com.example.student_management_system.event.EnrollmentChangedEvent;
+import com.example.student_management_system.event.StudentChangedEvent;
+import com.example.student_management_system.exception.BadRequestException;
+import com.example.student_management_system.exception.ConcurrentEnrollmentException;
+import com.example.student_management_system.exception.CourseFullException;
 import com.example.student_management_system.exception.ResourceNotFoundException;
+import com.example.student_management_system.exception.SyncTokenExpiredException;
 import com.example.student_management_system.model.Course;
 import com.example.student_management_system.model.Student;
 import com.example.student_management_system.repository.CourseRepository;
+import com.example.student_management_system.repository.EnrollmentRepository;
+import com.example.student_management_system.repository.StudentChangeRepository;
 import com.example.student_management_system.repository.StudentRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 
+import java.time.Duration;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -23,6 +47,15 @@ class StudentServiceTest {
     private StudentRepository studentRepository;
     @Mock
     private CourseRepository courseRepository;
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+    @Mock
+    private StudentChangeRepository studentChangeRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Spy
+    private CourseCatalogCache courseCatalogCache =
+            new CourseCatalogCache(100, Duration.ofMinutes(5), new LoopbackInvalidationChannel());
     @InjectMocks
     private StudentService service;
 
@@ -52,10 +85,97 @@ class StudentServiceTest {
         assertEquals(students, result);
     }
 
+    @DisplayName("getStudentPage returns a next cursor that seeks past the last row")
+    @org.junit.jupiter.api.Test
+    void getStudentPage_ReturnsNextCursor_WhenMoreRowsExist() {
+        StudentSummary first = new StudentSummary(1L, "John", "Doe", "john.doe@example.com");
+        StudentSummary second = new StudentSummary(2L, "Jane", "Doe", "jane.doe@example.com");
+        when(studentRepository.findSummaryPageByLastName(Limit.of(2))).thenReturn(List.of(first, second));
+
+        StudentPage<StudentSummary> page = service.getStudentPage(StudentSort.LAST_NAME, null, 1);
+        assertEquals(List.of(first), page.items());
+        assertNotNull(page.nextCursor());
+
+        when(studentRepository.findSummaryPageAfterLastName("Doe", 1L, Limit.of(2))).thenReturn(List.of(second));
+        StudentPage<StudentSummary> next = service.getStudentPage(StudentSort.LAST_NAME, page.nextCursor(), 1);
+        assertEquals(List.of(second), next.items());
+        assertNull(next.nextCursor());
+    }
+
+    @DisplayName("getStudentPage clamps the page size to the configured maximum")
+    @org.junit.jupiter.api.Test
+    void getStudentPage_ClampsPageSize() {
+        when(studentRepository.findSummaryPage(Limit.of(501))).thenReturn(List.of());
+        StudentPage<StudentSummary> page = service.getStudentPage(StudentSort.ID, null, 10_000);
+        assertEquals(500, page.size());
+    }
+
+    @DisplayName("getStudentPage rejects a cursor issued for another sort")
+    @org.junit.jupiter.api.Test
+    void getStudentPage_ThrowsException_WhenCursorSortDiffers() {
+        StudentSummary first = new StudentSummary(1L, "John", "Doe", "john.doe@example.com");
+        StudentSummary second = new StudentSummary(2L, "Jane", "Doe", "jane.doe@example.com");
+        when(studentRepository.findSummaryPage(Limit.of(2))).thenReturn(List.of(first, second));
+        String cursor = service.getStudentPage(StudentSort.ID, null, 1).nextCursor();
+        assertThrows(BadRequestException.class, () -> service.getStudentPage(StudentSort.EMAIL, cursor, 1));
+        assertThrows(BadRequestException.class, () -> service.getStudentPage(StudentSort.ID, "not a cursor!", 1));
+    }
+
+    @DisplayName("getStudentDetailPage join-fetches the page and keeps the keyset order")
+    @org.junit.jupiter.api.Test
+    void getStudentDetailPage_KeepsKeysetOrder() {
+        Student other = new Student();
+        other.setId(2L);
+        when(studentRepository.findSummaryPage(Limit.of(51))).thenReturn(List.of(
+                new StudentSummary(2L, "Jane", "Roe", "jane.roe@example.com"),
+                new StudentSummary(1L, "John", "Doe", "john.doe@example.com")));
+        when(studentRepository.findWithCoursesByIdIn(List.of(2L, 1L))).thenReturn(List.of(student, other));
+
+        StudentPage<Student> page = service.getStudentDetailPage(StudentSort.ID, null, null);
+        assertEquals(List.of(other, student), page.items());
+    }
+
+    @DisplayName("getShapedStudentPage reads only the requested course columns and returns only the requested fields")
+    @org.junit.jupiter.api.Test
+    void getShapedStudentPage_FetchesRequestedCourseColumnsOnly() {
+        when(studentRepository.findSummaryPage(Limit.of(51))).thenReturn(List.of(
+                new StudentSummary(1L, "John", "Doe", "john.doe@example.com"),
+                new StudentSummary(2L, "Jane", "Roe", "jane.roe@example.com")));
+        when(enrollmentRepository.findCourses(List.of(1L, 2L), List.of("name", "courseCode")))
+                .thenReturn(Map.of(1L, List.of(Map.of("name", "Math", "courseCode", "M101"))));
+
+        StudentShape shape = StudentShape.fromParameters("lastName,courses.courseCode,courses.name", null);
+        StudentPage<Map<String, Object>> page = service.getShapedStudentPage(StudentSort.ID, null, null, shape);
+
+        assertEquals(List.of(
+                Map.of("id", 1L, "lastName", "Doe", "courses", List.of(Map.of("name", "Math", "courseCode", "M101"))),
+                Map.of("id", 2L, "lastName", "Roe", "courses", List.of())), page.items());
+        verify(enrollmentRepository, never()).findCourseIds(any());
+    }
+
+    @DisplayName("getShapedStudentById without courses runs no course query")
+    @org.junit.jupiter.api.Test
+    void getShapedStudentById_SkipsCourseQuery_WhenNotExpanded() {
+        when(studentRepository.findSummaryById(1L)).thenReturn(Optional.of(StudentSummary.of(student)));
+
+        Map<String, Object> shaped = service.getShapedStudentById(1L, StudentShape.fromParameters("email", "none"));
+
+        assertEquals(Map.of("id", 1L, "email", "john.doe@example.com"), shaped);
+        verifyNoInteractions(enrollmentRepository);
+    }
+
+    @DisplayName("StudentShape rejects unknown fields and fields that contradict expand")
+    @org.junit.jupiter.api.Test
+    void studentShape_RejectsInvalidParameters() {
+        assertThrows(BadRequestException.class, () -> StudentShape.fromParameters("password", null));
+        assertThrows(BadRequestException.class, () -> StudentShape.fromParameters("courses.name", "courseIds"));
+        assertEquals(StudentShape.Expand.COURSE_IDS, StudentShape.fromParameters(null, "courseIds").expand());
+    }
+
     @DisplayName("getStudentById returns student when exists")
     @org.junit.jupiter.api.Test
     void getStudentById_ReturnsStudent_WhenExists() {
-        when(studentRepository.findById(1L)).thenReturn(Optional.of(student));
+        when(studentRepository.findWithCoursesById(1L)).thenReturn(Optional.of(student));
         Student result = service.getStudentById(1L);
         assertEquals(student, result);
     }
@@ -63,16 +183,56 @@ class StudentServiceTest {
     @DisplayName("getStudentById throws exception when not found")
     @org.junit.jupiter.api.Test
     void getStudentById_ThrowsException_WhenNotFound() {
-        when(studentRepository.findById(2L)).thenReturn(Optional.empty());
+        when(studentRepository.findWithCoursesById(2L)).thenReturn(Optional.empty());
         assertThrows(ResourceNotFoundException.class, () -> service.getStudentById(2L));
     }
 
+    @DisplayName("getStudentChanges merges changes and tombstones in sequence order, up to the committed clock")
+    @org.junit.jupiter.api.Test
+    void getStudentChanges_MergesChangesAndTombstones() {
+        StudentSummary ada = new StudentSummary(7L, "Ada", "Lovelace", "ada@example.com");
+        StudentSummary alan = new StudentSummary(3L, "Alan", "Turing", "alan@example.com");
+        when(studentChangeRepository.readClock()).thenReturn(new long[]{12, 0});
+        when(studentChangeRepository.findChangedStudents(4, Long.MAX_VALUE, 12, 3)).thenReturn(List.of(
+                new StudentChangeRow(5, 7L, ada), new StudentChangeRow(9, 3L, alan)));
+        when(studentChangeRepository.findTombstones(4, Long.MAX_VALUE, 12, 3)).thenReturn(List.of(
+                new StudentChangeRow(6, 8L, null), new StudentChangeRow(11, 2L, null)));
+
+        StudentChanges page = service.getStudentChanges(new StudentSyncToken(4, Long.MAX_VALUE).encode(), 2);
+
+        assertEquals(List.of(ada), page.changed());
+        assertEquals(List.of(8L), page.deleted());
+        assertTrue(page.hasMore());
+        StudentSyncToken next = StudentSyncToken.decode(page.token());
+        assertEquals(6, next.getChangeSeq());
+        assertEquals(8L, next.getLastId());
+
+        when(studentChangeRepository.findChangedStudents(6, 8L, 12, 3)).thenReturn(List.of(new StudentChangeRow(9, 3L, alan)));
+        when(studentChangeRepository.findTombstones(6, 8L, 12, 3)).thenReturn(List.of(new StudentChangeRow(11, 2L, null)));
+        StudentChanges last = service.getStudentChanges(page.token(), 2);
+
+        assertEquals(List.of(alan), last.changed());
+        assertEquals(List.of(2L), last.deleted());
+        assertFalse(last.hasMore());
+        assertEquals(12, StudentSyncToken.decode(last.token()).getChangeSeq());
+    }
+
+    @DisplayName("getStudentChanges refuses a token older than the purged tombstones")
+    @org.junit.jupiter.api.Test
+    void getStudentChanges_ThrowsGone_WhenTokenExpired() {
+        when(studentChangeRepository.readClock()).thenReturn(new long[]{12, 8});
+        String token = new StudentSyncToken(4, Long.MAX_VALUE).encode();
+        assertThrows(SyncTokenExpiredException.class, () -> service.getStudentChanges(token, 10));
+        assertThrows(BadRequestException.class, () -> service.getStudentChanges("not a token", 10));
+    }
+
     @DisplayName("createStudent saves and returns student")
     @org.junit.jupiter.api.Test
     void createStudent_SavesAndReturnsStudent() {
         when(studentRepository.save(student)).thenReturn(student);
         Student result = service.createStudent(student);
         assertEquals(student, result);
+        verify(eventPublisher).publishEvent(StudentChangedEvent.created(StudentSummary.of(student)));
     }
 
     @DisplayName("updateStudent updates fields and returns updated student")
@@ -82,86 +242,148 @@ class StudentServiceTest {
         details.setFirstName("Jane");
         details.setLastName("Smith");
         details.setEmail("jane.smith@example.com");
-        when(studentRepository.findById(1L)).thenReturn(Optional.of(student));
+        when(studentRepository.findWithCoursesById(1L)).thenReturn(Optional.of(student));
         when(studentRepository.save(any(Student.class))).thenAnswer(invocation -> invocation.getArgument(0));
         Student result = service.updateStudent(1L, details);
         assertEquals("Jane", result.getFirstName());
         assertEquals("Smith", result.getLastName());
         assertEquals("jane.smith@example.com", result.getEmail());
+        verify(studentRepository).incrementVersion(1L);
+    }
+
+    @DisplayName("getStudentVersion reads the version column only")
+    @org.junit.jupiter.api.Test
+    void getStudentVersion_ReadsVersionOnly() {
+        when(studentRepository.findVersionById(1L)).thenReturn(Optional.of(7L));
+        assertEquals(7L, service.getStudentVersion(1L));
+        verify(studentRepository, never()).findWithCoursesById(anyLong());
+    }
+
+    @DisplayName("getStudentVersion throws exception when not found")
+    @org.junit.jupiter.api.Test
+    void getStudentVersion_ThrowsException_WhenNotFound() {
+        when(studentRepository.findVersionById(2L)).thenReturn(Optional.empty());
+        assertThrows(ResourceNotFoundException.class, () -> service.getStudentVersion(2L));
     }
 
     @DisplayName("updateStudent throws exception when not found")
     @org.junit.jupiter.api.Test
     void updateStudent_ThrowsException_WhenNotFound() {
         Student details = new Student();
-        when(studentRepository.findById(2L)).thenReturn(Optional.empty());
+        when(studentRepository.findWithCoursesById(2L)).thenReturn(Optional.empty());
         assertThrows(ResourceNotFoundException.class, () -> service.updateStudent(2L, details));
     }
 
     @DisplayName("deleteStudent deletes student when exists")
     @org.junit.jupiter.api.Test
     void deleteStudent_DeletesStudent_WhenExists() {
-        when(studentRepository.findById(1L)).thenReturn(Optional.of(student));
+        when(studentRepository.existsById(1L)).thenReturn(true);
+        when(enrollmentRepository.deleteAllOfStudent(1L)).thenReturn(List.of(100L));
         service.deleteStudent(1L);
-        verify(studentRepository).delete(student);
+        verify(studentRepository).deleteRowById(1L);
+        verify(enrollmentRepository).adjustEnrollmentCounts(Map.of(100L, -1));
+        verify(studentChangeRepository).recordDeleted(1L);
+        verify(eventPublisher).publishEvent(new EnrollmentChangedEvent(List.of(new EnrollmentOutcome(1L, 100L, Status.UNENROLLED))));
+        verify(eventPublisher).publishEvent(StudentChangedEvent.deleted(1L));
+    }
+
+    @DisplayName("deleteStudent is refused when an enrollment commits while the student is deleted")
+    @org.junit.jupiter.api.Test
+    void deleteStudent_Conflicts_WhenEnrolledMeanwhile() {
+        when(studentRepository.existsById(1L)).thenReturn(true);
+        when(enrollmentRepository.deleteAllOfStudent(1L)).thenReturn(List.of());
+        when(studentRepository.deleteRowById(1L)).thenThrow(new DataIntegrityViolationException("FK_STUDENT"));
+        assertThrows(ConcurrentEnrollmentException.class, () -> service.deleteStudent(1L));
+        verify(studentChangeRepository, never()).recordDeleted(1L);
+        verify(eventPublisher, never()).publishEvent(StudentChangedEvent.deleted(1L));
     }
 
     @DisplayName("deleteStudent throws exception when not found")
     @org.junit.jupiter.api.Test
     void deleteStudent_ThrowsException_WhenNotFound() {
-        when(studentRepository.findById(2L)).thenReturn(Optional.empty());
+        when(studentRepository.existsById(2L)).thenReturn(false);
         assertThrows(ResourceNotFoundException.class, () -> service.deleteStudent(2L));
+        verify(enrollmentRepository, never()).deleteAllOfStudent(2L);
     }
 
-    @DisplayName("enrollStudentInCourse adds course to student when both exist")
+    @DisplayName("enrollStudentInCourse inserts the join row when both exist")
     @org.junit.jupiter.api.Test
-    void enrollStudentInCourse_AddsCourseToStudent_WhenBothExist() {
-        when(studentRepository.findById(1L)).thenReturn(Optional.of(student));
+    void enrollStudentInCourse_InsertsJoinRow_WhenBothExist() {
+        when(studentRepository.existsById(1L)).thenReturn(true);
         when(courseRepository.findById(100L)).thenReturn(Optional.of(course));
-        when(studentRepository.save(any(Student.class))).thenAnswer(invocation -> invocation.getArgument(0));
-        Student result = service.enrollStudentInCourse(1L, 100L);
-        assertTrue(result.getCourses().contains(course));
+        when(enrollmentRepository.insertIfAbsent(1L, 100L)).thenReturn(true);
+        when(enrollmentRepository.reserveSeat(100L)).thenReturn(true);
+        when(studentRepository.incrementVersion(1L)).thenReturn(1);
+        EnrollmentOutcome result = service.enrollStudentInCourse(1L, 100L);
+        assertEquals(Status.ENROLLED, result.status());
+        verify(studentRepository, never()).save(any(Student.class));
+        // Course row before student row, the lock order shared with the bulk paths.
+        InOrder lockOrder = inOrder(enrollmentRepository, studentRepository);
+        lockOrder.verify(enrollmentRepository).reserveSeat(100L);
+        lockOrder.verify(studentRepository).incrementVersion(1L);
+    }
+
+    @DisplayName("enrollStudentInCourse throws exception when no seat is left")
+    @org.junit.jupiter.api.Test
+    void enrollStudentInCourse_ThrowsException_WhenCourseFull() {
+        when(studentRepository.existsById(1L)).thenReturn(true);
+        when(courseRepository.findById(100L)).thenReturn(Optional.of(course));
+        when(enrollmentRepository.insertIfAbsent(1L, 100L)).thenReturn(true);
+        when(enrollmentRepository.reserveSeat(100L)).thenReturn(false);
+        assertThrows(CourseFullException.class, () -> service.enrollStudentInCourse(1L, 100L));
+    }
+
+    @DisplayName("enrollStudentInCourse reports already enrolled when the join row exists")
+    @org.junit.jupiter.api.Test
+    void enrollStudentInCourse_ReportsAlreadyEnrolled_WhenRowExists() {
+        when(studentRepository.existsById(1L)).thenReturn(true);
+        when(courseRepository.findById(100L)).thenReturn(Optional.of(course));
+        when(enrollmentRepository.insertIfAbsent(1L, 100L)).thenReturn(false);
+        assertEquals(Status.ALREADY_ENROLLED, service.enrollStudentInCourse(1L, 100L).status());
+        verify(enrollmentRepository, never()).reserveSeat(anyLong());
+        verify(studentRepository, never()).incrementVersion(anyLong());
     }
 
     @DisplayName("enrollStudentInCourse throws exception when student not found")
     @org.junit.jupiter.api.Test
     void enrollStudentInCourse_ThrowsException_WhenStudentNotFound() {
-        when(studentRepository.findById(2L)).thenReturn(Optional.empty());
+        when(studentRepository.existsById(2L)).thenReturn(false);
         assertThrows(ResourceNotFoundException.class, () -> service.enrollStudentInCourse(2L, 100L));
     }
 
     @DisplayName("enrollStudentInCourse throws exception when course not found")
     @org.junit.jupiter.api.Test
     void enrollStudentInCourse_ThrowsException_WhenCourseNotFound() {
-        when(studentRepository.findById(1L)).thenReturn(Optional.of(student));
+        when(studentRepository.existsById(1L)).thenReturn(true);
         when(courseRepository.findById(200L)).thenReturn(Optional.empty());
         assertThrows(ResourceNotFoundException.class, () -> service.enrollStudentInCourse(1L, 200L));
+        verifyNoInteractions(enrollmentRepository);
     }
 
-    @DisplayName("unenrollStudentFromCourse removes course from student when both exist")
+    @DisplayName("unenrollStudentFromCourse deletes the join row when both exist")
     @org.junit.jupiter.api.Test
-    void unenrollStudentFromCourse_RemovesCourseFromStudent_WhenBothExist() {
-        student.getCourses().add(course);
-        when(studentRepository.findById(1L)).thenReturn(Optional.of(student));
+    void unenrollStudentFromCourse_DeletesJoinRow_WhenBothExist() {
+        when(studentRepository.existsById(1L)).thenReturn(true);
         when(courseRepository.findById(100L)).thenReturn(Optional.of(course));
-        when(studentRepository.save(any(Student.class))).thenAnswer(invocation -> invocation.getArgument(0));
-        Student result = service.unenrollStudentFromCourse(1L, 100L);
-        assertFalse(result.getCourses().contains(course));
+        when(enrollmentRepository.delete(1L, 100L)).thenReturn(true);
+        EnrollmentOutcome result = service.unenrollStudentFromCourse(1L, 100L);
+        assertEquals(Status.UNENROLLED, result.status());
+        verify(enrollmentRepository).adjustEnrollmentCount(100L, -1);
+        verify(studentRepository).incrementVersion(1L);
     }
 
     @DisplayName("unenrollStudentFromCourse throws exception when student not found")
     @org.junit.jupiter.api.Test
     void unenrollStudentFromCourse_ThrowsException_WhenStudentNotFound() {
-        when(studentRepository.findById(2L)).thenReturn(Optional.empty());
+        when(studentRepository.existsById(2L)).thenReturn(false);
         assertThrows(ResourceNotFoundException.class, () -> service.unenrollStudentFromCourse(2L, 100L));
     }
 
     @DisplayName("unenrollStudentFromCourse throws exception when course not found")
     @org.junit.jupiter.api.Test
     void unenrollStudentFromCourse_ThrowsException_WhenCourseNotFound() {
-        when(studentRepository.findById(1L)).thenReturn(Optional.of(student));
+        when(studentRepository.existsById(1L)).thenReturn(true);
         when(courseRepository.findById(200L)).thenReturn(Optional.empty());
         assertThrows(ResourceNotFoundException.class, () -> service.unenrollStudentFromCourse(1L, 200L));
     }
 }
-
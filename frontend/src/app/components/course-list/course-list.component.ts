@@ -1,6 +1,6 @@
 import { Component, OnInit } from '@angular/core';
 import { FormBuilder, FormGroup, Validators, ReactiveFormsModule } from '@angular/forms';
-import { Observable } from 'rxjs';
+import { Observable, filter, startWith, switchMap } from 'rxjs';
 import { CommonModule, AsyncPipe } from '@angular/common';
 import { MatListModule } from '@angular/material/list';
 import { MatFormFieldModule } from '@angular/material/form-field';
@@ -10,6 +10,7 @@ import { MatCardModule } from '@angular/material/card';
 import { MatIconModule } from '@angular/material/icon';
 import {Course} from '../../model/course';
 import {CourseService} from '../../services/course';
+import {ChangeEvent, ChangeFeedService} from '../../services/change-feed';
 
 
 @Component({
@@ -35,6 +36,7 @@ export class CourseListComponent implements OnInit {
 
   constructor(
     private courseService: CourseService,
+    private changeFeed: ChangeFeedService,
     private fb: FormBuilder
   ) {
     this.courseForm = this.fb.group({
@@ -42,7 +44,8 @@ export class CourseListComponent implements OnInit {
       courseCode: ['', Validators.required],
       professor: ['', Validators.required],
       description: [''],
-      credits: ['', [Validators.required, Validators.min(1)]]
+      credits: ['', [Validators.required, Validators.min(1)]],
+      capacity: [null, Validators.min(0)]
     });
   }
 
@@ -50,8 +53,58 @@ export class CourseListComponent implements OnInit {
     this.loadCourses();
   }
 
+  // Loads the courses once, then keeps them current from the change feed; a resync loads them again.
   loadCourses(): void {
-    this.courses$ = this.courseService.getAllCourses();
+    const changes$ = this.changeFeed.changes$;
+    this.courses$ = changes$.pipe(
+      filter(change => change.type === 'resync'),
+      startWith(null),
+      switchMap(() => this.snapshotWithChanges(changes$))
+    );
+  }
+
+  // Subscribes to the feed before requesting the courses and buffers what arrives meanwhile,
+  // so changes committed while the list is loading are applied on top of it instead of lost.
+  private snapshotWithChanges(changes$: Observable<ChangeEvent>): Observable<Course[]> {
+    return new Observable<Course[]>(subscriber => {
+      let courses: Course[] | null = null;
+      const buffered: ChangeEvent[] = [];
+      const feed = changes$.subscribe(change => {
+        if (courses === null) {
+          buffered.push(change);
+        } else {
+          courses = this.applyChange(courses, change);
+          subscriber.next(courses);
+        }
+      });
+      const snapshot = this.courseService.getAllCourses().subscribe({
+        next: loaded => {
+          courses = buffered.reduce((current, change) => this.applyChange(current, change), loaded);
+          buffered.length = 0;
+          subscriber.next(courses);
+        },
+        error: err => subscriber.error(err)
+      });
+      return () => {
+        feed.unsubscribe();
+        snapshot.unsubscribe();
+      };
+    });
+  }
+
+  private applyChange(courses: Course[], change: ChangeEvent): Course[] {
+    switch (change.type) {
+      case 'course-created':
+        return courses.some(c => c.id === change.data.id) ? courses : [...courses, change.data];
+      case 'enrolled':
+      case 'unenrolled': {
+        const delta = change.type === 'enrolled' ? 1 : -1;
+        return courses.map(c => c.id === change.data.courseId && c.enrollmentCount !== undefined
+          ? { ...c, enrollmentCount: c.enrollmentCount + delta } : c);
+      }
+      default:
+        return courses;
+    }
   }
 
   addCourse(): void {
@@ -1,4 +1,5 @@
-import { Component, OnInit } from '@angular/core';
+import { Component, OnDestroy, OnInit } from '@angular/core';
+import { Subscription } from 'rxjs';
 import { ActivatedRoute, RouterLink } from '@angular/router';
 import { CommonModule } from '@angular/common';
 
@@ -13,6 +14,7 @@ import {Student} from '../../model/student';
 import {Course} from '../../model/course';
 import {StudentService} from '../../services/student';
 import {CourseService} from '../../services/course';
+import {ChangeEvent, ChangeFeedService} from '../../services/change-feed';
 
 @Component({
   selector: 'app-student-detail',
@@ -28,7 +30,7 @@ import {CourseService} from '../../services/course';
   templateUrl: './student-detail.component.html',
   styleUrl: './student-detail.component.scss'
 })
-export class StudentDetailComponent implements OnInit {
+export class StudentDetailComponent implements OnInit, OnDestroy {
   student: Student | null = null;
   enrolledCourses: Course[] = [];
   availableCourses: Course[] = [];
@@ -36,10 +38,13 @@ export class StudentDetailComponent implements OnInit {
   isLoadingStudent = true; // For the main student data
   isLoadingCourses = true; // For the available courses list
 
+  private changes?: Subscription;
+
   constructor(
     private route: ActivatedRoute,
     private studentService: StudentService,
-    private courseService: CourseService
+    private courseService: CourseService,
+    private changeFeed: ChangeFeedService
   ) {}
 
   ngOnInit(): void {
@@ -50,8 +55,18 @@ export class StudentDetailComponent implements OnInit {
       return;
     }
 
-    // Step 1: Load essential student data first
-    this.studentService.getStudentById(studentId).subscribe(student => {
+    this.loadStudent(studentId);
+    // Changes made elsewhere (another tab, another user) show up without a reload
+    this.changes = this.changeFeed.changes$.subscribe(change => this.applyChange(studentId, change));
+  }
+
+  ngOnDestroy(): void {
+    this.changes?.unsubscribe();
+  }
+
+  loadStudent(studentId: number): void {
+    // Step 1: Load essential student data first (only the course fields this page shows)
+    this.studentService.getStudentById(studentId, 'firstName,lastName,email,courses.id,courses.name').subscribe(student => {
       this.student = student;
       this.enrolledCourses = student.courses;
       this.isLoadingStudent = false; // Stop main spinner
@@ -89,4 +104,35 @@ export class StudentDetailComponent implements OnInit {
     });
   }
 
+  private applyChange(studentId: number, change: ChangeEvent): void {
+    switch (change.type) {
+      case 'resync':
+        this.loadStudent(studentId);
+        break;
+      case 'student-updated':
+        if (this.student && change.data.id === studentId) {
+          this.student = { ...this.student, ...change.data };
+        }
+        break;
+      case 'course-created':
+        if (!this.availableCourses.some(c => c.id === change.data.id)) {
+          this.availableCourses = [...this.availableCourses, change.data].sort((a, b) => a.name.localeCompare(b.name));
+        }
+        break;
+      case 'enrolled':
+      case 'unenrolled': {
+        if (change.data.studentId !== studentId) break;
+        const enrolled = change.type === 'enrolled';
+        const from = enrolled ? this.availableCourses : this.enrolledCourses;
+        const course = from.find(c => c.id === change.data.courseId);
+        // Already moved, e.g. by this page's own enroll/unenroll
+        if (!course) break;
+        const remaining = from.filter(c => c.id !== course.id);
+        const to = [...(enrolled ? this.enrolledCourses : this.availableCourses), course].sort((a, b) => a.name.localeCompare(b.name));
+        this.availableCourses = enrolled ? remaining : to;
+        this.enrolledCourses = enrolled ? to : remaining;
+        break;
+      }
+    }
+  }
 }
@@ -20,6 +20,7 @@ import { MatTooltipModule } from '@angular/material/tooltip';
  * Purpose:
  * This component is responsible for displaying a list of all students
  * in a table and providing the UI for adding, editing, and deleting students.
+ * Students are loaded a page at a time; "Load more" appends the next page.
  * =================================================================
  */
 @Component({
@@ -40,6 +41,8 @@ import { MatTooltipModule } from '@angular/material/tooltip';
 export class StudentListComponent implements OnInit {
   // An observable to hold the list of students, subscribed to in the template using the async pipe.
   students$: Observable<Student[]>;
+  // Whether there are students beyond the loaded pages, which shows the "Load more" button.
+  hasMore$: Observable<boolean>;
   // Defines the columns to be displayed in the Angular Material table.
   displayedColumns: string[] = ['id', 'firstName', 'lastName', 'email', 'actions'];
 
@@ -49,12 +52,18 @@ export class StudentListComponent implements OnInit {
   ) {
     // Subscribes the local students$ observable to the one in the service.
     this.students$ = this.studentService.students$;
+    this.hasMore$ = this.studentService.hasMoreStudents$;
   }
 
   ngOnInit(): void {
     this.studentService.loadStudents().subscribe();
   }
 
+  /** Appends the next page of students to the table. */
+  loadMore(): void {
+    this.studentService.loadMoreStudents().subscribe();
+  }
+
   /**
    * Opens the StudentFormComponent in a dialog for either creating a new student
    * (if student is null) or editing an existing one.
@@ -69,8 +78,8 @@ export class StudentListComponent implements OnInit {
     // After the dialog is closed, check if it returned a 'true' value (meaning success).
     dialogRef.afterClosed().subscribe(result => {
       if (result) {
-        // If the form was saved successfully, reload the student list to show changes.
-        this.studentService.loadStudents().subscribe();
+        // If the form was saved successfully, reload the loaded pages to show changes.
+        this.studentService.reloadStudents().subscribe();
       }
     });
   }
@@ -89,7 +98,7 @@ export class StudentListComponent implements OnInit {
       if (result) {
         // If the user confirmed, call the delete method and reload the list.
         this.studentService.deleteStudent(studentId).subscribe(() => {
-          this.studentService.loadStudents().subscribe();
+          this.studentService.reloadStudents().subscribe();
         });
       }
     });
@@ -5,4 +5,8 @@ export interface Course {
   professor: string;
   description: string;
   credits: number;
+  // Maximum number of enrolled students; null means unlimited.
+  capacity?: number | null;
+  // Present on listings (GET /api/courses) only.
+  enrollmentCount?: number;
 }
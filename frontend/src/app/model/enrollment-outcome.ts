@@ -0,0 +1,5 @@
+export interface EnrollmentOutcome {
+  studentId: number;
+  courseId: number;
+  status: 'ENROLLED' | 'ALREADY_ENROLLED' | 'UNENROLLED' | 'NOT_ENROLLED' | 'COURSE_FULL';
+}
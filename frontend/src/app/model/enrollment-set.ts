@@ -0,0 +1,8 @@
+// The result of a set query under /api/enrollments/students|courses/{operation}: the exact count and up to `limit` ids.
+export interface EnrollmentSet {
+  count: number;
+  truncated: boolean;
+  ids: number[];
+}
+
+export type EnrollmentSetOperation = 'intersection' | 'union' | 'difference';
@@ -0,0 +1,9 @@
+import {Student} from './student';
+
+// One page of GET /api/students/changes: changed students (without courses) and the ids of deleted ones.
+export interface StudentChanges {
+  changed: Student[];
+  deleted: number[];
+  token: string;
+  hasMore: boolean;
+}
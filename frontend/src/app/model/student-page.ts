@@ -0,0 +1,6 @@
+export interface StudentPage<T> {
+  items: T[];
+  size: number;
+  sort: 'ID' | 'LAST_NAME' | 'EMAIL';
+  nextCursor: string | null;
+}
@@ -0,0 +1,7 @@
+export interface StudentSearchHit {
+  id: number;
+  firstName: string;
+  lastName: string;
+  email: string;
+  score: number;
+}
@@ -0,0 +1,53 @@
+import { Inject, Injectable, NgZone, PLATFORM_ID } from '@angular/core';
+import { isPlatformBrowser } from '@angular/common';
+import { EMPTY, Observable, share } from 'rxjs';
+
+// The events of GET /api/feed; `data` is the event's JSON payload.
+export type ChangeEventType = 'student-created' | 'student-updated' | 'student-deleted'
+  | 'course-created' | 'enrolled' | 'unenrolled' | 'resync';
+
+export interface ChangeEvent {
+  type: ChangeEventType;
+  data: any;
+}
+
+const EVENT_TYPES: ChangeEventType[] = ['student-created', 'student-updated', 'student-deleted',
+  'course-created', 'enrolled', 'unenrolled', 'resync'];
+
+/**
+ * =================================================================
+ * Change Feed Service
+ * =================================================================
+ * Purpose:
+ * Streams the backend's committed changes (server-sent events), so pages can
+ * update what they show instead of re-fetching it. One connection is shared by
+ * all subscribers and closed when the last one unsubscribes. The browser
+ * reconnects by itself; a `resync` event means changes were missed and the
+ * page should reload its data. On the server (SSR) the stream is empty.
+ * =================================================================
+ */
+@Injectable({
+  providedIn: 'root'
+})
+export class ChangeFeedService {
+  private feedUrl = 'http://localhost:8080/api/feed';
+
+  readonly changes$: Observable<ChangeEvent>;
+
+  constructor(@Inject(PLATFORM_ID) platformId: object, private zone: NgZone) {
+    this.changes$ = isPlatformBrowser(platformId) ? this.connect().pipe(share()) : EMPTY;
+  }
+
+  private connect(): Observable<ChangeEvent> {
+    return new Observable<ChangeEvent>(subscriber => {
+      const source = new EventSource(this.feedUrl);
+      for (const type of EVENT_TYPES) {
+        source.addEventListener(type, event => {
+          const data = JSON.parse((event as MessageEvent<string>).data);
+          this.zone.run(() => subscriber.next({ type, data }));
+        });
+      }
+      return () => source.close();
+    });
+  }
+}
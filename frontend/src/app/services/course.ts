@@ -2,6 +2,9 @@ import { Injectable } from '@angular/core';
 import { HttpClient } from '@angular/common/http';
 import { Observable } from 'rxjs';
 import {Course} from '../model/course';
+import {Student} from '../model/student';
+import {StudentPage} from '../model/student-page';
+import {EnrollmentSet, EnrollmentSetOperation} from '../model/enrollment-set';
 /**
  * =================================================================
  * Course Service
@@ -17,6 +20,8 @@ import {Course} from '../model/course';
 export class CourseService {
   // The base URL of the backend courses API.
   private apiUrl = 'http://localhost:8080/api/courses';
+  // Set queries over enrollments, answered from the backend's in-memory enrollment index.
+  private enrollmentsUrl = 'http://localhost:8080/api/enrollments';
 
   constructor(private http: HttpClient) { }
 
@@ -28,6 +33,35 @@ export class CourseService {
     return this.http.get<Course[]>(this.apiUrl);
   }
 
+  /**
+   * Fetches one page of a course's roster; pass the previous page's nextCursor to continue.
+   * Roster rows are summaries: they carry no courses.
+   */
+  getCourseRoster(courseId: number, cursor?: string, size?: number): Observable<StudentPage<Student>> {
+    const params: Record<string, string> = {};
+    if (cursor) params['cursor'] = cursor;
+    if (size) params['size'] = String(size);
+    return this.http.get<StudentPage<Student>>(`${this.apiUrl}/${courseId}/students`, { params });
+  }
+
+  /**
+   * Combines the students of several courses, e.g. 'difference' of [3, 5]: in course 3 but not in course 5.
+   */
+  findStudentsOfCourses(operation: EnrollmentSetOperation, courseIds: number[], limit?: number): Observable<EnrollmentSet> {
+    const params: Record<string, string> = { courseIds: courseIds.join(',') };
+    if (limit) params['limit'] = String(limit);
+    return this.http.get<EnrollmentSet>(`${this.enrollmentsUrl}/students/${operation}`, { params });
+  }
+
+  /**
+   * Combines the courses of several students, e.g. 'intersection': the courses all of them take.
+   */
+  findCoursesOfStudents(operation: EnrollmentSetOperation, studentIds: number[], limit?: number): Observable<EnrollmentSet> {
+    const params: Record<string, string> = { studentIds: studentIds.join(',') };
+    if (limit) params['limit'] = String(limit);
+    return this.http.get<EnrollmentSet>(`${this.enrollmentsUrl}/courses/${operation}`, { params });
+  }
+
   /**
    * Sends a request to the backend to create a new course.
    * @param course An object containing the name of the new course.
@@ -1,8 +1,12 @@
 import { Injectable } from '@angular/core';
 import { HttpClient } from '@angular/common/http';
-import { Observable, BehaviorSubject } from 'rxjs';
-import { tap } from 'rxjs/operators';
+import { Observable, BehaviorSubject, EMPTY, of } from 'rxjs';
+import { expand, map, reduce, tap } from 'rxjs/operators';
 import {Student} from '../model/student';
+import {StudentPage} from '../model/student-page';
+import {StudentChanges} from '../model/student-changes';
+import {EnrollmentOutcome} from '../model/enrollment-outcome';
+import {StudentSearchHit} from '../model/student-search-hit';
 
 /**
  * =================================================================
@@ -16,6 +20,8 @@ import {Student} from '../model/student';
  * It uses an RxJS BehaviorSubject (studentsSubject) to hold the current
  * list of students. This allows components to subscribe to a single source
  * of truth (students$) and reactively update whenever the list changes.
+ * The list is filled page by page from the keyset-paginated API:
+ * loadMoreStudents() appends the next page while hasMoreStudents$ is true.
  * =================================================================
  */
 @Injectable({
@@ -28,24 +34,98 @@ export class StudentService {
   private studentsSubject = new BehaviorSubject<Student[]>([]);
   // A public observable that components can subscribe to for reactive updates.
   public students$ = this.studentsSubject.asObservable();
+  // Whether the API has students beyond those loaded into students$.
+  private hasMoreSubject = new BehaviorSubject<boolean>(false);
+  public hasMoreStudents$ = this.hasMoreSubject.asObservable();
+  // The cursor of the page after the loaded ones; null once every student is loaded.
+  private nextCursor: string | null = null;
 
   constructor(private http: HttpClient) { }
 
   /**
-   * Fetches all students from the API and updates the BehaviorSubject.
+   * Fetches students from the API, page by page, and replaces the BehaviorSubject's list with them.
+   * Follows nextCursor until at least `atLeast` students are loaded, so a reload after a change can keep
+   * as many rows as were shown; by default only the first page is fetched.
    * The 'tap' operator allows us to perform a side effect (updating the subject)
    * without modifying the observable stream itself.
    * @returns An Observable array of Student objects.
    */
-  loadStudents(): Observable<Student[]> {
-    return this.http.get<Student[]>(this.apiUrl).pipe(
-      tap(students => this.studentsSubject.next(students))
+  loadStudents(atLeast = 0): Observable<Student[]> {
+    let loaded = 0;
+    return this.getStudentPage().pipe(
+      expand(page => {
+        loaded += page.items.length;
+        return page.nextCursor && loaded < atLeast ? this.getStudentPage(page.nextCursor) : EMPTY;
+      }),
+      reduce((pages, page) => [...pages, page], [] as StudentPage<Student>[]),
+      map(pages => {
+        this.nextCursor = pages[pages.length - 1].nextCursor;
+        return pages.flatMap(page => page.items);
+      }),
+      tap(students => this.publish(students))
     );
   }
 
-  /** Fetches a single student by their ID. */
-  getStudentById(id: number): Observable<Student> {
-    return this.http.get<Student>(`${this.apiUrl}/${id}`);
+  /** Reloads the list, keeping at least as many students as are loaded now. */
+  reloadStudents(): Observable<Student[]> {
+    return this.loadStudents(this.studentsSubject.value.length);
+  }
+
+  /** Appends the next page of students to the list; does nothing once every student is loaded. */
+  loadMoreStudents(): Observable<Student[]> {
+    if (!this.nextCursor) {
+      return of(this.studentsSubject.value);
+    }
+    return this.getStudentPage(this.nextCursor).pipe(
+      map(page => {
+        this.nextCursor = page.nextCursor;
+        return [...this.studentsSubject.value, ...page.items];
+      }),
+      tap(students => this.publish(students))
+    );
+  }
+
+  private publish(students: Student[]): void {
+    this.studentsSubject.next(students);
+    this.hasMoreSubject.next(this.nextCursor !== null);
+  }
+
+  /** Fetches one page of students; pass the previous page's nextCursor to continue. */
+  getStudentPage(cursor?: string, size?: number, sort?: 'id' | 'lastName' | 'email'): Observable<StudentPage<Student>> {
+    const params: Record<string, string> = {};
+    if (cursor) params['cursor'] = cursor;
+    if (size) params['size'] = String(size);
+    if (sort) params['sort'] = sort;
+    return this.http.get<StudentPage<Student>>(this.apiUrl, { params });
+  }
+
+  /**
+   * Delta sync: the students changed or deleted since a token. Omit the token for a full sync,
+   * continue with the returned token while hasMore is true. A 410 response means the token expired.
+   */
+  getStudentChanges(since?: string, size?: number): Observable<StudentChanges> {
+    const params: Record<string, string> = {};
+    if (since) params['since'] = since;
+    if (size) params['size'] = String(size);
+    return this.http.get<StudentChanges>(`${this.apiUrl}/changes`, { params });
+  }
+
+  /** Ranked name/email search; every word must match, typos in names are tolerated unless fuzzy is false. */
+  searchStudents(query: string, limit?: number, fuzzy?: boolean): Observable<StudentSearchHit[]> {
+    const params: Record<string, string> = { q: query };
+    if (limit) params['limit'] = String(limit);
+    if (fuzzy === false) params['fuzzy'] = 'false';
+    return this.http.get<StudentSearchHit[]>(`${this.apiUrl}/search`, { params });
+  }
+
+  /**
+   * Fetches a single student by their ID.
+   * Pass a sparse fieldset (e.g. 'firstName,courses.name') to receive, and make the server read, only those fields.
+   */
+  getStudentById(id: number, fields?: string): Observable<Student> {
+    const params: Record<string, string> = {};
+    if (fields) params['fields'] = fields;
+    return this.http.get<Student>(`${this.apiUrl}/${id}`, { params });
   }
 
   /** Creates a new student. */
@@ -64,12 +144,12 @@ export class StudentService {
   }
 
   /** Enrolls a student in a course. */
-  enrollStudentInCourse(studentId: number, courseId: number): Observable<Student> {
-    return this.http.post<Student>(`${this.apiUrl}/${studentId}/enroll/${courseId}`, null);
+  enrollStudentInCourse(studentId: number, courseId: number): Observable<EnrollmentOutcome> {
+    return this.http.post<EnrollmentOutcome>(`${this.apiUrl}/${studentId}/enroll/${courseId}`, null);
   }
 
   /** Unenrolls a student from a course. */
-  unenrollStudentFromCourse(studentId: number, courseId: number): Observable<Student> {
-    return this.http.delete<Student>(`${this.apiUrl}/${studentId}/unenroll/${courseId}`);
+  unenrollStudentFromCourse(studentId: number, courseId: number): Observable<EnrollmentOutcome> {
+    return this.http.delete<EnrollmentOutcome>(`${this.apiUrl}/${studentId}/unenroll/${courseId}`);
   }
 }